@@ -0,0 +1,90 @@
+package com.sgms.analytics;
+
+import com.sgms.analytics.dto.LatenessHeatmapResponse;
+import com.sgms.analytics.dto.LatenessTrendResponse;
+import com.sgms.analytics.dto.PunctualityReportResponse;
+import com.sgms.common.ApiResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for attendance analytics
+ * 
+ * Punctuality scores, rolling lateness trends and weekday x hour heatmaps,
+ * served from the nightly analytics snapshot (data up to yesterday).
+ * Authorization: ADMIN and SUPERVISOR roles only
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+  private final AttendanceAnalyticsService analyticsService;
+
+  public AnalyticsController(AttendanceAnalyticsService analyticsService) {
+    this.analyticsService = analyticsService;
+  }
+
+  /**
+   * Punctuality scores per guard, site or client, lowest first
+   * 
+   * GET /api/analytics/punctuality?dimension=GUARD&days=30
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Query params:
+   * - dimension (required): GUARD, SITE or CLIENT
+   * - days (optional): trailing days to score, default 30
+   */
+  @GetMapping("/punctuality")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<PunctualityReportResponse> getPunctuality(
+      @RequestParam AnalyticsDimension dimension,
+      @RequestParam(required = false) Integer days) {
+    PunctualityReportResponse report = analyticsService.getPunctuality(dimension, days);
+    return ApiResponse.success(report);
+  }
+
+  /**
+   * Rolling lateness trend
+   * 
+   * GET /api/analytics/lateness-trend?dimension=SITE&id=12&window=30&days=60
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Query params:
+   * - dimension, id (optional, together): GUARD, SITE or CLIENT and its id; omit for the whole organization
+   * - window (optional): rolling window of 7, 30 or 90 days, default 30
+   * - days (optional): number of daily points, default 30
+   */
+  @GetMapping("/lateness-trend")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<LatenessTrendResponse> getLatenessTrend(
+      @RequestParam(required = false) AnalyticsDimension dimension,
+      @RequestParam(required = false) Long id,
+      @RequestParam(defaultValue = "30") int window,
+      @RequestParam(required = false) Integer days) {
+    LatenessTrendResponse trend = analyticsService.getLatenessTrend(dimension, id, window, days);
+    return ApiResponse.success(trend);
+  }
+
+  /**
+   * Weekday x shift-start-hour lateness heatmap
+   * 
+   * GET /api/analytics/heatmap?dimension=CLIENT&id=3&days=90
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Query params:
+   * - dimension, id (optional, together): GUARD, SITE or CLIENT and its id; omit for the whole organization
+   * - days (optional): trailing days to include, default 90
+   */
+  @GetMapping("/heatmap")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<LatenessHeatmapResponse> getHeatmap(
+      @RequestParam(required = false) AnalyticsDimension dimension,
+      @RequestParam(required = false) Long id,
+      @RequestParam(required = false) Integer days) {
+    LatenessHeatmapResponse heatmap = analyticsService.getHeatmap(dimension, id, days);
+    return ApiResponse.success(heatmap);
+  }
+}
@@ -0,0 +1,13 @@
+package com.sgms.analytics;
+
+/**
+ * What attendance analytics are grouped or filtered by
+ */
+public enum AnalyticsDimension {
+
+  GUARD,
+
+  SITE,
+
+  CLIENT
+}
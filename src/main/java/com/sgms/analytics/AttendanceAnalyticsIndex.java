@@ -0,0 +1,138 @@
+package com.sgms.analytics;
+
+import com.sgms.attendance.AttendanceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the nightly {@link AttendanceFacts} snapshot behind the analytics API
+ * 
+ * The snapshot covers the configured number of days up to yesterday and is
+ * loaded with one streaming query after the end-of-day attendance jobs
+ * have run. Analytics requests only read the snapshot, never attendance_logs.
+ */
+@Component
+public class AttendanceAnalyticsIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(AttendanceAnalyticsIndex.class);
+
+  private static final String FACTS_SQL =
+      "SELECT al.attendance_date, al.status, al.late_minutes, al.early_leave_minutes, st.start_time, " +
+      "g.id AS guard_id, g.first_name, g.last_name, " +
+      "s.id AS site_id, s.name AS site_name, c.id AS client_id, c.name AS client_name " +
+      "FROM attendance_logs al " +
+      "JOIN guards g ON g.id = al.guard_id " +
+      "JOIN guard_assignments ga ON ga.id = al.assignment_id " +
+      "JOIN shift_types st ON st.id = ga.shift_type_id " +
+      "JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "JOIN sites s ON s.id = sp.site_id " +
+      "JOIN client_accounts c ON c.id = s.client_account_id " +
+      "WHERE al.attendance_date BETWEEN ? AND ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+  private final int historyDays;
+
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+  private volatile AttendanceFacts facts;
+
+  public AttendanceAnalyticsIndex(
+      JdbcTemplate jdbcTemplate,
+      Clock clock,
+      @Value("${app.analytics.history-days:180}") int historyDays) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+    this.historyDays = Math.max(1, historyDays);
+  }
+
+  /**
+   * Build the first snapshot once the application is up
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      // Built lazily on first use instead
+      logger.warn("Could not build attendance analytics snapshot at startup: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Nightly rebuild, after ABSENT and MISSED_CHECKOUT marking has settled yesterday's records
+   * 
+   * Cron: app.analytics.refresh-cron (default every day at 01:30:00)
+   */
+  @Scheduled(cron = "${app.analytics.refresh-cron:0 30 1 * * *}")
+  public void scheduledRebuild() {
+    logger.info("Starting scheduled job: Rebuild attendance analytics snapshot");
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Error rebuilding attendance analytics snapshot", e);
+    }
+  }
+
+  int historyDays() {
+    return historyDays;
+  }
+
+  /**
+   * Current snapshot, built on first use if startup could not build it
+   */
+  AttendanceFacts facts() {
+    AttendanceFacts current = facts;
+    if (current != null) {
+      return current;
+    }
+    rebuildLock.lock();
+    try {
+      return facts != null ? facts : rebuild();
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  AttendanceFacts rebuild() {
+    rebuildLock.lock();
+    try {
+      LocalDate to = LocalDate.now(clock).minusDays(1);
+      LocalDate from = to.minusDays(historyDays - 1L);
+      AttendanceFacts.Builder builder = AttendanceFacts.builder(from, to, clock.instant());
+
+      jdbcTemplate.query(FACTS_SQL, rs -> {
+        String lastName = rs.getString("last_name");
+        builder.add(
+            rs.getObject("attendance_date", LocalDate.class),
+            rs.getLong("guard_id"),
+            rs.getString("first_name") + (lastName != null ? " " + lastName : ""),
+            rs.getLong("site_id"),
+            rs.getString("site_name"),
+            rs.getLong("client_id"),
+            rs.getString("client_name"),
+            AttendanceStatus.valueOf(rs.getString("status")),
+            rs.getInt("late_minutes"),
+            rs.getInt("early_leave_minutes"),
+            rs.getObject("start_time", LocalTime.class).getHour());
+      }, from, to);
+
+      AttendanceFacts built = builder.build();
+      facts = built;
+      logger.info("Attendance analytics snapshot built: {} records from {} to {}", built.size(), from, to);
+      return built;
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+}
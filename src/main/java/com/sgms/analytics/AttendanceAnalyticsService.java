@@ -0,0 +1,210 @@
+package com.sgms.analytics;
+
+import com.sgms.analytics.dto.HeatmapCell;
+import com.sgms.analytics.dto.LatenessHeatmapResponse;
+import com.sgms.analytics.dto.LatenessTrendPoint;
+import com.sgms.analytics.dto.LatenessTrendResponse;
+import com.sgms.analytics.dto.PunctualityReportResponse;
+import com.sgms.analytics.dto.PunctualityScoreResponse;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service answering attendance analytics from the nightly snapshot
+ * 
+ * A shift is on time when the guard checked in with no late minutes,
+ * late when checked in with late minutes, and absent when marked ABSENT.
+ * Punctuality score = on-time shifts / all shifts, as a percentage.
+ * All figures cover complete days up to yesterday.
+ */
+@Service
+public class AttendanceAnalyticsService {
+
+  static final int DEFAULT_PUNCTUALITY_DAYS = 30;
+  static final int DEFAULT_TREND_DAYS = 30;
+  static final int DEFAULT_HEATMAP_DAYS = 90;
+  static final Set<Integer> TREND_WINDOWS = Set.of(7, 30, 90);
+
+  private final AttendanceAnalyticsIndex analyticsIndex;
+
+  public AttendanceAnalyticsService(AttendanceAnalyticsIndex analyticsIndex) {
+    this.analyticsIndex = analyticsIndex;
+  }
+
+  /**
+   * Punctuality score for every guard, site or client with attendance in the last N days
+   */
+  public PunctualityReportResponse getPunctuality(AnalyticsDimension dimension, Integer days) {
+    if (dimension == null) {
+      throw new IllegalArgumentException("Dimension is required");
+    }
+    int span = resolveDays(days, DEFAULT_PUNCTUALITY_DAYS);
+    AttendanceFacts facts = analyticsIndex.facts();
+    LocalDate to = facts.to();
+    LocalDate from = to.minusDays(span - 1L);
+
+    AttendanceFacts.Dictionary dictionary = facts.dictionary(dimension);
+    AttendanceFacts.Tally[] tallies = facts.tallyBy(dimension, from, to);
+    List<PunctualityScoreResponse> scores = new ArrayList<>();
+    for (int code = 0; code < tallies.length; code++) {
+      AttendanceFacts.Tally tally = tallies[code];
+      if (tally == null) {
+        continue;
+      }
+      PunctualityScoreResponse score = new PunctualityScoreResponse();
+      score.setDimension(dimension.name());
+      score.setId(dictionary.id(code));
+      score.setName(dictionary.name(code));
+      score.setShifts(tally.shifts);
+      score.setOnTimeShifts(tally.onTime);
+      score.setLateShifts(tally.late);
+      score.setAbsentShifts(tally.absent);
+      score.setEarlyLeaveShifts(tally.earlyLeave);
+      score.setMissedCheckoutShifts(tally.missedCheckout);
+      score.setTotalLateMinutes(tally.lateMinutes);
+      score.setAverageLateMinutes(tally.averageLateMinutes());
+      score.setPunctualityScore(tally.punctualityScore());
+      scores.add(score);
+    }
+    scores.sort(Comparator.comparingDouble(PunctualityScoreResponse::getPunctualityScore)
+        .thenComparing(PunctualityScoreResponse::getShifts, Comparator.reverseOrder())
+        .thenComparing(PunctualityScoreResponse::getId));
+
+    PunctualityReportResponse response = new PunctualityReportResponse();
+    response.setDimension(dimension.name());
+    response.setFrom(from);
+    response.setTo(to);
+    response.setScores(scores);
+    return response;
+  }
+
+  /**
+   * Rolling lateness over a 7, 30 or 90 day window, one point per day for the last N days
+   * 
+   * dimension and id select one guard, site or client; omit both for the whole organization.
+   */
+  public LatenessTrendResponse getLatenessTrend(
+      AnalyticsDimension dimension,
+      Long id,
+      int windowDays,
+      Integer days) {
+    if (!TREND_WINDOWS.contains(windowDays)) {
+      throw new IllegalArgumentException("Window must be one of 7, 30 or 90 days");
+    }
+    int span = resolveDays(days, DEFAULT_TREND_DAYS);
+    if (span + windowDays - 1 > analyticsIndex.historyDays()) {
+      throw new IllegalArgumentException(String.format(
+          "A %d day trend over a %d day window needs %d days of history; %d are kept",
+          span, windowDays, span + windowDays - 1, analyticsIndex.historyDays()));
+    }
+    AttendanceFacts facts = analyticsIndex.facts();
+    int code = resolveCode(facts, dimension, id);
+    LocalDate to = facts.to();
+    LocalDate from = to.minusDays(span - 1L);
+
+    AttendanceFacts.Tally[] daily = facts.tallyByDay(dimension, code, from.minusDays(windowDays - 1L), to);
+    AttendanceFacts.Tally window = new AttendanceFacts.Tally();
+    List<LatenessTrendPoint> points = new ArrayList<>(span);
+    for (int i = 0; i < daily.length; i++) {
+      window.add(daily[i]);
+      if (i >= windowDays) {
+        window.subtract(daily[i - windowDays]);
+      }
+      if (i >= windowDays - 1) {
+        LatenessTrendPoint point = new LatenessTrendPoint();
+        point.setDate(from.plusDays(i - (windowDays - 1L)));
+        point.setShifts(window.shifts);
+        point.setLateShifts(window.late);
+        point.setAbsentShifts(window.absent);
+        point.setLateRate(window.lateRate());
+        point.setAverageLateMinutes(window.averageLateMinutes());
+        point.setPunctualityScore(window.punctualityScore());
+        points.add(point);
+      }
+    }
+
+    LatenessTrendResponse response = new LatenessTrendResponse();
+    if (dimension != null) {
+      response.setDimension(dimension.name());
+      response.setId(id);
+      response.setName(memberName(facts, dimension, code));
+    }
+    response.setWindowDays(windowDays);
+    response.setFrom(from);
+    response.setTo(to);
+    response.setPoints(points);
+    return response;
+  }
+
+  /**
+   * Weekday x shift-start-hour lateness over the last N days
+   * 
+   * dimension and id select one guard, site or client; omit both for the whole organization.
+   */
+  public LatenessHeatmapResponse getHeatmap(AnalyticsDimension dimension, Long id, Integer days) {
+    int span = resolveDays(days, DEFAULT_HEATMAP_DAYS);
+    AttendanceFacts facts = analyticsIndex.facts();
+    int code = resolveCode(facts, dimension, id);
+    LocalDate to = facts.to();
+    LocalDate from = to.minusDays(span - 1L);
+
+    AttendanceFacts.Tally[] tallies = facts.tallyByWeekdayHour(dimension, code, from, to);
+    List<HeatmapCell> cells = new ArrayList<>();
+    for (int index = 0; index < tallies.length; index++) {
+      AttendanceFacts.Tally tally = tallies[index];
+      if (tally == null) {
+        continue;
+      }
+      HeatmapCell cell = new HeatmapCell();
+      cell.setDayOfWeek(DayOfWeek.of(index / AttendanceFacts.HOURS_PER_DAY + 1).name());
+      cell.setHour(index % AttendanceFacts.HOURS_PER_DAY);
+      cell.setShifts(tally.shifts);
+      cell.setLateShifts(tally.late);
+      cell.setAbsentShifts(tally.absent);
+      cell.setLateRate(tally.lateRate());
+      cell.setAverageLateMinutes(tally.averageLateMinutes());
+      cells.add(cell);
+    }
+
+    LatenessHeatmapResponse response = new LatenessHeatmapResponse();
+    if (dimension != null) {
+      response.setDimension(dimension.name());
+      response.setId(id);
+      response.setName(memberName(facts, dimension, code));
+    }
+    response.setFrom(from);
+    response.setTo(to);
+    response.setCells(cells);
+    return response;
+  }
+
+  private int resolveDays(Integer days, int defaultDays) {
+    if (days == null) {
+      return Math.min(defaultDays, analyticsIndex.historyDays());
+    }
+    if (days < 1 || days > analyticsIndex.historyDays()) {
+      throw new IllegalArgumentException("Days must be between 1 and " + analyticsIndex.historyDays());
+    }
+    return days;
+  }
+
+  /**
+   * Dictionary code for a dimension member; -1 for organization-wide or for members without attendance
+   */
+  private static int resolveCode(AttendanceFacts facts, AnalyticsDimension dimension, Long id) {
+    if ((dimension == null) != (id == null)) {
+      throw new IllegalArgumentException("Dimension and id must be given together");
+    }
+    return dimension == null ? -1 : facts.dictionary(dimension).code(id);
+  }
+
+  private static String memberName(AttendanceFacts facts, AnalyticsDimension dimension, int code) {
+    return code >= 0 ? facts.dictionary(dimension).name(code) : null;
+  }
+}
@@ -0,0 +1,411 @@
+package com.sgms.analytics;
+
+import com.sgms.attendance.AttendanceStatus;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar in-memory snapshot of attendance records for analytics
+ * 
+ * One row per attendance record between {@link #from()} and {@link #to()},
+ * stored as parallel primitive columns and grouped by day (rows of day d
+ * are [dayStart[d], dayStart[d + 1])). Guards, sites and clients are
+ * dictionary-encoded: each row holds a small int code per dimension and
+ * the dictionaries map codes back to ids and names.
+ * 
+ * Aggregations scan only the columns and day range they need and tally
+ * into arrays indexed by code, day or heatmap cell. Instances are
+ * immutable once built and safe to share between request threads.
+ */
+final class AttendanceFacts {
+
+  static final int HOURS_PER_DAY = 24;
+  static final int HEATMAP_CELLS = 7 * HOURS_PER_DAY;
+
+  private static final AnalyticsDimension[] DIMENSIONS = AnalyticsDimension.values();
+  private static final byte ABSENT = (byte) AttendanceStatus.ABSENT.ordinal();
+  private static final byte MISSED_CHECKOUT = (byte) AttendanceStatus.MISSED_CHECKOUT.ordinal();
+
+  /**
+   * Dictionary for one dimension: code -> id/name, id -> code
+   */
+  static final class Dictionary {
+
+    private final long[] ids;
+    private final String[] names;
+    private final Map<Long, Integer> codes;
+
+    private Dictionary(List<Long> ids, List<String> names, Map<Long, Integer> codes) {
+      this.ids = ids.stream().mapToLong(Long::longValue).toArray();
+      this.names = names.toArray(new String[0]);
+      this.codes = codes;
+    }
+
+    int size() {
+      return ids.length;
+    }
+
+    long id(int code) {
+      return ids[code];
+    }
+
+    String name(int code) {
+      return names[code];
+    }
+
+    /**
+     * Code for an id, or -1 when the id has no rows in the snapshot
+     */
+    int code(long id) {
+      Integer code = codes.get(id);
+      return code != null ? code : -1;
+    }
+  }
+
+  /**
+   * Running totals for a group of rows
+   */
+  static final class Tally {
+
+    int shifts;
+    int onTime;
+    int late;
+    int absent;
+    int earlyLeave;
+    int missedCheckout;
+    long lateMinutes;
+
+    void add(Tally other) {
+      shifts += other.shifts;
+      onTime += other.onTime;
+      late += other.late;
+      absent += other.absent;
+      earlyLeave += other.earlyLeave;
+      missedCheckout += other.missedCheckout;
+      lateMinutes += other.lateMinutes;
+    }
+
+    void subtract(Tally other) {
+      shifts -= other.shifts;
+      onTime -= other.onTime;
+      late -= other.late;
+      absent -= other.absent;
+      earlyLeave -= other.earlyLeave;
+      missedCheckout -= other.missedCheckout;
+      lateMinutes -= other.lateMinutes;
+    }
+
+    /**
+     * Percentage of shifts checked into on time
+     */
+    double punctualityScore() {
+      return percentage(onTime, shifts);
+    }
+
+    /**
+     * Percentage of shifts checked into late
+     */
+    double lateRate() {
+      return percentage(late, shifts);
+    }
+
+    /**
+     * Mean lateness of late shifts, or null when none were late
+     */
+    Double averageLateMinutes() {
+      return late == 0 ? null : Math.round(lateMinutes * 10.0 / late) / 10.0;
+    }
+
+    private static double percentage(int part, int whole) {
+      return whole == 0 ? 0.0 : Math.round(part * 1000.0 / whole) / 10.0;
+    }
+  }
+
+  private final LocalDate from;
+  private final LocalDate to;
+  private final Instant builtAt;
+  private final int[] dayStart;
+  private final DayOfWeek[] weekdays;
+  private final int[][] codes;
+  private final Dictionary[] dictionaries;
+  private final byte[] status;
+  private final int[] lateMinutes;
+  private final int[] earlyLeaveMinutes;
+  private final byte[] shiftHour;
+
+  private AttendanceFacts(Builder builder, int[] order) {
+    this.from = builder.from;
+    this.to = builder.to;
+    this.builtAt = builder.builtAt;
+    int days = builder.days();
+    int size = builder.size;
+
+    this.dayStart = new int[days + 1];
+    for (int row = 0; row < size; row++) {
+      dayStart[builder.day[row] + 1]++;
+    }
+    for (int d = 0; d < days; d++) {
+      dayStart[d + 1] += dayStart[d];
+    }
+    this.weekdays = new DayOfWeek[days];
+    for (int d = 0; d < days; d++) {
+      weekdays[d] = from.plusDays(d).getDayOfWeek();
+    }
+
+    this.codes = new int[DIMENSIONS.length][size];
+    this.dictionaries = new Dictionary[DIMENSIONS.length];
+    for (int dim = 0; dim < DIMENSIONS.length; dim++) {
+      for (int i = 0; i < size; i++) {
+        codes[dim][i] = builder.codes[dim][order[i]];
+      }
+      dictionaries[dim] = new Dictionary(builder.ids.get(dim), builder.names.get(dim), builder.codeById.get(dim));
+    }
+    this.status = new byte[size];
+    this.lateMinutes = new int[size];
+    this.earlyLeaveMinutes = new int[size];
+    this.shiftHour = new byte[size];
+    for (int i = 0; i < size; i++) {
+      int row = order[i];
+      status[i] = builder.status[row];
+      lateMinutes[i] = builder.lateMinutes[row];
+      earlyLeaveMinutes[i] = builder.earlyLeaveMinutes[row];
+      shiftHour[i] = builder.shiftHour[row];
+    }
+  }
+
+  static Builder builder(LocalDate from, LocalDate to, Instant builtAt) {
+    return new Builder(from, to, builtAt);
+  }
+
+  LocalDate from() {
+    return from;
+  }
+
+  LocalDate to() {
+    return to;
+  }
+
+  Instant builtAt() {
+    return builtAt;
+  }
+
+  int size() {
+    return status.length;
+  }
+
+  Dictionary dictionary(AnalyticsDimension dimension) {
+    return dictionaries[dimension.ordinal()];
+  }
+
+  /**
+   * Tallies per member of a dimension over [first, last], indexed by dictionary code
+   * 
+   * Entries are null for members without rows in the range.
+   */
+  Tally[] tallyBy(AnalyticsDimension dimension, LocalDate first, LocalDate last) {
+    int[] column = codes[dimension.ordinal()];
+    Tally[] tallies = new Tally[dictionaries[dimension.ordinal()].size()];
+    for (int row = rowStart(first); row < rowEnd(last); row++) {
+      int code = column[row];
+      if (tallies[code] == null) {
+        tallies[code] = new Tally();
+      }
+      count(tallies[code], row);
+    }
+    return tallies;
+  }
+
+  /**
+   * One tally per day over [first, last], optionally restricted to one member (code >= 0)
+   */
+  Tally[] tallyByDay(AnalyticsDimension dimension, int code, LocalDate first, LocalDate last) {
+    int[] column = dimension != null ? codes[dimension.ordinal()] : null;
+    int firstDay = clampDay(first);
+    int lastDay = clampDay(last.plusDays(1));
+    Tally[] tallies = new Tally[Math.max(0, lastDay - firstDay)];
+    for (int d = firstDay; d < lastDay; d++) {
+      Tally tally = new Tally();
+      for (int row = dayStart[d]; row < dayStart[d + 1]; row++) {
+        if (column == null || column[row] == code) {
+          count(tally, row);
+        }
+      }
+      tallies[d - firstDay] = tally;
+    }
+    return tallies;
+  }
+
+  /**
+   * Weekday x shift-start-hour tallies over [first, last], indexed (weekday - 1) * 24 + hour
+   */
+  Tally[] tallyByWeekdayHour(AnalyticsDimension dimension, int code, LocalDate first, LocalDate last) {
+    int[] column = dimension != null ? codes[dimension.ordinal()] : null;
+    Tally[] cells = new Tally[HEATMAP_CELLS];
+    int lastDay = clampDay(last.plusDays(1));
+    for (int d = clampDay(first); d < lastDay; d++) {
+      int base = (weekdays[d].getValue() - 1) * HOURS_PER_DAY;
+      for (int row = dayStart[d]; row < dayStart[d + 1]; row++) {
+        if (column != null && column[row] != code) {
+          continue;
+        }
+        int cell = base + shiftHour[row];
+        if (cells[cell] == null) {
+          cells[cell] = new Tally();
+        }
+        count(cells[cell], row);
+      }
+    }
+    return cells;
+  }
+
+  private void count(Tally tally, int row) {
+    tally.shifts++;
+    if (status[row] == ABSENT) {
+      tally.absent++;
+    } else if (lateMinutes[row] > 0) {
+      tally.late++;
+      tally.lateMinutes += lateMinutes[row];
+    } else {
+      tally.onTime++;
+    }
+    if (earlyLeaveMinutes[row] > 0) {
+      tally.earlyLeave++;
+    }
+    if (status[row] == MISSED_CHECKOUT) {
+      tally.missedCheckout++;
+    }
+  }
+
+  private int rowStart(LocalDate first) {
+    return dayStart[clampDay(first)];
+  }
+
+  private int rowEnd(LocalDate last) {
+    return dayStart[clampDay(last.plusDays(1))];
+  }
+
+  /**
+   * Day offset of a date, clamped to [0, days]
+   */
+  private int clampDay(LocalDate date) {
+    long offset = date.toEpochDay() - from.toEpochDay();
+    return (int) Math.max(0, Math.min(weekdays.length, offset));
+  }
+
+  /**
+   * Accumulates rows in load order; {@link #build()} groups them by day
+   */
+  static final class Builder {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Instant builtAt;
+    private final List<List<Long>> ids = new ArrayList<>();
+    private final List<List<String>> names = new ArrayList<>();
+    private final List<Map<Long, Integer>> codeById = new ArrayList<>();
+    private int size;
+    private int[] day = new int[1024];
+    private int[][] codes = new int[DIMENSIONS.length][1024];
+    private byte[] status = new byte[1024];
+    private int[] lateMinutes = new int[1024];
+    private int[] earlyLeaveMinutes = new int[1024];
+    private byte[] shiftHour = new byte[1024];
+
+    private Builder(LocalDate from, LocalDate to, Instant builtAt) {
+      if (to.isBefore(from)) {
+        throw new IllegalArgumentException("Snapshot 'to' must be on or after 'from'");
+      }
+      this.from = from;
+      this.to = to;
+      this.builtAt = builtAt;
+      for (int dim = 0; dim < DIMENSIONS.length; dim++) {
+        ids.add(new ArrayList<>());
+        names.add(new ArrayList<>());
+        codeById.add(new HashMap<>());
+      }
+    }
+
+    private int days() {
+      return (int) (to.toEpochDay() - from.toEpochDay() + 1);
+    }
+
+    /**
+     * Add one attendance record; records outside [from, to] are ignored
+     */
+    Builder add(
+        LocalDate date,
+        long guardId, String guardName,
+        long siteId, String siteName,
+        long clientId, String clientName,
+        AttendanceStatus recordStatus,
+        int late,
+        int earlyLeave,
+        int startHour) {
+      long offset = date.toEpochDay() - from.toEpochDay();
+      if (offset < 0 || offset >= days()) {
+        return this;
+      }
+      if (size == day.length) {
+        grow();
+      }
+      day[size] = (int) offset;
+      codes[AnalyticsDimension.GUARD.ordinal()][size] = encode(AnalyticsDimension.GUARD, guardId, guardName);
+      codes[AnalyticsDimension.SITE.ordinal()][size] = encode(AnalyticsDimension.SITE, siteId, siteName);
+      codes[AnalyticsDimension.CLIENT.ordinal()][size] = encode(AnalyticsDimension.CLIENT, clientId, clientName);
+      status[size] = (byte) recordStatus.ordinal();
+      lateMinutes[size] = Math.max(0, late);
+      earlyLeaveMinutes[size] = Math.max(0, earlyLeave);
+      shiftHour[size] = (byte) Math.floorMod(startHour, HOURS_PER_DAY);
+      size++;
+      return this;
+    }
+
+    AttendanceFacts build() {
+      // Counting sort of row numbers by day
+      int days = days();
+      int[] next = new int[days + 1];
+      for (int row = 0; row < size; row++) {
+        next[day[row] + 1]++;
+      }
+      for (int d = 0; d < days; d++) {
+        next[d + 1] += next[d];
+      }
+      int[] order = new int[size];
+      for (int row = 0; row < size; row++) {
+        order[next[day[row]]++] = row;
+      }
+      return new AttendanceFacts(this, order);
+    }
+
+    private int encode(AnalyticsDimension dimension, long id, String name) {
+      int dim = dimension.ordinal();
+      Integer code = codeById.get(dim).get(id);
+      if (code == null) {
+        code = ids.get(dim).size();
+        codeById.get(dim).put(id, code);
+        ids.get(dim).add(id);
+        names.get(dim).add(name);
+      }
+      return code;
+    }
+
+    private void grow() {
+      int capacity = day.length * 2;
+      day = Arrays.copyOf(day, capacity);
+      for (int dim = 0; dim < DIMENSIONS.length; dim++) {
+        codes[dim] = Arrays.copyOf(codes[dim], capacity);
+      }
+      status = Arrays.copyOf(status, capacity);
+      lateMinutes = Arrays.copyOf(lateMinutes, capacity);
+      earlyLeaveMinutes = Arrays.copyOf(earlyLeaveMinutes, capacity);
+      shiftHour = Arrays.copyOf(shiftHour, capacity);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.sgms.analytics.dto;
+
+/**
+ * Lateness for one weekday and shift start hour
+ */
+public class HeatmapCell {
+
+  private String dayOfWeek;
+  private int hour;
+  private int shifts;
+  private int lateShifts;
+  private int absentShifts;
+
+  /**
+   * Percentage of shifts checked into late (0-100)
+   */
+  private double lateRate;
+
+  /**
+   * Mean lateness of late shifts; null when none were late
+   */
+  private Double averageLateMinutes;
+
+  // Getters and Setters
+
+  public String getDayOfWeek() {
+    return dayOfWeek;
+  }
+
+  public void setDayOfWeek(String dayOfWeek) {
+    this.dayOfWeek = dayOfWeek;
+  }
+
+  public int getHour() {
+    return hour;
+  }
+
+  public void setHour(int hour) {
+    this.hour = hour;
+  }
+
+  public int getShifts() {
+    return shifts;
+  }
+
+  public void setShifts(int shifts) {
+    this.shifts = shifts;
+  }
+
+  public int getLateShifts() {
+    return lateShifts;
+  }
+
+  public void setLateShifts(int lateShifts) {
+    this.lateShifts = lateShifts;
+  }
+
+  public int getAbsentShifts() {
+    return absentShifts;
+  }
+
+  public void setAbsentShifts(int absentShifts) {
+    this.absentShifts = absentShifts;
+  }
+
+  public double getLateRate() {
+    return lateRate;
+  }
+
+  public void setLateRate(double lateRate) {
+    this.lateRate = lateRate;
+  }
+
+  public Double getAverageLateMinutes() {
+    return averageLateMinutes;
+  }
+
+  public void setAverageLateMinutes(Double averageLateMinutes) {
+    this.averageLateMinutes = averageLateMinutes;
+  }
+}
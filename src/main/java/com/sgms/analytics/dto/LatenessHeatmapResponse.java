@@ -0,0 +1,71 @@
+package com.sgms.analytics.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Weekday x hour-of-day lateness heatmap
+ * 
+ * Shifts are bucketed by the weekday of the attendance date and the hour the
+ * shift starts. Only cells with at least one shift are listed, Monday first.
+ * dimension and id are null for the organization-wide heatmap
+ */
+public class LatenessHeatmapResponse {
+
+  private String dimension;
+  private Long id;
+  private String name;
+  private LocalDate from;
+  private LocalDate to;
+  private List<HeatmapCell> cells;
+
+  // Getters and Setters
+
+  public String getDimension() {
+    return dimension;
+  }
+
+  public void setDimension(String dimension) {
+    this.dimension = dimension;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public void setFrom(LocalDate from) {
+    this.from = from;
+  }
+
+  public LocalDate getTo() {
+    return to;
+  }
+
+  public void setTo(LocalDate to) {
+    this.to = to;
+  }
+
+  public List<HeatmapCell> getCells() {
+    return cells;
+  }
+
+  public void setCells(List<HeatmapCell> cells) {
+    this.cells = cells;
+  }
+}
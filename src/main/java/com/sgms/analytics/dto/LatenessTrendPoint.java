@@ -0,0 +1,84 @@
+package com.sgms.analytics.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Rolling lateness figures for the window ending on one date
+ */
+public class LatenessTrendPoint {
+
+  private LocalDate date;
+  private int shifts;
+  private int lateShifts;
+  private int absentShifts;
+
+  /**
+   * Percentage of shifts checked into late (0-100)
+   */
+  private double lateRate;
+
+  /**
+   * Mean lateness of late shifts; null when none were late
+   */
+  private Double averageLateMinutes;
+
+  private double punctualityScore;
+
+  // Getters and Setters
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public int getShifts() {
+    return shifts;
+  }
+
+  public void setShifts(int shifts) {
+    this.shifts = shifts;
+  }
+
+  public int getLateShifts() {
+    return lateShifts;
+  }
+
+  public void setLateShifts(int lateShifts) {
+    this.lateShifts = lateShifts;
+  }
+
+  public int getAbsentShifts() {
+    return absentShifts;
+  }
+
+  public void setAbsentShifts(int absentShifts) {
+    this.absentShifts = absentShifts;
+  }
+
+  public double getLateRate() {
+    return lateRate;
+  }
+
+  public void setLateRate(double lateRate) {
+    this.lateRate = lateRate;
+  }
+
+  public Double getAverageLateMinutes() {
+    return averageLateMinutes;
+  }
+
+  public void setAverageLateMinutes(Double averageLateMinutes) {
+    this.averageLateMinutes = averageLateMinutes;
+  }
+
+  public double getPunctualityScore() {
+    return punctualityScore;
+  }
+
+  public void setPunctualityScore(double punctualityScore) {
+    this.punctualityScore = punctualityScore;
+  }
+}
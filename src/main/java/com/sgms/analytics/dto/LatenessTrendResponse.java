@@ -0,0 +1,78 @@
+package com.sgms.analytics.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rolling lateness trend for a guard, site, client or the whole organization
+ * 
+ * dimension and id are null for the organization-wide trend
+ */
+public class LatenessTrendResponse {
+
+  private String dimension;
+  private Long id;
+  private String name;
+  private int windowDays;
+  private LocalDate from;
+  private LocalDate to;
+  private List<LatenessTrendPoint> points;
+
+  // Getters and Setters
+
+  public String getDimension() {
+    return dimension;
+  }
+
+  public void setDimension(String dimension) {
+    this.dimension = dimension;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getWindowDays() {
+    return windowDays;
+  }
+
+  public void setWindowDays(int windowDays) {
+    this.windowDays = windowDays;
+  }
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public void setFrom(LocalDate from) {
+    this.from = from;
+  }
+
+  public LocalDate getTo() {
+    return to;
+  }
+
+  public void setTo(LocalDate to) {
+    this.to = to;
+  }
+
+  public List<LatenessTrendPoint> getPoints() {
+    return points;
+  }
+
+  public void setPoints(List<LatenessTrendPoint> points) {
+    this.points = points;
+  }
+}
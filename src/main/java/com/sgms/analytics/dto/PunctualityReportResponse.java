@@ -0,0 +1,51 @@
+package com.sgms.analytics.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Punctuality scores for every guard, site or client with attendance in a date range
+ * 
+ * Scores are ordered lowest first so the members needing attention lead the list
+ */
+public class PunctualityReportResponse {
+
+  private String dimension;
+  private LocalDate from;
+  private LocalDate to;
+  private List<PunctualityScoreResponse> scores;
+
+  // Getters and Setters
+
+  public String getDimension() {
+    return dimension;
+  }
+
+  public void setDimension(String dimension) {
+    this.dimension = dimension;
+  }
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public void setFrom(LocalDate from) {
+    this.from = from;
+  }
+
+  public LocalDate getTo() {
+    return to;
+  }
+
+  public void setTo(LocalDate to) {
+    this.to = to;
+  }
+
+  public List<PunctualityScoreResponse> getScores() {
+    return scores;
+  }
+
+  public void setScores(List<PunctualityScoreResponse> scores) {
+    this.scores = scores;
+  }
+}
@@ -0,0 +1,125 @@
+package com.sgms.analytics.dto;
+
+/**
+ * Punctuality of one guard, site or client over a date range
+ * 
+ * punctualityScore: percentage of shifts checked into on time (0-100)
+ */
+public class PunctualityScoreResponse {
+
+  private String dimension;
+  private Long id;
+  private String name;
+  private int shifts;
+  private int onTimeShifts;
+  private int lateShifts;
+  private int absentShifts;
+  private int earlyLeaveShifts;
+  private int missedCheckoutShifts;
+  private long totalLateMinutes;
+
+  /**
+   * Mean lateness of late shifts; null when none were late
+   */
+  private Double averageLateMinutes;
+
+  private double punctualityScore;
+
+  // Getters and Setters
+
+  public String getDimension() {
+    return dimension;
+  }
+
+  public void setDimension(String dimension) {
+    this.dimension = dimension;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getShifts() {
+    return shifts;
+  }
+
+  public void setShifts(int shifts) {
+    this.shifts = shifts;
+  }
+
+  public int getOnTimeShifts() {
+    return onTimeShifts;
+  }
+
+  public void setOnTimeShifts(int onTimeShifts) {
+    this.onTimeShifts = onTimeShifts;
+  }
+
+  public int getLateShifts() {
+    return lateShifts;
+  }
+
+  public void setLateShifts(int lateShifts) {
+    this.lateShifts = lateShifts;
+  }
+
+  public int getAbsentShifts() {
+    return absentShifts;
+  }
+
+  public void setAbsentShifts(int absentShifts) {
+    this.absentShifts = absentShifts;
+  }
+
+  public int getEarlyLeaveShifts() {
+    return earlyLeaveShifts;
+  }
+
+  public void setEarlyLeaveShifts(int earlyLeaveShifts) {
+    this.earlyLeaveShifts = earlyLeaveShifts;
+  }
+
+  public int getMissedCheckoutShifts() {
+    return missedCheckoutShifts;
+  }
+
+  public void setMissedCheckoutShifts(int missedCheckoutShifts) {
+    this.missedCheckoutShifts = missedCheckoutShifts;
+  }
+
+  public long getTotalLateMinutes() {
+    return totalLateMinutes;
+  }
+
+  public void setTotalLateMinutes(long totalLateMinutes) {
+    this.totalLateMinutes = totalLateMinutes;
+  }
+
+  public Double getAverageLateMinutes() {
+    return averageLateMinutes;
+  }
+
+  public void setAverageLateMinutes(Double averageLateMinutes) {
+    this.averageLateMinutes = averageLateMinutes;
+  }
+
+  public double getPunctualityScore() {
+    return punctualityScore;
+  }
+
+  public void setPunctualityScore(double punctualityScore) {
+    this.punctualityScore = punctualityScore;
+  }
+}
@@ -0,0 +1,165 @@
+package com.sgms.archive;
+
+import com.sgms.scheduling.ClusterJobRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ArchiveScheduler - Moves old attendance and assignments into the archive schema
+ * 
+ * Attendance dated before the horizon (app.archive.horizon-days) is moved
+ * first; an assignment is moved once it ended or was cancelled before the
+ * horizon and no hot attendance row still references it. Each batch is one
+ * statement that deletes from the hot table and inserts the returned rows
+ * (with guard/post/site/shift names copied in) into the archive, so a row
+ * is never lost or duplicated and every transaction stays short.
+ */
+@Component
+public class ArchiveScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ArchiveScheduler.class);
+
+  static final String JOB_NAME = "archive.old-records";
+
+  private static final String ARCHIVE_ATTENDANCE_SQL =
+      "WITH batch AS (" +
+      "  SELECT id FROM attendance_logs WHERE attendance_date < ? " +
+      "  ORDER BY attendance_date, id LIMIT ? FOR UPDATE SKIP LOCKED" +
+      "), moved AS (" +
+      "  DELETE FROM attendance_logs al USING batch b WHERE al.id = b.id RETURNING al.*" +
+      ") " +
+      "INSERT INTO archive.attendance_logs (id, guard_id, assignment_id, site_post_id, site_id, " +
+      "client_account_id, attendance_date, check_in_time, check_out_time, status, late_minutes, " +
+      "early_leave_minutes, notes, check_in_latitude, check_in_longitude, check_in_distance_meters, " +
+      "check_out_latitude, check_out_longitude, check_out_distance_meters, geofence_flagged, guard_name, " +
+      "post_name, site_name, shift_name, shift_start, shift_end, created_at, updated_at) " +
+      "SELECT m.id, m.guard_id, m.assignment_id, sp.id, sp.site_id, s.client_account_id, " +
+      "m.attendance_date, m.check_in_time, m.check_out_time, m.status, m.late_minutes, " +
+      "m.early_leave_minutes, m.notes, m.check_in_latitude, m.check_in_longitude, m.check_in_distance_meters, " +
+      "m.check_out_latitude, m.check_out_longitude, m.check_out_distance_meters, m.geofence_flagged, " +
+      "CONCAT_WS(' ', g.first_name, g.last_name), sp.post_name, s.name, st.name, st.start_time, st.end_time, " +
+      "m.created_at, m.updated_at " +
+      "FROM moved m " +
+      "LEFT JOIN guards g ON g.id = m.guard_id " +
+      "LEFT JOIN guard_assignments ga ON ga.id = m.assignment_id " +
+      "LEFT JOIN site_posts sp ON sp.id = COALESCE(m.site_post_id, ga.site_post_id) " +
+      "LEFT JOIN sites s ON s.id = sp.site_id " +
+      "LEFT JOIN shift_types st ON st.id = ga.shift_type_id";
+
+  private static final String ARCHIVE_ASSIGNMENTS_SQL =
+      "WITH batch AS (" +
+      "  SELECT ga.id FROM guard_assignments ga " +
+      "  WHERE (ga.effective_to < ? OR (ga.status <> 'ACTIVE' AND ga.updated_at < ?)) " +
+      "  AND NOT EXISTS (SELECT 1 FROM attendance_logs al WHERE al.assignment_id = ga.id) " +
+      "  ORDER BY ga.id LIMIT ? FOR UPDATE SKIP LOCKED" +
+      "), moved AS (" +
+      "  DELETE FROM guard_assignments ga USING batch b WHERE ga.id = b.id RETURNING ga.*" +
+      ") " +
+      "INSERT INTO archive.guard_assignments (id, guard_id, site_post_id, shift_type_id, effective_from, " +
+      "effective_to, status, notes, created_by_user_id, guard_name, site_id, site_name, post_name, " +
+      "shift_name, created_at, updated_at) " +
+      "SELECT m.id, m.guard_id, m.site_post_id, m.shift_type_id, m.effective_from, m.effective_to, " +
+      "m.status, m.notes, m.created_by_user_id, CONCAT_WS(' ', g.first_name, g.last_name), " +
+      "sp.site_id, s.name, sp.post_name, st.name, m.created_at, m.updated_at " +
+      "FROM moved m " +
+      "LEFT JOIN guards g ON g.id = m.guard_id " +
+      "LEFT JOIN site_posts sp ON sp.id = m.site_post_id " +
+      "LEFT JOIN sites s ON s.id = sp.site_id " +
+      "LEFT JOIN shift_types st ON st.id = m.shift_type_id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ClusterJobRunner clusterJobRunner;
+  private final Clock clock;
+  private final boolean enabled;
+  private final int horizonDays;
+  private final int batchSize;
+
+  private final ReentrantLock runLock = new ReentrantLock();
+
+  public ArchiveScheduler(
+      JdbcTemplate jdbcTemplate,
+      ClusterJobRunner clusterJobRunner,
+      Clock clock,
+      @Value("${app.archive.enabled:true}") boolean enabled,
+      @Value("${app.archive.horizon-days:400}") int horizonDays,
+      @Value("${app.archive.batch-size:2000}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clusterJobRunner = clusterJobRunner;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.horizonDays = Math.max(1, horizonDays);
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  /**
+   * Nightly archive run, after the end-of-day attendance jobs and the analytics rebuild
+   * 
+   * Cron: app.archive.cron (default every day at 03:00:00)
+   */
+  @Scheduled(cron = "${app.archive.cron:0 0 3 * * *}")
+  public void archiveOldRecords() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      clusterJobRunner.runExclusive(JOB_NAME, Duration.ofHours(2), () -> {
+        logger.info("Starting scheduled job: Archive old attendance and assignments");
+        int[] moved = archive();
+        logger.info("Archived {} attendance records and {} assignments older than {}",
+            moved[0], moved[1], horizon());
+      });
+    } catch (Exception e) {
+      logger.error("Error in archiveOldRecords scheduled job", e);
+    }
+  }
+
+  /**
+   * First date kept in the hot tables
+   */
+  public LocalDate horizon() {
+    return LocalDate.now(clock).minusDays(horizonDays);
+  }
+
+  /**
+   * Move everything older than the horizon, batch by batch; a no-op while another run is in progress
+   * 
+   * @return {attendance records moved, assignments moved}
+   */
+  public int[] archive() {
+    if (!runLock.tryLock()) {
+      return new int[] {0, 0};
+    }
+    try {
+      LocalDate horizon = horizon();
+      Timestamp horizonStart = Timestamp.from(horizon.atStartOfDay(ZoneOffset.UTC).toInstant());
+
+      int attendance = 0;
+      int moved;
+      do {
+        moved = jdbcTemplate.update(ARCHIVE_ATTENDANCE_SQL, horizon, batchSize);
+        attendance += moved;
+      } while (moved == batchSize);
+
+      int assignments = 0;
+      do {
+        moved = jdbcTemplate.update(ARCHIVE_ASSIGNMENTS_SQL, horizon, horizonStart, batchSize);
+        assignments += moved;
+      } while (moved == batchSize);
+
+      return new int[] {attendance, assignments};
+    } finally {
+      runLock.unlock();
+    }
+  }
+}
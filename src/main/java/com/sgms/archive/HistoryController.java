@@ -0,0 +1,72 @@
+package com.sgms.archive;
+
+import com.sgms.archive.dto.AssignmentHistoryResponse;
+import com.sgms.archive.dto.AttendanceHistoryResponse;
+import com.sgms.common.ApiResponse;
+import com.sgms.security.UserPrincipal;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller for historical queries spanning the hot tables and the archive
+ * 
+ * Authorization: ADMIN and SUPERVISOR roles (supervisors see only their mapped sites)
+ */
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+
+  private final HistoryService historyService;
+
+  public HistoryController(HistoryService historyService) {
+    this.historyService = historyService;
+  }
+
+  /**
+   * Attendance history of a guard and/or site
+   * 
+   * GET /api/history/attendance?guardId=1&from=2024-01-01&to=2024-12-31
+   * GET /api/history/attendance?siteId=3
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Query params:
+   * - guardId, siteId: at least one is required
+   * - from, to (optional): YYYY-MM-DD, default the last 90 days, at most 366 days
+   */
+  @GetMapping("/attendance")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<List<AttendanceHistoryResponse>> getAttendanceHistory(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestParam(required = false) Long guardId,
+      @RequestParam(required = false) Long siteId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    List<AttendanceHistoryResponse> history =
+        historyService.getAttendanceHistory(principal, guardId, siteId, from, to);
+    return ApiResponse.success(history);
+  }
+
+  /**
+   * Assignment history of a guard
+   * 
+   * GET /api/history/assignments/guard/{guardId}
+   * Requires: ADMIN or SUPERVISOR role
+   */
+  @GetMapping("/assignments/guard/{guardId}")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<List<AssignmentHistoryResponse>> getAssignmentHistory(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable Long guardId) {
+    List<AssignmentHistoryResponse> history = historyService.getAssignmentHistory(principal, guardId);
+    return ApiResponse.success(history);
+  }
+}
@@ -0,0 +1,203 @@
+package com.sgms.archive;
+
+import com.sgms.archive.dto.AssignmentHistoryResponse;
+import com.sgms.archive.dto.AttendanceHistoryResponse;
+import com.sgms.security.UserPrincipal;
+import com.sgms.site.SiteScope;
+import com.sgms.site.SupervisorScopeService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-through queries over the hot tables and the archive schema
+ * 
+ * Each query is one UNION ALL of the hot table and its archive twin with
+ * the same filters, so callers see a single history regardless of where
+ * the archive horizon currently lies. Archive rows carry their own names
+ * and never join the hot tables.
+ */
+@Service
+public class HistoryService {
+
+  static final int MAX_RANGE_DAYS = 366;
+
+  private static final String HOT_ATTENDANCE_SELECT =
+      "SELECT al.id, al.attendance_date, al.guard_id, CONCAT_WS(' ', g.first_name, g.last_name) AS guard_name, " +
+      "al.site_id, s.name AS site_name, sp.post_name, st.name AS shift_name, al.check_in_time, " +
+      "al.check_out_time, al.status, al.late_minutes, al.early_leave_minutes, FALSE AS archived " +
+      "FROM attendance_logs al " +
+      "LEFT JOIN guards g ON g.id = al.guard_id " +
+      "LEFT JOIN sites s ON s.id = al.site_id " +
+      "LEFT JOIN site_posts sp ON sp.id = al.site_post_id " +
+      "LEFT JOIN guard_assignments ga ON ga.id = al.assignment_id " +
+      "LEFT JOIN shift_types st ON st.id = ga.shift_type_id ";
+
+  private static final String ARCHIVED_ATTENDANCE_SELECT =
+      "SELECT al.id, al.attendance_date, al.guard_id, al.guard_name, al.site_id, al.site_name, al.post_name, " +
+      "al.shift_name, al.check_in_time, al.check_out_time, al.status, al.late_minutes, al.early_leave_minutes, " +
+      "TRUE AS archived " +
+      "FROM archive.attendance_logs al ";
+
+  private static final String HOT_ASSIGNMENT_SELECT =
+      "SELECT ga.id, ga.guard_id, CONCAT_WS(' ', g.first_name, g.last_name) AS guard_name, sp.site_id, " +
+      "s.name AS site_name, sp.post_name, st.name AS shift_name, ga.effective_from, ga.effective_to, " +
+      "ga.status, FALSE AS archived " +
+      "FROM guard_assignments ga " +
+      "LEFT JOIN guards g ON g.id = ga.guard_id " +
+      "JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "LEFT JOIN sites s ON s.id = sp.site_id " +
+      "LEFT JOIN shift_types st ON st.id = ga.shift_type_id ";
+
+  private static final String ARCHIVED_ASSIGNMENT_SELECT =
+      "SELECT ga.id, ga.guard_id, ga.guard_name, ga.site_id, ga.site_name, ga.post_name, ga.shift_name, " +
+      "ga.effective_from, ga.effective_to, ga.status, TRUE AS archived " +
+      "FROM archive.guard_assignments ga ";
+
+  private static final RowMapper<AttendanceHistoryResponse> ATTENDANCE_MAPPER = (rs, rowNum) -> {
+    AttendanceHistoryResponse history = new AttendanceHistoryResponse();
+    history.setAttendanceId(rs.getLong("id"));
+    history.setAttendanceDate(rs.getObject("attendance_date", LocalDate.class));
+    history.setGuardId(rs.getObject("guard_id", Long.class));
+    history.setGuardName(rs.getString("guard_name"));
+    history.setSiteId(rs.getObject("site_id", Long.class));
+    history.setSiteName(rs.getString("site_name"));
+    history.setPostName(rs.getString("post_name"));
+    history.setShiftName(rs.getString("shift_name"));
+    OffsetDateTime checkIn = rs.getObject("check_in_time", OffsetDateTime.class);
+    OffsetDateTime checkOut = rs.getObject("check_out_time", OffsetDateTime.class);
+    history.setCheckInTime(checkIn != null ? checkIn.toInstant() : null);
+    history.setCheckOutTime(checkOut != null ? checkOut.toInstant() : null);
+    history.setStatus(rs.getString("status"));
+    history.setLateMinutes(rs.getInt("late_minutes"));
+    history.setEarlyLeaveMinutes(rs.getInt("early_leave_minutes"));
+    history.setArchived(rs.getBoolean("archived"));
+    return history;
+  };
+
+  private static final RowMapper<AssignmentHistoryResponse> ASSIGNMENT_MAPPER = (rs, rowNum) -> {
+    AssignmentHistoryResponse history = new AssignmentHistoryResponse();
+    history.setAssignmentId(rs.getLong("id"));
+    history.setGuardId(rs.getObject("guard_id", Long.class));
+    history.setGuardName(rs.getString("guard_name"));
+    history.setSiteId(rs.getObject("site_id", Long.class));
+    history.setSiteName(rs.getString("site_name"));
+    history.setPostName(rs.getString("post_name"));
+    history.setShiftName(rs.getString("shift_name"));
+    history.setEffectiveFrom(rs.getObject("effective_from", LocalDate.class));
+    history.setEffectiveTo(rs.getObject("effective_to", LocalDate.class));
+    history.setStatus(rs.getString("status"));
+    history.setArchived(rs.getBoolean("archived"));
+    return history;
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final SupervisorScopeService supervisorScopeService;
+  private final Clock clock;
+
+  public HistoryService(
+      JdbcTemplate jdbcTemplate,
+      SupervisorScopeService supervisorScopeService,
+      Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.supervisorScopeService = supervisorScopeService;
+    this.clock = clock;
+  }
+
+  /**
+   * Attendance of a guard and/or site between two dates (default the last 90 days), newest first
+   */
+  public List<AttendanceHistoryResponse> getAttendanceHistory(
+      UserPrincipal principal,
+      Long guardId,
+      Long siteId,
+      LocalDate from,
+      LocalDate to) {
+    if (guardId == null && siteId == null) {
+      throw new IllegalArgumentException("guardId or siteId is required");
+    }
+    LocalDate last = to != null ? to : LocalDate.now(clock);
+    LocalDate first = from != null ? from : last.minusDays(89);
+    validateRange(first, last);
+
+    SiteScope scope = supervisorScopeService.scopeOf(principal);
+    if (scope.isEmpty() || (siteId != null && !scope.includes(siteId))) {
+      return List.of();
+    }
+
+    List<Object> args = new ArrayList<>();
+    StringBuilder where = new StringBuilder("WHERE al.attendance_date BETWEEN ? AND ?");
+    args.add(first);
+    args.add(last);
+    if (guardId != null) {
+      where.append(" AND al.guard_id = ?");
+      args.add(guardId);
+    }
+    if (siteId != null) {
+      where.append(" AND al.site_id = ?");
+      args.add(siteId);
+    }
+    where.append(scopeFilter(scope, "al.site_id", args)).append(' ');
+
+    String sql = HOT_ATTENDANCE_SELECT + where +
+        "UNION ALL " + ARCHIVED_ATTENDANCE_SELECT + where +
+        "ORDER BY attendance_date DESC, id DESC";
+    return jdbcTemplate.query(sql, ATTENDANCE_MAPPER, twice(args));
+  }
+
+  /**
+   * Assignments of a guard, most recent first
+   */
+  public List<AssignmentHistoryResponse> getAssignmentHistory(UserPrincipal principal, Long guardId) {
+    SiteScope scope = supervisorScopeService.scopeOf(principal);
+    if (scope.isEmpty()) {
+      return List.of();
+    }
+
+    List<Object> args = new ArrayList<>();
+    args.add(guardId);
+    String hotWhere = "WHERE ga.guard_id = ?" + scopeFilter(scope, "sp.site_id", args) + " ";
+    String archivedWhere = "WHERE ga.guard_id = ?" + scopeFilter(scope, "ga.site_id", new ArrayList<>()) + " ";
+
+    String sql = HOT_ASSIGNMENT_SELECT + hotWhere +
+        "UNION ALL " + ARCHIVED_ASSIGNMENT_SELECT + archivedWhere +
+        "ORDER BY effective_from DESC, id DESC";
+    return jdbcTemplate.query(sql, ASSIGNMENT_MAPPER, twice(args));
+  }
+
+  private static void validateRange(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("'to' date must be on or after 'from' date");
+    }
+    if (to.toEpochDay() - from.toEpochDay() + 1 > MAX_RANGE_DAYS) {
+      throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+    }
+  }
+
+  /**
+   * " AND column IN (...)" for a restricted scope (adding its site ids to args), "" for an unrestricted one
+   */
+  private static String scopeFilter(SiteScope scope, String column, List<Object> args) {
+    if (scope.unrestricted()) {
+      return "";
+    }
+    args.addAll(scope.siteIds());
+    return " AND " + column + " IN (" + String.join(", ", Collections.nCopies(scope.siteIds().size(), "?")) + ")";
+  }
+
+  /**
+   * Arguments for both branches of the UNION ALL, which share the same filters
+   */
+  private static Object[] twice(List<Object> args) {
+    List<Object> both = new ArrayList<>(args);
+    both.addAll(args);
+    return both.toArray();
+  }
+}
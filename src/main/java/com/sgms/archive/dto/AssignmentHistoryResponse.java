@@ -0,0 +1,115 @@
+package com.sgms.archive.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One guard assignment from the hot table or the archive
+ */
+public class AssignmentHistoryResponse {
+
+  private Long assignmentId;
+  private Long guardId;
+  private String guardName;
+  private Long siteId;
+  private String siteName;
+  private String postName;
+  private String shiftName;
+  private LocalDate effectiveFrom;
+  private LocalDate effectiveTo;
+  private String status;
+
+  /**
+   * True when served from the archive schema
+   */
+  private boolean archived;
+
+  // Getters and Setters
+
+  public Long getAssignmentId() {
+    return assignmentId;
+  }
+
+  public void setAssignmentId(Long assignmentId) {
+    this.assignmentId = assignmentId;
+  }
+
+  public Long getGuardId() {
+    return guardId;
+  }
+
+  public void setGuardId(Long guardId) {
+    this.guardId = guardId;
+  }
+
+  public String getGuardName() {
+    return guardName;
+  }
+
+  public void setGuardName(String guardName) {
+    this.guardName = guardName;
+  }
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public String getSiteName() {
+    return siteName;
+  }
+
+  public void setSiteName(String siteName) {
+    this.siteName = siteName;
+  }
+
+  public String getPostName() {
+    return postName;
+  }
+
+  public void setPostName(String postName) {
+    this.postName = postName;
+  }
+
+  public String getShiftName() {
+    return shiftName;
+  }
+
+  public void setShiftName(String shiftName) {
+    this.shiftName = shiftName;
+  }
+
+  public LocalDate getEffectiveFrom() {
+    return effectiveFrom;
+  }
+
+  public void setEffectiveFrom(LocalDate effectiveFrom) {
+    this.effectiveFrom = effectiveFrom;
+  }
+
+  public LocalDate getEffectiveTo() {
+    return effectiveTo;
+  }
+
+  public void setEffectiveTo(LocalDate effectiveTo) {
+    this.effectiveTo = effectiveTo;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public boolean isArchived() {
+    return archived;
+  }
+
+  public void setArchived(boolean archived) {
+    this.archived = archived;
+  }
+}
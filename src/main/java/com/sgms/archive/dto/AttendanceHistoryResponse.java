@@ -0,0 +1,143 @@
+package com.sgms.archive.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One attendance record from the hot table or the archive
+ */
+public class AttendanceHistoryResponse {
+
+  private Long attendanceId;
+  private LocalDate attendanceDate;
+  private Long guardId;
+  private String guardName;
+  private Long siteId;
+  private String siteName;
+  private String postName;
+  private String shiftName;
+  private Instant checkInTime;
+  private Instant checkOutTime;
+  private String status;
+  private int lateMinutes;
+  private int earlyLeaveMinutes;
+
+  /**
+   * True when served from the archive schema
+   */
+  private boolean archived;
+
+  // Getters and Setters
+
+  public Long getAttendanceId() {
+    return attendanceId;
+  }
+
+  public void setAttendanceId(Long attendanceId) {
+    this.attendanceId = attendanceId;
+  }
+
+  public LocalDate getAttendanceDate() {
+    return attendanceDate;
+  }
+
+  public void setAttendanceDate(LocalDate attendanceDate) {
+    this.attendanceDate = attendanceDate;
+  }
+
+  public Long getGuardId() {
+    return guardId;
+  }
+
+  public void setGuardId(Long guardId) {
+    this.guardId = guardId;
+  }
+
+  public String getGuardName() {
+    return guardName;
+  }
+
+  public void setGuardName(String guardName) {
+    this.guardName = guardName;
+  }
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public String getSiteName() {
+    return siteName;
+  }
+
+  public void setSiteName(String siteName) {
+    this.siteName = siteName;
+  }
+
+  public String getPostName() {
+    return postName;
+  }
+
+  public void setPostName(String postName) {
+    this.postName = postName;
+  }
+
+  public String getShiftName() {
+    return shiftName;
+  }
+
+  public void setShiftName(String shiftName) {
+    this.shiftName = shiftName;
+  }
+
+  public Instant getCheckInTime() {
+    return checkInTime;
+  }
+
+  public void setCheckInTime(Instant checkInTime) {
+    this.checkInTime = checkInTime;
+  }
+
+  public Instant getCheckOutTime() {
+    return checkOutTime;
+  }
+
+  public void setCheckOutTime(Instant checkOutTime) {
+    this.checkOutTime = checkOutTime;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public int getLateMinutes() {
+    return lateMinutes;
+  }
+
+  public void setLateMinutes(int lateMinutes) {
+    this.lateMinutes = lateMinutes;
+  }
+
+  public int getEarlyLeaveMinutes() {
+    return earlyLeaveMinutes;
+  }
+
+  public void setEarlyLeaveMinutes(int earlyLeaveMinutes) {
+    this.earlyLeaveMinutes = earlyLeaveMinutes;
+  }
+
+  public boolean isArchived() {
+    return archived;
+  }
+
+  public void setArchived(boolean archived) {
+    this.archived = archived;
+  }
+}
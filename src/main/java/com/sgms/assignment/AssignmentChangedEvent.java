@@ -0,0 +1,12 @@
+package com.sgms.assignment;
+
+import java.util.Collection;
+
+/**
+ * Published when assignments are created or cancelled
+ * 
+ * Listeners that keep derived in-memory state (e.g. guard availability)
+ * refresh the affected guards once the publishing transaction commits.
+ */
+public record AssignmentChangedEvent(Collection<Long> guardIds) {
+}
@@ -0,0 +1,89 @@
+package com.sgms.assignment;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory per-guard index of assignment shift windows
+ * 
+ * Each guard has an interval tree over the envelope of its assignments:
+ * from the start of the first shift to the end of the last one, as instants
+ * in each assignment's site zone, so NIGHT shifts crossing midnight extend
+ * into the day after effectiveTo and assignments at sites in different
+ * zones are placed on one time line.
+ * Envelope overlap only nominates candidates; every candidate is confirmed
+ * with the exact recurring-window check in {@link AssignmentSlot#firstOverlapWith}.
+ * 
+ * Consequently DAY (06-14), EVENING (14-22) and NIGHT (22-06) assignments of
+ * the same guard over the same dates and zone do not conflict, while two
+ * NIGHT assignments, or a NIGHT shift and a custom 04:00-12:00 shift, do.
+ * A New York NIGHT shift and a London DAY shift also conflict, since
+ * 22:00-06:00 in New York is 03:00-11:00 in London.
+ * 
+ * Two assignments with the same shift type conflict from their first
+ * shared date whatever their zones, as the V10 exclusion constraint
+ * requires.
+ */
+class AssignmentConflictIndex {
+
+  /**
+   * An existing slot clashing with a candidate, and the candidate's first clashing date
+   */
+  record Conflict(AssignmentSlot existing, LocalDate firstConflictDate) {
+  }
+
+  private final Map<Long, IntervalTree<AssignmentSlot>> treesByGuard = new HashMap<>();
+
+  AssignmentConflictIndex(Collection<AssignmentSlot> existing) {
+    existing.forEach(this::add);
+  }
+
+  /**
+   * All slots of the candidate's guard whose shifts overlap the candidate's shifts,
+   * ordered by first clashing date
+   */
+  List<Conflict> findConflicts(AssignmentSlot candidate) {
+    IntervalTree<AssignmentSlot> tree = treesByGuard.get(candidate.guardId());
+    if (tree == null) {
+      return List.of();
+    }
+    List<Conflict> conflicts = new ArrayList<>();
+    for (AssignmentSlot existing : tree.findOverlapping(candidate.envelopeStart(), candidate.envelopeEnd())) {
+      firstConflictDate(candidate, existing)
+          .ifPresent(date -> conflicts.add(new Conflict(existing, date)));
+    }
+    conflicts.sort(Comparator.comparing(Conflict::firstConflictDate));
+    return conflicts;
+  }
+
+  /**
+   * Earliest conflict of the candidate, if any
+   */
+  Optional<Conflict> findFirstConflict(AssignmentSlot candidate) {
+    return findConflicts(candidate).stream().findFirst();
+  }
+
+  private static Optional<LocalDate> firstConflictDate(AssignmentSlot candidate, AssignmentSlot existing) {
+    Optional<LocalDate> overlap = candidate.firstOverlapWith(existing);
+    if (!candidate.shiftTypeId().equals(existing.shiftTypeId())) {
+      return overlap;
+    }
+    Optional<LocalDate> shared = candidate.firstSharedDateWith(existing);
+    return overlap.isPresent() && shared.isPresent() && overlap.get().isBefore(shared.get()) ? overlap : shared;
+  }
+
+  /**
+   * Register a slot for its guard
+   */
+  void add(AssignmentSlot slot) {
+    treesByGuard
+        .computeIfAbsent(slot.guardId(), id -> new IntervalTree<>())
+        .insert(slot.envelopeStart(), slot.envelopeEnd(), slot);
+  }
+}
@@ -0,0 +1,121 @@
+package com.sgms.assignment;
+
+import com.sgms.assignment.dto.AssignmentConflictResponse;
+import com.sgms.assignment.dto.ConflictCheckRequest;
+import com.sgms.assignment.dto.ConflictCheckResponse;
+import com.sgms.site.SitePostRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service for shift-aware assignment conflict detection
+ * 
+ * Two assignments of the same guard conflict only when their shift windows
+ * actually overlap on some day, not merely when their date ranges overlap.
+ * Shift times are read in the zone of each assignment's site, so shifts at
+ * sites in different zones are compared as real instants.
+ * Existing assignments are loaded once per guard set into an
+ * {@link AssignmentConflictIndex} and all checks run in memory.
+ * 
+ * The database backs this with an exclusion constraint on
+ * (guard, shift type, date range) for active assignments (V10).
+ */
+@Service
+public class AssignmentConflictService {
+
+  private final GuardAssignmentRepository assignmentRepository;
+  private final ShiftTypeRepository shiftTypeRepository;
+  private final SitePostRepository sitePostRepository;
+
+  public AssignmentConflictService(
+      GuardAssignmentRepository assignmentRepository,
+      ShiftTypeRepository shiftTypeRepository,
+      SitePostRepository sitePostRepository) {
+    this.assignmentRepository = assignmentRepository;
+    this.shiftTypeRepository = shiftTypeRepository;
+    this.sitePostRepository = sitePostRepository;
+  }
+
+  /**
+   * What-if check: which active assignments would clash with the described one
+   */
+  @Transactional(readOnly = true)
+  public ConflictCheckResponse checkConflicts(ConflictCheckRequest request) {
+    ShiftTypeEntity shiftType = shiftTypeRepository.findById(request.getShiftTypeId())
+        .orElseThrow(() -> new ResponseStatusException(
+            HttpStatus.BAD_REQUEST,
+            "Shift type not found with id: " + request.getShiftTypeId()
+        ));
+
+    if (request.getEffectiveTo() != null && request.getEffectiveTo().isBefore(request.getEffectiveFrom())) {
+      throw new IllegalArgumentException("Effective to date must be on or after effective from date");
+    }
+
+    ZoneId zone = request.getSitePostId() == null
+        ? ZoneOffset.UTC
+        : sitePostRepository.findActiveTimeZoneById(request.getSitePostId())
+            .map(ZoneId::of)
+            .orElseThrow(() -> new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Site post not found or inactive with id: " + request.getSitePostId()
+            ));
+
+    List<AssignmentSlot> existing = assignmentRepository.findActiveSlotsByGuardIds(List.of(request.getGuardId()))
+        .stream()
+        .filter(slot -> !slot.assignmentId().equals(request.getExcludeAssignmentId()))
+        .collect(Collectors.toList());
+
+    AssignmentSlot candidate = AssignmentSlot.candidate(
+        request.getGuardId(), shiftType, zone, request.getEffectiveFrom(), request.getEffectiveTo());
+
+    List<AssignmentConflictResponse> conflicts = new AssignmentConflictIndex(existing)
+        .findConflicts(candidate)
+        .stream()
+        .map(this::mapToResponse)
+        .collect(Collectors.toList());
+
+    ConflictCheckResponse response = new ConflictCheckResponse();
+    response.setConflict(!conflicts.isEmpty());
+    response.setConflicts(conflicts);
+    return response;
+  }
+
+  /**
+   * Earliest conflict of a prospective assignment with the guard's active assignments
+   */
+  Optional<AssignmentConflictIndex.Conflict> findFirstConflict(AssignmentSlot candidate) {
+    return loadIndex(List.of(candidate.guardId())).findFirstConflict(candidate);
+  }
+
+  /**
+   * Index of all active assignments of the given guards, built with one query
+   */
+  AssignmentConflictIndex loadIndex(Collection<Long> guardIds) {
+    if (guardIds.isEmpty()) {
+      return new AssignmentConflictIndex(List.of());
+    }
+    return new AssignmentConflictIndex(assignmentRepository.findActiveSlotsByGuardIds(guardIds));
+  }
+
+  private AssignmentConflictResponse mapToResponse(AssignmentConflictIndex.Conflict conflict) {
+    AssignmentSlot existing = conflict.existing();
+    AssignmentConflictResponse response = new AssignmentConflictResponse();
+    response.setAssignmentId(existing.assignmentId());
+    response.setShiftTypeId(existing.shiftTypeId());
+    response.setShiftStartTime(existing.shiftStart());
+    response.setShiftEndTime(existing.shiftEnd());
+    response.setEffectiveFrom(existing.effectiveFrom());
+    response.setEffectiveTo(existing.effectiveTo());
+    response.setFirstConflictDate(conflict.firstConflictDate());
+    return response;
+  }
+}
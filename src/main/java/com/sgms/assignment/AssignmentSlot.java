@@ -0,0 +1,321 @@
+package com.sgms.assignment;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lightweight view of an active assignment used for conflict detection.
+ * 
+ * Loaded via a JPQL constructor expression so conflict checks never
+ * hydrate full GuardAssignmentEntity graphs.
+ * 
+ * An assignment is a recurring daily shift window on every day of its
+ * effective date range, read in the time zone of its site. Windows whose
+ * end time is not after the start time (NIGHT 22:00-06:00) cross midnight
+ * and end on the following day. Occurrences resolve to instants the way
+ * {@link com.sgms.shift.ShiftInstanceEngine} does: a local time in a DST gap
+ * moves forward by the gap, an ambiguous one takes the earlier offset.
+ */
+public record AssignmentSlot(
+    Long assignmentId,
+    Long guardId,
+    Long shiftTypeId,
+    LocalDate effectiveFrom,
+    LocalDate effectiveTo,
+    LocalTime shiftStart,
+    LocalTime shiftEnd,
+    ZoneId zone) {
+
+  static final LocalDate OPEN_ENDED = LocalDate.of(9999, 12, 31);
+  static final long MINUTES_PER_DAY = 24 * 60;
+
+  /**
+   * UTC offsets lie within -12:00 and +14:00, so a shift date in one zone
+   * can only meet shift dates at most two days away in another
+   */
+  private static final int MAX_ZONE_DAY_OFFSET = 2;
+
+  /**
+   * Days on either side of a UTC offset change whose occurrences are
+   * compared one by one
+   */
+  private static final int TRANSITION_MARGIN_DAYS = 5;
+
+  /**
+   * Once only annual DST rules apply, every combination of offsets two
+   * zones can be in shows up within this many years (the calendar repeats
+   * every 28 years between 1901 and 2099)
+   */
+  private static final int RULE_CYCLE_YEARS = 28;
+
+  /**
+   * JPQL constructor expression: the site zone as its stored IANA id
+   */
+  public AssignmentSlot(
+      Long assignmentId,
+      Long guardId,
+      Long shiftTypeId,
+      LocalDate effectiveFrom,
+      LocalDate effectiveTo,
+      LocalTime shiftStart,
+      LocalTime shiftEnd,
+      String timeZone) {
+    this(assignmentId, guardId, shiftTypeId, effectiveFrom, effectiveTo, shiftStart, shiftEnd,
+        timeZone != null ? ZoneId.of(timeZone) : ZoneOffset.UTC);
+  }
+
+  /**
+   * Slot for an assignment that does not exist yet (create, roster entry, what-if)
+   */
+  static AssignmentSlot candidate(
+      Long guardId,
+      ShiftTypeEntity shiftType,
+      ZoneId zone,
+      LocalDate effectiveFrom,
+      LocalDate effectiveTo) {
+    return new AssignmentSlot(null, guardId, shiftType.getId(), effectiveFrom, effectiveTo,
+        shiftType.getStartTime(), shiftType.getEndTime(), zone);
+  }
+
+  /**
+   * Effective end date with open-ended assignments mapped to the far future
+   */
+  public LocalDate effectiveToOrMax() {
+    return effectiveTo != null ? effectiveTo : OPEN_ENDED;
+  }
+
+  /**
+   * Shift start as minutes after midnight
+   */
+  long windowStart() {
+    return shiftStart.toSecondOfDay() / 60;
+  }
+
+  /**
+   * Shift end as minutes after the midnight the shift started on
+   * (beyond one day for shifts crossing midnight)
+   */
+  long windowEnd() {
+    long end = shiftEnd.toSecondOfDay() / 60;
+    return end > windowStart() ? end : end + MINUTES_PER_DAY;
+  }
+
+  /**
+   * Start of the first shift occurrence, in minutes since the epoch
+   */
+  long envelopeStart() {
+    return startOn(effectiveFrom);
+  }
+
+  /**
+   * End of the last shift occurrence (exclusive), in minutes since the epoch
+   */
+  long envelopeEnd() {
+    return endOn(effectiveToOrMax());
+  }
+
+  /**
+   * First date (in this slot's calendar) on which one of this slot's shifts
+   * overlaps one of the other slot's shifts, if any.
+   */
+  Optional<LocalDate> firstOverlapWith(AssignmentSlot other) {
+    return zone.equals(other.zone) ? firstWallClockOverlapWith(other) : firstInstantOverlapWith(other);
+  }
+
+  /**
+   * First date both slots are in effect, if any
+   */
+  Optional<LocalDate> firstSharedDateWith(AssignmentSlot other) {
+    LocalDate first = max(effectiveFrom, other.effectiveFrom);
+    return first.isAfter(min(effectiveToOrMax(), other.effectiveToOrMax())) ? Optional.empty() : Optional.of(first);
+  }
+
+  /**
+   * Overlap of two slots in the same zone, by wall-clock arithmetic
+   * 
+   * Within one zone, later local times resolve to later instants (apart
+   * from local times inside a DST gap), so wall-clock windows overlap when
+   * their instants do. A shift lasts at most one day, so an occurrence on
+   * day d can only meet the other slot's occurrences on days d-1, d and d+1.
+   */
+  private Optional<LocalDate> firstWallClockOverlapWith(AssignmentSlot other) {
+    long from = effectiveFrom.toEpochDay();
+    long to = effectiveToOrMax().toEpochDay();
+    long otherFrom = other.effectiveFrom.toEpochDay();
+    long otherTo = other.effectiveToOrMax().toEpochDay();
+
+    Long first = null;
+    for (long dayOffset = -1; dayOffset <= 1; dayOffset++) {
+      long shift = dayOffset * MINUTES_PER_DAY;
+      boolean windowsOverlap = windowStart() < other.windowEnd() + shift
+          && other.windowStart() + shift < windowEnd();
+      if (!windowsOverlap) {
+        continue;
+      }
+      // Days d of this slot whose partner day d + offset lies in the other slot's range
+      long lo = Math.max(from, otherFrom - dayOffset);
+      long hi = Math.min(to, otherTo - dayOffset);
+      if (lo <= hi && (first == null || lo < first)) {
+        first = lo;
+      }
+    }
+    return first != null ? Optional.of(LocalDate.ofEpochDay(first)) : Optional.empty();
+  }
+
+  /**
+   * Overlap of two slots in different zones, by comparing real instants
+   * 
+   * Between UTC offset changes of either zone the two zones are a fixed
+   * distance apart, so whether day d meets the other slot's day d + k is
+   * the same for every day of such a run and one comparison per k covers
+   * it. Days near an offset change are compared one by one. Pairs whose
+   * windows stay apart under every offset either zone can take are ruled
+   * out up front, without a scan.
+   */
+  private Optional<LocalDate> firstInstantOverlapWith(AssignmentSlot other) {
+    LocalDate last = min(effectiveToOrMax(), other.effectiveToOrMax().plusDays(MAX_ZONE_DAY_OFFSET));
+    LocalDate day = max(effectiveFrom, other.effectiveFrom.minusDays(MAX_ZONE_DAY_OFFSET));
+    if (day.isAfter(last) || !mayOverlapUnderAnyOffset(day, other)) {
+      return Optional.empty();
+    }
+    last = min(last, scanLimit(day, other));
+
+    while (!day.isAfter(last)) {
+      LocalDate runEnd = last;
+      for (ZoneId z : List.of(zone, other.zone)) {
+        LocalDate change = nextOffsetChange(z, day.minusDays(TRANSITION_MARGIN_DAYS));
+        if (change != null) {
+          runEnd = min(runEnd, change.minusDays(TRANSITION_MARGIN_DAYS + 1));
+        }
+      }
+      if (runEnd.isBefore(day)) {
+        runEnd = day;
+      }
+      Optional<LocalDate> first = firstInstantOverlapIn(day, runEnd, other);
+      if (first.isPresent()) {
+        return first;
+      }
+      day = runEnd.plusDays(1);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * First overlap within days [from, to] of this slot, over which neither
+   * zone changes its offset
+   */
+  private Optional<LocalDate> firstInstantOverlapIn(LocalDate from, LocalDate to, AssignmentSlot other) {
+    LocalDate first = null;
+    for (int dayOffset = -MAX_ZONE_DAY_OFFSET; dayOffset <= MAX_ZONE_DAY_OFFSET; dayOffset++) {
+      LocalDate lo = max(from, other.effectiveFrom.minusDays(dayOffset));
+      LocalDate hi = min(to, other.effectiveToOrMax().minusDays(dayOffset));
+      if (lo.isAfter(hi) || (first != null && !lo.isBefore(first))) {
+        continue;
+      }
+      LocalDate otherDay = lo.plusDays(dayOffset);
+      if (startOn(lo) < other.endOn(otherDay) && other.startOn(otherDay) < endOn(lo)) {
+        first = lo;
+      }
+    }
+    return Optional.ofNullable(first);
+  }
+
+  /**
+   * Whether the windows could meet on some day if each zone were free to
+   * take any of its offsets from the given date on
+   */
+  private boolean mayOverlapUnderAnyOffset(LocalDate from, AssignmentSlot other) {
+    int[] offsets = offsetRangeMinutes(zone, from);
+    int[] otherOffsets = offsetRangeMinutes(other.zone, from);
+    long earliestStart = windowStart() - offsets[1];
+    long latestEnd = windowEnd() - offsets[0];
+    for (int dayOffset = -MAX_ZONE_DAY_OFFSET; dayOffset <= MAX_ZONE_DAY_OFFSET; dayOffset++) {
+      long shift = dayOffset * MINUTES_PER_DAY;
+      if (earliestStart < other.windowEnd() - otherOffsets[0] + shift
+          && other.windowStart() - otherOffsets[1] + shift < latestEnd) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Last day worth scanning: past both zones' historical offset changes, the
+   * annual rules repeat within {@link #RULE_CYCLE_YEARS}
+   */
+  private LocalDate scanLimit(LocalDate from, AssignmentSlot other) {
+    ZoneRules rules = zone.getRules();
+    ZoneRules otherRules = other.zone.getRules();
+    if (rules.getTransitionRules().isEmpty() && otherRules.getTransitionRules().isEmpty()) {
+      return OPEN_ENDED.plusDays(MAX_ZONE_DAY_OFFSET);
+    }
+    LocalDate lastHistorical = max(from, max(lastHistoricalChange(rules), lastHistoricalChange(otherRules)));
+    return lastHistorical.plusYears(RULE_CYCLE_YEARS);
+  }
+
+  private long startOn(LocalDate day) {
+    return epochMinute(ZonedDateTime.of(day, shiftStart, zone));
+  }
+
+  private long endOn(LocalDate day) {
+    LocalDate endDate = shiftEnd.isAfter(shiftStart) ? day : day.plusDays(1);
+    return epochMinute(ZonedDateTime.of(endDate, shiftEnd, zone));
+  }
+
+  private static long epochMinute(ZonedDateTime dateTime) {
+    return Math.floorDiv(dateTime.toEpochSecond(), 60);
+  }
+
+  /**
+   * UTC date of the zone's first offset change after the start of a date, null if none
+   */
+  private static LocalDate nextOffsetChange(ZoneId zone, LocalDate after) {
+    ZoneOffsetTransition transition = zone.getRules().nextTransition(after.atStartOfDay(ZoneOffset.UTC).toInstant());
+    return transition != null ? LocalDate.ofInstant(transition.getInstant(), ZoneOffset.UTC) : null;
+  }
+
+  /**
+   * Smallest and largest UTC offset, in minutes, a zone has from a date on
+   */
+  private static int[] offsetRangeMinutes(ZoneId zone, LocalDate from) {
+    ZoneRules rules = zone.getRules();
+    Instant at = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+    int min = rules.getOffset(at).getTotalSeconds();
+    int max = min;
+    for (ZoneOffsetTransition transition : rules.getTransitions()) {
+      if (transition.getInstant().isAfter(at)) {
+        min = Math.min(min, transition.getOffsetAfter().getTotalSeconds());
+        max = Math.max(max, transition.getOffsetAfter().getTotalSeconds());
+      }
+    }
+    for (ZoneOffsetTransitionRule rule : rules.getTransitionRules()) {
+      min = Math.min(min, Math.min(rule.getOffsetBefore().getTotalSeconds(), rule.getOffsetAfter().getTotalSeconds()));
+      max = Math.max(max, Math.max(rule.getOffsetBefore().getTotalSeconds(), rule.getOffsetAfter().getTotalSeconds()));
+    }
+    return new int[] {min / 60, max / 60};
+  }
+
+  private static LocalDate lastHistoricalChange(ZoneRules rules) {
+    List<ZoneOffsetTransition> transitions = rules.getTransitions();
+    return transitions.isEmpty()
+        ? LocalDate.MIN
+        : LocalDate.ofInstant(transitions.get(transitions.size() - 1).getInstant(), ZoneOffset.UTC);
+  }
+
+  private static LocalDate min(LocalDate a, LocalDate b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static LocalDate max(LocalDate a, LocalDate b) {
+    return a.isAfter(b) ? a : b;
+  }
+}
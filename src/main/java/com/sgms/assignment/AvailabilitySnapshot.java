@@ -0,0 +1,235 @@
+package com.sgms.assignment;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed guard availability for a horizon of days
+ * 
+ * Guards are numbered by ordinal. For every day x shift type there is a
+ * BitSet of guards that are busy, i.e. hold an active assignment whose
+ * shift window overlaps that shift on that day (including NIGHT shifts
+ * spilling into the next morning). Available guards are the active guards
+ * minus the busy set, computed with a single BitSet operation.
+ * 
+ * Shift windows are compared by wall clock, as if every site shared one
+ * zone: the snapshot only preselects, and recommendations are confirmed
+ * against the zone-aware {@link AssignmentConflictIndex}.
+ * 
+ * Per-guard ranking inputs (recent reliability, last site coordinates,
+ * supervisor) are kept in arrays indexed by the same ordinal.
+ * 
+ * Mutated only by {@link GuardAvailabilityIndex} under its write lock.
+ */
+class AvailabilitySnapshot {
+
+  record Guard(Long id, String employeeCode, String name, Long supervisorUserId) {
+  }
+
+  private final LocalDate from;
+  private final int days;
+  private final List<Guard> guards;
+  private final Map<Long, Integer> ordinalByGuardId = new HashMap<>();
+  private final List<ShiftTypeEntity> shiftTypes;
+  private final Map<Long, Integer> shiftIndex = new HashMap<>();
+  // overlapOffsets[slotShift][targetShift]: day offsets k such that a slot shift on day d + k
+  // overlaps the target shift on day d
+  private final int[][][] overlapOffsets;
+  private final BitSet[] busy;
+  private final BitSet activeGuards;
+  private final int[] recentShifts;
+  private final int[] recentLateOrAbsent;
+  private final Long[] lastSiteId;
+  private final double[] lastLatitude;
+  private final double[] lastLongitude;
+  private final Map<Long, Set<Long>> siteIdsBySupervisor;
+
+  AvailabilitySnapshot(
+      LocalDate from,
+      int days,
+      List<Guard> guards,
+      List<ShiftTypeEntity> shiftTypes,
+      Map<Long, Set<Long>> siteIdsBySupervisor) {
+    this.from = from;
+    this.days = days;
+    this.guards = guards;
+    this.shiftTypes = shiftTypes;
+    this.siteIdsBySupervisor = siteIdsBySupervisor;
+
+    for (int i = 0; i < guards.size(); i++) {
+      ordinalByGuardId.put(guards.get(i).id(), i);
+    }
+    for (int i = 0; i < shiftTypes.size(); i++) {
+      shiftIndex.put(shiftTypes.get(i).getId(), i);
+    }
+
+    this.overlapOffsets = computeOverlapOffsets(shiftTypes);
+    this.busy = new BitSet[days * shiftTypes.size()];
+    for (int i = 0; i < busy.length; i++) {
+      busy[i] = new BitSet(guards.size());
+    }
+    this.activeGuards = new BitSet(guards.size());
+    activeGuards.set(0, guards.size());
+
+    this.recentShifts = new int[guards.size()];
+    this.recentLateOrAbsent = new int[guards.size()];
+    this.lastSiteId = new Long[guards.size()];
+    this.lastLatitude = new double[guards.size()];
+    this.lastLongitude = new double[guards.size()];
+    Arrays.fill(lastLatitude, Double.NaN);
+    Arrays.fill(lastLongitude, Double.NaN);
+  }
+
+  /**
+   * Mark the slot's guard busy for every day x shift type its shifts overlap
+   */
+  void markBusy(AssignmentSlot slot) {
+    Integer ordinal = ordinalByGuardId.get(slot.guardId());
+    Integer slotShift = shiftIndex.get(slot.shiftTypeId());
+    if (ordinal == null || slotShift == null) {
+      return;
+    }
+    long slotFrom = slot.effectiveFrom().toEpochDay() - from.toEpochDay();
+    long slotTo = slot.effectiveToOrMax().toEpochDay() - from.toEpochDay();
+    for (int target = 0; target < shiftTypes.size(); target++) {
+      for (int offset : overlapOffsets[slotShift][target]) {
+        // Target days d with d + offset inside the slot range, clipped to the horizon
+        long start = Math.max(0, slotFrom - offset);
+        long end = Math.min(days - 1L, slotTo - offset);
+        for (long day = start; day <= end; day++) {
+          busy[(int) day * shiftTypes.size() + target].set(ordinal);
+        }
+      }
+    }
+  }
+
+  /**
+   * Forget all busy marks of the given guards (before re-marking their current slots)
+   */
+  void clearBusy(Collection<Long> guardIds) {
+    for (Long guardId : guardIds) {
+      Integer ordinal = ordinalByGuardId.get(guardId);
+      if (ordinal != null) {
+        for (BitSet set : busy) {
+          set.clear(ordinal);
+        }
+      }
+    }
+  }
+
+  void setRecentHistory(Long guardId, int shifts, int lateOrAbsent) {
+    Integer ordinal = ordinalByGuardId.get(guardId);
+    if (ordinal != null) {
+      recentShifts[ordinal] = shifts;
+      recentLateOrAbsent[ordinal] = lateOrAbsent;
+    }
+  }
+
+  void setLastSite(Long guardId, Long siteId, Double latitude, Double longitude) {
+    Integer ordinal = ordinalByGuardId.get(guardId);
+    if (ordinal != null) {
+      lastSiteId[ordinal] = siteId;
+      lastLatitude[ordinal] = latitude != null ? latitude : Double.NaN;
+      lastLongitude[ordinal] = longitude != null ? longitude : Double.NaN;
+    }
+  }
+
+  /**
+   * Whether the date falls inside the precomputed horizon
+   */
+  boolean covers(LocalDate date) {
+    long day = date.toEpochDay() - from.toEpochDay();
+    return day >= 0 && day < days;
+  }
+
+  /**
+   * Ordinals of guards free for the shift type on the date (copy, safe to keep)
+   */
+  BitSet available(LocalDate date, Long shiftTypeId) {
+    Integer shift = shiftIndex.get(shiftTypeId);
+    BitSet available = (BitSet) activeGuards.clone();
+    if (shift == null || !covers(date)) {
+      available.clear();
+      return available;
+    }
+    int day = (int) (date.toEpochDay() - from.toEpochDay());
+    available.andNot(busy[day * shiftTypes.size() + shift]);
+    return available;
+  }
+
+  ShiftTypeEntity shiftType(Long shiftTypeId) {
+    Integer shift = shiftIndex.get(shiftTypeId);
+    return shift != null ? shiftTypes.get(shift) : null;
+  }
+
+  Guard guard(int ordinal) {
+    return guards.get(ordinal);
+  }
+
+  int recentShifts(int ordinal) {
+    return recentShifts[ordinal];
+  }
+
+  int recentLateOrAbsent(int ordinal) {
+    return recentLateOrAbsent[ordinal];
+  }
+
+  Long lastSiteId(int ordinal) {
+    return lastSiteId[ordinal];
+  }
+
+  double lastLatitude(int ordinal) {
+    return lastLatitude[ordinal];
+  }
+
+  double lastLongitude(int ordinal) {
+    return lastLongitude[ordinal];
+  }
+
+  boolean supervisorManagesSite(int ordinal, Long siteId) {
+    Long supervisorUserId = guards.get(ordinal).supervisorUserId();
+    return supervisorUserId != null
+        && siteIdsBySupervisor.getOrDefault(supervisorUserId, Set.of()).contains(siteId);
+  }
+
+  LocalDate from() {
+    return from;
+  }
+
+  int days() {
+    return days;
+  }
+
+  private static int[][][] computeOverlapOffsets(List<ShiftTypeEntity> shiftTypes) {
+    // Compare single-day occurrences on a reference day; windows last at most a day,
+    // so only neighbouring days can overlap
+    LocalDate reference = LocalDate.of(2000, 1, 2);
+    int count = shiftTypes.size();
+    int[][][] offsets = new int[count][count][];
+    for (int slot = 0; slot < count; slot++) {
+      for (int target = 0; target < count; target++) {
+        AssignmentSlot targetDay =
+            AssignmentSlot.candidate(null, shiftTypes.get(target), ZoneOffset.UTC, reference, reference);
+        int[] matches = new int[3];
+        int found = 0;
+        for (int offset = -1; offset <= 1; offset++) {
+          LocalDate slotDay = reference.plusDays(offset);
+          AssignmentSlot slotOccurrence =
+              AssignmentSlot.candidate(null, shiftTypes.get(slot), ZoneOffset.UTC, slotDay, slotDay);
+          if (targetDay.firstOverlapWith(slotOccurrence).isPresent()) {
+            matches[found++] = offset;
+          }
+        }
+        offsets[slot][target] = Arrays.copyOf(matches, found);
+      }
+    }
+    return offsets;
+  }
+}
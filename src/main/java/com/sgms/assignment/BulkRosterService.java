@@ -0,0 +1,286 @@
+package com.sgms.assignment;
+
+import com.sgms.assignment.dto.BulkRosterRequest;
+import com.sgms.assignment.dto.BulkRosterResponse;
+import com.sgms.assignment.dto.CreateAssignmentRequest;
+import com.sgms.assignment.dto.RosterEntryResult;
+import com.sgms.guard.GuardRepository;
+import com.sgms.security.SecurityUtil;
+import com.sgms.site.SitePostRepository;
+import com.sgms.site.SitePostTimeZone;
+import com.sgms.user.UserEntity;
+import com.sgms.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk roster creation
+ * 
+ * Creates many guard assignments in one transaction with a fixed number of
+ * queries regardless of roster size:
+ * 1. One lookup each for active guards, active posts (with their site zones) and shift types
+ * 2. One query seeding the per-guard conflict index for every guard in the roster
+ * 3. One multi-row INSERT (unnest of parameter arrays) for all accepted entries
+ * 
+ * Shift-window conflicts are detected in memory against existing assignments
+ * and against entries accepted earlier in the same roster, with each entry's
+ * shift read in the zone of its post's site. Outcomes are reported per entry.
+ */
+@Service
+public class BulkRosterService {
+
+  static final String STATUS_CREATED = "CREATED";
+  static final String STATUS_CONFLICT = "CONFLICT";
+  static final String STATUS_INVALID = "INVALID";
+  static final String STATUS_SKIPPED = "SKIPPED";
+
+  private static final String BULK_INSERT_SQL =
+      "INSERT INTO guard_assignments " +
+      "(guard_id, site_post_id, shift_type_id, effective_from, effective_to, notes, status, active, created_by_user_id) " +
+      "SELECT t.guard_id, t.site_post_id, t.shift_type_id, t.effective_from, t.effective_to, t.notes, " +
+      "'ACTIVE', TRUE, ? " +
+      "FROM unnest(CAST(? AS bigint[]), CAST(? AS bigint[]), CAST(? AS bigint[]), " +
+      "CAST(? AS date[]), CAST(? AS date[]), CAST(? AS text[])) " +
+      "AS t(guard_id, site_post_id, shift_type_id, effective_from, effective_to, notes) " +
+      "RETURNING id, guard_id, shift_type_id, effective_from";
+
+  private final GuardRepository guardRepository;
+  private final SitePostRepository sitePostRepository;
+  private final ShiftTypeRepository shiftTypeRepository;
+  private final UserRepository userRepository;
+  private final AssignmentConflictService conflictService;
+  private final JdbcTemplate jdbcTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public BulkRosterService(
+      GuardRepository guardRepository,
+      SitePostRepository sitePostRepository,
+      ShiftTypeRepository shiftTypeRepository,
+      UserRepository userRepository,
+      AssignmentConflictService conflictService,
+      JdbcTemplate jdbcTemplate,
+      ApplicationEventPublisher eventPublisher) {
+    this.guardRepository = guardRepository;
+    this.sitePostRepository = sitePostRepository;
+    this.shiftTypeRepository = shiftTypeRepository;
+    this.userRepository = userRepository;
+    this.conflictService = conflictService;
+    this.jdbcTemplate = jdbcTemplate;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Validate, conflict-check and insert a roster of assignments
+   */
+  @Transactional
+  public BulkRosterResponse createRoster(BulkRosterRequest request) {
+    List<CreateAssignmentRequest> entries = request.getAssignments();
+    UserEntity createdBy = resolveCurrentUser();
+
+    // 1. Resolve referenced guards, posts and shift types in bulk
+    Set<Long> guardIds = entries.stream().map(CreateAssignmentRequest::getGuardId).collect(Collectors.toSet());
+    Set<Long> postIds = entries.stream().map(CreateAssignmentRequest::getSitePostId).collect(Collectors.toSet());
+    Set<Long> activeGuardIds = new HashSet<>(guardRepository.findActiveIdsByIdIn(guardIds));
+    Map<Long, ZoneId> zoneByPostId = sitePostRepository.findActiveTimeZonesByIdIn(postIds).stream()
+        .collect(Collectors.toMap(SitePostTimeZone::sitePostId, post -> ZoneId.of(post.timeZone())));
+    Map<Long, ShiftTypeEntity> shiftTypes = shiftTypeRepository.findAll().stream()
+        .collect(Collectors.toMap(ShiftTypeEntity::getId, Function.identity()));
+
+    // 2. Seed the conflict index with existing assignments of all roster guards
+    AssignmentConflictIndex index = conflictService.loadIndex(activeGuardIds);
+
+    // 3. Check every entry in request order
+    List<RosterEntryResult> results = new ArrayList<>(entries.size());
+    List<CreateAssignmentRequest> accepted = new ArrayList<>();
+    Map<AssignmentSlot, Integer> rosterIndexBySlot = new IdentityHashMap<>();
+
+    for (int i = 0; i < entries.size(); i++) {
+      CreateAssignmentRequest entry = entries.get(i);
+      RosterEntryResult result = newResult(i, entry);
+      results.add(result);
+
+      String invalidReason = validate(entry, activeGuardIds, zoneByPostId.keySet(), shiftTypes.keySet());
+      if (invalidReason != null) {
+        result.setStatus(STATUS_INVALID);
+        result.setMessage(invalidReason);
+        continue;
+      }
+
+      AssignmentSlot candidate = AssignmentSlot.candidate(
+          entry.getGuardId(), shiftTypes.get(entry.getShiftTypeId()), zoneByPostId.get(entry.getSitePostId()),
+          entry.getEffectiveFrom(), entry.getEffectiveTo());
+      Optional<AssignmentConflictIndex.Conflict> conflict = index.findFirstConflict(candidate);
+      if (conflict.isPresent()) {
+        AssignmentSlot existing = conflict.get().existing();
+        result.setStatus(STATUS_CONFLICT);
+        if (existing.assignmentId() != null) {
+          result.setConflictingAssignmentId(existing.assignmentId());
+          result.setMessage("Guard already has an active assignment overlapping this shift from "
+              + conflict.get().firstConflictDate());
+        } else {
+          result.setMessage("Overlaps roster entry #" + rosterIndexBySlot.get(existing)
+              + " from " + conflict.get().firstConflictDate());
+        }
+        continue;
+      }
+
+      // Candidate has no id yet; registering it makes later entries conflict with this one
+      index.add(candidate);
+      rosterIndexBySlot.put(candidate, i);
+      accepted.add(entry);
+      result.setStatus(STATUS_CREATED);
+    }
+
+    int conflicts = countStatus(results, STATUS_CONFLICT);
+    int invalid = countStatus(results, STATUS_INVALID);
+
+    // 4. Insert accepted entries in a single statement
+    if (request.isAllOrNothing() && (conflicts > 0 || invalid > 0)) {
+      results.stream()
+          .filter(r -> STATUS_CREATED.equals(r.getStatus()))
+          .forEach(r -> {
+            r.setStatus(STATUS_SKIPPED);
+            r.setMessage("Roster rejected: " + (conflicts + invalid) + " entries failed and allOrNothing is set");
+          });
+    } else if (!accepted.isEmpty()) {
+      Map<String, Long> insertedIds = insertAll(accepted, createdBy.getId());
+      results.stream()
+          .filter(r -> STATUS_CREATED.equals(r.getStatus()))
+          .forEach(r -> r.setAssignmentId(
+              insertedIds.get(key(r.getGuardId(), r.getShiftTypeId(), r.getEffectiveFrom()))));
+      eventPublisher.publishEvent(new AssignmentChangedEvent(accepted.stream()
+          .map(CreateAssignmentRequest::getGuardId)
+          .collect(Collectors.toSet())));
+    }
+
+    BulkRosterResponse response = new BulkRosterResponse();
+    response.setRequested(entries.size());
+    response.setCreated(countStatus(results, STATUS_CREATED));
+    response.setConflicts(conflicts);
+    response.setInvalid(invalid);
+    response.setResults(results);
+    return response;
+  }
+
+  /**
+   * Insert all accepted entries with one INSERT ... SELECT FROM unnest(...)
+   * 
+   * @return generated assignment IDs keyed by guardId + shiftTypeId + effectiveFrom
+   *         (unique within a roster because accepted entries with the same shift type never share a date)
+   */
+  private Map<String, Long> insertAll(List<CreateAssignmentRequest> accepted, Long createdByUserId) {
+    int size = accepted.size();
+    Long[] guardIds = new Long[size];
+    Long[] postIds = new Long[size];
+    Long[] shiftTypeIds = new Long[size];
+    String[] fromDates = new String[size];
+    String[] toDates = new String[size];
+    String[] notes = new String[size];
+
+    for (int i = 0; i < size; i++) {
+      CreateAssignmentRequest entry = accepted.get(i);
+      guardIds[i] = entry.getGuardId();
+      postIds[i] = entry.getSitePostId();
+      shiftTypeIds[i] = entry.getShiftTypeId();
+      fromDates[i] = entry.getEffectiveFrom().toString();
+      toDates[i] = entry.getEffectiveTo() != null ? entry.getEffectiveTo().toString() : null;
+      notes[i] = entry.getNotes();
+    }
+
+    return jdbcTemplate.query(
+        con -> {
+          PreparedStatement ps = con.prepareStatement(BULK_INSERT_SQL);
+          ps.setObject(1, createdByUserId);
+          ps.setArray(2, con.createArrayOf("bigint", guardIds));
+          ps.setArray(3, con.createArrayOf("bigint", postIds));
+          ps.setArray(4, con.createArrayOf("bigint", shiftTypeIds));
+          ps.setArray(5, con.createArrayOf("text", fromDates));
+          ps.setArray(6, con.createArrayOf("text", toDates));
+          ps.setArray(7, con.createArrayOf("text", notes));
+          return ps;
+        },
+        rs -> {
+          Map<String, Long> ids = new HashMap<>();
+          while (rs.next()) {
+            ids.put(key(rs.getLong("guard_id"), rs.getLong("shift_type_id"),
+                rs.getObject("effective_from", LocalDate.class)), rs.getLong("id"));
+          }
+          return ids;
+        });
+  }
+
+  private String validate(
+      CreateAssignmentRequest entry,
+      Set<Long> activeGuardIds,
+      Set<Long> activePostIds,
+      Set<Long> shiftTypeIds) {
+    if (!activeGuardIds.contains(entry.getGuardId())) {
+      return "Guard not found or inactive with id: " + entry.getGuardId();
+    }
+    if (!activePostIds.contains(entry.getSitePostId())) {
+      return "Site post not found or inactive with id: " + entry.getSitePostId();
+    }
+    if (!shiftTypeIds.contains(entry.getShiftTypeId())) {
+      return "Shift type not found with id: " + entry.getShiftTypeId();
+    }
+    if (entry.getEffectiveTo() != null && entry.getEffectiveTo().isBefore(entry.getEffectiveFrom())) {
+      return "Effective to date must be on or after effective from date";
+    }
+    return null;
+  }
+
+  private RosterEntryResult newResult(int index, CreateAssignmentRequest entry) {
+    RosterEntryResult result = new RosterEntryResult();
+    result.setIndex(index);
+    result.setGuardId(entry.getGuardId());
+    result.setSitePostId(entry.getSitePostId());
+    result.setShiftTypeId(entry.getShiftTypeId());
+    result.setEffectiveFrom(entry.getEffectiveFrom());
+    result.setEffectiveTo(entry.getEffectiveTo());
+    return result;
+  }
+
+  private UserEntity resolveCurrentUser() {
+    String currentUserEmail;
+    try {
+      currentUserEmail = SecurityUtil.getCurrentUserEmail();
+    } catch (IllegalStateException e) {
+      throw new ResponseStatusException(
+          HttpStatus.UNAUTHORIZED,
+          "No authenticated user found"
+      );
+    }
+
+    return userRepository.findByEmail(currentUserEmail)
+        .orElseThrow(() -> new ResponseStatusException(
+            HttpStatus.UNAUTHORIZED,
+            "Current user not found"
+        ));
+  }
+
+  private static int countStatus(List<RosterEntryResult> results, String status) {
+    return (int) results.stream().filter(r -> status.equals(r.getStatus())).count();
+  }
+
+  private static String key(Long guardId, Long shiftTypeId, LocalDate effectiveFrom) {
+    return guardId + ":" + shiftTypeId + ":" + effectiveFrom;
+  }
+}
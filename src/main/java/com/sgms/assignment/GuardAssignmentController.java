@@ -1,40 +1,61 @@
 package com.sgms.assignment;
 
 import com.sgms.assignment.dto.AssignmentResponse;
+import com.sgms.assignment.dto.BulkRosterRequest;
+import com.sgms.assignment.dto.BulkRosterResponse;
+import com.sgms.assignment.dto.ConflictCheckRequest;
+import com.sgms.assignment.dto.ConflictCheckResponse;
 import com.sgms.assignment.dto.CreateAssignmentRequest;
+import com.sgms.assignment.dto.GuardRecommendationResponse;
 import com.sgms.assignment.dto.ShiftTypeResponse;
 import com.sgms.common.ApiResponse;
+import com.sgms.common.ListParams;
+import com.sgms.security.UserPrincipal;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Controller for guard assignment operations
  * 
  * Manages guard deployment to site posts with shift scheduling.
- * Authorization: ADMIN and SUPERVISOR roles only
+ * Authorization: ADMIN and SUPERVISOR roles only (supervisors read only their mapped sites)
  */
 @RestController
 @RequestMapping("/api/assignments")
 public class GuardAssignmentController {
 
   private final GuardAssignmentService assignmentService;
+  private final BulkRosterService bulkRosterService;
+  private final AssignmentConflictService conflictService;
+  private final ShiftRecommendationService recommendationService;
   private final ShiftTypeService shiftTypeService;
 
   public GuardAssignmentController(
       GuardAssignmentService assignmentService,
+      BulkRosterService bulkRosterService,
+      AssignmentConflictService conflictService,
+      ShiftRecommendationService recommendationService,
       ShiftTypeService shiftTypeService) {
     this.assignmentService = assignmentService;
+    this.bulkRosterService = bulkRosterService;
+    this.conflictService = conflictService;
+    this.recommendationService = recommendationService;
     this.shiftTypeService = shiftTypeService;
   }
 
@@ -63,6 +84,80 @@ public class GuardAssignmentController {
     return ApiResponse.success(assignment);
   }
 
+  /**
+   * Create many assignments in one request (monthly roster rollout)
+   * 
+   * POST /api/assignments/bulk
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Request body:
+   * {
+   *   "allOrNothing": false,
+   *   "assignments": [
+   *     { "guardId": 1, "sitePostId": 2, "shiftTypeId": 1, "effectiveFrom": "2026-03-01", "effectiveTo": "2026-03-31" },
+   *     { "guardId": 3, "sitePostId": 2, "shiftTypeId": 3, "effectiveFrom": "2026-03-01", "effectiveTo": "2026-03-31" }
+   *   ]
+   * }
+   * 
+   * Returns a per-entry result (CREATED, CONFLICT, INVALID or SKIPPED)
+   */
+  @PostMapping("/bulk")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<BulkRosterResponse> createRoster(
+      @Valid @RequestBody BulkRosterRequest request) {
+    BulkRosterResponse roster = bulkRosterService.createRoster(request);
+    return ApiResponse.success(roster,
+        String.format("%d of %d assignments created", roster.getCreated(), roster.getRequested()));
+  }
+
+  /**
+   * Check whether a prospective assignment would clash with the guard's active assignments
+   * 
+   * POST /api/assignments/conflicts/check
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Request body:
+   * {
+   *   "guardId": 1,
+   *   "shiftTypeId": 3,
+   *   "effectiveFrom": "2026-03-01",
+   *   "effectiveTo": "2026-03-31",
+   *   "excludeAssignmentId": 42
+   * }
+   * 
+   * Nothing is persisted. Conflicts compare shift windows, so a DAY and an
+   * EVENING assignment on the same dates do not clash.
+   */
+  @PostMapping("/conflicts/check")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<ConflictCheckResponse> checkConflicts(
+      @Valid @RequestBody ConflictCheckRequest request) {
+    ConflictCheckResponse result = conflictService.checkConflicts(request);
+    return ApiResponse.success(result);
+  }
+
+  /**
+   * Recommend guards to fill a post shift on a date
+   * 
+   * GET /api/assignments/recommendations?sitePostId=2&shiftTypeId=3&date=2026-03-14&limit=10
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Returns available guards (no overlapping shift that day) ranked by
+   * supervisor match, recent reliability and distance from their last site.
+   * Date must be within the availability horizon (today + 60 days by default).
+   */
+  @GetMapping("/recommendations")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<List<GuardRecommendationResponse>> recommendGuards(
+      @RequestParam Long sitePostId,
+      @RequestParam Long shiftTypeId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+      @RequestParam(required = false) Integer limit) {
+    List<GuardRecommendationResponse> recommendations =
+        recommendationService.recommend(sitePostId, shiftTypeId, date, limit);
+    return ApiResponse.success(recommendations);
+  }
+
   /**
    * Get all assignments for a specific guard
    * 
@@ -72,8 +167,9 @@ public class GuardAssignmentController {
   @GetMapping("/guard/{guardId}")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
   public ApiResponse<List<AssignmentResponse>> getAssignmentsByGuard(
+      @AuthenticationPrincipal UserPrincipal principal,
       @PathVariable Long guardId) {
-    List<AssignmentResponse> assignments = assignmentService.getAssignmentsByGuardId(guardId);
+    List<AssignmentResponse> assignments = assignmentService.getAssignmentsByGuardId(guardId, principal);
     return ApiResponse.success(assignments);
   }
 
@@ -86,8 +182,9 @@ public class GuardAssignmentController {
   @GetMapping("/site-post/{sitePostId}")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
   public ApiResponse<List<AssignmentResponse>> getAssignmentsBySitePost(
+      @AuthenticationPrincipal UserPrincipal principal,
       @PathVariable Long sitePostId) {
-    List<AssignmentResponse> assignments = assignmentService.getAssignmentsBySitePostId(sitePostId);
+    List<AssignmentResponse> assignments = assignmentService.getAssignmentsBySitePostId(sitePostId, principal);
     return ApiResponse.success(assignments);
   }
 
@@ -95,12 +192,20 @@ public class GuardAssignmentController {
    * Get all active assignments
    * 
    * GET /api/assignments
+   * GET /api/assignments?limit=50&sort=-effectiveFrom&fields=id,guardName,sitePostName&cursor=...
    * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Returns a cursor page when any of limit, cursor, sort or fields is given
    */
   @GetMapping
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
-  public ApiResponse<List<AssignmentResponse>> getAllActiveAssignments() {
-    List<AssignmentResponse> assignments = assignmentService.getAllActiveAssignments();
+  public ApiResponse<?> getAllActiveAssignments(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @ModelAttribute ListParams page) {
+    if (page.isPaged()) {
+      return ApiResponse.success(assignmentService.listActiveAssignments(page, principal));
+    }
+    List<AssignmentResponse> assignments = assignmentService.getAllActiveAssignments(principal);
     return ApiResponse.success(assignments);
   }
 
@@ -112,8 +217,10 @@ public class GuardAssignmentController {
    */
   @GetMapping("/{id}")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
-  public ApiResponse<AssignmentResponse> getAssignmentById(@PathVariable Long id) {
-    AssignmentResponse assignment = assignmentService.getAssignmentById(id);
+  public ApiResponse<AssignmentResponse> getAssignmentById(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable Long id) {
+    AssignmentResponse assignment = assignmentService.getAssignmentById(id, principal);
     return ApiResponse.success(assignment);
   }
 
@@ -5,11 +5,15 @@ import com.sgms.site.SitePostEntity;
 import com.sgms.user.UserEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -23,24 +27,41 @@ import java.time.LocalDate;
  * Maps guards to specific posts with shift type and effective date range.
  * 
  * Table: guard_assignments
+ * 
+ * All associations are LAZY. The "GuardAssignment.checkIn" graph fetches
+ * the shift type and post/site/client chain that check-in validates
+ * against and returns in its response.
  */
 @Entity
 @Table(name = "guard_assignments")
+@NamedEntityGraph(
+    name = GuardAssignmentEntity.CHECK_IN_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("shiftType"),
+        @NamedAttributeNode(value = "sitePost", subgraph = "sitePost")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "sitePost", attributeNodes = @NamedAttributeNode(value = "site", subgraph = "site")),
+        @NamedSubgraph(name = "site", attributeNodes = @NamedAttributeNode("clientAccount"))
+    }
+)
 public class GuardAssignmentEntity {
 
+  public static final String CHECK_IN_GRAPH = "GuardAssignment.checkIn";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "guard_id")
   private GuardEntity guard;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "site_post_id", nullable = false)
   private SitePostEntity sitePost;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "shift_type_id", nullable = false)
   private ShiftTypeEntity shiftType;
 
@@ -65,7 +86,7 @@ public class GuardAssignmentEntity {
   @Column(name = "updated_at", nullable = false)
   private Instant updatedAt;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "created_by_user_id")
   private UserEntity createdBy;
 
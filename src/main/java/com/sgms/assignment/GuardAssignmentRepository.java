@@ -1,10 +1,12 @@
 package com.sgms.assignment;
 
+import com.sgms.assignment.dto.AssignmentResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +16,20 @@ import java.util.Optional;
 @Repository
 public interface GuardAssignmentRepository extends JpaRepository<GuardAssignmentEntity, Long> {
 
+  String RESPONSE_SELECT = "SELECT new com.sgms.assignment.dto.AssignmentResponse(" +
+      "ga.id, g.id, g.employeeCode, CONCAT(g.firstName, ' ', COALESCE(g.lastName, '')), " +
+      "sp.id, sp.postName, s.id, s.name, c.id, c.name, " +
+      "st.id, st.name, st.startTime, st.endTime, " +
+      "ga.effectiveFrom, ga.effectiveTo, ga.status, ga.notes, ga.createdAt, ga.updatedAt, " +
+      "cu.id, cu.email) " +
+      "FROM GuardAssignmentEntity ga " +
+      "LEFT JOIN ga.guard g " +
+      "JOIN ga.sitePost sp " +
+      "JOIN sp.site s " +
+      "JOIN s.clientAccount c " +
+      "JOIN ga.shiftType st " +
+      "LEFT JOIN ga.createdBy cu ";
+
   /**
    * Find all assignments for a specific guard
    * Ordered by effective_from descending (most recent first)
@@ -28,18 +44,6 @@ public interface GuardAssignmentRepository extends JpaRepository<GuardAssignment
   @Query("SELECT ga FROM GuardAssignmentEntity ga WHERE ga.sitePost.id = :sitePostId ORDER BY ga.effectiveFrom DESC")
   List<GuardAssignmentEntity> findBySitePostId(Long sitePostId);
 
-  /**
-   * Find active assignments for a guard
-   * Active = status is ACTIVE AND current date is within effective date range
-   */
-  @Query("SELECT ga FROM GuardAssignmentEntity ga " +
-         "WHERE ga.guard.id = :guardId " +
-         "AND ga.status = 'ACTIVE' " +
-         "AND ga.effectiveFrom <= :currentDate " +
-         "AND (ga.effectiveTo IS NULL OR ga.effectiveTo >= :currentDate) " +
-         "ORDER BY ga.effectiveFrom DESC")
-  List<GuardAssignmentEntity> findActiveAssignmentsByGuardId(Long guardId, LocalDate currentDate);
-
   /**
    * Find active assignments for a site post
    * Active = status is ACTIVE AND current date is within effective date range
@@ -83,4 +87,67 @@ public interface GuardAssignmentRepository extends JpaRepository<GuardAssignment
     LocalDate endDate = effectiveTo != null ? effectiveTo : LocalDate.of(9999, 12, 31);
     return hasOverlappingAssignment(guardId, effectiveFrom, endDate, -1L);
   }
+
+  /**
+   * Load all active assignment date ranges, shift windows and site zones for a set of guards in one query
+   * Used to seed in-memory conflict detection (create, bulk roster, what-if checks)
+   */
+  @Query("SELECT new com.sgms.assignment.AssignmentSlot(" +
+         "ga.id, ga.guard.id, ga.shiftType.id, ga.effectiveFrom, ga.effectiveTo, " +
+         "ga.shiftType.startTime, ga.shiftType.endTime, ga.sitePost.site.timeZone) " +
+         "FROM GuardAssignmentEntity ga " +
+         "WHERE ga.guard.id IN :guardIds " +
+         "AND ga.status = 'ACTIVE'")
+  List<AssignmentSlot> findActiveSlotsByGuardIds(Collection<Long> guardIds);
+
+  /**
+   * Load active assignment slots still in effect on or after a date (all guards)
+   * Used to build the guard availability snapshot for shift-fill recommendations
+   */
+  @Query("SELECT new com.sgms.assignment.AssignmentSlot(" +
+         "ga.id, ga.guard.id, ga.shiftType.id, ga.effectiveFrom, ga.effectiveTo, " +
+         "ga.shiftType.startTime, ga.shiftType.endTime, ga.sitePost.site.timeZone) " +
+         "FROM GuardAssignmentEntity ga " +
+         "WHERE ga.guard IS NOT NULL " +
+         "AND ga.status = 'ACTIVE' " +
+         "AND (ga.effectiveTo IS NULL OR ga.effectiveTo >= :fromDate)")
+  List<AssignmentSlot> findActiveSlotsInEffectFrom(LocalDate fromDate);
+
+  /**
+   * Read projection of all assignments for a guard, most recent first
+   */
+  @Query(RESPONSE_SELECT + "WHERE g.id = :guardId ORDER BY ga.effectiveFrom DESC")
+  List<AssignmentResponse> findResponsesByGuardId(Long guardId);
+
+  /**
+   * Read projection of all assignments for a site post, most recent first
+   */
+  @Query(RESPONSE_SELECT + "WHERE sp.id = :sitePostId ORDER BY ga.effectiveFrom DESC")
+  List<AssignmentResponse> findResponsesBySitePostId(Long sitePostId);
+
+  /**
+   * Read projection of a guard's assignments at a set of sites, most recent first
+   * Used for supervisors, whose scope is the sites mapped to them
+   */
+  @Query(RESPONSE_SELECT + "WHERE g.id = :guardId AND sp.site.id IN :siteIds ORDER BY ga.effectiveFrom DESC")
+  List<AssignmentResponse> findResponsesByGuardIdAndSiteIds(Long guardId, Collection<Long> siteIds);
+
+  /**
+   * Read projection of all active assignments
+   */
+  @Query(RESPONSE_SELECT + "WHERE ga.status = 'ACTIVE' ORDER BY ga.effectiveFrom DESC")
+  List<AssignmentResponse> findAllActiveResponses();
+
+  /**
+   * Read projection of active assignments at a set of sites
+   * Used for supervisors, whose scope is the sites mapped to them
+   */
+  @Query(RESPONSE_SELECT + "WHERE ga.status = 'ACTIVE' AND sp.site.id IN :siteIds ORDER BY ga.effectiveFrom DESC")
+  List<AssignmentResponse> findActiveResponsesBySiteIds(Collection<Long> siteIds);
+
+  /**
+   * Read projection of an assignment
+   */
+  @Query(RESPONSE_SELECT + "WHERE ga.id = :id")
+  Optional<AssignmentResponse> findResponseById(Long id);
 }
@@ -2,21 +2,30 @@ package com.sgms.assignment;
 
 import com.sgms.assignment.dto.AssignmentResponse;
 import com.sgms.assignment.dto.CreateAssignmentRequest;
+import com.sgms.common.CursorPage;
+import com.sgms.common.KeysetPager;
+import com.sgms.common.ListParams;
+import com.sgms.common.ListingSpec;
+import com.sgms.common.ListingSpec.ColumnType;
 import com.sgms.guard.GuardEntity;
 import com.sgms.guard.GuardRepository;
 import com.sgms.security.SecurityUtil;
+import com.sgms.security.UserPrincipal;
 import com.sgms.site.SitePostEntity;
 import com.sgms.site.SitePostRepository;
+import com.sgms.site.SiteScope;
+import com.sgms.site.SupervisorScopeService;
 import com.sgms.user.UserEntity;
 import com.sgms.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing guard assignments
@@ -25,27 +34,73 @@ import java.util.stream.Collectors;
  * - Assigning guards to site posts with shifts
  * - Validating assignment constraints
  * - Managing assignment lifecycle
+ * - Limiting reads to the caller's site scope (supervisors: mapped sites)
  */
 @Service
 public class GuardAssignmentService {
 
+  private static final ListingSpec ACTIVE_ASSIGNMENT_LISTING = ListingSpec.builder("guard_assignments ga", "ga.id")
+      .join("g", "LEFT JOIN guards g ON g.id = ga.guard_id")
+      .join("sp", "LEFT JOIN site_posts sp ON sp.id = ga.site_post_id")
+      .join("s", "LEFT JOIN sites s ON s.id = sp.site_id", "sp")
+      .join("c", "LEFT JOIN client_accounts c ON c.id = s.client_account_id", "s")
+      .join("st", "LEFT JOIN shift_types st ON st.id = ga.shift_type_id")
+      .join("cu", "LEFT JOIN users cu ON cu.id = ga.created_by_user_id")
+      .where("ga.status = 'ACTIVE'")
+      .sortableField("id", "ga.id", ColumnType.LONG)
+      .field("guardId", "ga.guard_id", ColumnType.LONG)
+      .field("guardEmployeeCode", "g.employee_code", ColumnType.TEXT, "g")
+      .field("guardName", "g.first_name || ' ' || COALESCE(g.last_name, '')", ColumnType.TEXT, "g")
+      .field("sitePostId", "ga.site_post_id", ColumnType.LONG)
+      .field("sitePostName", "sp.post_name", ColumnType.TEXT, "sp")
+      .field("siteId", "sp.site_id", ColumnType.LONG, "sp")
+      .field("siteName", "s.name", ColumnType.TEXT, "s")
+      .field("clientId", "s.client_account_id", ColumnType.LONG, "s")
+      .field("clientName", "c.name", ColumnType.TEXT, "c")
+      .field("shiftTypeId", "ga.shift_type_id", ColumnType.LONG)
+      .field("shiftTypeName", "st.name", ColumnType.TEXT, "st")
+      .field("shiftStartTime", "st.start_time", ColumnType.TIME, "st")
+      .field("shiftEndTime", "st.end_time", ColumnType.TIME, "st")
+      .sortableField("effectiveFrom", "ga.effective_from", ColumnType.DATE)
+      .field("effectiveTo", "ga.effective_to", ColumnType.DATE)
+      .field("status", "ga.status", ColumnType.TEXT)
+      .field("notes", "ga.notes", ColumnType.TEXT)
+      .sortableField("createdAt", "ga.created_at", ColumnType.TIMESTAMP)
+      .sortableField("updatedAt", "ga.updated_at", ColumnType.TIMESTAMP)
+      .field("createdByUserId", "ga.created_by_user_id", ColumnType.LONG)
+      .field("createdByEmail", "cu.email", ColumnType.TEXT, "cu")
+      .defaultSort("-effectiveFrom")
+      .build();
+
   private final GuardAssignmentRepository assignmentRepository;
   private final GuardRepository guardRepository;
   private final SitePostRepository sitePostRepository;
   private final ShiftTypeRepository shiftTypeRepository;
   private final UserRepository userRepository;
+  private final AssignmentConflictService conflictService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final KeysetPager keysetPager;
+  private final SupervisorScopeService supervisorScopeService;
 
   public GuardAssignmentService(
       GuardAssignmentRepository assignmentRepository,
       GuardRepository guardRepository,
       SitePostRepository sitePostRepository,
       ShiftTypeRepository shiftTypeRepository,
-      UserRepository userRepository) {
+      UserRepository userRepository,
+      AssignmentConflictService conflictService,
+      ApplicationEventPublisher eventPublisher,
+      KeysetPager keysetPager,
+      SupervisorScopeService supervisorScopeService) {
     this.assignmentRepository = assignmentRepository;
     this.guardRepository = guardRepository;
     this.sitePostRepository = sitePostRepository;
     this.shiftTypeRepository = shiftTypeRepository;
     this.userRepository = userRepository;
+    this.conflictService = conflictService;
+    this.eventPublisher = eventPublisher;
+    this.keysetPager = keysetPager;
+    this.supervisorScopeService = supervisorScopeService;
   }
 
   /**
@@ -79,17 +134,17 @@ public class GuardAssignmentService {
       throw new IllegalArgumentException("Effective to date must be on or after effective from date");
     }
 
-    // Check for overlapping assignments for the same guard
-    LocalDate effectiveTo = request.getEffectiveTo() != null ? request.getEffectiveTo() : LocalDate.of(9999, 12, 31);
-    if (assignmentRepository.hasOverlappingAssignment(
-        request.getGuardId(),
-        request.getEffectiveFrom(),
-        effectiveTo)) {
+    // Check for assignments of the same guard whose shift windows overlap, in real time across site zones
+    AssignmentSlot candidate = AssignmentSlot.candidate(
+        guard.getId(), shiftType, ZoneId.of(sitePost.getSite().getTimeZone()),
+        request.getEffectiveFrom(), request.getEffectiveTo());
+    conflictService.findFirstConflict(candidate).ifPresent(conflict -> {
       throw new IllegalArgumentException(
-          "Guard already has an active assignment during this period. " +
+          "Guard already has an active assignment (id " + conflict.existing().assignmentId() +
+          ") overlapping this shift from " + conflict.firstConflictDate() + ". " +
           "Please end or cancel the existing assignment before creating a new one."
       );
-    }
+    });
 
     // Get current user (who is creating the assignment)
     String currentUserEmail;
@@ -120,67 +175,102 @@ public class GuardAssignmentService {
     assignment.setCreatedBy(createdBy);
 
     GuardAssignmentEntity saved = assignmentRepository.save(assignment);
+    eventPublisher.publishEvent(new AssignmentChangedEvent(List.of(guard.getId())));
     return mapToResponse(saved);
   }
 
   /**
-   * Get all assignments for a specific guard
+   * Get all assignments for a specific guard (within the caller's site scope)
    */
   @Transactional(readOnly = true)
-  public List<AssignmentResponse> getAssignmentsByGuardId(Long guardId) {
+  public List<AssignmentResponse> getAssignmentsByGuardId(Long guardId, UserPrincipal principal) {
     // Verify guard exists
-    guardRepository.findById(guardId)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Guard not found with id: " + guardId
-        ));
+    if (!guardRepository.existsById(guardId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Guard not found with id: " + guardId
+      );
+    }
 
-    return assignmentRepository.findByGuardId(guardId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    SiteScope scope = supervisorScopeService.scopeOf(principal);
+    if (scope.unrestricted()) {
+      return assignmentRepository.findResponsesByGuardId(guardId);
+    }
+    if (scope.isEmpty()) {
+      return List.of();
+    }
+    return assignmentRepository.findResponsesByGuardIdAndSiteIds(guardId, scope.siteIds());
   }
 
   /**
    * Get all assignments for a specific site post
    */
   @Transactional(readOnly = true)
-  public List<AssignmentResponse> getAssignmentsBySitePostId(Long sitePostId) {
+  public List<AssignmentResponse> getAssignmentsBySitePostId(Long sitePostId, UserPrincipal principal) {
     // Verify site post exists
-    sitePostRepository.findById(sitePostId)
+    Long siteId = sitePostRepository.findSiteIdById(sitePostId)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.NOT_FOUND,
             "Site post not found with id: " + sitePostId
         ));
 
-    return assignmentRepository.findBySitePostId(sitePostId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    if (!supervisorScopeService.scopeOf(principal).includes(siteId)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied to this site post");
+    }
+
+    return assignmentRepository.findResponsesBySitePostId(sitePostId);
   }
 
   /**
-   * Get all active assignments
+   * Get all active assignments (within the caller's site scope)
    */
   @Transactional(readOnly = true)
-  public List<AssignmentResponse> getAllActiveAssignments() {
-    return assignmentRepository.findAllActiveAssignments()
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+  public List<AssignmentResponse> getAllActiveAssignments(UserPrincipal principal) {
+    SiteScope scope = supervisorScopeService.scopeOf(principal);
+    if (scope.unrestricted()) {
+      return assignmentRepository.findAllActiveResponses();
+    }
+    if (scope.isEmpty()) {
+      return List.of();
+    }
+    return assignmentRepository.findActiveResponsesBySiteIds(scope.siteIds());
+  }
+
+  /**
+   * One page of active assignments (within the caller's site scope)
+   */
+  @Transactional(readOnly = true)
+  public CursorPage listActiveAssignments(ListParams params, UserPrincipal principal) {
+    SiteScope scope = supervisorScopeService.scopeOf(principal);
+    if (scope.unrestricted()) {
+      return keysetPager.fetch(ACTIVE_ASSIGNMENT_LISTING, params);
+    }
+    if (scope.isEmpty()) {
+      return keysetPager.empty(ACTIVE_ASSIGNMENT_LISTING, params);
+    }
+    String placeholders = String.join(", ", Collections.nCopies(scope.siteIds().size(), "?"));
+    ListingSpec scoped = ACTIVE_ASSIGNMENT_LISTING.where(
+        "ga.site_post_id IN (SELECT id FROM site_posts WHERE site_id IN (" + placeholders + "))",
+        scope.siteIds().toArray());
+    return keysetPager.fetch(scoped, params);
   }
 
   /**
    * Get assignment by ID
    */
   @Transactional(readOnly = true)
-  public AssignmentResponse getAssignmentById(Long id) {
-    GuardAssignmentEntity assignment = assignmentRepository.findAssignmentById(id)
+  public AssignmentResponse getAssignmentById(Long id, UserPrincipal principal) {
+    AssignmentResponse assignment = assignmentRepository.findResponseById(id)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.NOT_FOUND,
             "Assignment not found with id: " + id
         ));
-    return mapToResponse(assignment);
+
+    if (!supervisorScopeService.scopeOf(principal).includes(assignment.getSiteId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied to this assignment");
+    }
+
+    return assignment;
   }
 
   /**
@@ -197,6 +287,10 @@ public class GuardAssignmentService {
 
     assignment.setStatus("CANCELLED");
     assignmentRepository.save(assignment);
+
+    if (assignment.getGuard() != null) {
+      eventPublisher.publishEvent(new AssignmentChangedEvent(List.of(assignment.getGuard().getId())));
+    }
   }
 
   /**
@@ -0,0 +1,246 @@
+package com.sgms.assignment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory guard availability index for shift-fill recommendations
+ * 
+ * Holds an {@link AvailabilitySnapshot} covering today plus the configured
+ * horizon. The snapshot is rebuilt on startup, on a schedule and when the
+ * day rolls over; assignment changes refresh only the affected guards once
+ * their transaction commits.
+ * 
+ * Writers (rebuild, per-guard refresh) are serialized so a refresh is never
+ * lost behind a concurrent rebuild; readers share a read lock.
+ */
+@Component
+public class GuardAvailabilityIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(GuardAvailabilityIndex.class);
+
+  private static final String GUARDS_SQL =
+      "SELECT id, employee_code, first_name, last_name, supervisor_user_id " +
+      "FROM guards " +
+      "WHERE deleted_at IS NULL AND status = 'ACTIVE' " +
+      "ORDER BY id";
+
+  private static final String SUPERVISOR_SITES_SQL =
+      "SELECT supervisor_user_id, site_id FROM supervisor_site_mapping " +
+      "WHERE removed_at IS NULL AND supervisor_user_id IS NOT NULL";
+
+  private static final String RECENT_HISTORY_SQL =
+      "SELECT guard_id, COUNT(*) AS shifts, " +
+      "COUNT(*) FILTER (WHERE late_minutes > 0 OR status = 'ABSENT') AS late_or_absent " +
+      "FROM attendance_logs " +
+      "WHERE attendance_date >= ? AND guard_id IS NOT NULL " +
+      "GROUP BY guard_id";
+
+  private static final String LAST_SITE_SQL =
+      "SELECT DISTINCT ON (ga.guard_id) ga.guard_id, s.id AS site_id, s.latitude, s.longitude " +
+      "FROM guard_assignments ga " +
+      "JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "JOIN sites s ON s.id = sp.site_id " +
+      "WHERE ga.guard_id IS NOT NULL AND ga.status = 'ACTIVE' AND ga.effective_from <= ? " +
+      "ORDER BY ga.guard_id, ga.effective_from DESC, ga.id DESC";
+
+  private final GuardAssignmentRepository assignmentRepository;
+  private final ShiftTypeRepository shiftTypeRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+  private final int horizonDays;
+  private final int historyDays;
+
+  private final ReentrantLock writerLock = new ReentrantLock();
+  private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+  private volatile AvailabilitySnapshot snapshot;
+
+  public GuardAvailabilityIndex(
+      GuardAssignmentRepository assignmentRepository,
+      ShiftTypeRepository shiftTypeRepository,
+      JdbcTemplate jdbcTemplate,
+      Clock clock,
+      @Value("${app.recommendation.horizon-days:60}") int horizonDays,
+      @Value("${app.recommendation.history-days:30}") int historyDays) {
+    this.assignmentRepository = assignmentRepository;
+    this.shiftTypeRepository = shiftTypeRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+    this.horizonDays = Math.max(1, horizonDays);
+    this.historyDays = historyDays;
+  }
+
+  /**
+   * Build the first snapshot once the application is up
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      // Built lazily on first use instead
+      logger.warn("Could not build guard availability index at startup: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Periodic full rebuild (picks up new guards, attendance and supervisor mappings)
+   * 
+   * Cron: app.recommendation.refresh-cron (default every 15 minutes)
+   */
+  @Scheduled(cron = "${app.recommendation.refresh-cron:0 */15 * * * *}")
+  public void scheduledRebuild() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.error("Error rebuilding guard availability index", e);
+    }
+  }
+
+  /**
+   * Refresh busy marks of guards whose assignments changed
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onAssignmentChanged(AssignmentChangedEvent event) {
+    try {
+      refreshGuards(event.guardIds());
+    } catch (Exception e) {
+      // The next scheduled rebuild repairs the index
+      logger.warn("Could not refresh availability for guards {}: {}", event.guardIds(), e.getMessage());
+    }
+  }
+
+  /**
+   * Run a read against the current snapshot, rebuilding first if missing or stale
+   */
+  <T> T read(Function<AvailabilitySnapshot, T> reader) {
+    ensureCurrent();
+    snapshotLock.readLock().lock();
+    try {
+      return reader.apply(snapshot);
+    } finally {
+      snapshotLock.readLock().unlock();
+    }
+  }
+
+  private void ensureCurrent() {
+    if (isCurrent(snapshot)) {
+      return;
+    }
+    writerLock.lock();
+    try {
+      // Another reader may have rebuilt while we waited
+      if (!isCurrent(snapshot)) {
+        rebuild();
+      }
+    } finally {
+      writerLock.unlock();
+    }
+  }
+
+  private boolean isCurrent(AvailabilitySnapshot current) {
+    return current != null && current.from().equals(LocalDate.now(clock));
+  }
+
+  void rebuild() {
+    writerLock.lock();
+    try {
+      long started = System.currentTimeMillis();
+      AvailabilitySnapshot built = build(LocalDate.now(clock));
+      snapshotLock.writeLock().lock();
+      try {
+        snapshot = built;
+      } finally {
+        snapshotLock.writeLock().unlock();
+      }
+      logger.info("Guard availability index rebuilt in {} ms ({} days from {})",
+          System.currentTimeMillis() - started, built.days(), built.from());
+    } finally {
+      writerLock.unlock();
+    }
+  }
+
+  void refreshGuards(Collection<Long> guardIds) {
+    if (guardIds.isEmpty()) {
+      return;
+    }
+    writerLock.lock();
+    try {
+      AvailabilitySnapshot current = snapshot;
+      if (current == null) {
+        return;
+      }
+      List<AssignmentSlot> slots = assignmentRepository.findActiveSlotsByGuardIds(guardIds);
+      snapshotLock.writeLock().lock();
+      try {
+        current.clearBusy(guardIds);
+        slots.forEach(current::markBusy);
+      } finally {
+        snapshotLock.writeLock().unlock();
+      }
+    } finally {
+      writerLock.unlock();
+    }
+  }
+
+  private AvailabilitySnapshot build(LocalDate today) {
+    List<AvailabilitySnapshot.Guard> guards = jdbcTemplate.query(GUARDS_SQL, (rs, rowNum) -> {
+      String lastName = rs.getString("last_name");
+      return new AvailabilitySnapshot.Guard(
+          rs.getLong("id"),
+          rs.getString("employee_code"),
+          rs.getString("first_name") + " " + (lastName != null ? lastName : ""),
+          rs.getObject("supervisor_user_id", Long.class));
+    });
+
+    Map<Long, Set<Long>> siteIdsBySupervisor = new HashMap<>();
+    jdbcTemplate.query(SUPERVISOR_SITES_SQL, rs -> {
+      siteIdsBySupervisor
+          .computeIfAbsent(rs.getLong("supervisor_user_id"), id -> new HashSet<>())
+          .add(rs.getLong("site_id"));
+    });
+
+    AvailabilitySnapshot built = new AvailabilitySnapshot(
+        today, horizonDays, guards, shiftTypeRepository.findAll(), siteIdsBySupervisor);
+
+    // From yesterday so NIGHT shifts spilling into this morning are counted
+    assignmentRepository.findActiveSlotsInEffectFrom(today.minusDays(1)).forEach(built::markBusy);
+
+    jdbcTemplate.query(RECENT_HISTORY_SQL, rs -> {
+      built.setRecentHistory(rs.getLong("guard_id"), rs.getInt("shifts"), rs.getInt("late_or_absent"));
+    }, today.minusDays(historyDays));
+
+    jdbcTemplate.query(LAST_SITE_SQL, rs -> {
+      BigDecimal latitude = rs.getBigDecimal("latitude");
+      BigDecimal longitude = rs.getBigDecimal("longitude");
+      built.setLastSite(
+          rs.getLong("guard_id"),
+          rs.getLong("site_id"),
+          latitude != null ? latitude.doubleValue() : null,
+          longitude != null ? longitude.doubleValue() : null);
+    }, today);
+
+    return built;
+  }
+}
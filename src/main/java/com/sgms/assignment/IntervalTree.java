@@ -0,0 +1,120 @@
+package com.sgms.assignment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Augmented interval tree over half-open intervals [start, end)
+ * 
+ * Implemented as a treap ordered by interval start, where every node also
+ * tracks the greatest end in its subtree. Random priorities keep the tree
+ * balanced in expectation, so inserts and stabbing queries run in
+ * O(log n + k) for k reported intervals.
+ * 
+ * Not thread-safe; instances are built per request.
+ */
+class IntervalTree<T> {
+
+  private static final class Node<T> {
+    private final long start;
+    private final long end;
+    private final T value;
+    private final int priority;
+    private long maxEnd;
+    private Node<T> left;
+    private Node<T> right;
+
+    private Node(long start, long end, T value) {
+      this.start = start;
+      this.end = end;
+      this.value = value;
+      this.priority = ThreadLocalRandom.current().nextInt();
+      this.maxEnd = end;
+    }
+  }
+
+  private Node<T> root;
+
+  /**
+   * Insert an interval [start, end)
+   */
+  void insert(long start, long end, T value) {
+    if (end <= start) {
+      throw new IllegalArgumentException("Interval end must be after start");
+    }
+    root = insert(root, new Node<>(start, end, value));
+  }
+
+  /**
+   * All values whose interval overlaps [start, end)
+   */
+  List<T> findOverlapping(long start, long end) {
+    List<T> result = new ArrayList<>();
+    collect(root, start, end, result);
+    return result;
+  }
+
+  private Node<T> insert(Node<T> node, Node<T> added) {
+    if (node == null) {
+      return added;
+    }
+    if (added.start < node.start) {
+      node.left = insert(node.left, added);
+      if (node.left.priority > node.priority) {
+        node = rotateRight(node);
+      }
+    } else {
+      node.right = insert(node.right, added);
+      if (node.right.priority > node.priority) {
+        node = rotateLeft(node);
+      }
+    }
+    update(node);
+    return node;
+  }
+
+  private void collect(Node<T> node, long start, long end, List<T> result) {
+    // Nothing in this subtree ends after the query starts
+    if (node == null || node.maxEnd <= start) {
+      return;
+    }
+    collect(node.left, start, end, result);
+    // Right subtree starts at or after node.start; prune once past the query end
+    if (node.start < end) {
+      if (start < node.end) {
+        result.add(node.value);
+      }
+      collect(node.right, start, end, result);
+    }
+  }
+
+  private Node<T> rotateRight(Node<T> node) {
+    Node<T> pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private Node<T> rotateLeft(Node<T> node) {
+    Node<T> pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private void update(Node<T> node) {
+    long maxEnd = node.end;
+    if (node.left != null) {
+      maxEnd = Math.max(maxEnd, node.left.maxEnd);
+    }
+    if (node.right != null) {
+      maxEnd = Math.max(maxEnd, node.right.maxEnd);
+    }
+    node.maxEnd = maxEnd;
+  }
+}
@@ -0,0 +1,174 @@
+package com.sgms.assignment;
+
+import com.sgms.assignment.dto.GuardRecommendationResponse;
+import com.sgms.common.GeoDistance;
+import com.sgms.site.SiteEntity;
+import com.sgms.site.SitePostEntity;
+import com.sgms.site.SitePostRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Service recommending guards to fill an open post shift
+ * 
+ * Candidates come from the precomputed {@link GuardAvailabilityIndex}
+ * (guards with no overlapping shift that day) and are ranked by:
+ * - Supervisor match: the guard's supervisor manages the post's site
+ * - Reliability: share of recent attendance that was neither late nor absent
+ * - Proximity: distance from the guard's last assigned site to the post's site
+ * 
+ * Only the top candidates are re-checked against the database with the
+ * conflict engine, so a stale index never yields a double booking.
+ */
+@Service
+public class ShiftRecommendationService {
+
+  static final int DEFAULT_LIMIT = 10;
+  static final int MAX_LIMIT = 50;
+
+  private static final int VERIFY_HEADROOM = 10;
+  private static final double SUPERVISOR_WEIGHT = 40.0;
+  private static final double RELIABILITY_WEIGHT = 35.0;
+  private static final double PROXIMITY_WEIGHT = 25.0;
+  private static final double PROXIMITY_RANGE_KM = 50.0;
+  // Used when there is no history or no coordinates to compare
+  private static final double NEUTRAL_FACTOR = 0.5;
+
+  private final GuardAvailabilityIndex availabilityIndex;
+  private final AssignmentConflictService conflictService;
+  private final SitePostRepository sitePostRepository;
+
+  public ShiftRecommendationService(
+      GuardAvailabilityIndex availabilityIndex,
+      AssignmentConflictService conflictService,
+      SitePostRepository sitePostRepository) {
+    this.availabilityIndex = availabilityIndex;
+    this.conflictService = conflictService;
+    this.sitePostRepository = sitePostRepository;
+  }
+
+  private record Ranking(ShiftTypeEntity shiftType, List<GuardRecommendationResponse> candidates) {
+  }
+
+  /**
+   * Ranked guards available for the post's shift on the date
+   */
+  @Transactional(readOnly = true)
+  public List<GuardRecommendationResponse> recommend(
+      Long sitePostId,
+      Long shiftTypeId,
+      LocalDate date,
+      Integer limit) {
+    SitePostEntity sitePost = sitePostRepository.findActiveById(sitePostId)
+        .orElseThrow(() -> new ResponseStatusException(
+            HttpStatus.NOT_FOUND,
+            "Site post not found with id: " + sitePostId
+        ));
+    SiteEntity site = sitePost.getSite();
+    int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+
+    Ranking ranking = availabilityIndex.read(snapshot -> rank(snapshot, site, shiftTypeId, date, size + VERIFY_HEADROOM));
+
+    // Confirm the shortlist against current assignments, with the shift read in the post's site zone
+    ZoneId zone = ZoneId.of(site.getTimeZone());
+    AssignmentConflictIndex conflicts = conflictService.loadIndex(ranking.candidates().stream()
+        .map(GuardRecommendationResponse::getGuardId)
+        .collect(Collectors.toList()));
+
+    return ranking.candidates().stream()
+        .filter(candidate -> conflicts.findFirstConflict(
+            AssignmentSlot.candidate(candidate.getGuardId(), ranking.shiftType(), zone, date, date)).isEmpty())
+        .limit(size)
+        .collect(Collectors.toList());
+  }
+
+  private Ranking rank(AvailabilitySnapshot snapshot, SiteEntity site, Long shiftTypeId, LocalDate date, int size) {
+    ShiftTypeEntity shiftType = snapshot.shiftType(shiftTypeId);
+    if (shiftType == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Shift type not found with id: " + shiftTypeId
+      );
+    }
+    if (!snapshot.covers(date)) {
+      throw new IllegalArgumentException(
+          "Recommendations are available from " + snapshot.from() + " for " + snapshot.days() + " days"
+      );
+    }
+
+    boolean siteHasLocation = site.getLatitude() != null && site.getLongitude() != null;
+    double siteLatitude = siteHasLocation ? site.getLatitude().doubleValue() : Double.NaN;
+    double siteLongitude = siteHasLocation ? site.getLongitude().doubleValue() : Double.NaN;
+
+    Comparator<GuardRecommendationResponse> byRank = Comparator
+        .comparingDouble(GuardRecommendationResponse::getScore).reversed()
+        .thenComparing(GuardRecommendationResponse::getGuardId);
+
+    // Bounded heap keeps the best `size` candidates; its head is the weakest kept
+    PriorityQueue<GuardRecommendationResponse> best = new PriorityQueue<>(byRank.reversed());
+    BitSet available = snapshot.available(date, shiftTypeId);
+    for (int ordinal = available.nextSetBit(0); ordinal >= 0; ordinal = available.nextSetBit(ordinal + 1)) {
+      best.add(score(snapshot, ordinal, site.getId(), siteLatitude, siteLongitude));
+      if (best.size() > size) {
+        best.poll();
+      }
+    }
+
+    List<GuardRecommendationResponse> candidates = new ArrayList<>(best);
+    candidates.sort(byRank);
+    return new Ranking(shiftType, candidates);
+  }
+
+  private GuardRecommendationResponse score(
+      AvailabilitySnapshot snapshot,
+      int ordinal,
+      Long siteId,
+      double siteLatitude,
+      double siteLongitude) {
+    AvailabilitySnapshot.Guard guard = snapshot.guard(ordinal);
+    GuardRecommendationResponse response = new GuardRecommendationResponse();
+    response.setGuardId(guard.id());
+    response.setEmployeeCode(guard.employeeCode());
+    response.setGuardName(guard.name());
+
+    double score = 0;
+
+    boolean managed = snapshot.supervisorManagesSite(ordinal, siteId);
+    response.setSupervisorManagesSite(managed);
+    if (managed) {
+      score += SUPERVISOR_WEIGHT;
+    }
+
+    int shifts = snapshot.recentShifts(ordinal);
+    int lateOrAbsent = snapshot.recentLateOrAbsent(ordinal);
+    response.setRecentShifts(shifts);
+    response.setRecentLateOrAbsent(lateOrAbsent);
+    double reliability = shifts == 0 ? NEUTRAL_FACTOR : 1.0 - (double) lateOrAbsent / shifts;
+    score += RELIABILITY_WEIGHT * reliability;
+
+    response.setLastSiteId(snapshot.lastSiteId(ordinal));
+    double guardLatitude = snapshot.lastLatitude(ordinal);
+    double guardLongitude = snapshot.lastLongitude(ordinal);
+    double proximity = NEUTRAL_FACTOR;
+    if (!Double.isNaN(siteLatitude) && !Double.isNaN(guardLatitude) && !Double.isNaN(guardLongitude)) {
+      double distanceKm = GeoDistance.haversineMeters(guardLatitude, guardLongitude, siteLatitude, siteLongitude) / 1000.0;
+      response.setDistanceKm(Math.round(distanceKm * 10) / 10.0);
+      proximity = Math.max(0, 1.0 - distanceKm / PROXIMITY_RANGE_KM);
+    }
+    score += PROXIMITY_WEIGHT * proximity;
+
+    response.setScore(Math.round(score * 10) / 10.0);
+    return response;
+  }
+}
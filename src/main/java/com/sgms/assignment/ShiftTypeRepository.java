@@ -1,5 +1,6 @@
 package com.sgms.assignment;
 
+import com.sgms.assignment.dto.ShiftTypeResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,6 +14,10 @@ import java.util.Optional;
 @Repository
 public interface ShiftTypeRepository extends JpaRepository<ShiftTypeEntity, Long> {
 
+  String RESPONSE_SELECT = "SELECT new com.sgms.assignment.dto.ShiftTypeResponse(" +
+      "st.id, st.name, st.startTime, st.endTime, st.description, st.createdAt) " +
+      "FROM ShiftTypeEntity st ";
+
   /**
    * Find shift type by name (case-insensitive)
    */
@@ -30,4 +35,22 @@ public interface ShiftTypeRepository extends JpaRepository<ShiftTypeEntity, Long
    */
   @Query("SELECT COUNT(st) > 0 FROM ShiftTypeEntity st WHERE UPPER(st.name) = UPPER(:name)")
   boolean existsByNameIgnoreCase(String name);
+
+  /**
+   * Read projection of all shift types ordered by start time
+   */
+  @Query(RESPONSE_SELECT + "ORDER BY st.startTime")
+  List<ShiftTypeResponse> findAllResponsesOrderedByStartTime();
+
+  /**
+   * Read projection of a shift type
+   */
+  @Query(RESPONSE_SELECT + "WHERE st.id = :id")
+  Optional<ShiftTypeResponse> findResponseById(Long id);
+
+  /**
+   * Read projection of a shift type by name (case-insensitive)
+   */
+  @Query(RESPONSE_SELECT + "WHERE UPPER(st.name) = UPPER(:name)")
+  Optional<ShiftTypeResponse> findResponseByNameIgnoreCase(String name);
 }
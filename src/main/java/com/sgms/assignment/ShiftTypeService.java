@@ -5,7 +5,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing shift types
@@ -27,10 +26,7 @@ public class ShiftTypeService {
    */
   @Transactional(readOnly = true)
   public List<ShiftTypeResponse> getAllShiftTypes() {
-    return shiftTypeRepository.findAllOrderedByStartTime()
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return shiftTypeRepository.findAllResponsesOrderedByStartTime();
   }
 
   /**
@@ -38,9 +34,8 @@ public class ShiftTypeService {
    */
   @Transactional(readOnly = true)
   public ShiftTypeResponse getShiftTypeById(Long id) {
-    ShiftTypeEntity entity = shiftTypeRepository.findById(id)
+    return shiftTypeRepository.findResponseById(id)
         .orElseThrow(() -> new IllegalArgumentException("Shift type not found with id: " + id));
-    return mapToResponse(entity);
   }
 
   /**
@@ -48,22 +43,7 @@ public class ShiftTypeService {
    */
   @Transactional(readOnly = true)
   public ShiftTypeResponse getShiftTypeByName(String name) {
-    ShiftTypeEntity entity = shiftTypeRepository.findByNameIgnoreCase(name)
+    return shiftTypeRepository.findResponseByNameIgnoreCase(name)
         .orElseThrow(() -> new IllegalArgumentException("Shift type not found with name: " + name));
-    return mapToResponse(entity);
-  }
-
-  /**
-   * Map entity to response DTO
-   */
-  private ShiftTypeResponse mapToResponse(ShiftTypeEntity entity) {
-    ShiftTypeResponse response = new ShiftTypeResponse();
-    response.setId(entity.getId());
-    response.setName(entity.getName());
-    response.setStartTime(entity.getStartTime());
-    response.setEndTime(entity.getEndTime());
-    response.setDescription(entity.getDescription());
-    response.setCreatedAt(entity.getCreatedAt());
-    return response;
   }
 }
@@ -0,0 +1,80 @@
+package com.sgms.assignment.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Response DTO describing an existing assignment that clashes with a prospective one
+ */
+public class AssignmentConflictResponse {
+
+  private Long assignmentId;
+  private Long shiftTypeId;
+  private LocalTime shiftStartTime;
+  private LocalTime shiftEndTime;
+  private LocalDate effectiveFrom;
+  private LocalDate effectiveTo;
+
+  /**
+   * First date of the prospective assignment whose shift overlaps this assignment
+   */
+  private LocalDate firstConflictDate;
+
+  // Getters and Setters
+
+  public Long getAssignmentId() {
+    return assignmentId;
+  }
+
+  public void setAssignmentId(Long assignmentId) {
+    this.assignmentId = assignmentId;
+  }
+
+  public Long getShiftTypeId() {
+    return shiftTypeId;
+  }
+
+  public void setShiftTypeId(Long shiftTypeId) {
+    this.shiftTypeId = shiftTypeId;
+  }
+
+  public LocalTime getShiftStartTime() {
+    return shiftStartTime;
+  }
+
+  public void setShiftStartTime(LocalTime shiftStartTime) {
+    this.shiftStartTime = shiftStartTime;
+  }
+
+  public LocalTime getShiftEndTime() {
+    return shiftEndTime;
+  }
+
+  public void setShiftEndTime(LocalTime shiftEndTime) {
+    this.shiftEndTime = shiftEndTime;
+  }
+
+  public LocalDate getEffectiveFrom() {
+    return effectiveFrom;
+  }
+
+  public void setEffectiveFrom(LocalDate effectiveFrom) {
+    this.effectiveFrom = effectiveFrom;
+  }
+
+  public LocalDate getEffectiveTo() {
+    return effectiveTo;
+  }
+
+  public void setEffectiveTo(LocalDate effectiveTo) {
+    this.effectiveTo = effectiveTo;
+  }
+
+  public LocalDate getFirstConflictDate() {
+    return firstConflictDate;
+  }
+
+  public void setFirstConflictDate(LocalDate firstConflictDate) {
+    this.firstConflictDate = firstConflictDate;
+  }
+}
@@ -34,6 +34,59 @@ public class AssignmentResponse {
   private Long createdByUserId;
   private String createdByEmail;
 
+  public AssignmentResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public AssignmentResponse(
+      Long id,
+      Long guardId,
+      String guardEmployeeCode,
+      String guardName,
+      Long sitePostId,
+      String sitePostName,
+      Long siteId,
+      String siteName,
+      Long clientId,
+      String clientName,
+      Long shiftTypeId,
+      String shiftTypeName,
+      LocalTime shiftStartTime,
+      LocalTime shiftEndTime,
+      LocalDate effectiveFrom,
+      LocalDate effectiveTo,
+      String status,
+      String notes,
+      Instant createdAt,
+      Instant updatedAt,
+      Long createdByUserId,
+      String createdByEmail) {
+    this.id = id;
+    this.guardId = guardId;
+    this.guardEmployeeCode = guardEmployeeCode;
+    this.guardName = guardName;
+    this.sitePostId = sitePostId;
+    this.sitePostName = sitePostName;
+    this.siteId = siteId;
+    this.siteName = siteName;
+    this.clientId = clientId;
+    this.clientName = clientName;
+    this.shiftTypeId = shiftTypeId;
+    this.shiftTypeName = shiftTypeName;
+    this.shiftStartTime = shiftStartTime;
+    this.shiftEndTime = shiftEndTime;
+    this.effectiveFrom = effectiveFrom;
+    this.effectiveTo = effectiveTo;
+    this.status = status;
+    this.notes = notes;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+    this.createdByUserId = createdByUserId;
+    this.createdByEmail = createdByEmail;
+  }
+
   // Getters and Setters
 
   public Long getId() {
@@ -0,0 +1,46 @@
+package com.sgms.assignment.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request DTO for bulk roster creation
+ * 
+ * Carries many (guard, post, shift, date-range) tuples in one call.
+ * Each entry is validated and conflict-checked independently and the
+ * outcome is reported per entry in {@link BulkRosterResponse}.
+ */
+public class BulkRosterRequest {
+
+  @NotEmpty(message = "At least one assignment is required")
+  @Size(max = 2000, message = "A roster may contain at most 2000 assignments")
+  @Valid
+  private List<CreateAssignmentRequest> assignments = new ArrayList<>();
+
+  /**
+   * When true, nothing is inserted if any entry is invalid or conflicts.
+   * When false (default), valid entries are inserted and failures are reported.
+   */
+  private boolean allOrNothing;
+
+  // Getters and Setters
+
+  public List<CreateAssignmentRequest> getAssignments() {
+    return assignments;
+  }
+
+  public void setAssignments(List<CreateAssignmentRequest> assignments) {
+    this.assignments = assignments;
+  }
+
+  public boolean isAllOrNothing() {
+    return allOrNothing;
+  }
+
+  public void setAllOrNothing(boolean allOrNothing) {
+    this.allOrNothing = allOrNothing;
+  }
+}
@@ -0,0 +1,59 @@
+package com.sgms.assignment.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for bulk roster creation
+ * 
+ * Contains one {@link RosterEntryResult} per submitted entry, in request order.
+ */
+public class BulkRosterResponse {
+
+  private int requested;
+  private int created;
+  private int conflicts;
+  private int invalid;
+  private List<RosterEntryResult> results;
+
+  // Getters and Setters
+
+  public int getRequested() {
+    return requested;
+  }
+
+  public void setRequested(int requested) {
+    this.requested = requested;
+  }
+
+  public int getCreated() {
+    return created;
+  }
+
+  public void setCreated(int created) {
+    this.created = created;
+  }
+
+  public int getConflicts() {
+    return conflicts;
+  }
+
+  public void setConflicts(int conflicts) {
+    this.conflicts = conflicts;
+  }
+
+  public int getInvalid() {
+    return invalid;
+  }
+
+  public void setInvalid(int invalid) {
+    this.invalid = invalid;
+  }
+
+  public List<RosterEntryResult> getResults() {
+    return results;
+  }
+
+  public void setResults(List<RosterEntryResult> results) {
+    this.results = results;
+  }
+}
@@ -0,0 +1,77 @@
+package com.sgms.assignment.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * Request DTO for a what-if assignment conflict check
+ * 
+ * Describes a prospective assignment; nothing is persisted.
+ * excludeAssignmentId ignores one existing assignment (e.g. one about to be replaced).
+ * sitePostId gives the zone the shift times are read in; without it they are read in UTC.
+ */
+public class ConflictCheckRequest {
+
+  @NotNull(message = "Guard ID is required")
+  private Long guardId;
+
+  @NotNull(message = "Shift type ID is required")
+  private Long shiftTypeId;
+
+  @NotNull(message = "Effective from date is required")
+  private LocalDate effectiveFrom;
+
+  private LocalDate effectiveTo;
+  private Long sitePostId;
+  private Long excludeAssignmentId;
+
+  // Getters and Setters
+
+  public Long getGuardId() {
+    return guardId;
+  }
+
+  public void setGuardId(Long guardId) {
+    this.guardId = guardId;
+  }
+
+  public Long getShiftTypeId() {
+    return shiftTypeId;
+  }
+
+  public void setShiftTypeId(Long shiftTypeId) {
+    this.shiftTypeId = shiftTypeId;
+  }
+
+  public LocalDate getEffectiveFrom() {
+    return effectiveFrom;
+  }
+
+  public void setEffectiveFrom(LocalDate effectiveFrom) {
+    this.effectiveFrom = effectiveFrom;
+  }
+
+  public LocalDate getEffectiveTo() {
+    return effectiveTo;
+  }
+
+  public void setEffectiveTo(LocalDate effectiveTo) {
+    this.effectiveTo = effectiveTo;
+  }
+
+  public Long getSitePostId() {
+    return sitePostId;
+  }
+
+  public void setSitePostId(Long sitePostId) {
+    this.sitePostId = sitePostId;
+  }
+
+  public Long getExcludeAssignmentId() {
+    return excludeAssignmentId;
+  }
+
+  public void setExcludeAssignmentId(Long excludeAssignmentId) {
+    this.excludeAssignmentId = excludeAssignmentId;
+  }
+}
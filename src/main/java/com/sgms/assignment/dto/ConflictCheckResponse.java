@@ -0,0 +1,30 @@
+package com.sgms.assignment.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a what-if assignment conflict check
+ */
+public class ConflictCheckResponse {
+
+  private boolean conflict;
+  private List<AssignmentConflictResponse> conflicts;
+
+  // Getters and Setters
+
+  public boolean isConflict() {
+    return conflict;
+  }
+
+  public void setConflict(boolean conflict) {
+    this.conflict = conflict;
+  }
+
+  public List<AssignmentConflictResponse> getConflicts() {
+    return conflicts;
+  }
+
+  public void setConflicts(List<AssignmentConflictResponse> conflicts) {
+    this.conflicts = conflicts;
+  }
+}
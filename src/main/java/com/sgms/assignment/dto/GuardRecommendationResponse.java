@@ -0,0 +1,94 @@
+package com.sgms.assignment.dto;
+
+/**
+ * Response DTO for a guard recommended to fill a post shift
+ * 
+ * score is 0-100: supervisor match, recent reliability and proximity
+ * of the guard's last site to the target site
+ */
+public class GuardRecommendationResponse {
+
+  private Long guardId;
+  private String employeeCode;
+  private String guardName;
+  private double score;
+  private boolean supervisorManagesSite;
+  private int recentShifts;
+  private int recentLateOrAbsent;
+  private Long lastSiteId;
+  private Double distanceKm;
+
+  // Getters and Setters
+
+  public Long getGuardId() {
+    return guardId;
+  }
+
+  public void setGuardId(Long guardId) {
+    this.guardId = guardId;
+  }
+
+  public String getEmployeeCode() {
+    return employeeCode;
+  }
+
+  public void setEmployeeCode(String employeeCode) {
+    this.employeeCode = employeeCode;
+  }
+
+  public String getGuardName() {
+    return guardName;
+  }
+
+  public void setGuardName(String guardName) {
+    this.guardName = guardName;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public void setScore(double score) {
+    this.score = score;
+  }
+
+  public boolean isSupervisorManagesSite() {
+    return supervisorManagesSite;
+  }
+
+  public void setSupervisorManagesSite(boolean supervisorManagesSite) {
+    this.supervisorManagesSite = supervisorManagesSite;
+  }
+
+  public int getRecentShifts() {
+    return recentShifts;
+  }
+
+  public void setRecentShifts(int recentShifts) {
+    this.recentShifts = recentShifts;
+  }
+
+  public int getRecentLateOrAbsent() {
+    return recentLateOrAbsent;
+  }
+
+  public void setRecentLateOrAbsent(int recentLateOrAbsent) {
+    this.recentLateOrAbsent = recentLateOrAbsent;
+  }
+
+  public Long getLastSiteId() {
+    return lastSiteId;
+  }
+
+  public void setLastSiteId(Long lastSiteId) {
+    this.lastSiteId = lastSiteId;
+  }
+
+  public Double getDistanceKm() {
+    return distanceKm;
+  }
+
+  public void setDistanceKm(Double distanceKm) {
+    this.distanceKm = distanceKm;
+  }
+}
@@ -0,0 +1,108 @@
+package com.sgms.assignment.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of a single bulk roster entry
+ * 
+ * Status values:
+ * - CREATED: assignment inserted, assignmentId is set
+ * - CONFLICT: overlaps an existing assignment or an earlier entry in the same roster
+ * - INVALID: unknown/inactive guard, post or shift type, or bad date range
+ * - SKIPPED: entry was valid but the roster was rejected (allOrNothing)
+ */
+public class RosterEntryResult {
+
+  private int index;
+  private Long guardId;
+  private Long sitePostId;
+  private Long shiftTypeId;
+  private LocalDate effectiveFrom;
+  private LocalDate effectiveTo;
+  private String status;
+  private Long assignmentId;
+  private Long conflictingAssignmentId;
+  private String message;
+
+  // Getters and Setters
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public Long getGuardId() {
+    return guardId;
+  }
+
+  public void setGuardId(Long guardId) {
+    this.guardId = guardId;
+  }
+
+  public Long getSitePostId() {
+    return sitePostId;
+  }
+
+  public void setSitePostId(Long sitePostId) {
+    this.sitePostId = sitePostId;
+  }
+
+  public Long getShiftTypeId() {
+    return shiftTypeId;
+  }
+
+  public void setShiftTypeId(Long shiftTypeId) {
+    this.shiftTypeId = shiftTypeId;
+  }
+
+  public LocalDate getEffectiveFrom() {
+    return effectiveFrom;
+  }
+
+  public void setEffectiveFrom(LocalDate effectiveFrom) {
+    this.effectiveFrom = effectiveFrom;
+  }
+
+  public LocalDate getEffectiveTo() {
+    return effectiveTo;
+  }
+
+  public void setEffectiveTo(LocalDate effectiveTo) {
+    this.effectiveTo = effectiveTo;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public Long getAssignmentId() {
+    return assignmentId;
+  }
+
+  public void setAssignmentId(Long assignmentId) {
+    this.assignmentId = assignmentId;
+  }
+
+  public Long getConflictingAssignmentId() {
+    return conflictingAssignmentId;
+  }
+
+  public void setConflictingAssignmentId(Long conflictingAssignmentId) {
+    this.conflictingAssignmentId = conflictingAssignmentId;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
@@ -17,6 +17,27 @@ public class ShiftTypeResponse {
   private String description;
   private Instant createdAt;
 
+  public ShiftTypeResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public ShiftTypeResponse(
+      Long id,
+      String name,
+      LocalTime startTime,
+      LocalTime endTime,
+      String description,
+      Instant createdAt) {
+    this.id = id;
+    this.name = name;
+    this.startTime = startTime;
+    this.endTime = endTime;
+    this.description = description;
+    this.createdAt = createdAt;
+  }
+
   // Getters and Setters
 
   public Long getId() {
@@ -0,0 +1,97 @@
+package com.sgms.attendance;
+
+import com.sgms.scheduling.ChunkedJob;
+import com.sgms.scheduling.JobCheckpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Marks ABSENT the guards of shift instances whose check-in window has closed
+ * 
+ * Walks shift_instances in (check_in_closes_at, id) order, so each shift is
+ * handled shortly after its own window closes in its site's zone.
+ * Without a checkpoint (or with one older than the lookback) a run starts
+ * app.shift.absent-lookback-hours back.
+ * 
+ * Instances can appear behind the checkpoint: an assignment created for a
+ * shift that has already started, or a site time-zone change regenerating
+ * the day's instances. Every run therefore sweeps the last
+ * app.shift.absent-resweep-hours again. Repeating a shift is harmless,
+ * since its ABSENT insert is a no-op once the shift has a record.
+ */
+@Component
+public class AbsentSweepJob implements ChunkedJob {
+
+  static final String JOB_NAME = "attendance.mark-absent";
+
+  private static final String NEXT_CHUNK_SQL =
+      "SELECT si.check_in_closes_at, si.id FROM shift_instances si " +
+      "WHERE si.guard_id IS NOT NULL " +
+      "AND (si.check_in_closes_at, si.id) > (?, ?) AND si.check_in_closes_at <= ? " +
+      "ORDER BY si.check_in_closes_at, si.id " +
+      "LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final AttendanceWriter attendanceWriter;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration lookback;
+  private final Duration resweep;
+
+  public AbsentSweepJob(
+      JdbcTemplate jdbcTemplate,
+      AttendanceWriter attendanceWriter,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.shift.absent-lookback-hours:26}") long lookbackHours,
+      @Value("${app.shift.absent-resweep-hours:6}") long resweepHours) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.attendanceWriter = attendanceWriter;
+    this.eventPublisher = eventPublisher;
+    this.lookback = Duration.ofHours(lookbackHours);
+    this.resweep = Duration.ofHours(Math.max(0, resweepHours));
+  }
+
+  @Override
+  public String name() {
+    return JOB_NAME;
+  }
+
+  @Override
+  public Instant earliestStart(Instant now) {
+    return now.minus(lookback);
+  }
+
+  @Override
+  public Duration overlap() {
+    return resweep;
+  }
+
+  @Override
+  public Instant until(Instant now) {
+    return now;
+  }
+
+  @Override
+  public List<JobCheckpoint> nextChunk(JobCheckpoint after, Instant until, int limit) {
+    return jdbcTemplate.query(NEXT_CHUNK_SQL, (rs, rowNum) -> new JobCheckpoint(
+            rs.getTimestamp(1).toInstant(),
+            rs.getLong(2)),
+        Timestamp.from(after.position()), after.id(), Timestamp.from(until), limit);
+  }
+
+  @Override
+  public int process(List<Long> shiftInstanceIds) {
+    List<Long> siteIds = attendanceWriter.insertAbsent(shiftInstanceIds);
+    if (!siteIds.isEmpty()) {
+      eventPublisher.publishEvent(new AttendanceChangedEvent(new HashSet<>(siteIds)));
+    }
+    return siteIds.size();
+  }
+}
@@ -0,0 +1,12 @@
+package com.sgms.attendance;
+
+import java.util.Collection;
+
+/**
+ * Published when attendance records are created or updated
+ * 
+ * Carries the sites whose attendance changed so read models (e.g. the
+ * client portal) refresh only those sites once the publishing transaction commits.
+ */
+public record AttendanceChangedEvent(Collection<Long> siteIds) {
+}
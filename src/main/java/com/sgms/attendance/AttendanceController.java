@@ -4,10 +4,12 @@ import com.sgms.attendance.dto.AttendanceResponse;
 import com.sgms.attendance.dto.CheckInRequest;
 import com.sgms.attendance.dto.CheckOutRequest;
 import com.sgms.common.ApiResponse;
+import com.sgms.security.UserPrincipal;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -27,7 +29,7 @@ import java.util.List;
  * 
  * Authorization:
  * - Check-in/out: ADMIN, SUPERVISOR, GUARD roles
- * - Reports: ADMIN, SUPERVISOR roles
+ * - Reports: ADMIN, SUPERVISOR roles (supervisors see only their mapped sites)
  */
 @RestController
 @RequestMapping("/api/attendance")
@@ -104,8 +106,9 @@ public class AttendanceController {
   @GetMapping("/guard/{guardId}")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
   public ApiResponse<List<AttendanceResponse>> getGuardAttendance(
+      @AuthenticationPrincipal UserPrincipal principal,
       @PathVariable Long guardId) {
-    List<AttendanceResponse> attendance = attendanceService.getGuardAttendance(guardId);
+    List<AttendanceResponse> attendance = attendanceService.getGuardAttendance(guardId, principal);
     return ApiResponse.success(attendance);
   }
 
@@ -123,9 +126,28 @@ public class AttendanceController {
   @GetMapping("/site/{siteId}")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
   public ApiResponse<List<AttendanceResponse>> getSiteAttendance(
+      @AuthenticationPrincipal UserPrincipal principal,
       @PathVariable Long siteId,
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-    List<AttendanceResponse> attendance = attendanceService.getSiteAttendance(siteId, date);
+    List<AttendanceResponse> attendance = attendanceService.getSiteAttendance(siteId, date, principal);
+    return ApiResponse.success(attendance);
+  }
+
+  /**
+   * Get attendance records across all sites of a client on specific date
+   * 
+   * GET /api/attendance/client/{clientId}?date=2026-02-18
+   * Requires: ADMIN role
+   * 
+   * Query params:
+   * - date (optional): YYYY-MM-DD format, defaults to today
+   */
+  @GetMapping("/client/{clientId}")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ApiResponse<List<AttendanceResponse>> getClientAttendance(
+      @PathVariable Long clientId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    List<AttendanceResponse> attendance = attendanceService.getClientAttendance(clientId, date);
     return ApiResponse.success(attendance);
   }
 
@@ -135,13 +157,14 @@ public class AttendanceController {
    * GET /api/attendance/today-summary
    * Requires: ADMIN or SUPERVISOR role
    * 
-   * Returns all attendance records for current date across all sites
+   * Returns all attendance records for current date across the caller's sites
    * Useful for daily monitoring dashboard
    */
   @GetMapping("/today-summary")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
-  public ApiResponse<List<AttendanceResponse>> getTodaySummary() {
-    List<AttendanceResponse> attendance = attendanceService.getTodaySummary();
+  public ApiResponse<List<AttendanceResponse>> getTodaySummary(
+      @AuthenticationPrincipal UserPrincipal principal) {
+    List<AttendanceResponse> attendance = attendanceService.getTodaySummary(principal);
     return ApiResponse.success(attendance);
   }
 
@@ -156,8 +179,9 @@ public class AttendanceController {
   @GetMapping("/{id}")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
   public ApiResponse<AttendanceResponse> getAttendanceById(
+      @AuthenticationPrincipal UserPrincipal principal,
       @PathVariable Long id) {
-    AttendanceResponse attendance = attendanceService.getAttendanceById(id);
+    AttendanceResponse attendance = attendanceService.getAttendanceById(id, principal);
     return ApiResponse.success(attendance);
   }
 }
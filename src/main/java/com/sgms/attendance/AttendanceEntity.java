@@ -6,14 +6,20 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 
@@ -27,30 +33,71 @@ import java.time.LocalDate;
  * Table: attendance_logs
  * 
  * Business Rules:
- * - One attendance record per guard per date (enforced by UK constraint)
+ * - One attendance record per shift, i.e. per assignment per date (enforced by UK constraint)
  * - Guard must have active assignment for the date
  * - Check-in window: 2 hours before to 2 hours after shift start
  * - Auto-mark LATE if checked in after shift start
  * - Auto-mark EARLY_LEAVE if checked out before shift end
  * - Auto-mark MISSED_CHECKOUT if no checkout by end of shift + 2 hours
  * - Auto-mark ABSENT if no check-in by end of day
+ * - Flag (or reject) check-in/out from outside the site geofence
+ * 
+ * site_post_id, site_id and client_account_id are copied from the
+ * assignment when the record is created, so site, post and client
+ * reports filter attendance_logs on indexed columns without joining
+ * through assignment -> post -> site.
+ * 
+ * Concurrency: the version column is checked on every entity update and
+ * bumped by the single-statement writes in {@link AttendanceWriter}, so
+ * check-out and the missed-checkout job cannot overwrite each other.
+ * 
+ * Fetch plan: associations are LAZY. The "Attendance.reporting" graph
+ * loads guard, assignment, shift type and post/site/client in one query
+ * for paths that build a full {@code AttendanceResponse} from the entity
+ * (check-out, missed-checkout job, entity-based reports).
  */
 @Entity
 @Table(name = "attendance_logs")
+@NamedEntityGraph(
+    name = AttendanceEntity.REPORTING_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("guard"),
+        @NamedAttributeNode(value = "assignment", subgraph = "assignment")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "assignment", attributeNodes = {
+            @NamedAttributeNode("shiftType"),
+            @NamedAttributeNode(value = "sitePost", subgraph = "sitePost")
+        }),
+        @NamedSubgraph(name = "sitePost", attributeNodes = @NamedAttributeNode(value = "site", subgraph = "site")),
+        @NamedSubgraph(name = "site", attributeNodes = @NamedAttributeNode("clientAccount"))
+    }
+)
 public class AttendanceEntity {
 
+  public static final String REPORTING_GRAPH = "Attendance.reporting";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "guard_id")
   private GuardEntity guard;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "assignment_id")
   private GuardAssignmentEntity assignment;
 
+  @Column(name = "site_post_id")
+  private Long sitePostId;
+
+  @Column(name = "site_id")
+  private Long siteId;
+
+  @Column(name = "client_account_id")
+  private Long clientAccountId;
+
   @Column(name = "attendance_date", nullable = false)
   private LocalDate attendanceDate;
 
@@ -73,6 +120,31 @@ public class AttendanceEntity {
   @Column(name = "notes", columnDefinition = "TEXT")
   private String notes;
 
+  @Column(name = "check_in_latitude", precision = 10, scale = 8)
+  private BigDecimal checkInLatitude;
+
+  @Column(name = "check_in_longitude", precision = 11, scale = 8)
+  private BigDecimal checkInLongitude;
+
+  @Column(name = "check_in_distance_meters")
+  private Integer checkInDistanceMeters;
+
+  @Column(name = "check_out_latitude", precision = 10, scale = 8)
+  private BigDecimal checkOutLatitude;
+
+  @Column(name = "check_out_longitude", precision = 11, scale = 8)
+  private BigDecimal checkOutLongitude;
+
+  @Column(name = "check_out_distance_meters")
+  private Integer checkOutDistanceMeters;
+
+  @Column(name = "geofence_flagged", nullable = false)
+  private Boolean geofenceFlagged = false;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+
   @Column(name = "created_at", nullable = false)
   private Instant createdAt;
 
@@ -97,6 +169,9 @@ public class AttendanceEntity {
     if (earlyLeaveMinutes == null) {
       earlyLeaveMinutes = 0;
     }
+    if (geofenceFlagged == null) {
+      geofenceFlagged = false;
+    }
   }
 
   @PreUpdate
@@ -104,6 +179,16 @@ public class AttendanceEntity {
     updatedAt = Instant.now();
   }
 
+  /**
+   * Set the assignment and copy its post, site and client ids onto the record
+   */
+  public void assignTo(GuardAssignmentEntity assignment) {
+    this.assignment = assignment;
+    this.sitePostId = assignment.getSitePost().getId();
+    this.siteId = assignment.getSitePost().getSite().getId();
+    this.clientAccountId = assignment.getSitePost().getSite().getClientAccount().getId();
+  }
+
   // Getters and Setters
 
   public Long getId() {
@@ -130,6 +215,30 @@ public class AttendanceEntity {
     this.assignment = assignment;
   }
 
+  public Long getSitePostId() {
+    return sitePostId;
+  }
+
+  public void setSitePostId(Long sitePostId) {
+    this.sitePostId = sitePostId;
+  }
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public Long getClientAccountId() {
+    return clientAccountId;
+  }
+
+  public void setClientAccountId(Long clientAccountId) {
+    this.clientAccountId = clientAccountId;
+  }
+
   public LocalDate getAttendanceDate() {
     return attendanceDate;
   }
@@ -201,4 +310,68 @@ public class AttendanceEntity {
   public void setUpdatedAt(Instant updatedAt) {
     this.updatedAt = updatedAt;
   }
+
+  public BigDecimal getCheckInLatitude() {
+    return checkInLatitude;
+  }
+
+  public void setCheckInLatitude(BigDecimal checkInLatitude) {
+    this.checkInLatitude = checkInLatitude;
+  }
+
+  public BigDecimal getCheckInLongitude() {
+    return checkInLongitude;
+  }
+
+  public void setCheckInLongitude(BigDecimal checkInLongitude) {
+    this.checkInLongitude = checkInLongitude;
+  }
+
+  public Integer getCheckInDistanceMeters() {
+    return checkInDistanceMeters;
+  }
+
+  public void setCheckInDistanceMeters(Integer checkInDistanceMeters) {
+    this.checkInDistanceMeters = checkInDistanceMeters;
+  }
+
+  public BigDecimal getCheckOutLatitude() {
+    return checkOutLatitude;
+  }
+
+  public void setCheckOutLatitude(BigDecimal checkOutLatitude) {
+    this.checkOutLatitude = checkOutLatitude;
+  }
+
+  public BigDecimal getCheckOutLongitude() {
+    return checkOutLongitude;
+  }
+
+  public void setCheckOutLongitude(BigDecimal checkOutLongitude) {
+    this.checkOutLongitude = checkOutLongitude;
+  }
+
+  public Integer getCheckOutDistanceMeters() {
+    return checkOutDistanceMeters;
+  }
+
+  public void setCheckOutDistanceMeters(Integer checkOutDistanceMeters) {
+    this.checkOutDistanceMeters = checkOutDistanceMeters;
+  }
+
+  public Boolean getGeofenceFlagged() {
+    return geofenceFlagged;
+  }
+
+  public void setGeofenceFlagged(Boolean geofenceFlagged) {
+    this.geofenceFlagged = geofenceFlagged;
+  }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
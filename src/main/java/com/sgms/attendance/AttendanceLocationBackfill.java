@@ -0,0 +1,123 @@
+package com.sgms.attendance;
+
+import com.sgms.scheduling.ClusterJobRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fills site_post_id, site_id and client_account_id on attendance_logs rows that predate V15
+ * 
+ * Works through the pending rows in id order, one short auto-committed
+ * UPDATE per batch, so the backfill never holds long row locks on a live
+ * table. Runs at startup and hourly; the hourly pass picks up rows written
+ * by instances still on the previous version during a rolling deploy and
+ * is a cheap scan of the partial pending index once everything is filled.
+ */
+@Component
+public class AttendanceLocationBackfill {
+
+  private static final Logger logger = LoggerFactory.getLogger(AttendanceLocationBackfill.class);
+
+  static final String JOB_NAME = "attendance.location-backfill";
+
+  private static final String PENDING_IDS_SQL =
+      "SELECT id FROM attendance_logs " +
+      "WHERE site_id IS NULL AND assignment_id IS NOT NULL AND id > ? " +
+      "ORDER BY id LIMIT ?";
+
+  private static final String BACKFILL_SQL =
+      "UPDATE attendance_logs al " +
+      "SET site_post_id = sp.id, site_id = sp.site_id, client_account_id = s.client_account_id " +
+      "FROM guard_assignments ga " +
+      "JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "JOIN sites s ON s.id = sp.site_id " +
+      "WHERE ga.id = al.assignment_id AND al.id = ANY(?) AND al.site_id IS NULL";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ClusterJobRunner clusterJobRunner;
+  private final int batchSize;
+
+  private final ReentrantLock runLock = new ReentrantLock();
+
+  public AttendanceLocationBackfill(
+      JdbcTemplate jdbcTemplate,
+      ClusterJobRunner clusterJobRunner,
+      @Value("${app.attendance.backfill.batch-size:5000}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clusterJobRunner = clusterJobRunner;
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      backfill();
+    } catch (Exception e) {
+      // Retried by the hourly pass
+      logger.warn("Attendance location backfill failed at startup: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Cron: app.attendance.backfill.cron (default every hour at minute 45)
+   */
+  @Scheduled(cron = "${app.attendance.backfill.cron:0 45 * * * *}")
+  public void scheduledBackfill() {
+    try {
+      clusterJobRunner.runExclusive(JOB_NAME, Duration.ofMinutes(30), () -> {
+        logger.info("Starting scheduled job: Backfill attendance locations");
+        backfill();
+      });
+    } catch (Exception e) {
+      logger.error("Error in scheduledBackfill scheduled job", e);
+    }
+  }
+
+  /**
+   * Backfill all pending rows in batches; a no-op while another pass is running
+   * 
+   * @return number of rows updated
+   */
+  public int backfill() {
+    if (!runLock.tryLock()) {
+      return 0;
+    }
+    try {
+      long lastId = 0;
+      int updated = 0;
+      while (true) {
+        List<Long> ids = jdbcTemplate.queryForList(PENDING_IDS_SQL, Long.class, lastId, batchSize);
+        if (ids.isEmpty()) {
+          break;
+        }
+        Long[] batch = ids.toArray(new Long[0]);
+        updated += jdbcTemplate.update(con -> {
+          PreparedStatement ps = con.prepareStatement(BACKFILL_SQL);
+          ps.setArray(1, con.createArrayOf("bigint", batch));
+          return ps;
+        });
+        lastId = batch[batch.length - 1];
+        if (ids.size() < batchSize) {
+          break;
+        }
+      }
+      if (updated > 0) {
+        logger.info("Backfilled site, post and client ids on {} attendance records", updated);
+      }
+      return updated;
+    } finally {
+      runLock.unlock();
+    }
+  }
+}
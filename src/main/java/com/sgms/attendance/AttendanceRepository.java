@@ -1,10 +1,13 @@
 package com.sgms.attendance;
 
+import com.sgms.attendance.dto.AttendanceResponse;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,21 +19,32 @@ import java.util.Optional;
  * - Guard attendance history
  * - Site attendance reports
  * - Scheduled job queries (absent guards, missed checkouts)
+ * 
+ * Site, post and client filters use the denormalized site_id, site_post_id
+ * and client_account_id columns (covering indexes from V15), not the
+ * assignment -> post -> site join path. The read projections take those ids
+ * from the record too and look up post, site and client names by primary
+ * key, so a report is an index range scan on attendance_logs plus key
+ * lookups, not a walk from each record through its assignment.
  */
 @Repository
 public interface AttendanceRepository extends JpaRepository<AttendanceEntity, Long> {
 
-  /**
-   * Find attendance record for a guard on specific date
-   * Used to prevent duplicate check-ins and for checkout operations
-   */
-  @Query("SELECT a FROM AttendanceEntity a WHERE a.guard.id = :guardId AND a.attendanceDate = :date")
-  Optional<AttendanceEntity> findByGuardIdAndDate(Long guardId, LocalDate date);
+  String RESPONSE_SELECT = "SELECT new com.sgms.attendance.dto.AttendanceResponse(" +
+      "a.id, a.attendanceDate, a.checkInTime, a.checkOutTime, a.status, a.lateMinutes, a.earlyLeaveMinutes, a.notes, " +
+      "a.checkInLatitude, a.checkInLongitude, a.checkInDistanceMeters, " +
+      "a.checkOutLatitude, a.checkOutLongitude, a.checkOutDistanceMeters, a.geofenceFlagged, " +
+      "g.id, g.firstName, g.lastName, g.employeeCode, ga.id, a.sitePostId, sp.postName, a.siteId, s.name, " +
+      "a.clientAccountId, c.name, st.name, st.startTime, st.endTime, a.createdAt, a.updatedAt) " +
+      "FROM AttendanceEntity a JOIN a.guard g JOIN a.assignment ga JOIN ga.shiftType st " +
+      "JOIN SitePostEntity sp ON sp.id = a.sitePostId JOIN SiteEntity s ON s.id = a.siteId " +
+      "JOIN ClientAccountEntity c ON c.id = a.clientAccountId ";
 
   /**
    * Find all attendance records for a guard
    * Ordered by date descending (most recent first)
    */
+  @EntityGraph(AttendanceEntity.REPORTING_GRAPH)
   @Query("SELECT a FROM AttendanceEntity a WHERE a.guard.id = :guardId ORDER BY a.attendanceDate DESC")
   List<AttendanceEntity> findByGuardId(Long guardId);
 
@@ -38,6 +52,7 @@ public interface AttendanceRepository extends JpaRepository<AttendanceEntity, Lo
    * Find attendance records for a guard within date range
    * Used for attendance reports and history
    */
+  @EntityGraph(AttendanceEntity.REPORTING_GRAPH)
   @Query("SELECT a FROM AttendanceEntity a " +
          "WHERE a.guard.id = :guardId " +
          "AND a.attendanceDate >= :startDate " +
@@ -49,8 +64,9 @@ public interface AttendanceRepository extends JpaRepository<AttendanceEntity, Lo
    * Find all attendance records for a specific site on a date
    * Used for site-level attendance reports
    */
+  @EntityGraph(AttendanceEntity.REPORTING_GRAPH)
   @Query("SELECT a FROM AttendanceEntity a " +
-         "WHERE a.assignment.sitePost.site.id = :siteId " +
+         "WHERE a.siteId = :siteId " +
          "AND a.attendanceDate = :date " +
          "ORDER BY a.checkInTime")
   List<AttendanceEntity> findBySiteIdAndDate(Long siteId, LocalDate date);
@@ -59,35 +75,41 @@ public interface AttendanceRepository extends JpaRepository<AttendanceEntity, Lo
    * Find all attendance records for today
    * Used for today's summary dashboard
    */
+  @EntityGraph(AttendanceEntity.REPORTING_GRAPH)
   @Query("SELECT a FROM AttendanceEntity a " +
          "WHERE a.attendanceDate = :date " +
          "ORDER BY a.checkInTime")
   List<AttendanceEntity> findByDate(LocalDate date);
 
   /**
-   * Find guards who checked in but haven't checked out yet
-   * Used by scheduled job to mark MISSED_CHECKOUT status
+   * Checked-in records of a guard still open for check-out, newest shift date first
+   * Check-out passes the UTC dates around now, which cover overnight shifts
+   * started yesterday in any site zone
    */
-  @Query("SELECT a FROM AttendanceEntity a " +
-         "WHERE a.attendanceDate = :date " +
+  @Query("SELECT new com.sgms.attendance.OpenAttendance(a.id, a.siteId, a.attendanceDate) " +
+         "FROM AttendanceEntity a " +
+         "WHERE a.guard.id = :guardId " +
+         "AND a.attendanceDate BETWEEN :fromDate AND :toDate " +
          "AND a.checkInTime IS NOT NULL " +
          "AND a.checkOutTime IS NULL " +
-         "AND a.status != 'MISSED_CHECKOUT'")
-  List<AttendanceEntity> findPendingCheckouts(LocalDate date);
+         "ORDER BY a.attendanceDate DESC")
+  List<OpenAttendance> findOpenForCheckOut(Long guardId, LocalDate fromDate, LocalDate toDate);
 
   /**
-   * Check if guard already has attendance record for the date
-   * Used to enforce one-record-per-guard-per-date rule
+   * Check if a guard has a checked-out record in a date range
+   * Distinguishes "already checked out" from "never checked in" on check-out
    */
   @Query("SELECT COUNT(a) > 0 FROM AttendanceEntity a " +
          "WHERE a.guard.id = :guardId " +
-         "AND a.attendanceDate = :date")
-  boolean existsByGuardIdAndDate(Long guardId, LocalDate date);
+         "AND a.attendanceDate BETWEEN :fromDate AND :toDate " +
+         "AND a.checkOutTime IS NOT NULL")
+  boolean existsCheckedOutBetween(Long guardId, LocalDate fromDate, LocalDate toDate);
 
   /**
    * Find attendance records by status
    * Used for filtering and reporting
    */
+  @EntityGraph(AttendanceEntity.REPORTING_GRAPH)
   @Query("SELECT a FROM AttendanceEntity a " +
          "WHERE a.status = :status " +
          "AND a.attendanceDate = :date " +
@@ -107,9 +129,55 @@ public interface AttendanceRepository extends JpaRepository<AttendanceEntity, Lo
    * Find all attendance records for a site post on specific date
    * Used for post-level attendance tracking
    */
+  @EntityGraph(AttendanceEntity.REPORTING_GRAPH)
   @Query("SELECT a FROM AttendanceEntity a " +
-         "WHERE a.assignment.sitePost.id = :sitePostId " +
+         "WHERE a.sitePostId = :sitePostId " +
          "AND a.attendanceDate = :date " +
          "ORDER BY a.checkInTime")
   List<AttendanceEntity> findBySitePostIdAndDate(Long sitePostId, LocalDate date);
+
+  /**
+   * Read projection of a guard's attendance history, most recent first
+   */
+  @Query(RESPONSE_SELECT + "WHERE g.id = :guardId ORDER BY a.attendanceDate DESC")
+  List<AttendanceResponse> findResponsesByGuardId(Long guardId);
+
+  /**
+   * Read projection of a site's attendance on a date
+   */
+  @Query(RESPONSE_SELECT + "WHERE a.siteId = :siteId AND a.attendanceDate = :date ORDER BY a.checkInTime")
+  List<AttendanceResponse> findResponsesBySiteIdAndDate(Long siteId, LocalDate date);
+
+  /**
+   * Read projection of a guard's attendance history at a set of sites, most recent first
+   * Used for supervisors, whose scope is the sites mapped to them
+   */
+  @Query(RESPONSE_SELECT + "WHERE g.id = :guardId AND a.siteId IN :siteIds ORDER BY a.attendanceDate DESC")
+  List<AttendanceResponse> findResponsesByGuardIdAndSiteIds(Long guardId, Collection<Long> siteIds);
+
+  /**
+   * Read projection of all attendance on a date
+   */
+  @Query(RESPONSE_SELECT + "WHERE a.attendanceDate = :date ORDER BY a.checkInTime")
+  List<AttendanceResponse> findResponsesByDate(LocalDate date);
+
+  /**
+   * Read projection of attendance on a date at a set of sites
+   * Used for supervisors, whose scope is the sites mapped to them
+   */
+  @Query(RESPONSE_SELECT + "WHERE a.attendanceDate = :date AND a.siteId IN :siteIds ORDER BY a.checkInTime")
+  List<AttendanceResponse> findResponsesByDateAndSiteIds(LocalDate date, Collection<Long> siteIds);
+
+  /**
+   * Read projection of a client's attendance on a date, across all of its sites
+   */
+  @Query(RESPONSE_SELECT + "WHERE a.clientAccountId = :clientAccountId AND a.attendanceDate = :date " +
+         "ORDER BY s.name, a.checkInTime")
+  List<AttendanceResponse> findResponsesByClientAccountIdAndDate(Long clientAccountId, LocalDate date);
+
+  /**
+   * Read projection of a single attendance record
+   */
+  @Query(RESPONSE_SELECT + "WHERE a.id = :id")
+  Optional<AttendanceResponse> findResponseById(Long id);
 }
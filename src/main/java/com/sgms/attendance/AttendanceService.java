@@ -1,13 +1,18 @@
 package com.sgms.attendance;
 
-import com.sgms.assignment.GuardAssignmentEntity;
 import com.sgms.assignment.GuardAssignmentRepository;
-import com.sgms.assignment.ShiftTypeEntity;
 import com.sgms.attendance.dto.AttendanceResponse;
 import com.sgms.attendance.dto.CheckInRequest;
 import com.sgms.attendance.dto.CheckOutRequest;
 import com.sgms.guard.GuardEntity;
 import com.sgms.guard.GuardRepository;
+import com.sgms.security.UserPrincipal;
+import com.sgms.shift.ShiftInstance;
+import com.sgms.shift.ShiftInstanceEntity;
+import com.sgms.shift.ShiftInstanceRepository;
+import com.sgms.site.SiteScope;
+import com.sgms.site.SupervisorScopeService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,12 +21,9 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
 import java.time.Clock;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * AttendanceService - Core business logic for attendance tracking
@@ -34,34 +36,48 @@ import java.util.stream.Collectors;
  * 
  * Business Rules:
  * - Guard must have active assignment for check-in date
- * - Only one attendance record per guard per date
+ * - Only one attendance record per shift (assignment and date); a guard
+ *   may work several shifts on the same date
+ * - Shift times are wall-clock times in the site's time zone
  * - Check-in window: 2 hours before to 2 hours after shift start
  * - Late: checked in after shift start
  * - Early leave: checked out before shift end
  * - Status auto-updated based on timing
+ * - Device location (optional) validated against the site geofence
+ * - Reports are limited to the caller's site scope (supervisors: mapped sites)
  */
 @Service
 public class AttendanceService {
 
   private final AttendanceRepository attendanceRepository;
+  private final AttendanceWriter attendanceWriter;
   private final GuardRepository guardRepository;
   private final GuardAssignmentRepository assignmentRepository;
+  private final GeofenceValidator geofenceValidator;
+  private final ShiftInstanceRepository shiftInstanceRepository;
+  private final SupervisorScopeService supervisorScopeService;
   private final Clock clock;
-
-  // Check-in window constants
-  private static final int CHECK_IN_BEFORE_SHIFT_HOURS = 2;
-  private static final int CHECK_IN_AFTER_SHIFT_HOURS = 2;
-  private static final int CHECKOUT_GRACE_HOURS = 2;
+  private final ApplicationEventPublisher eventPublisher;
 
   public AttendanceService(
       AttendanceRepository attendanceRepository,
+      AttendanceWriter attendanceWriter,
       GuardRepository guardRepository,
       GuardAssignmentRepository assignmentRepository,
-      Clock clock) {
+      GeofenceValidator geofenceValidator,
+      ShiftInstanceRepository shiftInstanceRepository,
+      SupervisorScopeService supervisorScopeService,
+      Clock clock,
+      ApplicationEventPublisher eventPublisher) {
     this.attendanceRepository = attendanceRepository;
+    this.attendanceWriter = attendanceWriter;
     this.guardRepository = guardRepository;
     this.assignmentRepository = assignmentRepository;
+    this.geofenceValidator = geofenceValidator;
+    this.shiftInstanceRepository = shiftInstanceRepository;
+    this.supervisorScopeService = supervisorScopeService;
     this.clock = clock;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -69,14 +85,20 @@ public class AttendanceService {
    * 
    * Steps:
    * 1. Validate guard exists and is active
-   * 2. Verify guard has active assignment for today
-   * 3. Check no existing attendance record for today
+   * 2. Load the guard's shift instances starting within a day of now
+   * 3. Find the one whose check-in window is open now
    * 4. Determine if guard is late
-   * 5. Create attendance record with calculated status and late minutes
+   * 5. Validate device location against the site geofence
+   * 6. Insert the attendance record unless one exists for the shift date (409 if it does)
+   * 
+   * Window, lateness and the record's date come from the guard's
+   * materialized shift instance (shift_instances, resolved in the site's
+   * time zone by {@link com.sgms.shift.ShiftInstanceGenerator}), so
+   * overnight shifts and sites outside the server's zone are handled like
+   * any other, and check-in does not load assignments, posts or sites.
    */
   @Transactional
   public AttendanceResponse checkIn(CheckInRequest request) {
-    LocalDate today = LocalDate.now(clock);
     Instant now = clock.instant();
 
     // 1. Validate guard
@@ -85,245 +107,222 @@ public class AttendanceService {
             HttpStatus.BAD_REQUEST,
             "Guard not found or inactive with id: " + request.getGuardId()));
 
-    // 2. Verify guard has active assignment for today
-    List<GuardAssignmentEntity> activeAssignments = assignmentRepository
-        .findActiveAssignmentsByGuardId(request.getGuardId(), today);
+    // 2. Load the guard's shift instances starting around now
+    //    (index range on shift_instances(guard_id, starts_at))
+    List<ShiftInstanceEntity> instances = shiftInstanceRepository.findByGuardIdStartingBetween(
+        request.getGuardId(), now.minus(Duration.ofDays(1)), now.plus(Duration.ofDays(1)));
 
-    if (activeAssignments.isEmpty()) {
+    if (instances.isEmpty()) {
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST,
           "No active assignment found for guard today. Cannot check in.");
     }
 
-    // Get the first active assignment (guards should have only one active
-    // assignment per date)
-    GuardAssignmentEntity assignment = activeAssignments.get(0);
-    ShiftTypeEntity shift = assignment.getShiftType();
-
-    // 3. Check for existing attendance record
-    if (attendanceRepository.existsByGuardIdAndDate(request.getGuardId(), today)) {
-      throw new ResponseStatusException(
-          HttpStatus.CONFLICT,
-          "Attendance already recorded for today. Cannot check in again.");
-    }
-
-    // 4. Validate check-in time window
-    LocalDateTime checkInDateTime = LocalDateTime.ofInstant(now, clock.getZone());
-    LocalTime checkInTime = checkInDateTime.toLocalTime();
-    LocalTime shiftStart = shift.getStartTime();
-
-    LocalTime earliestCheckIn = shiftStart.minusHours(CHECK_IN_BEFORE_SHIFT_HOURS);
-    LocalTime latestCheckIn = shiftStart.plusHours(CHECK_IN_AFTER_SHIFT_HOURS);
-
-    // Handle overnight shifts (e.g., 22:00 - 06:00)
-    boolean isOvernight = shift.getStartTime().isAfter(shift.getEndTime());
-
-    if (!isOvernight && (checkInTime.isBefore(earliestCheckIn) || checkInTime.isAfter(latestCheckIn))) {
+    // 3. Validate check-in time window against the shift instance in the site's zone
+    ShiftInstanceEntity instance = instances.stream()
+        .filter(candidate -> candidate.toInstance().acceptsCheckInAt(now))
+        .findFirst()
+        .orElse(null);
+
+    if (instance == null) {
+      ShiftInstance nearest = instances.stream()
+          .map(ShiftInstanceEntity::toInstance)
+          .min(Comparator.comparing(candidate -> Duration.between(candidate.start(), now).abs()))
+          .orElseThrow();
       throw new ResponseStatusException(
           HttpStatus.BAD_REQUEST,
-          String.format("Check-in window is %s to %s. Current time %s is outside allowed window.",
-              earliestCheckIn, latestCheckIn, checkInTime));
+          String.format("Check-in window is %s to %s (%s). Current time %s is outside allowed window.",
+              nearest.localTime(nearest.checkInOpensAt()), nearest.localTime(nearest.checkInClosesAt()),
+              nearest.zone(), nearest.localTime(now)));
     }
+    ShiftInstance shift = instance.toInstance();
 
-    // 5. Determine if late and calculate late minutes
-    AttendanceStatus status = AttendanceStatus.PRESENT;
-    int lateMinutes = 0;
+    // 4. Determine if late and calculate late minutes
+    AttendanceStatus status = now.isAfter(shift.start()) ? AttendanceStatus.LATE : AttendanceStatus.PRESENT;
+    int lateMinutes = shift.minutesAfterStart(now);
 
-    if (checkInTime.isAfter(shiftStart)) {
-      status = AttendanceStatus.LATE;
-      lateMinutes = (int) Duration.between(shiftStart, checkInTime).toMinutes();
-    }
+    // 5. Validate device location (flags or rejects out-of-fence check-ins)
+    GeofenceValidator.GeofenceCheck geofence = geofenceValidator.check(
+        "Check-in",
+        instance.getSiteId(),
+        request.getLatitude(),
+        request.getLongitude());
 
-    // 6. Create attendance record
+    // 6. Create attendance record unless one already exists for this shift
+    //    (one INSERT ... ON CONFLICT DO NOTHING, so concurrent taps cannot both succeed)
     AttendanceEntity attendance = new AttendanceEntity();
     attendance.setGuard(guard);
-    attendance.setAssignment(assignment);
-    attendance.setAttendanceDate(today);
+    attendance.setAssignment(assignmentRepository.getReferenceById(instance.getAssignmentId()));
+    attendance.setSitePostId(instance.getSitePostId());
+    attendance.setSiteId(instance.getSiteId());
+    attendance.setClientAccountId(instance.getClientAccountId());
+    attendance.setAttendanceDate(instance.getShiftDate());
     attendance.setCheckInTime(now);
     attendance.setStatus(status);
     attendance.setLateMinutes(lateMinutes);
     attendance.setEarlyLeaveMinutes(0);
-    attendance.setNotes(request.getNotes());
+    attendance.setCheckInLatitude(request.getLatitude());
+    attendance.setCheckInLongitude(request.getLongitude());
+    attendance.setCheckInDistanceMeters(geofence.distanceMeters());
+    attendance.setGeofenceFlagged(geofence.flagged());
+    attendance.setNotes(geofence.flagged() ? appendNote(request.getNotes(), geofence.note()) : request.getNotes());
+
+    Long attendanceId = attendanceWriter.insertIfAbsent(attendance)
+        .orElseThrow(() -> new ResponseStatusException(
+            HttpStatus.CONFLICT,
+            "Attendance already recorded for this shift. Cannot check in again."));
 
-    AttendanceEntity saved = attendanceRepository.save(attendance);
-    return mapToResponse(saved);
+    eventPublisher.publishEvent(new AttendanceChangedEvent(List.of(attendance.getSiteId())));
+    return attendanceRepository.findResponseById(attendanceId)
+        .orElseThrow(() -> new IllegalStateException("Attendance record " + attendanceId + " not found after insert"));
   }
 
   /**
    * Process guard check-out
    * 
    * Steps:
-   * 1. Validate guard exists
-   * 2. Find today's attendance record (must have checked in)
-   * 3. Verify not already checked out
-   * 4. Determine if early leave
-   * 5. Update attendance record with checkout time and final status
+   * 1. Find the open (checked-in, not checked-out) record, newest shift date
+   *    first, so overnight shifts check out the day after they started
+   *    (404 unknown guard, 409 already checked out, 400 not checked in)
+   * 2. Validate device location against the site geofence
+   * 3. Check out with a single conditional UPDATE (409 if checked out meanwhile)
+   * 
+   * Early leave minutes and the EARLY_LEAVE status are computed in SQL from
+   * the shift instance end in the site's time zone; the record is only
+   * updated while check_out_time is still NULL, so a concurrent check-out or
+   * missed-checkout run cannot be overwritten.
    */
   @Transactional
   public AttendanceResponse checkOut(CheckOutRequest request) {
-    LocalDate today = LocalDate.now(clock);
+    LocalDate utcToday = LocalDate.now(clock);
+    LocalDate fromDate = utcToday.minusDays(1);
+    LocalDate toDate = utcToday.plusDays(1);
     Instant now = clock.instant();
 
-    // 1. Validate guard exists
-    guardRepository.findById(request.getGuardId())
+    // 1. Find the record to close (must have checked in)
+    OpenAttendance open = attendanceRepository.findOpenForCheckOut(request.getGuardId(), fromDate, toDate)
+        .stream()
+        .findFirst()
+        .orElseThrow(() -> noOpenRecordFailure(request.getGuardId(), fromDate, toDate));
+
+    // 2. Validate device location (flags or rejects out-of-fence check-outs)
+    GeofenceValidator.GeofenceCheck geofence = geofenceValidator.check(
+        "Check-out",
+        open.siteId(),
+        request.getLatitude(),
+        request.getLongitude());
+
+    // 3. Check out unless checked out meanwhile
+    String checkoutNote = request.getNotes() != null && !request.getNotes().isEmpty()
+        ? "Checkout: " + request.getNotes()
+        : null;
+    AttendanceResponse response = attendanceWriter.checkOut(
+            open.attendanceId(),
+            now,
+            request.getLatitude(),
+            request.getLongitude(),
+            geofence,
+            checkoutNote)
         .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Guard not found with id: " + request.getGuardId()));
+            HttpStatus.CONFLICT,
+            "Already checked out today. Cannot check out again."));
 
-    // 2. Find attendance record for today
-    AttendanceEntity attendance = attendanceRepository.findByGuardIdAndDate(request.getGuardId(), today)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.BAD_REQUEST,
-            "No check-in record found for today. Please check in first."));
+    eventPublisher.publishEvent(new AttendanceChangedEvent(List.of(response.getSiteId())));
+    return response;
+  }
 
-    // 3. Verify not already checked out
-    if (attendance.getCheckOutTime() != null) {
-      throw new ResponseStatusException(
+  private ResponseStatusException noOpenRecordFailure(Long guardId, LocalDate fromDate, LocalDate toDate) {
+    if (!guardRepository.existsById(guardId)) {
+      return new ResponseStatusException(HttpStatus.NOT_FOUND, "Guard not found with id: " + guardId);
+    }
+    if (attendanceRepository.existsCheckedOutBetween(guardId, fromDate, toDate)) {
+      return new ResponseStatusException(
           HttpStatus.CONFLICT,
           "Already checked out today. Cannot check out again.");
     }
+    return new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "No check-in record found for today. Please check in first.");
+  }
 
-    // 4. Determine if early leave and calculate early leave minutes
-    ShiftTypeEntity shift = attendance.getAssignment().getShiftType();
-    LocalDateTime checkOutDateTime = LocalDateTime.ofInstant(now, clock.getZone());
-    LocalTime checkOutTime = checkOutDateTime.toLocalTime();
-    LocalTime shiftEnd = shift.getEndTime();
-
-    int earlyLeaveMinutes = 0;
-    AttendanceStatus finalStatus = attendance.getStatus(); // Keep LATE status if was late
-
-    // If guard was PRESENT and checks out early, mark as EARLY_LEAVE
-    // If guard was LATE and checks out early, status remains LATE (late is more
-    // severe)
-    if (checkOutTime.isBefore(shiftEnd)) {
-      earlyLeaveMinutes = (int) Duration.between(checkOutTime, shiftEnd).toMinutes();
-
-      // Only change to EARLY_LEAVE if guard was PRESENT (not already LATE)
-      if (attendance.getStatus() == AttendanceStatus.PRESENT) {
-        finalStatus = AttendanceStatus.EARLY_LEAVE;
-      }
+  /**
+   * Get attendance records for a guard (within the caller's site scope)
+   */
+  @Transactional(readOnly = true)
+  public List<AttendanceResponse> getGuardAttendance(Long guardId, UserPrincipal principal) {
+    // Verify guard exists
+    if (!guardRepository.existsById(guardId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Guard not found with id: " + guardId);
     }
 
-    // 5. Update attendance record
-    attendance.setCheckOutTime(now);
-    attendance.setStatus(finalStatus);
-    attendance.setEarlyLeaveMinutes(earlyLeaveMinutes);
-
-    // Append checkout notes if provided
-    if (request.getNotes() != null && !request.getNotes().isEmpty()) {
-      String existingNotes = attendance.getNotes();
-      String combinedNotes = existingNotes != null
-          ? existingNotes + " | Checkout: " + request.getNotes()
-          : "Checkout: " + request.getNotes();
-      attendance.setNotes(combinedNotes);
+    SiteScope scope = supervisorScopeService.scopeOf(principal);
+    if (scope.unrestricted()) {
+      return attendanceRepository.findResponsesByGuardId(guardId);
     }
-
-    AttendanceEntity updated = attendanceRepository.save(attendance);
-    return mapToResponse(updated);
+    if (scope.isEmpty()) {
+      return List.of();
+    }
+    return attendanceRepository.findResponsesByGuardIdAndSiteIds(guardId, scope.siteIds());
   }
 
   /**
-   * Get attendance records for a guard
+   * Get attendance records for a site on specific date
    */
   @Transactional(readOnly = true)
-  public List<AttendanceResponse> getGuardAttendance(Long guardId) {
-    // Verify guard exists
-    guardRepository.findById(guardId)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Guard not found with id: " + guardId));
+  public List<AttendanceResponse> getSiteAttendance(Long siteId, LocalDate date, UserPrincipal principal) {
+    if (!supervisorScopeService.scopeOf(principal).includes(siteId)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied to this site");
+    }
 
-    return attendanceRepository.findByGuardId(guardId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    LocalDate actualDate = date != null ? date : LocalDate.now(clock);
+    return attendanceRepository.findResponsesBySiteIdAndDate(siteId, actualDate);
   }
 
   /**
-   * Get attendance records for a site on specific date
+   * Get attendance records across all sites of a client on specific date
    */
   @Transactional(readOnly = true)
-  public List<AttendanceResponse> getSiteAttendance(Long siteId, LocalDate date) {
+  public List<AttendanceResponse> getClientAttendance(Long clientAccountId, LocalDate date) {
     LocalDate actualDate = date != null ? date : LocalDate.now(clock);
-    return attendanceRepository.findBySiteIdAndDate(siteId, actualDate)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return attendanceRepository.findResponsesByClientAccountIdAndDate(clientAccountId, actualDate);
   }
 
   /**
-   * Get today's attendance summary
+   * Get today's attendance summary (within the caller's site scope)
    */
   @Transactional(readOnly = true)
-  public List<AttendanceResponse> getTodaySummary() {
-    return attendanceRepository.findByDate(LocalDate.now(clock))
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+  public List<AttendanceResponse> getTodaySummary(UserPrincipal principal) {
+    LocalDate today = LocalDate.now(clock);
+    SiteScope scope = supervisorScopeService.scopeOf(principal);
+    if (scope.unrestricted()) {
+      return attendanceRepository.findResponsesByDate(today);
+    }
+    if (scope.isEmpty()) {
+      return List.of();
+    }
+    return attendanceRepository.findResponsesByDateAndSiteIds(today, scope.siteIds());
   }
 
   /**
    * Get attendance by ID
    */
   @Transactional(readOnly = true)
-  public AttendanceResponse getAttendanceById(Long id) {
-    AttendanceEntity attendance = attendanceRepository.findById(id)
+  public AttendanceResponse getAttendanceById(Long id, UserPrincipal principal) {
+    AttendanceResponse attendance = attendanceRepository.findResponseById(id)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.NOT_FOUND,
             "Attendance record not found with id: " + id));
-    return mapToResponse(attendance);
-  }
 
-  /**
-   * Map AttendanceEntity to AttendanceResponse DTO
-   * Denormalizes all related data for efficient client consumption
-   */
-  private AttendanceResponse mapToResponse(AttendanceEntity attendance) {
-    AttendanceResponse response = new AttendanceResponse();
-
-    // Attendance fields
-    response.setAttendanceId(attendance.getId());
-    response.setAttendanceDate(attendance.getAttendanceDate());
-    response.setCheckInTime(attendance.getCheckInTime());
-    response.setCheckOutTime(attendance.getCheckOutTime());
-    response.setStatus(attendance.getStatus());
-    response.setLateMinutes(attendance.getLateMinutes());
-    response.setEarlyLeaveMinutes(attendance.getEarlyLeaveMinutes());
-    response.setNotes(attendance.getNotes());
-    response.setCreatedAt(attendance.getCreatedAt());
-    response.setUpdatedAt(attendance.getUpdatedAt());
-
-    // Guard details
-    GuardEntity guard = attendance.getGuard();
-    response.setGuardId(guard.getId());
-    response.setGuardFirstName(guard.getFirstName());
-    response.setGuardLastName(guard.getLastName());
-    response.setGuardFullName(guard.getFirstName() + " " +
-        (guard.getLastName() != null ? guard.getLastName() : ""));
-    response.setEmployeeCode(guard.getEmployeeCode());
-
-    // Assignment details
-    GuardAssignmentEntity assignment = attendance.getAssignment();
-    response.setAssignmentId(assignment.getId());
-
-    // Site post details
-    response.setSitePostId(assignment.getSitePost().getId());
-    response.setPostName(assignment.getSitePost().getPostName());
-
-    // Site details
-    response.setSiteId(assignment.getSitePost().getSite().getId());
-    response.setSiteName(assignment.getSitePost().getSite().getName());
-
-    // Client details
-    response.setClientId(assignment.getSitePost().getSite().getClientAccount().getId());
-    response.setClientName(assignment.getSitePost().getSite().getClientAccount().getName());
-
-    // Shift details
-    ShiftTypeEntity shift = assignment.getShiftType();
-    response.setShiftName(shift.getName());
-    response.setShiftStart(shift.getStartTime().toString());
-    response.setShiftEnd(shift.getEndTime().toString());
+    if (!supervisorScopeService.scopeOf(principal).includes(attendance.getSiteId())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied to this attendance record");
+    }
 
-    return response;
+    return attendance;
+  }
+
+  private static String appendNote(String existing, String note) {
+    return existing != null && !existing.isEmpty() ? existing + " | " + note : note;
   }
 }
@@ -0,0 +1,260 @@
+package com.sgms.attendance;
+
+import com.sgms.attendance.dto.AttendanceResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Race-free single-statement writes of attendance records
+ * 
+ * A shift has at most one record: one per assignment per date
+ * (uq_attendance), so a guard rostered for two shifts on the same day gets
+ * one record for each. Instead of checking for an existing record and then
+ * inserting, the record is written with
+ * INSERT ... ON CONFLICT (assignment_id, attendance_date) DO NOTHING
+ * RETURNING id: of two
+ * concurrent check-ins exactly one gets an id back, the other gets nothing
+ * and no exception, in a single statement and without aborting the
+ * surrounding transaction.
+ * 
+ * Updates are conditional in the same way. Check-out only applies while
+ * check_out_time IS NULL and computes early leave in SQL from the record's
+ * shift instance end (shift_instances.ends_at); the absent and
+ * missed-checkout sweeps write one set-based statement per chunk of ids.
+ * Every update bumps the version column used by {@link AttendanceEntity}'s
+ * optimistic locking, so no writer silently overwrites another.
+ */
+@Component
+public class AttendanceWriter {
+
+  private static final String INSERT_IF_ABSENT_SQL =
+      "INSERT INTO attendance_logs (guard_id, assignment_id, site_post_id, site_id, client_account_id, " +
+      "attendance_date, check_in_time, check_out_time, status, late_minutes, early_leave_minutes, notes, " +
+      "check_in_latitude, check_in_longitude, check_in_distance_meters, geofence_flagged, created_at, updated_at) " +
+      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+      "ON CONFLICT (assignment_id, attendance_date) DO NOTHING " +
+      "RETURNING id";
+
+  /**
+   * Only attendance_logs is updated, so a record whose assignment was
+   * deleted (assignment_id set to NULL) can still be checked out. The
+   * record's shift instance end is read once in the FROM subquery (NULL, i.e.
+   * no early leave, if the instance is no longer materialized or the
+   * assignment is gone) and the display columns are LEFT JOINed onto the
+   * updated row.
+   */
+  private static final String CHECK_OUT_SQL =
+      "WITH updated AS (" +
+      "UPDATE attendance_logs al SET " +
+      "check_out_time = x.check_out_at, " +
+      "early_leave_minutes = CASE WHEN x.check_out_at < x.shift_end_at " +
+      "  THEN FLOOR(EXTRACT(EPOCH FROM (x.shift_end_at - x.check_out_at)) / 60)::int ELSE 0 END, " +
+      "status = CASE WHEN x.check_out_at < x.shift_end_at AND al.status = 'PRESENT' THEN 'EARLY_LEAVE' ELSE al.status END, " +
+      "check_out_latitude = ?, check_out_longitude = ?, check_out_distance_meters = ?, " +
+      "geofence_flagged = al.geofence_flagged OR ?, " +
+      "notes = NULLIF(CONCAT_WS(' | ', NULLIF(al.notes, ''), ?, ?), ''), " +
+      "version = al.version + 1 " +
+      "FROM (SELECT a.id, CAST(? AS TIMESTAMPTZ) AS check_out_at, si.ends_at AS shift_end_at " +
+      "  FROM attendance_logs a LEFT JOIN shift_instances si " +
+      "  ON si.assignment_id = a.assignment_id AND si.shift_date = a.attendance_date " +
+      "  WHERE a.id = ?) x " +
+      "WHERE al.id = x.id AND al.check_out_time IS NULL " +
+      "RETURNING al.*) " +
+      "SELECT u.id, u.attendance_date, u.check_in_time, u.check_out_time, u.status, u.late_minutes, " +
+      "u.early_leave_minutes, u.notes, u.check_in_latitude, u.check_in_longitude, u.check_in_distance_meters, " +
+      "u.check_out_latitude, u.check_out_longitude, u.check_out_distance_meters, u.geofence_flagged, " +
+      "u.guard_id, g.first_name, g.last_name, g.employee_code, u.assignment_id, " +
+      "u.site_post_id AS post_id, sp.post_name, u.site_id, s.name AS site_name, u.client_account_id AS client_id, " +
+      "c.name AS client_name, st.name AS shift_name, st.start_time, st.end_time, u.created_at, u.updated_at " +
+      "FROM updated u " +
+      "LEFT JOIN guards g ON g.id = u.guard_id " +
+      "LEFT JOIN guard_assignments ga ON ga.id = u.assignment_id " +
+      "LEFT JOIN shift_types st ON st.id = ga.shift_type_id " +
+      "LEFT JOIN site_posts sp ON sp.id = u.site_post_id " +
+      "LEFT JOIN sites s ON s.id = u.site_id " +
+      "LEFT JOIN client_accounts c ON c.id = u.client_account_id";
+
+  private static final String INSERT_ABSENT_SQL =
+      "INSERT INTO attendance_logs (guard_id, assignment_id, site_post_id, site_id, client_account_id, " +
+      "attendance_date, status, late_minutes, early_leave_minutes, notes, geofence_flagged, created_at, updated_at) " +
+      "SELECT si.guard_id, si.assignment_id, si.site_post_id, si.site_id, si.client_account_id, si.shift_date, " +
+      "'ABSENT', 0, 0, 'Auto-marked ABSENT by system (no check-in by ' || " +
+      "to_char(si.check_in_closes_at AT TIME ZONE si.time_zone, 'HH24:MI') || ')', FALSE, now(), now() " +
+      "FROM shift_instances si " +
+      "WHERE si.id = ANY(?) AND si.guard_id IS NOT NULL " +
+      "ON CONFLICT (assignment_id, attendance_date) DO NOTHING " +
+      "RETURNING site_id";
+
+  private static final String MARK_MISSED_CHECKOUTS_SQL =
+      "UPDATE attendance_logs al SET status = 'MISSED_CHECKOUT', " +
+      "notes = NULLIF(CONCAT_WS(' | ', NULLIF(al.notes, ''), " +
+      "'Auto-marked MISSED_CHECKOUT by system (no checkout by ' || " +
+      "to_char(si.ends_at AT TIME ZONE si.time_zone, 'HH24:MI') || ' + 2 hour grace period)'), ''), " +
+      "version = al.version + 1 " +
+      "FROM shift_instances si " +
+      "WHERE si.assignment_id = al.assignment_id AND si.shift_date = al.attendance_date " +
+      "AND al.id = ANY(?) " +
+      "AND al.check_in_time IS NOT NULL AND al.check_out_time IS NULL AND al.status <> 'MISSED_CHECKOUT' " +
+      "RETURNING al.site_id";
+
+  private static final RowMapper<AttendanceResponse> CHECKED_OUT_MAPPER = (rs, rowNum) -> new AttendanceResponse(
+      rs.getLong("id"),
+      rs.getObject("attendance_date", LocalDate.class),
+      instant(rs, "check_in_time"),
+      instant(rs, "check_out_time"),
+      AttendanceStatus.valueOf(rs.getString("status")),
+      rs.getObject("late_minutes", Integer.class),
+      rs.getObject("early_leave_minutes", Integer.class),
+      rs.getString("notes"),
+      rs.getBigDecimal("check_in_latitude"),
+      rs.getBigDecimal("check_in_longitude"),
+      rs.getObject("check_in_distance_meters", Integer.class),
+      rs.getBigDecimal("check_out_latitude"),
+      rs.getBigDecimal("check_out_longitude"),
+      rs.getObject("check_out_distance_meters", Integer.class),
+      rs.getBoolean("geofence_flagged"),
+      rs.getObject("guard_id", Long.class),
+      rs.getString("first_name"),
+      rs.getString("last_name"),
+      rs.getString("employee_code"),
+      rs.getObject("assignment_id", Long.class),
+      rs.getObject("post_id", Long.class),
+      rs.getString("post_name"),
+      rs.getObject("site_id", Long.class),
+      rs.getString("site_name"),
+      rs.getObject("client_id", Long.class),
+      rs.getString("client_name"),
+      rs.getString("shift_name"),
+      rs.getObject("start_time", LocalTime.class),
+      rs.getObject("end_time", LocalTime.class),
+      instant(rs, "created_at"),
+      instant(rs, "updated_at"));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+
+  public AttendanceWriter(JdbcTemplate jdbcTemplate, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+  }
+
+  /**
+   * Insert a new record unless its shift (assignment and date) already has one
+   * 
+   * Only a conflict on uq_attendance is absorbed; any other constraint
+   * violation still fails the insert.
+   * 
+   * @return id of the inserted record, empty if a record for that assignment and date already exists
+   */
+  public Optional<Long> insertIfAbsent(AttendanceEntity record) {
+    Timestamp now = Timestamp.from(clock.instant());
+    List<Long> ids = jdbcTemplate.query(INSERT_IF_ABSENT_SQL, ps -> {
+      ps.setObject(1, record.getGuard() != null ? record.getGuard().getId() : null, Types.BIGINT);
+      ps.setObject(2, record.getAssignment() != null ? record.getAssignment().getId() : null, Types.BIGINT);
+      ps.setObject(3, record.getSitePostId(), Types.BIGINT);
+      ps.setObject(4, record.getSiteId(), Types.BIGINT);
+      ps.setObject(5, record.getClientAccountId(), Types.BIGINT);
+      ps.setObject(6, record.getAttendanceDate());
+      ps.setTimestamp(7, record.getCheckInTime() != null ? Timestamp.from(record.getCheckInTime()) : null);
+      ps.setTimestamp(8, record.getCheckOutTime() != null ? Timestamp.from(record.getCheckOutTime()) : null);
+      ps.setString(9, (record.getStatus() != null ? record.getStatus() : AttendanceStatus.PRESENT).name());
+      ps.setInt(10, record.getLateMinutes() != null ? record.getLateMinutes() : 0);
+      ps.setInt(11, record.getEarlyLeaveMinutes() != null ? record.getEarlyLeaveMinutes() : 0);
+      ps.setString(12, record.getNotes());
+      ps.setBigDecimal(13, record.getCheckInLatitude());
+      ps.setBigDecimal(14, record.getCheckInLongitude());
+      ps.setObject(15, record.getCheckInDistanceMeters(), Types.INTEGER);
+      ps.setBoolean(16, Boolean.TRUE.equals(record.getGeofenceFlagged()));
+      ps.setTimestamp(17, now);
+      ps.setTimestamp(18, now);
+    }, (rs, rowNum) -> rs.getLong(1));
+    return ids.stream().findFirst();
+  }
+
+  /**
+   * Check out an attendance record in one conditional UPDATE
+   * 
+   * Early leave is measured from the shift instance end to the check-out
+   * instant; a PRESENT guard leaving early becomes EARLY_LEAVE, any other
+   * status is kept.
+   * 
+   * @return the updated record, empty if it no longer exists or is already checked out
+   */
+  public Optional<AttendanceResponse> checkOut(
+      Long attendanceId,
+      Instant checkOutTime,
+      BigDecimal latitude,
+      BigDecimal longitude,
+      GeofenceValidator.GeofenceCheck geofence,
+      String checkoutNote) {
+    OffsetDateTime checkOutAt = checkOutTime.atOffset(ZoneOffset.UTC);
+    List<AttendanceResponse> rows = jdbcTemplate.query(CHECK_OUT_SQL, ps -> {
+      ps.setBigDecimal(1, latitude);
+      ps.setBigDecimal(2, longitude);
+      ps.setObject(3, geofence.distanceMeters(), Types.INTEGER);
+      ps.setBoolean(4, geofence.flagged());
+      ps.setString(5, geofence.flagged() ? geofence.note() : null);
+      ps.setString(6, checkoutNote);
+      ps.setObject(7, checkOutAt);
+      ps.setLong(8, attendanceId);
+    }, CHECKED_OUT_MAPPER);
+    return rows.stream().findFirst();
+  }
+
+  /**
+   * Record ABSENT for the guards of the given shift instances
+   * 
+   * Shifts that already have a record (checked in, or marked by an earlier
+   * run) are skipped by the same ON CONFLICT on uq_attendance used for
+   * check-in, so repeating a chunk is harmless. A guard's other shifts on
+   * the same date are independent and still get their own ABSENT record.
+   * 
+   * @return site ids of the inserted records (one per record)
+   */
+  public List<Long> insertAbsent(List<Long> shiftInstanceIds) {
+    return updateReturningSiteIds(INSERT_ABSENT_SQL, shiftInstanceIds);
+  }
+
+  /**
+   * Mark MISSED_CHECKOUT the given records that are still open
+   * 
+   * A concurrent check-out either commits first (check_out_time is then set
+   * and the row no longer matches) or waits for this statement and finds
+   * the record already marked.
+   * 
+   * @return site ids of the marked records (one per record)
+   */
+  public List<Long> markMissedCheckouts(List<Long> attendanceIds) {
+    return updateReturningSiteIds(MARK_MISSED_CHECKOUTS_SQL, attendanceIds);
+  }
+
+  private List<Long> updateReturningSiteIds(String sql, List<Long> ids) {
+    Long[] idArray = ids.toArray(new Long[0]);
+    return jdbcTemplate.query(con -> {
+      PreparedStatement ps = con.prepareStatement(sql);
+      ps.setArray(1, con.createArrayOf("bigint", idArray));
+      return ps;
+    }, (rs, rowNum) -> rs.getLong(1));
+  }
+
+  private static Instant instant(ResultSet rs, String column) throws SQLException {
+    Timestamp timestamp = rs.getTimestamp(column);
+    return timestamp != null ? timestamp.toInstant() : null;
+  }
+}
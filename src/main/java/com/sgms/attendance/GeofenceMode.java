@@ -0,0 +1,22 @@
+package com.sgms.attendance;
+
+/**
+ * How check-in/out locations outside the site geofence are handled
+ */
+public enum GeofenceMode {
+
+  /**
+   * Locations are stored but not validated
+   */
+  OFF,
+
+  /**
+   * Out-of-fence records are accepted and flagged for supervisor review
+   */
+  FLAG,
+
+  /**
+   * Out-of-fence check-in/out is rejected
+   */
+  REJECT
+}
@@ -0,0 +1,100 @@
+package com.sgms.attendance;
+
+import com.sgms.common.GeoDistance;
+import com.sgms.site.SiteSpatialIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+
+/**
+ * Validates device locations at check-in/out against the assigned site's geofence
+ * 
+ * Site coordinates and radii come from the in-memory {@link SiteSpatialIndex},
+ * so validation adds no database round-trips. Sites without coordinates are
+ * not validated.
+ * 
+ * Configuration (app.attendance.geofence):
+ * - mode: OFF, FLAG (default) or REJECT
+ * - default-radius-meters: radius for sites without their own (default 200)
+ * - require-location: treat a missing device location as out of fence (default false)
+ */
+@Component
+public class GeofenceValidator {
+
+  /**
+   * Outcome of a geofence check; distanceMeters is null when not measured
+   */
+  public record GeofenceCheck(Integer distanceMeters, boolean flagged, String note) {
+
+    static final GeofenceCheck NOT_CHECKED = new GeofenceCheck(null, false, null);
+  }
+
+  private final SiteSpatialIndex siteSpatialIndex;
+  private final GeofenceMode mode;
+  private final int defaultRadiusMeters;
+  private final boolean requireLocation;
+
+  public GeofenceValidator(
+      SiteSpatialIndex siteSpatialIndex,
+      @Value("${app.attendance.geofence.mode:FLAG}") GeofenceMode mode,
+      @Value("${app.attendance.geofence.default-radius-meters:200}") int defaultRadiusMeters,
+      @Value("${app.attendance.geofence.require-location:false}") boolean requireLocation) {
+    this.siteSpatialIndex = siteSpatialIndex;
+    this.mode = mode;
+    this.defaultRadiusMeters = defaultRadiusMeters;
+    this.requireLocation = requireLocation;
+  }
+
+  /**
+   * Check a device location against a site's geofence
+   * 
+   * @param action "Check-in" or "Check-out", used in messages
+   * @throws ResponseStatusException (400) when out of fence and mode is REJECT
+   */
+  public GeofenceCheck check(String action, Long siteId, BigDecimal latitude, BigDecimal longitude) {
+    if ((latitude == null) != (longitude == null)) {
+      throw new IllegalArgumentException("Latitude and longitude must be provided together");
+    }
+    if (mode == GeofenceMode.OFF) {
+      return GeofenceCheck.NOT_CHECKED;
+    }
+    if (latitude == null) {
+      return requireLocation
+          ? outOfFence(null, action + " without device location")
+          : GeofenceCheck.NOT_CHECKED;
+    }
+
+    SiteSpatialIndex.IndexedSite site = siteSpatialIndex.findById(siteId).orElse(null);
+    if (site == null) {
+      return GeofenceCheck.NOT_CHECKED;
+    }
+
+    double lat = latitude.doubleValue();
+    double lon = longitude.doubleValue();
+    int distance = (int) Math.round(GeoDistance.haversineMeters(lat, lon, site.latitude(), site.longitude()));
+    int allowed = site.geofenceRadiusMeters() != null ? site.geofenceRadiusMeters() : defaultRadiusMeters;
+    if (distance <= allowed) {
+      return new GeofenceCheck(distance, false, null);
+    }
+
+    StringBuilder note = new StringBuilder(String.format(
+        "%s location is %d m from %s (allowed %d m)", action, distance, site.name(), allowed));
+    // Point out another site the device is actually at, if any
+    siteSpatialIndex.findWithin(lat, lon, defaultRadiusMeters).stream()
+        .filter(hit -> !hit.site().id().equals(siteId))
+        .findFirst()
+        .ifPresent(hit -> note.append(String.format("; nearest site is %s (%d m)",
+            hit.site().name(), Math.round(hit.distanceMeters()))));
+    return outOfFence(distance, note.toString());
+  }
+
+  private GeofenceCheck outOfFence(Integer distance, String note) {
+    if (mode == GeofenceMode.REJECT) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, note);
+    }
+    return new GeofenceCheck(distance, true, "GEOFENCE: " + note);
+  }
+}
@@ -0,0 +1,89 @@
+package com.sgms.attendance;
+
+import com.sgms.scheduling.ChunkedJob;
+import com.sgms.scheduling.JobCheckpoint;
+import com.sgms.shift.ShiftInstance;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Marks MISSED_CHECKOUT the records still open once their shift end + grace period has passed
+ * 
+ * Walks open records in (shift instance end, attendance id) order. A guard
+ * can only check in until 2 hours after the shift start, never later than
+ * the shift end + grace period the sweep waits for, so no open record ever
+ * falls behind the checkpoint. Without a checkpoint a run starts two days
+ * back, which covers overnight shifts in every zone.
+ */
+@Component
+public class MissedCheckoutSweepJob implements ChunkedJob {
+
+  static final String JOB_NAME = "attendance.mark-missed-checkouts";
+
+  private static final Duration INITIAL_LOOKBACK = Duration.ofDays(2);
+
+  private static final String NEXT_CHUNK_SQL =
+      "SELECT si.ends_at, al.id FROM attendance_logs al " +
+      "JOIN shift_instances si ON si.assignment_id = al.assignment_id AND si.shift_date = al.attendance_date " +
+      "WHERE al.attendance_date >= ? " +
+      "AND al.check_in_time IS NOT NULL AND al.check_out_time IS NULL AND al.status <> 'MISSED_CHECKOUT' " +
+      "AND (si.ends_at, al.id) > (?, ?) AND si.ends_at <= ? " +
+      "ORDER BY si.ends_at, al.id " +
+      "LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final AttendanceWriter attendanceWriter;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public MissedCheckoutSweepJob(
+      JdbcTemplate jdbcTemplate,
+      AttendanceWriter attendanceWriter,
+      ApplicationEventPublisher eventPublisher) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.attendanceWriter = attendanceWriter;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public String name() {
+    return JOB_NAME;
+  }
+
+  @Override
+  public Instant earliestStart(Instant now) {
+    return now.minus(ShiftInstance.CHECKOUT_GRACE).minus(INITIAL_LOOKBACK);
+  }
+
+  @Override
+  public Instant until(Instant now) {
+    return now.minus(ShiftInstance.CHECKOUT_GRACE);
+  }
+
+  @Override
+  public List<JobCheckpoint> nextChunk(JobCheckpoint after, Instant until, int limit) {
+    // Shift dates from two days before the checkpoint cover overnight shifts in every zone
+    LocalDate fromDate = LocalDate.ofInstant(after.position(), ZoneOffset.UTC).minusDays(2);
+    return jdbcTemplate.query(NEXT_CHUNK_SQL, (rs, rowNum) -> new JobCheckpoint(
+            rs.getTimestamp(1).toInstant(),
+            rs.getLong(2)),
+        fromDate, Timestamp.from(after.position()), after.id(), Timestamp.from(until), limit);
+  }
+
+  @Override
+  public int process(List<Long> attendanceIds) {
+    List<Long> siteIds = attendanceWriter.markMissedCheckouts(attendanceIds);
+    if (!siteIds.isEmpty()) {
+      eventPublisher.publishEvent(new AttendanceChangedEvent(new HashSet<>(siteIds)));
+    }
+    return siteIds.size();
+  }
+}
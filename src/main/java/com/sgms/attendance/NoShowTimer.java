@@ -0,0 +1,160 @@
+package com.sgms.attendance;
+
+import com.sgms.scheduling.ChunkedJobResult;
+import com.sgms.scheduling.ChunkedJobRunner;
+import com.sgms.scheduling.ClusterJobRunner;
+import com.sgms.shift.ShiftInstancesChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fires the no-show (ABSENT) check the moment each check-in window closes
+ * 
+ * Loads the distinct check_in_closes_at instants of the upcoming shift
+ * instances into the task scheduler's delay queue, one timer per instant
+ * however many guards share it. When a timer fires, the checkpointed
+ * {@link AbsentSweepJob} runs under its cluster lease, so a guard who did
+ * not check in is marked ABSENT within seconds of shift start + 2 hours
+ * (ShiftInstance.CHECK_IN_CLOSES_AFTER) and only one instance does the work.
+ * 
+ * Timers are reloaded at startup, after every shift instance refresh and
+ * hourly; the 15-minute absent sweep cron stays as the safety net for
+ * anything a lost timer missed.
+ */
+@Component
+public class NoShowTimer {
+
+  private static final Logger logger = LoggerFactory.getLogger(NoShowTimer.class);
+
+  /**
+   * Lease lockAtLeastFor of the sweep plus a margin: a timer that found the
+   * lease held by a run that started before its instant tries once more
+   */
+  private static final Duration RETRY_DELAY = Duration.ofSeconds(45);
+
+  private static final String DUE_SQL =
+      "SELECT DISTINCT check_in_closes_at FROM shift_instances " +
+      "WHERE guard_id IS NOT NULL AND check_in_closes_at > ? AND check_in_closes_at <= ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TaskScheduler taskScheduler;
+  private final ClusterJobRunner clusterJobRunner;
+  private final ChunkedJobRunner chunkedJobRunner;
+  private final AbsentSweepJob absentSweepJob;
+  private final Clock clock;
+  private final boolean enabled;
+  private final Duration horizon;
+  private final Duration fireDelay;
+
+  /**
+   * Check-in window closes with a pending timer
+   */
+  private final Set<Instant> planned = ConcurrentHashMap.newKeySet();
+
+  public NoShowTimer(
+      JdbcTemplate jdbcTemplate,
+      TaskScheduler taskScheduler,
+      ClusterJobRunner clusterJobRunner,
+      ChunkedJobRunner chunkedJobRunner,
+      AbsentSweepJob absentSweepJob,
+      Clock clock,
+      @Value("${app.shift.no-show.enabled:true}") boolean enabled,
+      @Value("${app.shift.no-show.horizon-hours:6}") long horizonHours,
+      @Value("${app.shift.no-show.fire-delay-seconds:5}") long fireDelaySeconds) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.taskScheduler = taskScheduler;
+    this.clusterJobRunner = clusterJobRunner;
+    this.chunkedJobRunner = chunkedJobRunner;
+    this.absentSweepJob = absentSweepJob;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.horizon = Duration.ofHours(Math.max(2, horizonHours));
+    this.fireDelay = Duration.ofSeconds(Math.max(0, fireDelaySeconds));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    reloadQuietly();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onShiftInstancesChanged(ShiftInstancesChangedEvent event) {
+    reloadQuietly();
+  }
+
+  /**
+   * Cron: app.shift.no-show.reload-cron (default every hour at minute 5)
+   */
+  @Scheduled(cron = "${app.shift.no-show.reload-cron:0 5 * * * *}")
+  public void scheduledReload() {
+    reloadQuietly();
+  }
+
+  /**
+   * Plan a timer for every check-in window closing within the horizon
+   * 
+   * @return number of timers added
+   */
+  public int reload() {
+    if (!enabled) {
+      return 0;
+    }
+    Instant now = clock.instant();
+    List<Instant> due = jdbcTemplate.query(DUE_SQL, (rs, rowNum) -> rs.getTimestamp(1).toInstant(),
+        Timestamp.from(now), Timestamp.from(now.plus(horizon)));
+
+    int added = 0;
+    for (Instant closesAt : due) {
+      if (planned.add(closesAt)) {
+        taskScheduler.schedule(() -> fire(closesAt, false), closesAt.plus(fireDelay));
+        added++;
+      }
+    }
+    if (added > 0) {
+      logger.debug("Planned {} no-show timers ({} pending)", added, planned.size());
+    }
+    return added;
+  }
+
+  private void reloadQuietly() {
+    try {
+      reload();
+    } catch (Exception e) {
+      // The absent sweep cron still marks these shifts
+      logger.warn("Could not load no-show timers: {}", e.getMessage());
+    }
+  }
+
+  private void fire(Instant closesAt, boolean retry) {
+    planned.remove(closesAt);
+    try {
+      boolean ran = clusterJobRunner.runExclusive(AbsentSweepJob.JOB_NAME, Duration.ofMinutes(10), () -> {
+        ChunkedJobResult result = chunkedJobRunner.run(absentSweepJob);
+        logger.info("No-show check for check-in windows closed at {}: {} guards marked ABSENT",
+            closesAt, result.processed());
+      });
+      if (!ran && !retry) {
+        taskScheduler.schedule(() -> fire(closesAt, true), clock.instant().plus(RETRY_DELAY));
+      }
+    } catch (Exception e) {
+      logger.error("Error in no-show check for check-in windows closed at {}", closesAt, e);
+    }
+  }
+}
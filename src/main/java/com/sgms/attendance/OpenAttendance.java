@@ -0,0 +1,12 @@
+package com.sgms.attendance;
+
+import java.time.LocalDate;
+
+/**
+ * Checked-in, not yet checked-out attendance record a check-out applies to
+ * 
+ * Loaded via a JPQL constructor expression so check-out only reads the
+ * columns it needs before its conditional update.
+ */
+public record OpenAttendance(Long attendanceId, Long siteId, LocalDate attendanceDate) {
+}
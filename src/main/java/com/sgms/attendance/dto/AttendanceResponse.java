@@ -1,8 +1,10 @@
 package com.sgms.attendance.dto;
 
 import com.sgms.attendance.AttendanceStatus;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 /**
  * Response DTO for attendance records
@@ -28,6 +30,15 @@ public class AttendanceResponse {
   private Integer earlyLeaveMinutes;
   private String notes;
 
+  // Location details (geofence)
+  private BigDecimal checkInLatitude;
+  private BigDecimal checkInLongitude;
+  private Integer checkInDistanceMeters;
+  private BigDecimal checkOutLatitude;
+  private BigDecimal checkOutLongitude;
+  private Integer checkOutDistanceMeters;
+  private Boolean geofenceFlagged;
+
   // Guard details
   private Long guardId;
   private String guardFirstName;
@@ -59,6 +70,80 @@ public class AttendanceResponse {
   private Instant createdAt;
   private Instant updatedAt;
 
+  public AttendanceResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   * 
+   * guardFullName and the HH:mm shift strings are derived here as in the entity mapping
+   */
+  public AttendanceResponse(
+      Long attendanceId,
+      LocalDate attendanceDate,
+      Instant checkInTime,
+      Instant checkOutTime,
+      AttendanceStatus status,
+      Integer lateMinutes,
+      Integer earlyLeaveMinutes,
+      String notes,
+      BigDecimal checkInLatitude,
+      BigDecimal checkInLongitude,
+      Integer checkInDistanceMeters,
+      BigDecimal checkOutLatitude,
+      BigDecimal checkOutLongitude,
+      Integer checkOutDistanceMeters,
+      Boolean geofenceFlagged,
+      Long guardId,
+      String guardFirstName,
+      String guardLastName,
+      String employeeCode,
+      Long assignmentId,
+      Long sitePostId,
+      String postName,
+      Long siteId,
+      String siteName,
+      Long clientId,
+      String clientName,
+      String shiftName,
+      LocalTime shiftStart,
+      LocalTime shiftEnd,
+      Instant createdAt,
+      Instant updatedAt) {
+    this.attendanceId = attendanceId;
+    this.attendanceDate = attendanceDate;
+    this.checkInTime = checkInTime;
+    this.checkOutTime = checkOutTime;
+    this.status = status;
+    this.lateMinutes = lateMinutes;
+    this.earlyLeaveMinutes = earlyLeaveMinutes;
+    this.notes = notes;
+    this.checkInLatitude = checkInLatitude;
+    this.checkInLongitude = checkInLongitude;
+    this.checkInDistanceMeters = checkInDistanceMeters;
+    this.checkOutLatitude = checkOutLatitude;
+    this.checkOutLongitude = checkOutLongitude;
+    this.checkOutDistanceMeters = checkOutDistanceMeters;
+    this.geofenceFlagged = geofenceFlagged;
+    this.guardId = guardId;
+    this.guardFirstName = guardFirstName;
+    this.guardLastName = guardLastName;
+    this.guardFullName = guardFirstName + " " + (guardLastName != null ? guardLastName : "");
+    this.employeeCode = employeeCode;
+    this.assignmentId = assignmentId;
+    this.sitePostId = sitePostId;
+    this.postName = postName;
+    this.siteId = siteId;
+    this.siteName = siteName;
+    this.clientId = clientId;
+    this.clientName = clientName;
+    this.shiftName = shiftName;
+    this.shiftStart = shiftStart != null ? shiftStart.toString() : null;
+    this.shiftEnd = shiftEnd != null ? shiftEnd.toString() : null;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+  }
+
   // Getters and Setters
 
   public Long getAttendanceId() {
@@ -260,4 +345,60 @@ public class AttendanceResponse {
   public void setUpdatedAt(Instant updatedAt) {
     this.updatedAt = updatedAt;
   }
+
+  public BigDecimal getCheckInLatitude() {
+    return checkInLatitude;
+  }
+
+  public void setCheckInLatitude(BigDecimal checkInLatitude) {
+    this.checkInLatitude = checkInLatitude;
+  }
+
+  public BigDecimal getCheckInLongitude() {
+    return checkInLongitude;
+  }
+
+  public void setCheckInLongitude(BigDecimal checkInLongitude) {
+    this.checkInLongitude = checkInLongitude;
+  }
+
+  public Integer getCheckInDistanceMeters() {
+    return checkInDistanceMeters;
+  }
+
+  public void setCheckInDistanceMeters(Integer checkInDistanceMeters) {
+    this.checkInDistanceMeters = checkInDistanceMeters;
+  }
+
+  public BigDecimal getCheckOutLatitude() {
+    return checkOutLatitude;
+  }
+
+  public void setCheckOutLatitude(BigDecimal checkOutLatitude) {
+    this.checkOutLatitude = checkOutLatitude;
+  }
+
+  public BigDecimal getCheckOutLongitude() {
+    return checkOutLongitude;
+  }
+
+  public void setCheckOutLongitude(BigDecimal checkOutLongitude) {
+    this.checkOutLongitude = checkOutLongitude;
+  }
+
+  public Integer getCheckOutDistanceMeters() {
+    return checkOutDistanceMeters;
+  }
+
+  public void setCheckOutDistanceMeters(Integer checkOutDistanceMeters) {
+    this.checkOutDistanceMeters = checkOutDistanceMeters;
+  }
+
+  public Boolean getGeofenceFlagged() {
+    return geofenceFlagged;
+  }
+
+  public void setGeofenceFlagged(Boolean geofenceFlagged) {
+    this.geofenceFlagged = geofenceFlagged;
+  }
 }
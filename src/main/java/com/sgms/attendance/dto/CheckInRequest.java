@@ -1,6 +1,9 @@
 package com.sgms.attendance.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
 
 /**
  * Request DTO for guard check-in
@@ -23,6 +26,17 @@ public class CheckInRequest {
    */
   private String notes;
 
+  /**
+   * Optional device location, validated against the site geofence
+   */
+  @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+  @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+  private BigDecimal latitude;
+
+  @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+  @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+  private BigDecimal longitude;
+
   // Getters and Setters
 
   public Long getGuardId() {
@@ -40,4 +54,20 @@ public class CheckInRequest {
   public void setNotes(String notes) {
     this.notes = notes;
   }
+
+  public BigDecimal getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(BigDecimal latitude) {
+    this.latitude = latitude;
+  }
+
+  public BigDecimal getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(BigDecimal longitude) {
+    this.longitude = longitude;
+  }
 }
@@ -2,10 +2,12 @@ package com.sgms.auth;
 
 import com.sgms.auth.dto.AuthResponse;
 import com.sgms.auth.dto.LoginRequest;
+import com.sgms.auth.dto.RefreshTokenRequest;
 import com.sgms.auth.dto.RegisterRequest;
 import com.sgms.auth.dto.UserResponse;
 import com.sgms.common.ApiResponse;
 import com.sgms.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -35,24 +37,31 @@ public class AuthController {
   }
 
   @PostMapping("/login")
-  public ApiResponse<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-    AuthResponse authResponse = authService.login(request);
+  public ApiResponse<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+    // Behind the proxy (prod forward-headers-strategy) this is the client address
+    AuthResponse authResponse = authService.login(request, httpRequest.getRemoteAddr());
     return ApiResponse.success(authResponse, "Login successful");
   }
 
+  @PostMapping("/refresh")
+  public ApiResponse<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+    AuthResponse authResponse = authService.refresh(request);
+    return ApiResponse.success(authResponse, "Token refreshed");
+  }
+
+  @PostMapping("/logout")
+  public ApiResponse<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+    authService.logout(request);
+    return ApiResponse.success(null, "Logged out");
+  }
+
   @GetMapping("/me")
   public ApiResponse<UserResponse> me(Authentication authentication) {
     UserPrincipal principal = extractPrincipal(authentication);
     if (principal == null) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
     }
-    UserResponse response = new UserResponse();
-    response.setId(principal.getUserId());
-    response.setEmail(principal.getUsername());
-    response.setPhone(principal.getUser().getPhone());
-    response.setFullName(principal.getUser().getFullName());
-    response.setRoles(principal.getRoleNames().stream().sorted().toList());
-    return ApiResponse.success(response);
+    return ApiResponse.success(authService.currentUser(principal));
   }
 
   private UserPrincipal extractPrincipal(Authentication authentication) {
@@ -2,15 +2,21 @@ package com.sgms.auth;
 
 import com.sgms.auth.dto.AuthResponse;
 import com.sgms.auth.dto.LoginRequest;
+import com.sgms.auth.dto.RefreshTokenRequest;
 import com.sgms.auth.dto.RegisterRequest;
 import com.sgms.auth.dto.UserResponse;
+import com.sgms.auth.RefreshTokenService.IssuedRefreshToken;
+import com.sgms.auth.RefreshTokenService.Rotation;
 import com.sgms.security.JwtProperties;
 import com.sgms.security.JwtService;
+import com.sgms.security.LoginRateLimiter;
 import com.sgms.security.UserPrincipal;
 import com.sgms.user.RoleEntity;
 import com.sgms.user.RoleRepository;
 import com.sgms.user.UserEntity;
 import com.sgms.user.UserRepository;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
@@ -32,6 +38,9 @@ public class AuthService {
   private final AuthenticationManager authenticationManager;
   private final JwtService jwtService;
   private final JwtProperties jwtProperties;
+  private final RefreshTokenService refreshTokenService;
+  private final LoginRateLimiter loginRateLimiter;
+  private final Clock clock;
 
   public AuthService(
       UserRepository userRepository,
@@ -39,7 +48,10 @@ public class AuthService {
       PasswordEncoder passwordEncoder,
       AuthenticationManager authenticationManager,
       JwtService jwtService,
-      JwtProperties jwtProperties
+      JwtProperties jwtProperties,
+      RefreshTokenService refreshTokenService,
+      LoginRateLimiter loginRateLimiter,
+      Clock clock
   ) {
     this.userRepository = userRepository;
     this.roleRepository = roleRepository;
@@ -47,6 +59,9 @@ public class AuthService {
     this.authenticationManager = authenticationManager;
     this.jwtService = jwtService;
     this.jwtProperties = jwtProperties;
+    this.refreshTokenService = refreshTokenService;
+    this.loginRateLimiter = loginRateLimiter;
+    this.clock = clock;
   }
 
   @Transactional
@@ -78,23 +93,65 @@ public class AuthService {
     return toUserResponse(saved);
   }
 
-  public AuthResponse login(LoginRequest request) {
+  public AuthResponse login(LoginRequest request, String clientIp) {
+    String email = normalizeEmail(request.getEmail());
+    // Before authenticating: an attempt over the limit costs no password hash
+    loginRateLimiter.checkLoginAttempt(clientIp, email);
     Authentication authentication = authenticationManager.authenticate(
-        new UsernamePasswordAuthenticationToken(normalizeEmail(request.getEmail()), request.getPassword()));
+        new UsernamePasswordAuthenticationToken(email, request.getPassword()));
     if (!(authentication.getPrincipal() instanceof UserPrincipal principal)) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
     }
 
+    return toAuthResponse(principal, refreshTokenService.issue(principal.getUserId()));
+  }
+
+  /**
+   * Rotate the refresh token and issue a new access token with the user's current roles
+   */
+  @Transactional(noRollbackFor = ResponseStatusException.class)
+  public AuthResponse refresh(RefreshTokenRequest request) {
+    Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+    UserPrincipal principal = userRepository.findByIdAndDeletedAtIsNull(rotation.userId())
+        .map(UserPrincipal::new)
+        .filter(p -> p.isEnabled() && p.isAccountNonLocked())
+        .orElse(null);
+    if (principal == null) {
+      refreshTokenService.revokeAllForUser(rotation.userId(), "USER_DISABLED");
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+    return toAuthResponse(principal, rotation.refreshToken());
+  }
+
+  public void logout(RefreshTokenRequest request) {
+    refreshTokenService.revoke(request.getRefreshToken());
+  }
+
+  /**
+   * Access-token principals carry only id, email and roles, so the profile is loaded here
+   */
+  @Transactional(readOnly = true)
+  public UserResponse currentUser(UserPrincipal principal) {
+    UserEntity user = userRepository.findByIdAndDeletedAtIsNull(principal.getUserId())
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized"));
+    return toUserResponse(user);
+  }
+
+  private AuthResponse toAuthResponse(UserPrincipal principal, IssuedRefreshToken refreshToken) {
     String token = jwtService.generateAccessToken(
         String.valueOf(principal.getUserId()),
         principal.getUsername(),
-        principal.getRoleNames()
+        principal.getRoleNames(),
+        refreshToken.sessionId()
     );
 
     AuthResponse response = new AuthResponse();
     response.setAccessToken(token);
     response.setTokenType("Bearer");
     response.setExpiresInSeconds(jwtProperties.getAccessTokenTtlSeconds());
+    response.setRefreshToken(refreshToken.token());
+    response.setRefreshExpiresInSeconds(
+        Math.max(0, Duration.between(clock.instant(), refreshToken.expiresAt()).getSeconds()));
     response.setUser(toUserResponse(principal.getUser()));
     return response;
   }
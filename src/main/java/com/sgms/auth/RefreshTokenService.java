@@ -0,0 +1,223 @@
+package com.sgms.auth;
+
+import com.sgms.security.JwtProperties;
+import com.sgms.security.TokensRevokedEvent;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Login sessions backed by rotating refresh tokens
+ * 
+ * A refresh token is "<session id>.<secret>". Each refresh replaces the
+ * secret, so presenting an already rotated token means it leaked: the
+ * session is revoked. The session id is also the jti of every access token
+ * issued for the session, so revoking a session stops its outstanding
+ * access tokens through the revocation list as well.
+ */
+@Service
+public class RefreshTokenService {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO refresh_tokens (id, user_id, token_hash, expires_at) VALUES (?, ?, ?, ?)";
+
+  private static final String FIND_FOR_UPDATE_SQL =
+      "SELECT user_id, token_hash, expires_at, revoked_at FROM refresh_tokens WHERE id = ? FOR UPDATE";
+
+  private static final String ROTATE_SQL =
+      "UPDATE refresh_tokens SET token_hash = ?, last_used_at = ?, expires_at = ? WHERE id = ?";
+
+  private static final String REVOKE_SQL =
+      "UPDATE refresh_tokens SET revoked_at = ?, revoked_reason = ? " +
+      "WHERE id = ? AND revoked_at IS NULL RETURNING id";
+
+  private static final String REVOKE_USER_SQL =
+      "UPDATE refresh_tokens SET revoked_at = ?, revoked_reason = ? " +
+      "WHERE user_id = ? AND revoked_at IS NULL AND expires_at > ? RETURNING id";
+
+  private static final String INSERT_REVOKED_SQL =
+      "INSERT INTO revoked_tokens (jti, expires_at) VALUES (?, ?) " +
+      "ON CONFLICT (jti) DO UPDATE SET revoked_at = CURRENT_TIMESTAMP, expires_at = EXCLUDED.expires_at";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final JwtProperties jwtProperties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public RefreshTokenService(
+      JdbcTemplate jdbcTemplate,
+      JwtProperties jwtProperties,
+      ApplicationEventPublisher eventPublisher,
+      Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.jwtProperties = jwtProperties;
+    this.eventPublisher = eventPublisher;
+    this.clock = clock;
+  }
+
+  public record IssuedRefreshToken(String sessionId, String token, Instant expiresAt) {
+  }
+
+  public record Rotation(Long userId, IssuedRefreshToken refreshToken) {
+  }
+
+  private record SessionRow(Long userId, String tokenHash, Instant expiresAt, Instant revokedAt) {
+  }
+
+  private record ParsedToken(UUID sessionId, String secret) {
+  }
+
+  /**
+   * Start a session for a user who has just authenticated
+   */
+  @Transactional
+  public IssuedRefreshToken issue(Long userId) {
+    UUID sessionId = UUID.randomUUID();
+    String secret = newSecret();
+    Instant expiresAt = clock.instant().plusSeconds(jwtProperties.getRefreshTokenTtlSeconds());
+    jdbcTemplate.update(INSERT_SQL, sessionId, userId, hash(secret), Timestamp.from(expiresAt));
+    return new IssuedRefreshToken(sessionId.toString(), sessionId + "." + secret, expiresAt);
+  }
+
+  /**
+   * Exchange a refresh token for a new one of the same session
+   * 
+   * Commits the revocation of a replayed token even though it answers 401.
+   */
+  @Transactional(noRollbackFor = ResponseStatusException.class)
+  public Rotation rotate(String refreshToken) {
+    ParsedToken parsed = parse(refreshToken);
+    SessionRow session = findForUpdate(parsed.sessionId());
+    Instant now = clock.instant();
+    if (session == null || session.revokedAt() != null || !session.expiresAt().isAfter(now)) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+    if (!matches(parsed.secret(), session.tokenHash())) {
+      revokeSession(parsed.sessionId().toString(), "REUSED");
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+
+    String secret = newSecret();
+    Instant expiresAt = now.plusSeconds(jwtProperties.getRefreshTokenTtlSeconds());
+    jdbcTemplate.update(ROTATE_SQL, hash(secret), Timestamp.from(now), Timestamp.from(expiresAt), parsed.sessionId());
+    return new Rotation(session.userId(),
+        new IssuedRefreshToken(parsed.sessionId().toString(), parsed.sessionId() + "." + secret, expiresAt));
+  }
+
+  /**
+   * End the session of a refresh token (logout); unknown or invalid tokens are ignored
+   */
+  @Transactional
+  public void revoke(String refreshToken) {
+    ParsedToken parsed;
+    try {
+      parsed = parse(refreshToken);
+    } catch (ResponseStatusException e) {
+      return;
+    }
+    SessionRow session = findForUpdate(parsed.sessionId());
+    if (session != null && matches(parsed.secret(), session.tokenHash())) {
+      revokeSession(parsed.sessionId().toString(), "LOGOUT");
+    }
+  }
+
+  /**
+   * End every session of a user, e.g. when the account is deleted
+   * 
+   * @return number of sessions revoked
+   */
+  @Transactional
+  public int revokeAllForUser(Long userId, String reason) {
+    Instant now = clock.instant();
+    List<String> sessionIds = jdbcTemplate.queryForList(REVOKE_USER_SQL, String.class,
+        Timestamp.from(now), reason, userId, Timestamp.from(now));
+    recordRevocations(sessionIds, now);
+    return sessionIds.size();
+  }
+
+  private void revokeSession(String sessionId, String reason) {
+    Instant now = clock.instant();
+    List<String> sessionIds = jdbcTemplate.queryForList(REVOKE_SQL, String.class,
+        Timestamp.from(now), reason, UUID.fromString(sessionId));
+    recordRevocations(sessionIds, now);
+  }
+
+  /**
+   * Access tokens of these sessions were issued at most one access-token TTL ago
+   */
+  private void recordRevocations(List<String> sessionIds, Instant now) {
+    if (sessionIds.isEmpty()) {
+      return;
+    }
+    Instant expiresAt = now.plusSeconds(jwtProperties.getAccessTokenTtlSeconds());
+    Map<String, Instant> revoked = new LinkedHashMap<>();
+    for (String sessionId : sessionIds) {
+      revoked.put(sessionId, expiresAt);
+    }
+    jdbcTemplate.batchUpdate(INSERT_REVOKED_SQL, sessionIds, sessionIds.size(), (ps, sessionId) -> {
+      ps.setString(1, sessionId);
+      ps.setTimestamp(2, Timestamp.from(expiresAt));
+    });
+    eventPublisher.publishEvent(new TokensRevokedEvent(revoked));
+  }
+
+  private SessionRow findForUpdate(UUID sessionId) {
+    List<SessionRow> rows = jdbcTemplate.query(FIND_FOR_UPDATE_SQL, (rs, rowNum) -> new SessionRow(
+            rs.getLong("user_id"),
+            rs.getString("token_hash"),
+            rs.getTimestamp("expires_at").toInstant(),
+            rs.getTimestamp("revoked_at") == null ? null : rs.getTimestamp("revoked_at").toInstant()),
+        sessionId);
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  private ParsedToken parse(String refreshToken) {
+    int dot = refreshToken == null ? -1 : refreshToken.indexOf('.');
+    if (dot <= 0 || dot == refreshToken.length() - 1) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+    try {
+      return new ParsedToken(UUID.fromString(refreshToken.substring(0, dot)), refreshToken.substring(dot + 1));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+  }
+
+  private String newSecret() {
+    byte[] bytes = new byte[32];
+    secureRandom.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private static boolean matches(String secret, String storedHash) {
+    return MessageDigest.isEqual(
+        hash(secret).getBytes(StandardCharsets.US_ASCII),
+        storedHash.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static String hash(String secret) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(secret.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
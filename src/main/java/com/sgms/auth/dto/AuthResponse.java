@@ -4,6 +4,8 @@ public class AuthResponse {
   private String accessToken;
   private String tokenType;
   private long expiresInSeconds;
+  private String refreshToken;
+  private long refreshExpiresInSeconds;
   private UserResponse user;
 
   public String getAccessToken() {
@@ -30,6 +32,22 @@ public class AuthResponse {
     this.expiresInSeconds = expiresInSeconds;
   }
 
+  public String getRefreshToken() {
+    return refreshToken;
+  }
+
+  public void setRefreshToken(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
+
+  public long getRefreshExpiresInSeconds() {
+    return refreshExpiresInSeconds;
+  }
+
+  public void setRefreshExpiresInSeconds(long refreshExpiresInSeconds) {
+    this.refreshExpiresInSeconds = refreshExpiresInSeconds;
+  }
+
   public UserResponse getUser() {
     return user;
   }
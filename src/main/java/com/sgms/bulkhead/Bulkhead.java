@@ -0,0 +1,201 @@
+package com.sgms.bulkhead;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency compartment for one class of requests
+ * 
+ * At most maxConcurrent requests run at once; up to maxWaiting more wait
+ * (on their own request thread) for at most maxWait, and anything beyond
+ * that is turned away immediately. Optionally no single tenant may hold
+ * more than perTenant of the slots, so one client's dashboard or one
+ * supervisor's script cannot take the whole compartment. A tenant at its
+ * cap queues like any other request: its next request waits, within the
+ * same maxWait, for one of the tenant's own requests to finish, so a burst
+ * of parallel calls from one page is serialized rather than rejected.
+ */
+public class Bulkhead {
+
+  public enum Outcome {
+    ACQUIRED,
+    TENANT_LIMIT,
+    QUEUE_FULL,
+    TIMED_OUT
+  }
+
+  private final String name;
+  private final int maxConcurrent;
+  private final int maxWaiting;
+  private final long maxWaitNanos;
+  private final int perTenant;
+  private final Semaphore permits;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final ReentrantLock tenantLock = new ReentrantLock();
+  private final Condition tenantSlotFreed = tenantLock.newCondition();
+  private final Map<String, Integer> inFlightByTenant = new HashMap<>();
+  private final LongAdder rejected = new LongAdder();
+
+  public Bulkhead(String name, int maxConcurrent, int maxWaiting, Duration maxWait, int perTenant) {
+    if (maxConcurrent < 1) {
+      throw new IllegalArgumentException("Bulkhead " + name + ": maxConcurrent must be at least 1");
+    }
+    this.name = name;
+    this.maxConcurrent = maxConcurrent;
+    this.maxWaiting = Math.max(0, maxWaiting);
+    this.maxWaitNanos = Math.max(0, maxWait.toNanos());
+    this.perTenant = Math.max(0, perTenant);
+    this.permits = new Semaphore(maxConcurrent, true);
+  }
+
+  /**
+   * Take a slot for the tenant, waiting if the compartment or the tenant's share is full
+   * 
+   * TENANT_LIMIT means the tenant's own requests kept its share full for
+   * the whole wait; QUEUE_FULL and TIMED_OUT are about the compartment.
+   * Every ACQUIRED outcome must be matched by {@link #release(String)}.
+   */
+  public Outcome tryAcquire(String tenant) {
+    Outcome outcome = acquire(tenant);
+    if (outcome != Outcome.ACQUIRED) {
+      rejected.increment();
+    }
+    return outcome;
+  }
+
+  public void release(String tenant) {
+    permits.release();
+    if (perTenant > 0) {
+      leaveTenant(tenant);
+    }
+  }
+
+  private Outcome acquire(String tenant) {
+    boolean entered = perTenant == 0 || tryEnterTenant(tenant);
+    if (entered && permits.tryAcquire()) {
+      return Outcome.ACQUIRED;
+    }
+    if (waiting.incrementAndGet() > maxWaiting) {
+      waiting.decrementAndGet();
+      leaveTenantIfEntered(tenant, entered);
+      return Outcome.QUEUE_FULL;
+    }
+    long deadline = System.nanoTime() + maxWaitNanos;
+    try {
+      if (!entered) {
+        entered = enterTenant(tenant, deadline);
+        if (!entered) {
+          return Outcome.TENANT_LIMIT;
+        }
+      }
+      long remaining = Math.max(0, deadline - System.nanoTime());
+      if (permits.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+        return Outcome.ACQUIRED;
+      }
+      leaveTenantIfEntered(tenant, entered);
+      return Outcome.TIMED_OUT;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      leaveTenantIfEntered(tenant, entered);
+      return Outcome.TIMED_OUT;
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+
+  private boolean tryEnterTenant(String tenant) {
+    tenantLock.lock();
+    try {
+      int current = inFlightByTenant.getOrDefault(tenant, 0);
+      if (current >= perTenant) {
+        return false;
+      }
+      inFlightByTenant.put(tenant, current + 1);
+      return true;
+    } finally {
+      tenantLock.unlock();
+    }
+  }
+
+  /**
+   * Wait until the tenant is below its share, at most until the deadline (System.nanoTime)
+   */
+  private boolean enterTenant(String tenant, long deadline) throws InterruptedException {
+    tenantLock.lock();
+    try {
+      while (inFlightByTenant.getOrDefault(tenant, 0) >= perTenant) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        tenantSlotFreed.awaitNanos(remaining);
+      }
+      inFlightByTenant.merge(tenant, 1, Integer::sum);
+      return true;
+    } finally {
+      tenantLock.unlock();
+    }
+  }
+
+  private void leaveTenantIfEntered(String tenant, boolean entered) {
+    if (entered && perTenant > 0) {
+      leaveTenant(tenant);
+    }
+  }
+
+  /**
+   * Wakes every tenant waiter; each rechecks its own count. The waiters are
+   * bounded by maxWaiting, so this stays cheap.
+   */
+  private void leaveTenant(String tenant) {
+    tenantLock.lock();
+    try {
+      inFlightByTenant.computeIfPresent(tenant, (key, count) -> count <= 1 ? null : count - 1);
+      tenantSlotFreed.signalAll();
+    } finally {
+      tenantLock.unlock();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  public int getMaxWaiting() {
+    return maxWaiting;
+  }
+
+  public int getPerTenant() {
+    return perTenant;
+  }
+
+  public int getActive() {
+    return maxConcurrent - permits.availablePermits();
+  }
+
+  public int getWaiting() {
+    return waiting.get();
+  }
+
+  /**
+   * Share of the slots in use, 0.0 to 1.0
+   */
+  public double getSaturation() {
+    return (double) getActive() / maxConcurrent;
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+}
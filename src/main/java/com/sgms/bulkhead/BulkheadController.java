@@ -0,0 +1,38 @@
+package com.sgms.bulkhead;
+
+import com.sgms.bulkhead.dto.BulkheadStatusResponse;
+import com.sgms.common.ApiResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for request bulkhead load
+ * 
+ * Authorization: ADMIN role only
+ */
+@RestController
+@RequestMapping("/api/admin/bulkheads")
+public class BulkheadController {
+
+  private final BulkheadRegistry bulkheadRegistry;
+
+  public BulkheadController(BulkheadRegistry bulkheadRegistry) {
+    this.bulkheadRegistry = bulkheadRegistry;
+  }
+
+  /**
+   * Slots in use, queue depth, saturation and rejections of every bulkhead
+   * 
+   * GET /api/admin/bulkheads
+   * Requires: ADMIN role
+   */
+  @GetMapping
+  @PreAuthorize("hasRole('ADMIN')")
+  public ApiResponse<List<BulkheadStatusResponse>> getBulkheads() {
+    return ApiResponse.success(bulkheadRegistry.getStatuses());
+  }
+}
@@ -0,0 +1,100 @@
+package com.sgms.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgms.exception.ErrorResponse;
+import com.sgms.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Runs each limited request inside its bulkhead
+ * 
+ * Registered after the security filter chain, so the tenant (highest role +
+ * user id) comes from the authenticated principal. A request that finds its
+ * bulkhead and queue full gets 429 with Retry-After.
+ */
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+  private static final List<String> ROLE_PRIORITY = List.of("ADMIN", "SUPERVISOR", "CLIENT", "GUARD");
+
+  private final BulkheadRegistry bulkheadRegistry;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+
+  public BulkheadFilter(BulkheadRegistry bulkheadRegistry, ObjectMapper objectMapper, Clock clock) {
+    this.bulkheadRegistry = bulkheadRegistry;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain) throws ServletException, IOException {
+    Bulkhead bulkhead = bulkheadRegistry.bulkheadFor(request);
+    if (bulkhead == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String tenant = tenantKey(request);
+    Bulkhead.Outcome outcome = bulkhead.tryAcquire(tenant);
+    if (outcome != Bulkhead.Outcome.ACQUIRED) {
+      bulkheadRegistry.recordRejection(bulkhead, outcome);
+      logger.debug("Bulkhead {} rejected {} {} for {}: {}",
+          bulkhead.getName(), request.getMethod(), request.getRequestURI(), tenant, outcome);
+      tooManyRequests(request, response);
+      return;
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      bulkhead.release(tenant);
+    }
+  }
+
+  private String tenantKey(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+      String role = ROLE_PRIORITY.stream()
+          .filter(principal.getRoleNames()::contains)
+          .findFirst()
+          .orElse("USER");
+      return role + ":" + principal.getUserId();
+    }
+    return "ANONYMOUS:" + request.getRemoteAddr();
+  }
+
+  private void tooManyRequests(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    ErrorResponse errorResponse = new ErrorResponse("Too many concurrent requests, please retry shortly",
+        request.getRequestURI(), clock);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(bulkheadRegistry.getRetryAfterSeconds()));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), errorResponse);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !bulkheadRegistry.isEnabled();
+  }
+}
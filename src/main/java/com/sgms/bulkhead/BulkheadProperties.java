@@ -0,0 +1,108 @@
+package com.sgms.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+  private boolean enabled = true;
+  private long retryAfterSeconds = 2;
+  private Compartment checkIn = new Compartment(20, 50, 5000, 0);
+  private Compartment reporting = new Compartment(3, 10, 2000, 2);
+  private Compartment listing = new Compartment(4, 20, 2000, 2);
+
+  /**
+   * Limits of one bulkhead
+   */
+  public static class Compartment {
+    private int maxConcurrent;
+    private int maxWaiting;
+    private long maxWaitMs;
+
+    /**
+     * Concurrent requests per tenant (role + user); 0 = no per-tenant limit
+     */
+    private int perTenant;
+
+    public Compartment() {
+    }
+
+    public Compartment(int maxConcurrent, int maxWaiting, long maxWaitMs, int perTenant) {
+      this.maxConcurrent = maxConcurrent;
+      this.maxWaiting = maxWaiting;
+      this.maxWaitMs = maxWaitMs;
+      this.perTenant = perTenant;
+    }
+
+    public int getMaxConcurrent() {
+      return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+      this.maxConcurrent = maxConcurrent;
+    }
+
+    public int getMaxWaiting() {
+      return maxWaiting;
+    }
+
+    public void setMaxWaiting(int maxWaiting) {
+      this.maxWaiting = maxWaiting;
+    }
+
+    public long getMaxWaitMs() {
+      return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+      this.maxWaitMs = maxWaitMs;
+    }
+
+    public int getPerTenant() {
+      return perTenant;
+    }
+
+    public void setPerTenant(int perTenant) {
+      this.perTenant = perTenant;
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  public void setRetryAfterSeconds(long retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public Compartment getCheckIn() {
+    return checkIn;
+  }
+
+  public void setCheckIn(Compartment checkIn) {
+    this.checkIn = checkIn;
+  }
+
+  public Compartment getReporting() {
+    return reporting;
+  }
+
+  public void setReporting(Compartment reporting) {
+    this.reporting = reporting;
+  }
+
+  public Compartment getListing() {
+    return listing;
+  }
+
+  public void setListing(Compartment listing) {
+    this.listing = listing;
+  }
+}
@@ -0,0 +1,161 @@
+package com.sgms.bulkhead;
+
+import com.sgms.bulkhead.dto.BulkheadStatusResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The request bulkheads and which requests go through which
+ * 
+ * - check-in: POST /api/attendance/check-in and /check-out. Never shares
+ *   slots with the others; its limit only guards against a flood.
+ * - reporting: analytics, history, coverage, portal and the attendance
+ *   report reads, capped per tenant.
+ * - listing: every other GET under /api, capped per tenant.
+ * 
+ * reporting + listing together stay below the connection pool size, so
+ * however busy dashboards and scripts get, connections and request threads
+ * remain for check-ins and writes. Saturation, queue depth and rejections
+ * are published as sgms.bulkhead.* meters.
+ */
+@Component
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadRegistry {
+
+  private static final Logger logger = LoggerFactory.getLogger(BulkheadRegistry.class);
+
+  /**
+   * Connections that should stay free of reporting and listing requests
+   */
+  private static final int MIN_RESERVED_CONNECTIONS = 2;
+
+  private static final List<String> REPORTING_PREFIXES = List.of(
+      "/api/analytics/",
+      "/api/history/",
+      "/api/coverage",
+      "/api/portal/",
+      "/api/attendance/guard/",
+      "/api/attendance/site/",
+      "/api/attendance/client/",
+      "/api/attendance/today-summary",
+      "/api/assignments/recommendations");
+
+  private final BulkheadProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ObjectProvider<DataSource> dataSource;
+  private final Bulkhead checkIn;
+  private final Bulkhead reporting;
+  private final Bulkhead listing;
+
+  public BulkheadRegistry(
+      BulkheadProperties properties,
+      MeterRegistry meterRegistry,
+      ObjectProvider<DataSource> dataSource) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.dataSource = dataSource;
+    this.checkIn = create("check-in", properties.getCheckIn());
+    this.reporting = create("reporting", properties.getReporting());
+    this.listing = create("listing", properties.getListing());
+  }
+
+  @PostConstruct
+  public void checkPoolReservation() {
+    if (!properties.isEnabled() || !(dataSource.getIfAvailable() instanceof HikariDataSource hikari)) {
+      return;
+    }
+    int reserved = hikari.getMaximumPoolSize() - reporting.getMaxConcurrent() - listing.getMaxConcurrent();
+    if (reserved < MIN_RESERVED_CONNECTIONS) {
+      logger.warn("Bulkheads: reporting ({}) + listing ({}) leave only {} of {} pool connections for check-ins and writes",
+          reporting.getMaxConcurrent(), listing.getMaxConcurrent(), reserved, hikari.getMaximumPoolSize());
+    }
+  }
+
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  public long getRetryAfterSeconds() {
+    return Math.max(1, properties.getRetryAfterSeconds());
+  }
+
+  /**
+   * The bulkhead a request goes through, or null if it is not limited
+   */
+  public Bulkhead bulkheadFor(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    String method = request.getMethod();
+    if ("POST".equals(method)
+        && (path.equals("/api/attendance/check-in") || path.equals("/api/attendance/check-out"))) {
+      return checkIn;
+    }
+    if (!"GET".equals(method) || !path.startsWith("/api/")
+        || path.startsWith("/api/auth/") || path.startsWith("/api/admin/")) {
+      return null;
+    }
+    for (String prefix : REPORTING_PREFIXES) {
+      if (path.startsWith(prefix)) {
+        return reporting;
+      }
+    }
+    return listing;
+  }
+
+  public void recordRejection(Bulkhead bulkhead, Bulkhead.Outcome outcome) {
+    meterRegistry.counter("sgms.bulkhead.rejected",
+        "bulkhead", bulkhead.getName(),
+        "reason", outcome.name().toLowerCase(Locale.ROOT)).increment();
+  }
+
+  public List<BulkheadStatusResponse> getStatuses() {
+    return List.of(checkIn, reporting, listing).stream()
+        .map(this::toStatus)
+        .toList();
+  }
+
+  private Bulkhead create(String name, BulkheadProperties.Compartment limits) {
+    Bulkhead bulkhead = new Bulkhead(name, limits.getMaxConcurrent(), limits.getMaxWaiting(),
+        Duration.ofMillis(limits.getMaxWaitMs()), limits.getPerTenant());
+    Gauge.builder("sgms.bulkhead.active", bulkhead, Bulkhead::getActive)
+        .tag("bulkhead", name)
+        .description("Requests holding a bulkhead slot")
+        .register(meterRegistry);
+    Gauge.builder("sgms.bulkhead.waiting", bulkhead, Bulkhead::getWaiting)
+        .tag("bulkhead", name)
+        .description("Requests waiting for a bulkhead slot")
+        .register(meterRegistry);
+    Gauge.builder("sgms.bulkhead.saturation", bulkhead, Bulkhead::getSaturation)
+        .tag("bulkhead", name)
+        .description("Share of bulkhead slots in use")
+        .register(meterRegistry);
+    Gauge.builder("sgms.bulkhead.limit", bulkhead, Bulkhead::getMaxConcurrent)
+        .tag("bulkhead", name)
+        .register(meterRegistry);
+    return bulkhead;
+  }
+
+  private BulkheadStatusResponse toStatus(Bulkhead bulkhead) {
+    BulkheadStatusResponse status = new BulkheadStatusResponse();
+    status.setName(bulkhead.getName());
+    status.setMaxConcurrent(bulkhead.getMaxConcurrent());
+    status.setActive(bulkhead.getActive());
+    status.setMaxWaiting(bulkhead.getMaxWaiting());
+    status.setWaiting(bulkhead.getWaiting());
+    status.setPerTenant(bulkhead.getPerTenant());
+    status.setSaturation(bulkhead.getSaturation());
+    status.setRejected(bulkhead.getRejected());
+    return status;
+  }
+}
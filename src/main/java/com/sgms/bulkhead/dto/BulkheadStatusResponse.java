@@ -0,0 +1,94 @@
+package com.sgms.bulkhead.dto;
+
+/**
+ * Current load of one request bulkhead
+ */
+public class BulkheadStatusResponse {
+
+  private String name;
+  private int maxConcurrent;
+  private int active;
+  private int maxWaiting;
+  private int waiting;
+
+  /**
+   * Concurrent requests allowed per tenant (0 = no per-tenant limit)
+   */
+  private int perTenant;
+
+  /**
+   * active / maxConcurrent
+   */
+  private double saturation;
+
+  /**
+   * Requests turned away since startup
+   */
+  private long rejected;
+
+  // Getters and Setters
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  public void setMaxConcurrent(int maxConcurrent) {
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  public int getActive() {
+    return active;
+  }
+
+  public void setActive(int active) {
+    this.active = active;
+  }
+
+  public int getMaxWaiting() {
+    return maxWaiting;
+  }
+
+  public void setMaxWaiting(int maxWaiting) {
+    this.maxWaiting = maxWaiting;
+  }
+
+  public int getWaiting() {
+    return waiting;
+  }
+
+  public void setWaiting(int waiting) {
+    this.waiting = waiting;
+  }
+
+  public int getPerTenant() {
+    return perTenant;
+  }
+
+  public void setPerTenant(int perTenant) {
+    this.perTenant = perTenant;
+  }
+
+  public double getSaturation() {
+    return saturation;
+  }
+
+  public void setSaturation(double saturation) {
+    this.saturation = saturation;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  public void setRejected(long rejected) {
+    this.rejected = rejected;
+  }
+}
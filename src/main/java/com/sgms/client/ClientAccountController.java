@@ -3,11 +3,13 @@ package com.sgms.client;
 import com.sgms.client.dto.ClientResponse;
 import com.sgms.client.dto.CreateClientRequest;
 import com.sgms.common.ApiResponse;
+import com.sgms.common.ListParams;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -50,11 +52,17 @@ public class ClientAccountController {
    * Get all client accounts
    * 
    * GET /api/clients
+   * GET /api/clients?limit=50&sort=name&fields=id,name&cursor=...
    * Requires: ADMIN role
+   * 
+   * Returns a cursor page when any of limit, cursor, sort or fields is given
    */
   @GetMapping
   @PreAuthorize("hasRole('ADMIN')")
-  public ApiResponse<List<ClientResponse>> getAllClients() {
+  public ApiResponse<?> getAllClients(@ModelAttribute ListParams page) {
+    if (page.isPaged()) {
+      return ApiResponse.success(clientAccountService.listClients(page));
+    }
     List<ClientResponse> clients = clientAccountService.getAllClients();
     return ApiResponse.success(clients);
   }
@@ -1,5 +1,6 @@
 package com.sgms.client;
 
+import com.sgms.client.dto.ClientResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,6 +14,10 @@ import java.util.Optional;
 @Repository
 public interface ClientAccountRepository extends JpaRepository<ClientAccountEntity, Long> {
 
+  String RESPONSE_SELECT = "SELECT new com.sgms.client.dto.ClientResponse(" +
+      "c.id, c.name, c.status, c.createdAt, c.deletedAt) " +
+      "FROM ClientAccountEntity c ";
+
   /**
    * Find all active (non-deleted) client accounts
    */
@@ -30,4 +35,22 @@ public interface ClientAccountRepository extends JpaRepository<ClientAccountEnti
    */
   @Query("SELECT COUNT(c) > 0 FROM ClientAccountEntity c WHERE LOWER(c.name) = LOWER(:name) AND c.deletedAt IS NULL")
   boolean existsByNameIgnoreCaseAndActive(String name);
+
+  /**
+   * Check that an active client account exists (no entity loading)
+   */
+  @Query("SELECT COUNT(c) > 0 FROM ClientAccountEntity c WHERE c.id = :id AND c.deletedAt IS NULL")
+  boolean existsActiveById(Long id);
+
+  /**
+   * Read projection of all active client accounts
+   */
+  @Query(RESPONSE_SELECT + "WHERE c.deletedAt IS NULL ORDER BY c.createdAt DESC")
+  List<ClientResponse> findAllActiveResponses();
+
+  /**
+   * Read projection of an active client account
+   */
+  @Query(RESPONSE_SELECT + "WHERE c.id = :id AND c.deletedAt IS NULL")
+  Optional<ClientResponse> findActiveResponseById(Long id);
 }
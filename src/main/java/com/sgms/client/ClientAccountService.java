@@ -2,6 +2,11 @@ package com.sgms.client;
 
 import com.sgms.client.dto.ClientResponse;
 import com.sgms.client.dto.CreateClientRequest;
+import com.sgms.common.CursorPage;
+import com.sgms.common.KeysetPager;
+import com.sgms.common.ListParams;
+import com.sgms.common.ListingSpec;
+import com.sgms.common.ListingSpec.ColumnType;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,7 +15,6 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing client accounts
@@ -18,12 +22,24 @@ import java.util.stream.Collectors;
 @Service
 public class ClientAccountService {
 
+  private static final ListingSpec CLIENT_LISTING = ListingSpec.builder("client_accounts c", "c.id")
+      .where("c.deleted_at IS NULL")
+      .sortableField("id", "c.id", ColumnType.LONG)
+      .sortableField("name", "c.name", ColumnType.TEXT)
+      .field("status", "c.status", ColumnType.TEXT)
+      .sortableField("createdAt", "c.created_at", ColumnType.TIMESTAMP)
+      .field("deletedAt", "c.deleted_at", ColumnType.TIMESTAMP)
+      .defaultSort("-createdAt")
+      .build();
+
   private final ClientAccountRepository clientAccountRepository;
   private final Clock clock;
+  private final KeysetPager keysetPager;
 
-  public ClientAccountService(ClientAccountRepository clientAccountRepository, Clock clock) {
+  public ClientAccountService(ClientAccountRepository clientAccountRepository, Clock clock, KeysetPager keysetPager) {
     this.clientAccountRepository = clientAccountRepository;
     this.clock = clock;
+    this.keysetPager = keysetPager;
   }
 
   /**
@@ -50,10 +66,15 @@ public class ClientAccountService {
    */
   @Transactional(readOnly = true)
   public List<ClientResponse> getAllClients() {
-    return clientAccountRepository.findAllActive()
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return clientAccountRepository.findAllActiveResponses();
+  }
+
+  /**
+   * One page of active client accounts
+   */
+  @Transactional(readOnly = true)
+  public CursorPage listClients(ListParams params) {
+    return keysetPager.fetch(CLIENT_LISTING, params);
   }
 
   /**
@@ -61,12 +82,11 @@ public class ClientAccountService {
    */
   @Transactional(readOnly = true)
   public ClientResponse getClientById(Long id) {
-    ClientAccountEntity client = clientAccountRepository.findActiveById(id)
+    return clientAccountRepository.findActiveResponseById(id)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.NOT_FOUND,
             "Client account not found with id: " + id
         ));
-    return mapToResponse(client);
   }
 
   /**
@@ -13,6 +13,25 @@ public class ClientResponse {
   private Instant createdAt;
   private Instant deletedAt;
 
+  public ClientResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public ClientResponse(
+      Long id,
+      String name,
+      String status,
+      Instant createdAt,
+      Instant deletedAt) {
+    this.id = id;
+    this.name = name;
+    this.status = status;
+    this.createdAt = createdAt;
+    this.deletedAt = deletedAt;
+  }
+
   public Long getId() {
     return id;
   }
@@ -0,0 +1,71 @@
+package com.sgms.common;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyset-paged list
+ * 
+ * items hold only the requested fields. nextCursor is null on the last page.
+ */
+public class CursorPage {
+
+  private List<Map<String, Object>> items;
+  private int limit;
+  private String sort;
+  private boolean hasMore;
+  private String nextCursor;
+
+  /**
+   * Page with no items (caller may not see any rows)
+   */
+  public static CursorPage empty(int limit, String sort) {
+    CursorPage page = new CursorPage();
+    page.setItems(List.of());
+    page.setLimit(limit);
+    page.setSort(sort);
+    return page;
+  }
+
+  // Getters and Setters
+
+  public List<Map<String, Object>> getItems() {
+    return items;
+  }
+
+  public void setItems(List<Map<String, Object>> items) {
+    this.items = items;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  public String getSort() {
+    return sort;
+  }
+
+  public void setSort(String sort) {
+    this.sort = sort;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
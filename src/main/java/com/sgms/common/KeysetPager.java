@@ -0,0 +1,264 @@
+package com.sgms.common;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyset (cursor) pagination with sort whitelists and sparse field selection
+ * 
+ * Builds one SQL query per page from a {@link ListingSpec}:
+ * - SELECT lists only the requested fields plus the sort key and id
+ * - Joins are added only for the aliases those fields use
+ * - WHERE (sort, id) > (cursor sort, cursor id) ORDER BY sort, id LIMIT n + 1
+ * 
+ * With an index on (sort column, id) each page is an index range scan, so
+ * cost follows the page size rather than the table size or page depth.
+ */
+@Component
+public class KeysetPager {
+
+  static final int DEFAULT_LIMIT = 50;
+  static final int MAX_LIMIT = 200;
+
+  private static final Base64.Encoder CURSOR_ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder CURSOR_DECODER = Base64.getUrlDecoder();
+
+  private record SortKey(ListingSpec.Field field, boolean descending) {
+
+    String token() {
+      return (descending ? "-" : "") + field.name();
+    }
+  }
+
+  private record Cursor(Object sortValue, long id) {
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public KeysetPager(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Fetch one page of the listing
+   * 
+   * @throws IllegalArgumentException for unknown fields, non-whitelisted sorts or malformed cursors
+   */
+  public CursorPage fetch(ListingSpec spec, ListParams params) {
+    int limit = resolveLimit(params);
+    SortKey sort = resolveSort(spec, params.getSort());
+    List<ListingSpec.Field> selected = resolveFields(spec, params.getFields());
+    Cursor cursor = params.getCursor() != null ? decodeCursor(params.getCursor(), sort) : null;
+
+    String sortColumn = sort.field().column();
+    boolean sortById = sortColumn.equals(spec.idColumn());
+    String direction = sort.descending() ? "DESC" : "ASC";
+    String comparison = sort.descending() ? "<" : ">";
+
+    StringBuilder sql = new StringBuilder("SELECT ");
+    for (int i = 0; i < selected.size(); i++) {
+      sql.append(selected.get(i).column()).append(" AS f").append(i).append(", ");
+    }
+    sql.append(sortColumn).append(" AS sort_key, ").append(spec.idColumn()).append(" AS row_id");
+    sql.append(" FROM ").append(spec.from());
+    for (String join : requiredJoins(spec, selected, sort.field())) {
+      sql.append(' ').append(join);
+    }
+
+    List<String> predicates = new ArrayList<>(spec.predicates());
+    List<Object> args = new ArrayList<>(spec.parameters());
+    if (cursor != null) {
+      if (sortById) {
+        predicates.add(spec.idColumn() + " " + comparison + " ?");
+        args.add(cursor.id());
+      } else {
+        predicates.add("(" + sortColumn + ", " + spec.idColumn() + ") " + comparison + " (?, ?)");
+        args.add(cursor.sortValue());
+        args.add(cursor.id());
+      }
+    }
+    if (!predicates.isEmpty()) {
+      sql.append(" WHERE ").append(String.join(" AND ", predicates));
+    }
+    sql.append(" ORDER BY ").append(sortColumn).append(' ').append(direction);
+    if (!sortById) {
+      sql.append(", ").append(spec.idColumn()).append(' ').append(direction);
+    }
+    sql.append(" LIMIT ?");
+    args.add(limit + 1);
+
+    List<Object[]> keys = new ArrayList<>();
+    List<Map<String, Object>> items = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+      Map<String, Object> item = new LinkedHashMap<>();
+      for (int i = 0; i < selected.size(); i++) {
+        item.put(selected.get(i).name(), read(rs, "f" + i, selected.get(i).type()));
+      }
+      keys.add(new Object[] {read(rs, "sort_key", sort.field().type()), rs.getLong("row_id")});
+      return item;
+    }, args.toArray());
+
+    CursorPage page = new CursorPage();
+    page.setLimit(limit);
+    page.setSort(sort.token());
+    page.setHasMore(items.size() > limit);
+    if (items.size() > limit) {
+      items = new ArrayList<>(items.subList(0, limit));
+      Object[] last = keys.get(limit - 1);
+      page.setNextCursor(encodeCursor(sort, last[0], (Long) last[1]));
+    }
+    page.setItems(items);
+    return page;
+  }
+
+  /**
+   * Empty page shaped like fetch() would return (for callers that may see no rows)
+   */
+  public CursorPage empty(ListingSpec spec, ListParams params) {
+    return CursorPage.empty(resolveLimit(params), resolveSort(spec, params.getSort()).token());
+  }
+
+  private static int resolveLimit(ListParams params) {
+    if (params.getLimit() == null) {
+      return DEFAULT_LIMIT;
+    }
+    if (params.getLimit() < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+    return Math.min(MAX_LIMIT, params.getLimit());
+  }
+
+  private static SortKey resolveSort(ListingSpec spec, String requested) {
+    String token = requested != null && !requested.isBlank() ? requested.trim() : spec.defaultSort();
+    boolean descending = token.startsWith("-");
+    String name = descending ? token.substring(1) : token;
+    ListingSpec.Field field = spec.fields().get(name);
+    if (field == null || !field.sortable()) {
+      throw new IllegalArgumentException("Cannot sort by '" + name + "'. Sortable fields: "
+          + String.join(", ", spec.fields().values().stream()
+              .filter(ListingSpec.Field::sortable)
+              .map(ListingSpec.Field::name)
+              .toList()));
+    }
+    return new SortKey(field, descending);
+  }
+
+  private static List<ListingSpec.Field> resolveFields(ListingSpec spec, String requested) {
+    if (requested == null || requested.isBlank()) {
+      return new ArrayList<>(spec.fields().values());
+    }
+    Set<String> names = new LinkedHashSet<>();
+    for (String name : requested.split(",")) {
+      if (!name.isBlank()) {
+        names.add(name.trim());
+      }
+    }
+    List<ListingSpec.Field> selected = new ArrayList<>(names.size());
+    for (String name : names) {
+      ListingSpec.Field field = spec.fields().get(name);
+      if (field == null) {
+        throw new IllegalArgumentException("Unknown field '" + name + "'. Available fields: "
+            + String.join(", ", spec.fields().keySet()));
+      }
+      selected.add(field);
+    }
+    return selected;
+  }
+
+  /**
+   * JOIN clauses needed by the selected and sort fields, dependencies first
+   */
+  private static List<String> requiredJoins(
+      ListingSpec spec,
+      List<ListingSpec.Field> selected,
+      ListingSpec.Field sortField) {
+    Set<String> aliases = new LinkedHashSet<>();
+    for (ListingSpec.Field field : selected) {
+      field.joins().forEach(alias -> addJoin(spec, alias, aliases));
+    }
+    sortField.joins().forEach(alias -> addJoin(spec, alias, aliases));
+    return aliases.stream().map(alias -> spec.joins().get(alias).sql()).toList();
+  }
+
+  private static void addJoin(ListingSpec spec, String alias, Set<String> aliases) {
+    if (aliases.contains(alias)) {
+      return;
+    }
+    ListingSpec.Join join = spec.joins().get(alias);
+    if (join == null) {
+      throw new IllegalStateException("Listing over " + spec.from() + " has no join '" + alias + "'");
+    }
+    join.dependsOn().forEach(dependency -> addJoin(spec, dependency, aliases));
+    aliases.add(alias);
+  }
+
+  private static Object read(ResultSet rs, String column, ListingSpec.ColumnType type) throws SQLException {
+    return switch (type) {
+      case LONG -> rs.getObject(column, Long.class);
+      case INTEGER -> rs.getObject(column, Integer.class);
+      case TEXT -> rs.getString(column);
+      case DECIMAL -> rs.getBigDecimal(column);
+      case BOOLEAN -> rs.getObject(column, Boolean.class);
+      case DATE -> rs.getObject(column, LocalDate.class);
+      case TIME -> rs.getObject(column, LocalTime.class);
+      case TIMESTAMP -> {
+        OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+        yield value != null ? value.toInstant() : null;
+      }
+    };
+  }
+
+  /**
+   * Cursor = base64url("sortToken\nsortValue\nid"); the sort token guards against reuse under another sort
+   */
+  private static String encodeCursor(SortKey sort, Object sortValue, long id) {
+    String raw = sort.token() + "\n" + sortValue + "\n" + id;
+    return CURSOR_ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Cursor decodeCursor(String encoded, SortKey sort) {
+    try {
+      String raw = new String(CURSOR_DECODER.decode(encoded), StandardCharsets.UTF_8);
+      int first = raw.indexOf('\n');
+      int last = raw.lastIndexOf('\n');
+      if (first < 0 || first == last || !raw.substring(0, first).equals(sort.token())) {
+        throw new IllegalArgumentException("Cursor does not match sort '" + sort.token() + "'");
+      }
+      String value = raw.substring(first + 1, last);
+      long id = Long.parseLong(raw.substring(last + 1));
+      return new Cursor(parseSortValue(value, sort.field().type()), id);
+    } catch (NumberFormatException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Malformed cursor");
+    }
+  }
+
+  private static Object parseSortValue(String value, ListingSpec.ColumnType type) {
+    return switch (type) {
+      case LONG -> Long.parseLong(value);
+      case INTEGER -> Integer.parseInt(value);
+      case TEXT -> value;
+      case DECIMAL -> new BigDecimal(value);
+      case BOOLEAN -> Boolean.parseBoolean(value);
+      case DATE -> LocalDate.parse(value);
+      case TIME -> LocalTime.parse(value);
+      case TIMESTAMP -> OffsetDateTime.ofInstant(Instant.parse(value), ZoneOffset.UTC);
+    };
+  }
+}
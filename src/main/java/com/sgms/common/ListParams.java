@@ -0,0 +1,71 @@
+package com.sgms.common;
+
+/**
+ * Query parameters shared by paged list endpoints
+ * 
+ * Bound from the query string, e.g. ?limit=50&sort=-createdAt&fields=id,name&cursor=...
+ * When none are given, endpoints keep returning their full legacy list.
+ */
+public class ListParams {
+
+  /**
+   * Page size (default 50, capped at 200)
+   */
+  private Integer limit;
+
+  /**
+   * Opaque cursor from the previous page's nextCursor
+   */
+  private String cursor;
+
+  /**
+   * Sort field from the endpoint's whitelist, prefixed with '-' for descending
+   */
+  private String sort;
+
+  /**
+   * Comma-separated response fields; all fields when omitted
+   */
+  private String fields;
+
+  /**
+   * True when any paging, sorting or projection parameter was supplied
+   */
+  public boolean isPaged() {
+    return limit != null || cursor != null || sort != null || fields != null;
+  }
+
+  // Getters and Setters
+
+  public Integer getLimit() {
+    return limit;
+  }
+
+  public void setLimit(Integer limit) {
+    this.limit = limit;
+  }
+
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  public String getSort() {
+    return sort;
+  }
+
+  public void setSort(String sort) {
+    this.sort = sort;
+  }
+
+  public String getFields() {
+    return fields;
+  }
+
+  public void setFields(String fields) {
+    this.fields = fields;
+  }
+}
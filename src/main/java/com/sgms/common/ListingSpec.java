@@ -0,0 +1,164 @@
+package com.sgms.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarative description of a pageable list for {@link KeysetPager}
+ * 
+ * Maps each public response field to the SQL expression that produces it.
+ * Joins are only added to the query when a selected or sorted field needs
+ * them, so a narrow fields= selection also narrows the query. Joins must be
+ * to-one LEFT JOINs so that leaving one out never changes the row set.
+ * 
+ * Sortable fields must be NOT NULL columns: the keyset cursor compares
+ * (sort value, id) pairs. Specs are immutable; {@link #where} returns a
+ * copy with an extra predicate (e.g. a caller's access scope).
+ */
+public final class ListingSpec {
+
+  public enum ColumnType {
+    LONG, INTEGER, TEXT, DECIMAL, BOOLEAN, DATE, TIME, TIMESTAMP
+  }
+
+  public record Field(String name, String column, ColumnType type, boolean sortable, List<String> joins) {
+  }
+
+  record Join(String alias, String sql, List<String> dependsOn) {
+  }
+
+  private final String from;
+  private final String idColumn;
+  private final String defaultSort;
+  private final Map<String, Field> fields;
+  private final Map<String, Join> joins;
+  private final List<String> predicates;
+  private final List<Object> parameters;
+
+  private ListingSpec(
+      String from,
+      String idColumn,
+      String defaultSort,
+      Map<String, Field> fields,
+      Map<String, Join> joins,
+      List<String> predicates,
+      List<Object> parameters) {
+    this.from = from;
+    this.idColumn = idColumn;
+    this.defaultSort = defaultSort;
+    this.fields = fields;
+    this.joins = joins;
+    this.predicates = predicates;
+    this.parameters = parameters;
+  }
+
+  /**
+   * Start a spec over a FROM clause (table and alias) keyed by a unique, NOT NULL id column
+   */
+  public static Builder builder(String from, String idColumn) {
+    return new Builder(from, idColumn);
+  }
+
+  /**
+   * Copy of this spec with an additional WHERE predicate and its bind parameters
+   */
+  public ListingSpec where(String predicate, Object... params) {
+    List<String> morePredicates = new ArrayList<>(predicates);
+    morePredicates.add(predicate);
+    List<Object> moreParameters = new ArrayList<>(parameters);
+    moreParameters.addAll(Arrays.asList(params));
+    return new ListingSpec(from, idColumn, defaultSort, fields, joins,
+        Collections.unmodifiableList(morePredicates), Collections.unmodifiableList(moreParameters));
+  }
+
+  String from() {
+    return from;
+  }
+
+  String idColumn() {
+    return idColumn;
+  }
+
+  String defaultSort() {
+    return defaultSort;
+  }
+
+  Map<String, Field> fields() {
+    return fields;
+  }
+
+  Map<String, Join> joins() {
+    return joins;
+  }
+
+  List<String> predicates() {
+    return predicates;
+  }
+
+  List<Object> parameters() {
+    return parameters;
+  }
+
+  public static final class Builder {
+
+    private final String from;
+    private final String idColumn;
+    private String defaultSort;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+    private final Map<String, Join> joins = new LinkedHashMap<>();
+    private final List<String> predicates = new ArrayList<>();
+
+    private Builder(String from, String idColumn) {
+      this.from = from;
+      this.idColumn = idColumn;
+    }
+
+    /**
+     * Optional to-one LEFT JOIN, included only when a requested field needs its alias
+     */
+    public Builder join(String alias, String sql, String... dependsOn) {
+      joins.put(alias, new Join(alias, sql, List.of(dependsOn)));
+      return this;
+    }
+
+    /**
+     * Predicate applied to every query (e.g. soft-delete filter)
+     */
+    public Builder where(String predicate) {
+      predicates.add(predicate);
+      return this;
+    }
+
+    public Builder field(String name, String column, ColumnType type, String... joinAliases) {
+      fields.put(name, new Field(name, column, type, false, List.of(joinAliases)));
+      return this;
+    }
+
+    public Builder sortableField(String name, String column, ColumnType type, String... joinAliases) {
+      fields.put(name, new Field(name, column, type, true, List.of(joinAliases)));
+      return this;
+    }
+
+    /**
+     * Sort used when the request gives none, e.g. "-createdAt"
+     */
+    public Builder defaultSort(String sort) {
+      this.defaultSort = sort;
+      return this;
+    }
+
+    public ListingSpec build() {
+      if (defaultSort == null) {
+        throw new IllegalStateException("Listing over " + from + " needs a default sort");
+      }
+      return new ListingSpec(from, idColumn, defaultSort,
+          Collections.unmodifiableMap(new LinkedHashMap<>(fields)),
+          Collections.unmodifiableMap(new LinkedHashMap<>(joins)),
+          List.copyOf(predicates), List.of());
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.sgms.coverage;
+
+import com.sgms.coverage.dto.CoverageCell;
+import com.sgms.scheduling.ClusterJobRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CoverageAlertScheduler - Early warning for unstaffed posts
+ * 
+ * Periodically computes coverage for the upcoming horizon and logs a WARN
+ * alert when any post/shift/day has fewer assigned guards than required,
+ * so supervisors can roster before the shift starts.
+ */
+@Component
+public class CoverageAlertScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(CoverageAlertScheduler.class);
+
+  static final String JOB_NAME = "coverage.gap-alert";
+  private static final int MAX_LOGGED_GAPS = 20;
+
+  private final CoverageService coverageService;
+  private final ClusterJobRunner clusterJobRunner;
+  private final int horizonDays;
+
+  public CoverageAlertScheduler(
+      CoverageService coverageService,
+      ClusterJobRunner clusterJobRunner,
+      @Value("${app.coverage.alert-horizon-days:7}") int horizonDays) {
+    this.coverageService = coverageService;
+    this.clusterJobRunner = clusterJobRunner;
+    this.horizonDays = horizonDays;
+  }
+
+  /**
+   * Alert on assignment gaps from today through the configured horizon
+   * 
+   * Cron: app.coverage.alert-cron (default every day at 06:30:00)
+   */
+  @Scheduled(cron = "${app.coverage.alert-cron:0 30 6 * * *}")
+  public void alertOnCoverageGaps() {
+    try {
+      clusterJobRunner.runExclusive(JOB_NAME, Duration.ofMinutes(30), () -> {
+        logger.info("Starting scheduled job: Coverage gap alert");
+        logCoverageGaps();
+      });
+    } catch (Exception e) {
+      logger.error("Error in alertOnCoverageGaps scheduled job", e);
+    }
+  }
+
+  private void logCoverageGaps() {
+    LocalDate today = coverageService.today();
+    LocalDate horizonEnd = today.plusDays(Math.max(0, horizonDays - 1));
+    CoverageMatrix matrix = coverageService.computeCoverage(today, horizonEnd);
+
+    List<CoverageCell> gaps = new ArrayList<>();
+    long[] gapCount = {0};
+    long[] missing = {0};
+    // Future attendance is not due yet; only rostering gaps are alerted
+    matrix.forEachCell(true, today.minusDays(1), cell -> {
+      if (cell.getAssignmentGap() == 0) {
+        return;
+      }
+      gapCount[0]++;
+      missing[0] += cell.getAssignmentGap();
+      if (gaps.size() < MAX_LOGGED_GAPS) {
+        gaps.add(cell);
+      }
+    });
+
+    if (gapCount[0] == 0) {
+      logger.info("All posts fully rostered from {} to {}", today, horizonEnd);
+      return;
+    }
+
+    logger.warn("COVERAGE GAP: {} post shifts short by {} guards from {} to {}",
+        gapCount[0], missing[0], today, horizonEnd);
+    for (CoverageCell cell : gaps) {
+      logger.warn("  {} {} / {} [{}]: {} of {} guards assigned",
+          cell.getDate(), cell.getSiteName(), cell.getPostName(), cell.getShiftTypeName(),
+          cell.getAssignedGuards(), cell.getRequiredGuards());
+    }
+    if (gapCount[0] > gaps.size()) {
+      logger.warn("  ... and {} more", gapCount[0] - gaps.size());
+    }
+  }
+}
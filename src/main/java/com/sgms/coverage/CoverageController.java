@@ -0,0 +1,102 @@
+package com.sgms.coverage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgms.common.ApiResponse;
+import com.sgms.coverage.dto.CoverageSummaryResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Controller for site post coverage analysis
+ * 
+ * Compares required guards per post and shift with rostered assignments
+ * and actual check-ins.
+ * Authorization: ADMIN and SUPERVISOR roles only
+ */
+@RestController
+@RequestMapping("/api/coverage")
+public class CoverageController {
+
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+  private final CoverageService coverageService;
+  private final ObjectMapper objectMapper;
+
+  public CoverageController(CoverageService coverageService, ObjectMapper objectMapper) {
+    this.coverageService = coverageService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Stream coverage cells (one JSON object per line)
+   * 
+   * GET /api/coverage?from=2026-03-01&to=2026-05-29&gapsOnly=true
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Query params:
+   * - from (required): first date, YYYY-MM-DD
+   * - to (required): last date, YYYY-MM-DD (at most 366 days after from)
+   * - gapsOnly (optional): only cells with an assignment or attendance gap, default false
+   * 
+   * Cells are ordered by date, site, post and shift start time.
+   */
+  @GetMapping
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ResponseEntity<StreamingResponseBody> streamCoverage(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "false") boolean gapsOnly) {
+    // Computed before streaming so validation errors still produce a normal error response
+    CoverageMatrix matrix = coverageService.computeCoverage(from, to);
+    LocalDate today = coverageService.today();
+
+    StreamingResponseBody body = outputStream -> {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      try {
+        matrix.forEachCell(gapsOnly, today, cell -> {
+          try {
+            writer.write(objectMapper.writeValueAsString(cell));
+            writer.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      writer.flush();
+    };
+
+    return ResponseEntity.ok().contentType(NDJSON).body(body);
+  }
+
+  /**
+   * Coverage gap totals for a date range
+   * 
+   * GET /api/coverage/summary?from=2026-03-01&to=2026-03-31
+   * Requires: ADMIN or SUPERVISOR role
+   */
+  @GetMapping("/summary")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<CoverageSummaryResponse> getSummary(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    CoverageSummaryResponse summary = coverageService.getSummary(from, to);
+    return ApiResponse.success(summary);
+  }
+}
@@ -0,0 +1,196 @@
+package com.sgms.coverage;
+
+import com.sgms.coverage.dto.CoverageCell;
+import com.sgms.coverage.dto.CoverageSummaryResponse;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Dense post x shift x day coverage counts for a date range
+ * 
+ * Counts live in flat int arrays (one row of days per post/shift pair), so
+ * thousands of posts over a 90-day horizon take a few megabytes and cells
+ * are only materialized as DTOs while being streamed.
+ * 
+ * Assignments are added as date ranges through a difference array and
+ * resolved with one prefix-sum pass in {@link #seal()}.
+ */
+class CoverageMatrix {
+
+  record Post(Long id, String postName, int requiredGuards, Long siteId, String siteName) {
+  }
+
+  record Shift(Long id, String name) {
+  }
+
+  private final LocalDate from;
+  private final int days;
+  private final List<Post> posts;
+  private final List<Shift> shifts;
+  private final Map<Long, Integer> postIndex = new HashMap<>();
+  private final Map<Long, Integer> shiftIndex = new HashMap<>();
+  // Row stride is days + 1 so range ends can be recorded one past the last day
+  private final int[] assigned;
+  private final int[] checkedIn;
+  private boolean sealed;
+
+  CoverageMatrix(LocalDate from, LocalDate to, List<Post> posts, List<Shift> shifts) {
+    this.from = from;
+    this.days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+    this.posts = posts;
+    this.shifts = shifts;
+    for (int i = 0; i < posts.size(); i++) {
+      postIndex.put(posts.get(i).id(), i);
+    }
+    for (int i = 0; i < shifts.size(); i++) {
+      shiftIndex.put(shifts.get(i).id(), i);
+    }
+    int rows = posts.size() * shifts.size();
+    this.assigned = new int[rows * (days + 1)];
+    this.checkedIn = new int[rows * (days + 1)];
+  }
+
+  /**
+   * Count one guard on the post/shift for every day of [effectiveFrom, effectiveTo]
+   * clipped to the matrix range (null effectiveTo = open-ended)
+   */
+  void addAssignment(Long sitePostId, Long shiftTypeId, LocalDate effectiveFrom, LocalDate effectiveTo) {
+    int row = row(sitePostId, shiftTypeId);
+    if (row < 0) {
+      return;
+    }
+    int start = Math.max(0, dayIndex(effectiveFrom));
+    int end = effectiveTo == null ? days - 1 : Math.min(days - 1, dayIndex(effectiveTo));
+    if (start > end) {
+      return;
+    }
+    assigned[row + start]++;
+    assigned[row + end + 1]--;
+  }
+
+  /**
+   * Record check-ins on the post/shift for one day
+   */
+  void addCheckIns(Long sitePostId, Long shiftTypeId, LocalDate date, int count) {
+    int row = row(sitePostId, shiftTypeId);
+    int day = dayIndex(date);
+    if (row < 0 || day < 0 || day >= days) {
+      return;
+    }
+    checkedIn[row + day] += count;
+  }
+
+  /**
+   * Resolve the assignment difference array into per-day counts
+   */
+  void seal() {
+    for (int row = 0; row < assigned.length; row += days + 1) {
+      int running = 0;
+      for (int day = 0; day < days; day++) {
+        running += assigned[row + day];
+        assigned[row + day] = running;
+      }
+    }
+    sealed = true;
+  }
+
+  /**
+   * Visit every cell in date, post, shift order
+   * 
+   * @param gapsOnly only visit cells with an assignment or attendance gap
+   * @param today    last date for which attendance gaps are reported
+   */
+  void forEachCell(boolean gapsOnly, LocalDate today, Consumer<CoverageCell> consumer) {
+    checkSealed();
+    for (int day = 0; day < days; day++) {
+      LocalDate date = from.plusDays(day);
+      boolean attendanceDue = !date.isAfter(today);
+      for (int p = 0; p < posts.size(); p++) {
+        Post post = posts.get(p);
+        for (int s = 0; s < shifts.size(); s++) {
+          int index = (p * shifts.size() + s) * (days + 1) + day;
+          int assignmentGap = Math.max(0, post.requiredGuards() - assigned[index]);
+          Integer attendanceGap = attendanceDue ? Math.max(0, post.requiredGuards() - checkedIn[index]) : null;
+          boolean gap = assignmentGap > 0 || (attendanceGap != null && attendanceGap > 0);
+          if (gapsOnly && !gap) {
+            continue;
+          }
+
+          CoverageCell cell = new CoverageCell();
+          cell.setDate(date);
+          cell.setSiteId(post.siteId());
+          cell.setSiteName(post.siteName());
+          cell.setSitePostId(post.id());
+          cell.setPostName(post.postName());
+          cell.setShiftTypeId(shifts.get(s).id());
+          cell.setShiftTypeName(shifts.get(s).name());
+          cell.setRequiredGuards(post.requiredGuards());
+          cell.setAssignedGuards(assigned[index]);
+          cell.setCheckedInGuards(checkedIn[index]);
+          cell.setAssignmentGap(assignmentGap);
+          cell.setAttendanceGap(attendanceGap);
+          consumer.accept(cell);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gap totals over the whole matrix
+   */
+  CoverageSummaryResponse summarize(LocalDate today) {
+    checkSealed();
+    CoverageSummaryResponse summary = new CoverageSummaryResponse();
+    summary.setFrom(from);
+    summary.setTo(from.plusDays(days - 1L));
+    summary.setPosts(posts.size());
+    summary.setCells((long) days * posts.size() * shifts.size());
+
+    long assignmentGapCells = 0;
+    long attendanceGapCells = 0;
+    long missingAssignments = 0;
+    for (int p = 0; p < posts.size(); p++) {
+      int required = posts.get(p).requiredGuards();
+      for (int s = 0; s < shifts.size(); s++) {
+        int row = (p * shifts.size() + s) * (days + 1);
+        for (int day = 0; day < days; day++) {
+          int missing = required - assigned[row + day];
+          if (missing > 0) {
+            assignmentGapCells++;
+            missingAssignments += missing;
+          }
+          if (!from.plusDays(day).isAfter(today) && checkedIn[row + day] < required) {
+            attendanceGapCells++;
+          }
+        }
+      }
+    }
+    summary.setAssignmentGapCells(assignmentGapCells);
+    summary.setAttendanceGapCells(attendanceGapCells);
+    summary.setMissingAssignments(missingAssignments);
+    return summary;
+  }
+
+  private int row(Long sitePostId, Long shiftTypeId) {
+    Integer p = postIndex.get(sitePostId);
+    Integer s = shiftIndex.get(shiftTypeId);
+    if (p == null || s == null) {
+      return -1;
+    }
+    return (p * shifts.size() + s) * (days + 1);
+  }
+
+  private int dayIndex(LocalDate date) {
+    return (int) (date.toEpochDay() - from.toEpochDay());
+  }
+
+  private void checkSealed() {
+    if (!sealed) {
+      throw new IllegalStateException("Coverage matrix must be sealed before reading");
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.sgms.coverage;
+
+import com.sgms.assignment.ShiftTypeEntity;
+import com.sgms.assignment.ShiftTypeRepository;
+import com.sgms.coverage.dto.CoverageSummaryResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service computing site post coverage: required vs assigned vs checked-in guards
+ * 
+ * Every active post is expected to be staffed with requiredGuards for every
+ * shift type on every day. The whole range is computed with three queries,
+ * each consumed row by row into a {@link CoverageMatrix}:
+ * 1. Active posts with their site
+ * 2. Active assignments overlapping the range
+ * 3. Check-ins in the range, aggregated per post, shift and day
+ */
+@Service
+public class CoverageService {
+
+  static final int MAX_RANGE_DAYS = 366;
+
+  private static final String POSTS_SQL =
+      "SELECT sp.id, sp.post_name, sp.required_guards, s.id AS site_id, s.name AS site_name " +
+      "FROM site_posts sp " +
+      "JOIN sites s ON s.id = sp.site_id " +
+      "WHERE sp.deleted_at IS NULL AND s.deleted_at IS NULL " +
+      "ORDER BY s.name, sp.post_name, sp.id";
+
+  private static final String ASSIGNMENTS_SQL =
+      "SELECT site_post_id, shift_type_id, effective_from, effective_to " +
+      "FROM guard_assignments " +
+      "WHERE status = 'ACTIVE' " +
+      "AND guard_id IS NOT NULL " +
+      "AND effective_from <= ? " +
+      "AND (effective_to IS NULL OR effective_to >= ?)";
+
+  private static final String CHECK_INS_SQL =
+      "SELECT ga.site_post_id, ga.shift_type_id, al.attendance_date, COUNT(*) AS checked_in " +
+      "FROM attendance_logs al " +
+      "JOIN guard_assignments ga ON ga.id = al.assignment_id " +
+      "WHERE al.attendance_date BETWEEN ? AND ? " +
+      "AND al.check_in_time IS NOT NULL " +
+      "GROUP BY ga.site_post_id, ga.shift_type_id, al.attendance_date";
+
+  private final ShiftTypeRepository shiftTypeRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+
+  public CoverageService(
+      ShiftTypeRepository shiftTypeRepository,
+      JdbcTemplate jdbcTemplate,
+      Clock clock) {
+    this.shiftTypeRepository = shiftTypeRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+  }
+
+  /**
+   * Compute coverage for every post x shift x day in [from, to]
+   */
+  @Transactional(readOnly = true)
+  public CoverageMatrix computeCoverage(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new IllegalArgumentException("'to' date must be on or after 'from' date");
+    }
+    if (to.toEpochDay() - from.toEpochDay() + 1 > MAX_RANGE_DAYS) {
+      throw new IllegalArgumentException("Coverage range cannot exceed " + MAX_RANGE_DAYS + " days");
+    }
+
+    List<CoverageMatrix.Post> posts = jdbcTemplate.query(POSTS_SQL, (rs, rowNum) -> new CoverageMatrix.Post(
+        rs.getLong("id"),
+        rs.getString("post_name"),
+        rs.getInt("required_guards"),
+        rs.getLong("site_id"),
+        rs.getString("site_name")));
+
+    List<CoverageMatrix.Shift> shifts = shiftTypeRepository.findAll().stream()
+        .sorted(Comparator.comparing(ShiftTypeEntity::getStartTime))
+        .map(shift -> new CoverageMatrix.Shift(shift.getId(), shift.getName()))
+        .collect(Collectors.toList());
+
+    CoverageMatrix matrix = new CoverageMatrix(from, to, posts, shifts);
+
+    jdbcTemplate.query(ASSIGNMENTS_SQL, rs -> {
+      matrix.addAssignment(
+          rs.getLong("site_post_id"),
+          rs.getLong("shift_type_id"),
+          rs.getObject("effective_from", LocalDate.class),
+          rs.getObject("effective_to", LocalDate.class));
+    }, to, from);
+
+    jdbcTemplate.query(CHECK_INS_SQL, rs -> {
+      matrix.addCheckIns(
+          rs.getLong("site_post_id"),
+          rs.getLong("shift_type_id"),
+          rs.getObject("attendance_date", LocalDate.class),
+          rs.getInt("checked_in"));
+    }, from, to);
+
+    matrix.seal();
+    return matrix;
+  }
+
+  /**
+   * Gap totals for [from, to]
+   */
+  @Transactional(readOnly = true)
+  public CoverageSummaryResponse getSummary(LocalDate from, LocalDate to) {
+    return computeCoverage(from, to).summarize(today());
+  }
+
+  LocalDate today() {
+    return LocalDate.now(clock);
+  }
+}
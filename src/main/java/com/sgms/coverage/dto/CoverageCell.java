@@ -0,0 +1,124 @@
+package com.sgms.coverage.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Coverage of one site post for one shift on one day
+ * 
+ * assignmentGap: guards still to be rostered (required - assigned)
+ * attendanceGap: guards missing on the ground (required - checked in);
+ * null for future dates where no check-ins can exist yet
+ */
+public class CoverageCell {
+
+  private LocalDate date;
+  private Long siteId;
+  private String siteName;
+  private Long sitePostId;
+  private String postName;
+  private Long shiftTypeId;
+  private String shiftTypeName;
+  private int requiredGuards;
+  private int assignedGuards;
+  private int checkedInGuards;
+  private int assignmentGap;
+  private Integer attendanceGap;
+
+  // Getters and Setters
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public String getSiteName() {
+    return siteName;
+  }
+
+  public void setSiteName(String siteName) {
+    this.siteName = siteName;
+  }
+
+  public Long getSitePostId() {
+    return sitePostId;
+  }
+
+  public void setSitePostId(Long sitePostId) {
+    this.sitePostId = sitePostId;
+  }
+
+  public String getPostName() {
+    return postName;
+  }
+
+  public void setPostName(String postName) {
+    this.postName = postName;
+  }
+
+  public Long getShiftTypeId() {
+    return shiftTypeId;
+  }
+
+  public void setShiftTypeId(Long shiftTypeId) {
+    this.shiftTypeId = shiftTypeId;
+  }
+
+  public String getShiftTypeName() {
+    return shiftTypeName;
+  }
+
+  public void setShiftTypeName(String shiftTypeName) {
+    this.shiftTypeName = shiftTypeName;
+  }
+
+  public int getRequiredGuards() {
+    return requiredGuards;
+  }
+
+  public void setRequiredGuards(int requiredGuards) {
+    this.requiredGuards = requiredGuards;
+  }
+
+  public int getAssignedGuards() {
+    return assignedGuards;
+  }
+
+  public void setAssignedGuards(int assignedGuards) {
+    this.assignedGuards = assignedGuards;
+  }
+
+  public int getCheckedInGuards() {
+    return checkedInGuards;
+  }
+
+  public void setCheckedInGuards(int checkedInGuards) {
+    this.checkedInGuards = checkedInGuards;
+  }
+
+  public int getAssignmentGap() {
+    return assignmentGap;
+  }
+
+  public void setAssignmentGap(int assignmentGap) {
+    this.assignmentGap = assignmentGap;
+  }
+
+  public Integer getAttendanceGap() {
+    return attendanceGap;
+  }
+
+  public void setAttendanceGap(Integer attendanceGap) {
+    this.attendanceGap = attendanceGap;
+  }
+}
@@ -0,0 +1,79 @@
+package com.sgms.coverage.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO summarizing coverage gaps over a date range
+ */
+public class CoverageSummaryResponse {
+
+  private LocalDate from;
+  private LocalDate to;
+  private int posts;
+  private long cells;
+  private long assignmentGapCells;
+  private long attendanceGapCells;
+
+  /**
+   * Sum of assignment gaps (guard-shifts still to roster)
+   */
+  private long missingAssignments;
+
+  // Getters and Setters
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public void setFrom(LocalDate from) {
+    this.from = from;
+  }
+
+  public LocalDate getTo() {
+    return to;
+  }
+
+  public void setTo(LocalDate to) {
+    this.to = to;
+  }
+
+  public int getPosts() {
+    return posts;
+  }
+
+  public void setPosts(int posts) {
+    this.posts = posts;
+  }
+
+  public long getCells() {
+    return cells;
+  }
+
+  public void setCells(long cells) {
+    this.cells = cells;
+  }
+
+  public long getAssignmentGapCells() {
+    return assignmentGapCells;
+  }
+
+  public void setAssignmentGapCells(long assignmentGapCells) {
+    this.assignmentGapCells = assignmentGapCells;
+  }
+
+  public long getAttendanceGapCells() {
+    return attendanceGapCells;
+  }
+
+  public void setAttendanceGapCells(long attendanceGapCells) {
+    this.attendanceGapCells = attendanceGapCells;
+  }
+
+  public long getMissingAssignments() {
+    return missingAssignments;
+  }
+
+  public void setMissingAssignments(long missingAssignments) {
+    this.missingAssignments = missingAssignments;
+  }
+}
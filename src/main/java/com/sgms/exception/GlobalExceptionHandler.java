@@ -3,6 +3,7 @@ package com.sgms.exception;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -124,7 +125,28 @@ public class GlobalExceptionHandler {
 
     logger.warn("Response status exception: {} on {}", ex.getReason(), request.getRequestURI());
     
-    return ResponseEntity.status(ex.getStatusCode()).body(errorResponse);
+    return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(errorResponse);
+  }
+
+  /**
+   * Handle database constraint violations (unique, exclusion, foreign key)
+   * 
+   * Usually a concurrent request won the race past the service-level checks.
+   */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+      DataIntegrityViolationException ex,
+      HttpServletRequest request) {
+    
+    ErrorResponse errorResponse = new ErrorResponse(
+        "The request conflicts with existing data. Please refresh and try again.",
+        request.getRequestURI(),
+        clock
+    );
+
+    logger.warn("Data integrity violation on {}: {}", request.getRequestURI(), ex.getMostSpecificCause().getMessage());
+    
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
   }
 
   /**
@@ -0,0 +1,30 @@
+package com.sgms.exception;
+
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * ResponseStatusException that tells the client when to retry (Retry-After, whole seconds)
+ */
+public class RetryLaterException extends ResponseStatusException {
+
+  private final long retryAfterSeconds;
+
+  public RetryLaterException(HttpStatusCode status, String reason, Duration retryAfter) {
+    super(status, reason);
+    this.retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  @Override
+  public HttpHeaders getHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    return headers;
+  }
+}
@@ -1,6 +1,7 @@
 package com.sgms.guard;
 
 import com.sgms.common.ApiResponse;
+import com.sgms.common.ListParams;
 import com.sgms.guard.dto.CreateGuardRequest;
 import com.sgms.guard.dto.GuardResponse;
 import com.sgms.security.UserPrincipal;
@@ -11,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -39,7 +41,10 @@ public class GuardController {
 
   @GetMapping
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
-  public ApiResponse<List<GuardResponse>> getAllGuards(@AuthenticationPrincipal UserPrincipal principal) {
+  public ApiResponse<?> getAllGuards(@AuthenticationPrincipal UserPrincipal principal, @ModelAttribute ListParams page) {
+    if (page.isPaged()) {
+      return ApiResponse.success(guardService.listGuards(principal, page));
+    }
     List<GuardResponse> guards = guardService.getAllGuards(principal);
     return ApiResponse.success(guards);
   }
@@ -1,5 +1,7 @@
 package com.sgms.guard;
 
+import com.sgms.guard.dto.GuardResponse;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,7 +9,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface GuardRepository extends JpaRepository<GuardEntity, Long> {
-  
+
+  String RESPONSE_SELECT = "SELECT new com.sgms.guard.dto.GuardResponse(" +
+      "g.id, u.id, u.email, s.id, s.fullName, g.employeeCode, g.firstName, g.lastName, g.phone, " +
+      "g.status, g.hireDate, g.baseSalary, g.perDayRate, g.overtimeRate) " +
+      "FROM GuardEntity g JOIN g.user u LEFT JOIN g.supervisor s ";
+
   @Query("SELECT g FROM GuardEntity g WHERE g.deletedAt IS NULL")
   List<GuardEntity> findAllActive();
 
@@ -22,4 +29,18 @@ public interface GuardRepository extends JpaRepository<GuardEntity, Long> {
 
   @Query("SELECT COUNT(g) > 0 FROM GuardEntity g WHERE g.employeeCode = :employeeCode AND g.deletedAt IS NULL")
   boolean existsByEmployeeCode(@Param("employeeCode") String employeeCode);
+
+  @Query("SELECT g.id FROM GuardEntity g WHERE g.id IN :ids AND g.deletedAt IS NULL")
+  List<Long> findActiveIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Read projections: scalar selects straight into the response DTO, no entity or role loading
+
+  @Query(RESPONSE_SELECT + "WHERE g.deletedAt IS NULL")
+  List<GuardResponse> findAllActiveResponses();
+
+  @Query(RESPONSE_SELECT + "WHERE s.id = :supervisorId AND g.deletedAt IS NULL")
+  List<GuardResponse> findResponsesBySupervisorId(@Param("supervisorId") Long supervisorId);
+
+  @Query(RESPONSE_SELECT + "WHERE g.id = :id AND g.deletedAt IS NULL")
+  Optional<GuardResponse> findActiveResponseById(@Param("id") Long id);
 }
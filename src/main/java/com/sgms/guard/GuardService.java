@@ -1,5 +1,11 @@
 package com.sgms.guard;
 
+import com.sgms.auth.RefreshTokenService;
+import com.sgms.common.CursorPage;
+import com.sgms.common.KeysetPager;
+import com.sgms.common.ListParams;
+import com.sgms.common.ListingSpec;
+import com.sgms.common.ListingSpec.ColumnType;
 import com.sgms.guard.dto.CreateGuardRequest;
 import com.sgms.guard.dto.GuardResponse;
 import com.sgms.user.RoleEntity;
@@ -10,7 +16,6 @@ import com.sgms.security.UserPrincipal;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,18 +25,44 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class GuardService {
 
+  private static final ListingSpec GUARD_LISTING = ListingSpec.builder("guards g", "g.id")
+      .join("u", "LEFT JOIN users u ON u.id = g.user_id")
+      .join("sup", "LEFT JOIN users sup ON sup.id = g.supervisor_user_id")
+      .where("g.deleted_at IS NULL")
+      .sortableField("id", "g.id", ColumnType.LONG)
+      .field("userId", "g.user_id", ColumnType.LONG)
+      .field("email", "u.email", ColumnType.TEXT, "u")
+      .field("supervisorId", "g.supervisor_user_id", ColumnType.LONG)
+      .field("supervisorName", "sup.full_name", ColumnType.TEXT, "sup")
+      .sortableField("employeeCode", "g.employee_code", ColumnType.TEXT)
+      .sortableField("firstName", "g.first_name", ColumnType.TEXT)
+      .field("lastName", "g.last_name", ColumnType.TEXT)
+      .field("phone", "g.phone", ColumnType.TEXT)
+      .field("status", "g.status", ColumnType.TEXT)
+      .field("hireDate", "g.hire_date", ColumnType.DATE)
+      .field("baseSalary", "g.base_salary", ColumnType.DECIMAL)
+      .field("perDayRate", "g.per_day_rate", ColumnType.DECIMAL)
+      .field("overtimeRate", "g.overtime_rate", ColumnType.DECIMAL)
+      .sortableField("createdAt", "g.created_at", ColumnType.TIMESTAMP)
+      .defaultSort("-createdAt")
+      .build();
+
   private final GuardRepository guardRepository;
   private final UserRepository userRepository;
   private final RoleRepository roleRepository;
   private final PasswordEncoder passwordEncoder;
   private final Clock clock;
+  private final KeysetPager keysetPager;
+  private final RefreshTokenService refreshTokenService;
 
-  public GuardService(GuardRepository guardRepository, UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, Clock clock) {
+  public GuardService(GuardRepository guardRepository, UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, Clock clock, KeysetPager keysetPager, RefreshTokenService refreshTokenService) {
     this.guardRepository = guardRepository;
     this.userRepository = userRepository;
     this.roleRepository = roleRepository;
     this.passwordEncoder = passwordEncoder;
     this.clock = clock;
+    this.keysetPager = keysetPager;
+    this.refreshTokenService = refreshTokenService;
   }
 
   @Transactional
@@ -91,34 +122,46 @@ public class GuardService {
     boolean isSupervisor = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_SUPERVISOR"));
 
     if (isAdmin) {
-      return guardRepository.findAllActive().stream()
-          .map(this::mapToResponse)
-          .collect(Collectors.toList());
+      return guardRepository.findAllActiveResponses();
     } else if (isSupervisor) {
-      return guardRepository.findBySupervisorId(principal.getUserId()).stream()
-          .map(this::mapToResponse)
-          .collect(Collectors.toList());
+      return guardRepository.findResponsesBySupervisorId(principal.getUserId());
     } else {
       return List.of();
     }
   }
 
+  /**
+   * One page of guards visible to the caller (ADMIN: all, SUPERVISOR: own guards)
+   */
+  @Transactional(readOnly = true)
+  public CursorPage listGuards(UserPrincipal principal, ListParams params) {
+    boolean isAdmin = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    boolean isSupervisor = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_SUPERVISOR"));
+
+    if (isAdmin) {
+      return keysetPager.fetch(GUARD_LISTING, params);
+    } else if (isSupervisor) {
+      return keysetPager.fetch(GUARD_LISTING.where("g.supervisor_user_id = ?", principal.getUserId()), params);
+    } else {
+      return keysetPager.empty(GUARD_LISTING, params);
+    }
+  }
+
   @Transactional(readOnly = true)
   public GuardResponse getGuardById(Long id, UserPrincipal principal) {
-    GuardEntity guard = guardRepository.findById(id)
-        .filter(g -> g.getDeletedAt() == null)
+    GuardResponse guard = guardRepository.findActiveResponseById(id)
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Guard not found"));
 
     boolean isAdmin = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
     boolean isSupervisor = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_SUPERVISOR"));
 
     if (isSupervisor && !isAdmin) {
-      if (guard.getSupervisor() == null || !guard.getSupervisor().getId().equals(principal.getUserId())) {
+      if (guard.getSupervisorId() == null || !guard.getSupervisorId().equals(principal.getUserId())) {
         throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied to this guard");
       }
     }
 
-    return mapToResponse(guard);
+    return guard;
   }
 
   @Transactional
@@ -185,6 +228,8 @@ public class GuardService {
     guard.setDeletedAt(now);
     guard.getUser().setDeletedAt(now); // Soft delete the user account too
     guardRepository.save(guard);
+    // Outstanding access tokens stop working once this commits
+    refreshTokenService.revokeAllForUser(guard.getUser().getId(), "USER_DELETED");
   }
 
   private GuardResponse mapToResponse(GuardEntity guard) {
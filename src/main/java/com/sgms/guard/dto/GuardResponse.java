@@ -19,6 +19,43 @@ public class GuardResponse {
   private BigDecimal perDayRate;
   private BigDecimal overtimeRate;
 
+  public GuardResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public GuardResponse(
+      Long id,
+      Long userId,
+      String email,
+      Long supervisorId,
+      String supervisorName,
+      String employeeCode,
+      String firstName,
+      String lastName,
+      String phone,
+      String status,
+      LocalDate hireDate,
+      BigDecimal baseSalary,
+      BigDecimal perDayRate,
+      BigDecimal overtimeRate) {
+    this.id = id;
+    this.userId = userId;
+    this.email = email;
+    this.supervisorId = supervisorId;
+    this.supervisorName = supervisorName;
+    this.employeeCode = employeeCode;
+    this.firstName = firstName;
+    this.lastName = lastName;
+    this.phone = phone;
+    this.status = status;
+    this.hireDate = hireDate;
+    this.baseSalary = baseSalary;
+    this.perDayRate = perDayRate;
+    this.overtimeRate = overtimeRate;
+  }
+
   public Long getId() { return id; }
   public void setId(Long id) { this.id = id; }
 
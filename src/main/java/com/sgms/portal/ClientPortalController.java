@@ -0,0 +1,83 @@
+package com.sgms.portal;
+
+import com.sgms.common.ApiResponse;
+import com.sgms.portal.dto.PortalAttendanceResponse;
+import com.sgms.portal.dto.PortalSiteDayResponse;
+import com.sgms.security.UserPrincipal;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller for the client portal
+ * 
+ * Coverage and attendance for the sites a client user has been granted
+ * access to, served from the portal read model.
+ * Authorization: CLIENT role only; every site is checked against client_site_access
+ */
+@RestController
+@RequestMapping("/api/portal")
+public class ClientPortalController {
+
+  private final ClientPortalService clientPortalService;
+
+  public ClientPortalController(ClientPortalService clientPortalService) {
+    this.clientPortalService = clientPortalService;
+  }
+
+  /**
+   * The caller's sites with one day's coverage and attendance
+   * 
+   * GET /api/portal/sites?date=2026-03-01
+   * Requires: CLIENT role
+   */
+  @GetMapping("/sites")
+  @PreAuthorize("hasRole('CLIENT')")
+  public ApiResponse<List<PortalSiteDayResponse>> getMySites(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    List<PortalSiteDayResponse> sites = clientPortalService.getMySites(principal, date);
+    return ApiResponse.success(sites);
+  }
+
+  /**
+   * Daily coverage and attendance for one site
+   * 
+   * GET /api/portal/sites/{siteId}/days?from=2026-03-01&to=2026-03-07
+   * Requires: CLIENT role with access to the site
+   */
+  @GetMapping("/sites/{siteId}/days")
+  @PreAuthorize("hasRole('CLIENT')")
+  public ApiResponse<List<PortalSiteDayResponse>> getSiteDays(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable Long siteId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    List<PortalSiteDayResponse> days = clientPortalService.getSiteDays(principal, siteId, from, to);
+    return ApiResponse.success(days);
+  }
+
+  /**
+   * Guard attendance at one site on one day
+   * 
+   * GET /api/portal/sites/{siteId}/attendance?date=2026-03-01
+   * Requires: CLIENT role with access to the site
+   */
+  @GetMapping("/sites/{siteId}/attendance")
+  @PreAuthorize("hasRole('CLIENT')")
+  public ApiResponse<List<PortalAttendanceResponse>> getSiteAttendance(
+      @AuthenticationPrincipal UserPrincipal principal,
+      @PathVariable Long siteId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+    List<PortalAttendanceResponse> attendance = clientPortalService.getSiteAttendance(principal, siteId, date);
+    return ApiResponse.success(attendance);
+  }
+}
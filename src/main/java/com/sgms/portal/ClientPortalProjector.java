@@ -0,0 +1,291 @@
+package com.sgms.portal;
+
+import com.sgms.assignment.AssignmentChangedEvent;
+import com.sgms.attendance.AttendanceChangedEvent;
+import com.sgms.scheduling.ClusterJobRunner;
+import com.sgms.site.SiteChangedEvent;
+import com.sgms.site.SitePostChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the client portal read model (portal_site_daily_stats, portal_attendance)
+ * 
+ * Each refresh recomputes whole sites over the portal window (history-days
+ * back to horizon-days ahead) with one upsert per table, so a refresh is
+ * idempotent and never depends on the previous state of the read model.
+ * Sites are refreshed once the transaction that changed their attendance,
+ * assignments or posts commits; a nightly rebuild rolls the window forward
+ * and heals anything a failed refresh left stale.
+ * 
+ * Coverage figures follow the coverage analyzer: every active post needs
+ * requiredGuards for every shift type on every day.
+ */
+@Component
+public class ClientPortalProjector {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClientPortalProjector.class);
+
+  static final String JOB_NAME = "portal.rebuild";
+
+  private static final String STATS_UPSERT_SQL =
+      "WITH target_sites AS (" +
+      "  SELECT id, client_account_id, name FROM sites WHERE id = ANY(?) AND deleted_at IS NULL" +
+      "), days AS (" +
+      "  SELECT generate_series(?::date, ?::date, interval '1 day')::date AS day" +
+      "), assigned AS (" +
+      "  SELECT ga.site_post_id, ga.shift_type_id, d.day, COUNT(*) AS assigned " +
+      "  FROM guard_assignments ga " +
+      "  JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "  JOIN target_sites ts ON ts.id = sp.site_id " +
+      "  JOIN days d ON d.day >= ga.effective_from AND (ga.effective_to IS NULL OR d.day <= ga.effective_to) " +
+      "  WHERE ga.status = 'ACTIVE' AND ga.guard_id IS NOT NULL " +
+      "  GROUP BY ga.site_post_id, ga.shift_type_id, d.day" +
+      "), coverage AS (" +
+      "  SELECT sp.site_id, d.day, COUNT(DISTINCT sp.id) AS posts, SUM(sp.required_guards) AS required, " +
+      "  SUM(COALESCE(a.assigned, 0)) AS assigned, " +
+      "  SUM(GREATEST(sp.required_guards - COALESCE(a.assigned, 0), 0)) AS uncovered " +
+      "  FROM site_posts sp " +
+      "  JOIN target_sites ts ON ts.id = sp.site_id " +
+      "  CROSS JOIN shift_types st " +
+      "  CROSS JOIN days d " +
+      "  LEFT JOIN assigned a ON a.site_post_id = sp.id AND a.shift_type_id = st.id AND a.day = d.day " +
+      "  WHERE sp.deleted_at IS NULL " +
+      "  GROUP BY sp.site_id, d.day" +
+      "), attendance AS (" +
+      "  SELECT sp.site_id, al.attendance_date AS day, " +
+      "  COUNT(*) FILTER (WHERE al.check_in_time IS NOT NULL) AS checked_in, " +
+      "  COUNT(*) FILTER (WHERE al.status <> 'ABSENT' AND COALESCE(al.late_minutes, 0) = 0) AS on_time, " +
+      "  COUNT(*) FILTER (WHERE al.status <> 'ABSENT' AND al.late_minutes > 0) AS late, " +
+      "  COUNT(*) FILTER (WHERE al.status = 'ABSENT') AS absent, " +
+      "  COUNT(*) FILTER (WHERE al.early_leave_minutes > 0) AS early_leave, " +
+      "  COUNT(*) FILTER (WHERE al.status = 'MISSED_CHECKOUT') AS missed_checkout, " +
+      "  COALESCE(SUM(al.late_minutes) FILTER (WHERE al.status <> 'ABSENT'), 0) AS total_late_minutes " +
+      "  FROM attendance_logs al " +
+      "  JOIN guard_assignments ga ON ga.id = al.assignment_id " +
+      "  JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "  JOIN target_sites ts ON ts.id = sp.site_id " +
+      "  WHERE al.attendance_date BETWEEN ? AND ? " +
+      "  GROUP BY sp.site_id, al.attendance_date" +
+      ") " +
+      "INSERT INTO portal_site_daily_stats (site_id, stat_date, client_account_id, site_name, posts, " +
+      "required_guard_shifts, assigned_guard_shifts, uncovered_guard_shifts, checked_in, on_time, late, absent, " +
+      "early_leave, missed_checkout, total_late_minutes, refreshed_at) " +
+      "SELECT ts.id, d.day, ts.client_account_id, ts.name, COALESCE(c.posts, 0), " +
+      "COALESCE(c.required, 0), COALESCE(c.assigned, 0), COALESCE(c.uncovered, 0), " +
+      "COALESCE(a.checked_in, 0), COALESCE(a.on_time, 0), COALESCE(a.late, 0), COALESCE(a.absent, 0), " +
+      "COALESCE(a.early_leave, 0), COALESCE(a.missed_checkout, 0), COALESCE(a.total_late_minutes, 0), now() " +
+      "FROM target_sites ts " +
+      "CROSS JOIN days d " +
+      "LEFT JOIN coverage c ON c.site_id = ts.id AND c.day = d.day " +
+      "LEFT JOIN attendance a ON a.site_id = ts.id AND a.day = d.day " +
+      "ON CONFLICT (site_id, stat_date) DO UPDATE SET " +
+      "client_account_id = EXCLUDED.client_account_id, site_name = EXCLUDED.site_name, posts = EXCLUDED.posts, " +
+      "required_guard_shifts = EXCLUDED.required_guard_shifts, " +
+      "assigned_guard_shifts = EXCLUDED.assigned_guard_shifts, " +
+      "uncovered_guard_shifts = EXCLUDED.uncovered_guard_shifts, checked_in = EXCLUDED.checked_in, " +
+      "on_time = EXCLUDED.on_time, late = EXCLUDED.late, absent = EXCLUDED.absent, " +
+      "early_leave = EXCLUDED.early_leave, missed_checkout = EXCLUDED.missed_checkout, " +
+      "total_late_minutes = EXCLUDED.total_late_minutes, refreshed_at = EXCLUDED.refreshed_at";
+
+  private static final String ATTENDANCE_UPSERT_SQL =
+      "INSERT INTO portal_attendance (attendance_id, site_id, attendance_date, guard_name, post_name, " +
+      "shift_name, shift_start, shift_end, check_in_time, check_out_time, status, late_minutes, " +
+      "early_leave_minutes, refreshed_at) " +
+      "SELECT al.id, sp.site_id, al.attendance_date, CONCAT_WS(' ', g.first_name, g.last_name), sp.post_name, " +
+      "st.name, st.start_time, st.end_time, al.check_in_time, al.check_out_time, al.status, " +
+      "COALESCE(al.late_minutes, 0), COALESCE(al.early_leave_minutes, 0), now() " +
+      "FROM attendance_logs al " +
+      "JOIN guards g ON g.id = al.guard_id " +
+      "JOIN guard_assignments ga ON ga.id = al.assignment_id " +
+      "JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "JOIN shift_types st ON st.id = ga.shift_type_id " +
+      "JOIN sites s ON s.id = sp.site_id AND s.deleted_at IS NULL " +
+      "WHERE sp.site_id = ANY(?) AND al.attendance_date BETWEEN ? AND ? " +
+      "ON CONFLICT (attendance_id) DO UPDATE SET " +
+      "site_id = EXCLUDED.site_id, attendance_date = EXCLUDED.attendance_date, " +
+      "guard_name = EXCLUDED.guard_name, post_name = EXCLUDED.post_name, shift_name = EXCLUDED.shift_name, " +
+      "shift_start = EXCLUDED.shift_start, shift_end = EXCLUDED.shift_end, " +
+      "check_in_time = EXCLUDED.check_in_time, check_out_time = EXCLUDED.check_out_time, " +
+      "status = EXCLUDED.status, late_minutes = EXCLUDED.late_minutes, " +
+      "early_leave_minutes = EXCLUDED.early_leave_minutes, refreshed_at = EXCLUDED.refreshed_at";
+
+  private static final String DELETE_INACTIVE_STATS_SQL =
+      "DELETE FROM portal_site_daily_stats p WHERE p.site_id = ANY(?) " +
+      "AND NOT EXISTS (SELECT 1 FROM sites s WHERE s.id = p.site_id AND s.deleted_at IS NULL)";
+
+  private static final String DELETE_INACTIVE_ATTENDANCE_SQL =
+      "DELETE FROM portal_attendance p WHERE p.site_id = ANY(?) " +
+      "AND NOT EXISTS (SELECT 1 FROM sites s WHERE s.id = p.site_id AND s.deleted_at IS NULL)";
+
+  private static final String SITES_OF_GUARDS_SQL =
+      "SELECT DISTINCT sp.site_id FROM guard_assignments ga " +
+      "JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "WHERE ga.guard_id = ANY(?) " +
+      "AND ga.effective_from <= ? " +
+      "AND (ga.effective_to IS NULL OR ga.effective_to >= ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ClusterJobRunner clusterJobRunner;
+  private final Clock clock;
+  private final int historyDays;
+  private final int horizonDays;
+
+  public ClientPortalProjector(
+      JdbcTemplate jdbcTemplate,
+      ClusterJobRunner clusterJobRunner,
+      Clock clock,
+      @Value("${app.portal.history-days:35}") int historyDays,
+      @Value("${app.portal.horizon-days:14}") int horizonDays) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clusterJobRunner = clusterJobRunner;
+    this.clock = clock;
+    this.historyDays = Math.max(1, historyDays);
+    this.horizonDays = Math.max(0, horizonDays);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onAttendanceChanged(AttendanceChangedEvent event) {
+    refreshQuietly(event.siteIds(), "attendance change");
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onAssignmentChanged(AssignmentChangedEvent event) {
+    try {
+      LocalDate today = LocalDate.now(clock);
+      Long[] guardIds = event.guardIds().toArray(new Long[0]);
+      List<Long> siteIds = jdbcTemplate.query(con -> {
+        PreparedStatement ps = con.prepareStatement(SITES_OF_GUARDS_SQL);
+        ps.setArray(1, con.createArrayOf("bigint", guardIds));
+        ps.setObject(2, today.plusDays(horizonDays));
+        ps.setObject(3, today.minusDays(historyDays));
+        return ps;
+      }, (rs, rowNum) -> rs.getLong("site_id"));
+      refreshSites(siteIds);
+    } catch (Exception e) {
+      logger.warn("Could not refresh client portal after assignment change: {}", e.getMessage());
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onSiteChanged(SiteChangedEvent event) {
+    refreshQuietly(List.of(event.siteId()), "site change");
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onSitePostChanged(SitePostChangedEvent event) {
+    refreshQuietly(List.of(event.siteId()), "site post change");
+  }
+
+  /**
+   * Populate the read model once the application is up (e.g. after the migration is applied)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      logger.warn("Could not build client portal read model at startup: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Nightly rebuild: roll the window forward, drop expired days and deleted sites
+   * 
+   * Cron: app.portal.rebuild-cron (default every day at 00:15:00)
+   */
+  @Scheduled(cron = "${app.portal.rebuild-cron:0 15 0 * * *}")
+  @Transactional
+  public void scheduledRebuild() {
+    try {
+      clusterJobRunner.runExclusive(JOB_NAME, Duration.ofMinutes(30), () -> {
+        logger.info("Starting scheduled job: Rebuild client portal read model");
+        rebuild();
+      });
+    } catch (Exception e) {
+      logger.error("Error in scheduledRebuild scheduled job", e);
+    }
+  }
+
+  /**
+   * Recompute every active site over the current window
+   */
+  public void rebuild() {
+    LocalDate today = LocalDate.now(clock);
+    LocalDate from = today.minusDays(historyDays);
+    LocalDate to = today.plusDays(horizonDays);
+
+    jdbcTemplate.update(
+        "DELETE FROM portal_site_daily_stats WHERE stat_date < ? OR stat_date > ? " +
+        "OR site_id IN (SELECT id FROM sites WHERE deleted_at IS NOT NULL)", from, to);
+    jdbcTemplate.update(
+        "DELETE FROM portal_attendance WHERE attendance_date < ? " +
+        "OR site_id IN (SELECT id FROM sites WHERE deleted_at IS NOT NULL)", from);
+
+    List<Long> siteIds = jdbcTemplate.queryForList("SELECT id FROM sites WHERE deleted_at IS NULL", Long.class);
+    refreshSites(siteIds);
+    logger.info("Client portal read model rebuilt for {} sites from {} to {}", siteIds.size(), from, to);
+  }
+
+  /**
+   * Recompute the read model rows of the given sites over the current window
+   */
+  public void refreshSites(Collection<Long> siteIds) {
+    if (siteIds.isEmpty()) {
+      return;
+    }
+    LocalDate today = LocalDate.now(clock);
+    LocalDate from = today.minusDays(historyDays);
+    LocalDate to = today.plusDays(horizonDays);
+    Long[] ids = siteIds.stream().distinct().toArray(Long[]::new);
+
+    updateForSites(DELETE_INACTIVE_STATS_SQL, ids);
+    updateForSites(DELETE_INACTIVE_ATTENDANCE_SQL, ids);
+    updateForSites(STATS_UPSERT_SQL, ids, from, to, from, to);
+    updateForSites(ATTENDANCE_UPSERT_SQL, ids, from, today);
+  }
+
+  private void refreshQuietly(Collection<Long> siteIds, String cause) {
+    try {
+      refreshSites(siteIds);
+    } catch (Exception e) {
+      // Next nightly rebuild catches up
+      logger.warn("Could not refresh client portal for sites {} after {}: {}", siteIds, cause, e.getMessage());
+    }
+  }
+
+  /**
+   * Run a statement whose first parameter is the site id array
+   */
+  private void updateForSites(String sql, Long[] siteIds, Object... params) {
+    jdbcTemplate.update(con -> {
+      PreparedStatement ps = con.prepareStatement(sql);
+      ps.setArray(1, con.createArrayOf("bigint", siteIds));
+      for (int i = 0; i < params.length; i++) {
+        ps.setObject(i + 2, params[i]);
+      }
+      return ps;
+    });
+  }
+}
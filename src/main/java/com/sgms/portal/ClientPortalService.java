@@ -0,0 +1,153 @@
+package com.sgms.portal;
+
+import com.sgms.portal.dto.PortalAttendanceResponse;
+import com.sgms.portal.dto.PortalSiteDayResponse;
+import com.sgms.security.UserPrincipal;
+import com.sgms.site.ClientSiteAccessRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Service answering client dashboards from the portal read model
+ * 
+ * Every query reads portal_site_daily_stats / portal_attendance by primary
+ * key or (site, date) index, scoped by the caller's active
+ * client_site_access rows. Operational tables are never joined here; the
+ * {@link ClientPortalProjector} keeps the read model current.
+ */
+@Service
+public class ClientPortalService {
+
+  static final int MAX_RANGE_DAYS = 62;
+
+  private static final String STATS_COLUMNS =
+      "ps.site_id, ps.site_name, ps.stat_date, ps.posts, ps.required_guard_shifts, ps.assigned_guard_shifts, " +
+      "ps.uncovered_guard_shifts, ps.checked_in, ps.on_time, ps.late, ps.absent, ps.early_leave, " +
+      "ps.missed_checkout, ps.total_late_minutes, ps.refreshed_at ";
+
+  private static final String MY_SITES_SQL =
+      "SELECT " + STATS_COLUMNS +
+      "FROM client_site_access csa " +
+      "JOIN portal_site_daily_stats ps ON ps.site_id = csa.site_id AND ps.stat_date = ? " +
+      "WHERE csa.client_user_id = ? AND csa.revoked_at IS NULL " +
+      "ORDER BY ps.site_name, ps.site_id";
+
+  private static final String SITE_DAYS_SQL =
+      "SELECT " + STATS_COLUMNS +
+      "FROM portal_site_daily_stats ps " +
+      "WHERE ps.site_id = ? AND ps.stat_date BETWEEN ? AND ? " +
+      "ORDER BY ps.stat_date";
+
+  private static final String SITE_ATTENDANCE_SQL =
+      "SELECT attendance_id, site_id, attendance_date, guard_name, post_name, shift_name, shift_start, " +
+      "shift_end, check_in_time, check_out_time, status, late_minutes, early_leave_minutes " +
+      "FROM portal_attendance " +
+      "WHERE site_id = ? AND attendance_date = ? " +
+      "ORDER BY check_in_time NULLS LAST, guard_name, attendance_id";
+
+  private static final RowMapper<PortalSiteDayResponse> SITE_DAY_MAPPER = (rs, rowNum) -> {
+    PortalSiteDayResponse day = new PortalSiteDayResponse();
+    day.setSiteId(rs.getLong("site_id"));
+    day.setSiteName(rs.getString("site_name"));
+    day.setDate(rs.getObject("stat_date", LocalDate.class));
+    day.setPosts(rs.getInt("posts"));
+    day.setRequiredGuardShifts(rs.getInt("required_guard_shifts"));
+    day.setAssignedGuardShifts(rs.getInt("assigned_guard_shifts"));
+    day.setUncoveredGuardShifts(rs.getInt("uncovered_guard_shifts"));
+    day.setCheckedIn(rs.getInt("checked_in"));
+    day.setOnTime(rs.getInt("on_time"));
+    day.setLate(rs.getInt("late"));
+    day.setAbsent(rs.getInt("absent"));
+    day.setEarlyLeave(rs.getInt("early_leave"));
+    day.setMissedCheckout(rs.getInt("missed_checkout"));
+    day.setTotalLateMinutes(rs.getInt("total_late_minutes"));
+    day.setRefreshedAt(rs.getObject("refreshed_at", OffsetDateTime.class).toInstant());
+    return day;
+  };
+
+  private static final RowMapper<PortalAttendanceResponse> ATTENDANCE_MAPPER = (rs, rowNum) -> {
+    PortalAttendanceResponse attendance = new PortalAttendanceResponse();
+    attendance.setAttendanceId(rs.getLong("attendance_id"));
+    attendance.setSiteId(rs.getLong("site_id"));
+    attendance.setDate(rs.getObject("attendance_date", LocalDate.class));
+    attendance.setGuardName(rs.getString("guard_name"));
+    attendance.setPostName(rs.getString("post_name"));
+    attendance.setShiftName(rs.getString("shift_name"));
+    attendance.setShiftStart(rs.getObject("shift_start", LocalTime.class));
+    attendance.setShiftEnd(rs.getObject("shift_end", LocalTime.class));
+    OffsetDateTime checkIn = rs.getObject("check_in_time", OffsetDateTime.class);
+    OffsetDateTime checkOut = rs.getObject("check_out_time", OffsetDateTime.class);
+    attendance.setCheckInTime(checkIn != null ? checkIn.toInstant() : null);
+    attendance.setCheckOutTime(checkOut != null ? checkOut.toInstant() : null);
+    attendance.setStatus(rs.getString("status"));
+    attendance.setLateMinutes(rs.getInt("late_minutes"));
+    attendance.setEarlyLeaveMinutes(rs.getInt("early_leave_minutes"));
+    return attendance;
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ClientSiteAccessRepository clientSiteAccessRepository;
+  private final Clock clock;
+
+  public ClientPortalService(
+      JdbcTemplate jdbcTemplate,
+      ClientSiteAccessRepository clientSiteAccessRepository,
+      Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clientSiteAccessRepository = clientSiteAccessRepository;
+    this.clock = clock;
+  }
+
+  /**
+   * The caller's sites with coverage and attendance for one day (default today)
+   */
+  public List<PortalSiteDayResponse> getMySites(UserPrincipal principal, LocalDate date) {
+    LocalDate day = date != null ? date : LocalDate.now(clock);
+    return jdbcTemplate.query(MY_SITES_SQL, SITE_DAY_MAPPER, day, principal.getUserId());
+  }
+
+  /**
+   * Daily coverage and attendance for one of the caller's sites (default the last 7 days)
+   */
+  public List<PortalSiteDayResponse> getSiteDays(
+      UserPrincipal principal,
+      Long siteId,
+      LocalDate from,
+      LocalDate to) {
+    LocalDate today = LocalDate.now(clock);
+    LocalDate last = to != null ? to : today;
+    LocalDate first = from != null ? from : last.minusDays(6);
+    if (last.isBefore(first)) {
+      throw new IllegalArgumentException("'to' date must be on or after 'from' date");
+    }
+    if (last.toEpochDay() - first.toEpochDay() + 1 > MAX_RANGE_DAYS) {
+      throw new IllegalArgumentException("Range cannot exceed " + MAX_RANGE_DAYS + " days");
+    }
+    requireAccess(principal, siteId);
+    return jdbcTemplate.query(SITE_DAYS_SQL, SITE_DAY_MAPPER, siteId, first, last);
+  }
+
+  /**
+   * Guard attendance at one of the caller's sites on one day (default today)
+   */
+  public List<PortalAttendanceResponse> getSiteAttendance(UserPrincipal principal, Long siteId, LocalDate date) {
+    requireAccess(principal, siteId);
+    LocalDate day = date != null ? date : LocalDate.now(clock);
+    return jdbcTemplate.query(SITE_ATTENDANCE_SQL, ATTENDANCE_MAPPER, siteId, day);
+  }
+
+  private void requireAccess(UserPrincipal principal, Long siteId) {
+    if (!clientSiteAccessRepository.existsActiveAccess(principal.getUserId(), siteId)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied to this site");
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.sgms.portal.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Client portal view of one guard's attendance at a site
+ */
+public class PortalAttendanceResponse {
+
+  private Long attendanceId;
+  private Long siteId;
+  private LocalDate date;
+  private String guardName;
+  private String postName;
+  private String shiftName;
+  private LocalTime shiftStart;
+  private LocalTime shiftEnd;
+  private Instant checkInTime;
+  private Instant checkOutTime;
+  private String status;
+  private int lateMinutes;
+  private int earlyLeaveMinutes;
+
+  // Getters and Setters
+
+  public Long getAttendanceId() {
+    return attendanceId;
+  }
+
+  public void setAttendanceId(Long attendanceId) {
+    this.attendanceId = attendanceId;
+  }
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public String getGuardName() {
+    return guardName;
+  }
+
+  public void setGuardName(String guardName) {
+    this.guardName = guardName;
+  }
+
+  public String getPostName() {
+    return postName;
+  }
+
+  public void setPostName(String postName) {
+    this.postName = postName;
+  }
+
+  public String getShiftName() {
+    return shiftName;
+  }
+
+  public void setShiftName(String shiftName) {
+    this.shiftName = shiftName;
+  }
+
+  public LocalTime getShiftStart() {
+    return shiftStart;
+  }
+
+  public void setShiftStart(LocalTime shiftStart) {
+    this.shiftStart = shiftStart;
+  }
+
+  public LocalTime getShiftEnd() {
+    return shiftEnd;
+  }
+
+  public void setShiftEnd(LocalTime shiftEnd) {
+    this.shiftEnd = shiftEnd;
+  }
+
+  public Instant getCheckInTime() {
+    return checkInTime;
+  }
+
+  public void setCheckInTime(Instant checkInTime) {
+    this.checkInTime = checkInTime;
+  }
+
+  public Instant getCheckOutTime() {
+    return checkOutTime;
+  }
+
+  public void setCheckOutTime(Instant checkOutTime) {
+    this.checkOutTime = checkOutTime;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public int getLateMinutes() {
+    return lateMinutes;
+  }
+
+  public void setLateMinutes(int lateMinutes) {
+    this.lateMinutes = lateMinutes;
+  }
+
+  public int getEarlyLeaveMinutes() {
+    return earlyLeaveMinutes;
+  }
+
+  public void setEarlyLeaveMinutes(int earlyLeaveMinutes) {
+    this.earlyLeaveMinutes = earlyLeaveMinutes;
+  }
+}
@@ -0,0 +1,155 @@
+package com.sgms.portal.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Client portal view of one site on one day: coverage and attendance
+ * 
+ * requiredGuardShifts / assignedGuardShifts / uncoveredGuardShifts count
+ * guard-shifts across all active posts and shift types of the site
+ */
+public class PortalSiteDayResponse {
+
+  private Long siteId;
+  private String siteName;
+  private LocalDate date;
+  private int posts;
+  private int requiredGuardShifts;
+  private int assignedGuardShifts;
+  private int uncoveredGuardShifts;
+  private int checkedIn;
+  private int onTime;
+  private int late;
+  private int absent;
+  private int earlyLeave;
+  private int missedCheckout;
+  private int totalLateMinutes;
+
+  /**
+   * When the read model row was last recomputed
+   */
+  private Instant refreshedAt;
+
+  // Getters and Setters
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public String getSiteName() {
+    return siteName;
+  }
+
+  public void setSiteName(String siteName) {
+    this.siteName = siteName;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public int getPosts() {
+    return posts;
+  }
+
+  public void setPosts(int posts) {
+    this.posts = posts;
+  }
+
+  public int getRequiredGuardShifts() {
+    return requiredGuardShifts;
+  }
+
+  public void setRequiredGuardShifts(int requiredGuardShifts) {
+    this.requiredGuardShifts = requiredGuardShifts;
+  }
+
+  public int getAssignedGuardShifts() {
+    return assignedGuardShifts;
+  }
+
+  public void setAssignedGuardShifts(int assignedGuardShifts) {
+    this.assignedGuardShifts = assignedGuardShifts;
+  }
+
+  public int getUncoveredGuardShifts() {
+    return uncoveredGuardShifts;
+  }
+
+  public void setUncoveredGuardShifts(int uncoveredGuardShifts) {
+    this.uncoveredGuardShifts = uncoveredGuardShifts;
+  }
+
+  public int getCheckedIn() {
+    return checkedIn;
+  }
+
+  public void setCheckedIn(int checkedIn) {
+    this.checkedIn = checkedIn;
+  }
+
+  public int getOnTime() {
+    return onTime;
+  }
+
+  public void setOnTime(int onTime) {
+    this.onTime = onTime;
+  }
+
+  public int getLate() {
+    return late;
+  }
+
+  public void setLate(int late) {
+    this.late = late;
+  }
+
+  public int getAbsent() {
+    return absent;
+  }
+
+  public void setAbsent(int absent) {
+    this.absent = absent;
+  }
+
+  public int getEarlyLeave() {
+    return earlyLeave;
+  }
+
+  public void setEarlyLeave(int earlyLeave) {
+    this.earlyLeave = earlyLeave;
+  }
+
+  public int getMissedCheckout() {
+    return missedCheckout;
+  }
+
+  public void setMissedCheckout(int missedCheckout) {
+    this.missedCheckout = missedCheckout;
+  }
+
+  public int getTotalLateMinutes() {
+    return totalLateMinutes;
+  }
+
+  public void setTotalLateMinutes(int totalLateMinutes) {
+    this.totalLateMinutes = totalLateMinutes;
+  }
+
+  public Instant getRefreshedAt() {
+    return refreshedAt;
+  }
+
+  public void setRefreshedAt(Instant refreshedAt) {
+    this.refreshedAt = refreshedAt;
+  }
+}
@@ -0,0 +1,57 @@
+package com.sgms.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A scheduled job that works through keyset-ordered rows in chunks
+ * 
+ * Rows are ordered by (position, id), position being a timestamp the row
+ * becomes due at. {@link ChunkedJobRunner} reads the next chunk's keys,
+ * processes them in their own transaction and checkpoints the last key in
+ * that same transaction.
+ */
+public interface ChunkedJob {
+
+  /**
+   * Name of the job's checkpoint row
+   */
+  String name();
+
+  /**
+   * Earliest position a run starts from (an older or missing checkpoint starts here)
+   */
+  Instant earliestStart(Instant now);
+
+  /**
+   * Trailing window processed again on every run, behind the checkpoint
+   * 
+   * For jobs whose rows can be inserted after the checkpoint has passed
+   * their position; such rows are picked up as long as they are at most
+   * this far behind until. Zero (the default) resumes right after the
+   * checkpoint.
+   */
+  default Duration overlap() {
+    return Duration.ZERO;
+  }
+
+  /**
+   * Last position (inclusive) due in a run starting now
+   */
+  Instant until(Instant now);
+
+  /**
+   * Keys of up to limit rows after the checkpoint and up to until, in (position, id) order
+   */
+  List<JobCheckpoint> nextChunk(JobCheckpoint after, Instant until, int limit);
+
+  /**
+   * Process the rows of one chunk, inside the chunk's transaction
+   * 
+   * Must be safe to repeat for rows already processed.
+   * 
+   * @return number of rows changed
+   */
+  int process(List<Long> ids);
+}
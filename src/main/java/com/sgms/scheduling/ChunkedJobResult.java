@@ -0,0 +1,11 @@
+package com.sgms.scheduling;
+
+/**
+ * Outcome of one run of a {@link ChunkedJob}
+ * 
+ * @param chunks chunks committed or skipped
+ * @param processed rows changed by the committed chunks
+ * @param skippedChunks chunks that failed every attempt and were skipped
+ */
+public record ChunkedJobResult(int chunks, int processed, int skippedChunks) {
+}
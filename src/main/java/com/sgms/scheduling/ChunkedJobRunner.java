@@ -0,0 +1,219 @@
+package com.sgms.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Runs {@link ChunkedJob}s chunk by chunk from their last checkpoint
+ * 
+ * Each chunk is processed in its own transaction, which also moves the
+ * job's checkpoint (job_checkpoints) to the chunk's last key: a failure
+ * only loses the chunk in flight, and the next run (or the next trigger
+ * after a restart) resumes right after the last committed chunk. A
+ * failing chunk is retried up to max-attempts times with a growing pause;
+ * if it still fails it is recorded in job_chunk_failures and skipped, so
+ * one bad row cannot hold back the rows behind it.
+ * 
+ * A run starts at the checkpoint, moved back by the job's
+ * {@link ChunkedJob#overlap()} and never earlier than its earliest start.
+ * A checkpoint older than the earliest start is clamped to it and the rows
+ * in between are not processed, which is logged as a warning. The saved
+ * checkpoint only moves forward, so re-processing the overlap does not
+ * rewind it.
+ */
+@Component
+public class ChunkedJobRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChunkedJobRunner.class);
+
+  private static final int MAX_ERROR_LENGTH = 2000;
+
+  private static final String LOAD_CHECKPOINT_SQL =
+      "SELECT position, last_id FROM job_checkpoints WHERE job_name = ?";
+
+  private static final String CHECKPOINT_ADVANCES =
+      "(EXCLUDED.position, EXCLUDED.last_id) > (job_checkpoints.position, job_checkpoints.last_id)";
+
+  private static final String SAVE_CHECKPOINT_SQL =
+      "INSERT INTO job_checkpoints (job_name, position, last_id, processed_count, skipped_chunks, updated_at) " +
+      "VALUES (?, ?, ?, ?, ?, now()) " +
+      "ON CONFLICT (job_name) DO UPDATE SET " +
+      "position = CASE WHEN " + CHECKPOINT_ADVANCES + " THEN EXCLUDED.position ELSE job_checkpoints.position END, " +
+      "last_id = CASE WHEN " + CHECKPOINT_ADVANCES + " THEN EXCLUDED.last_id ELSE job_checkpoints.last_id END, " +
+      "processed_count = job_checkpoints.processed_count + EXCLUDED.processed_count, " +
+      "skipped_chunks = job_checkpoints.skipped_chunks + EXCLUDED.skipped_chunks, " +
+      "updated_at = EXCLUDED.updated_at";
+
+  private static final String RECORD_FAILURE_SQL =
+      "INSERT INTO job_chunk_failures (job_name, first_position, first_id, last_position, last_id, ids, " +
+      "attempts, error) " +
+      "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate chunkTransaction;
+  private final Clock clock;
+  private final int chunkSize;
+  private final int maxAttempts;
+  private final long retryBackoffMillis;
+
+  public ChunkedJobRunner(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      Clock clock,
+      @Value("${app.scheduler.chunk.size:500}") int chunkSize,
+      @Value("${app.scheduler.chunk.max-attempts:3}") int maxAttempts,
+      @Value("${app.scheduler.chunk.retry-backoff-ms:500}") long retryBackoffMillis) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.chunkTransaction = new TransactionTemplate(transactionManager);
+    this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.clock = clock;
+    this.chunkSize = Math.max(1, chunkSize);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+  }
+
+  /**
+   * Process every row due now, starting after the job's checkpoint
+   */
+  public ChunkedJobResult run(ChunkedJob job) {
+    Instant now = clock.instant();
+    Instant until = job.until(now);
+    Instant earliestStart = job.earliestStart(now);
+    JobCheckpoint checkpoint = startingCheckpoint(job, loadCheckpoint(job.name()), earliestStart, until);
+
+    int chunks = 0;
+    int processed = 0;
+    int skipped = 0;
+    while (true) {
+      List<JobCheckpoint> keys = job.nextChunk(checkpoint, until, chunkSize);
+      if (keys.isEmpty()) {
+        break;
+      }
+      JobCheckpoint last = keys.get(keys.size() - 1);
+      List<Long> ids = keys.stream().map(JobCheckpoint::id).toList();
+
+      Integer changed = processWithRetry(job, keys, ids, last);
+      if (changed != null) {
+        processed += changed;
+      } else {
+        skipped++;
+      }
+      chunks++;
+      checkpoint = last;
+      if (keys.size() < chunkSize) {
+        break;
+      }
+    }
+    return new ChunkedJobResult(chunks, processed, skipped);
+  }
+
+  private JobCheckpoint startingCheckpoint(ChunkedJob job, JobCheckpoint saved, Instant earliestStart, Instant until) {
+    JobCheckpoint earliest = JobCheckpoint.before(earliestStart);
+    if (saved == null) {
+      return earliest;
+    }
+    if (!saved.isAfter(earliest)) {
+      if (saved.position().isBefore(earliestStart)) {
+        logger.warn("Job {} checkpoint {} is older than its earliest start {}; rows in between are not processed",
+            job.name(), saved, earliestStart);
+      }
+      return earliest;
+    }
+    if (job.overlap().isZero()) {
+      return saved;
+    }
+    JobCheckpoint overlapStart = JobCheckpoint.before(until.minus(job.overlap()));
+    if (saved.isAfter(overlapStart)) {
+      return overlapStart.isAfter(earliest) ? overlapStart : earliest;
+    }
+    return saved;
+  }
+
+  /**
+   * @return rows changed by the chunk, null if it was skipped
+   */
+  private Integer processWithRetry(ChunkedJob job, List<JobCheckpoint> keys, List<Long> ids, JobCheckpoint last) {
+    RuntimeException failure = null;
+    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+      try {
+        return chunkTransaction.execute(status -> {
+          int changed = job.process(ids);
+          saveCheckpoint(job.name(), last, changed, 0);
+          return changed;
+        });
+      } catch (RuntimeException e) {
+        failure = e;
+        logger.warn("Job {} chunk up to {} failed (attempt {} of {}): {}",
+            job.name(), last, attempt, maxAttempts, e.getMessage());
+        if (attempt < maxAttempts && !pause(attempt)) {
+          // Shutting down: leave the chunk to the next run instead of skipping it
+          throw e;
+        }
+      }
+    }
+
+    RuntimeException error = failure;
+    logger.error("Job {} skipping chunk of {} rows up to {}", job.name(), ids.size(), last, error);
+    chunkTransaction.executeWithoutResult(status -> {
+      recordFailure(job.name(), keys, ids, error);
+      saveCheckpoint(job.name(), last, 0, 1);
+    });
+    return null;
+  }
+
+  private boolean pause(int attempt) {
+    try {
+      Thread.sleep(retryBackoffMillis * attempt);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private JobCheckpoint loadCheckpoint(String jobName) {
+    List<JobCheckpoint> rows = jdbcTemplate.query(LOAD_CHECKPOINT_SQL, (rs, rowNum) -> new JobCheckpoint(
+        rs.getTimestamp("position").toInstant(),
+        rs.getLong("last_id")), jobName);
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+
+  private void saveCheckpoint(String jobName, JobCheckpoint checkpoint, int processed, int skippedChunks) {
+    jdbcTemplate.update(SAVE_CHECKPOINT_SQL,
+        jobName, Timestamp.from(checkpoint.position()), checkpoint.id(), processed, skippedChunks);
+  }
+
+  private void recordFailure(String jobName, List<JobCheckpoint> keys, List<Long> ids, RuntimeException error) {
+    JobCheckpoint first = keys.get(0);
+    JobCheckpoint last = keys.get(keys.size() - 1);
+    Long[] idArray = ids.toArray(new Long[0]);
+    String message = error != null ? error.toString() : null;
+    String truncated = message != null && message.length() > MAX_ERROR_LENGTH
+        ? message.substring(0, MAX_ERROR_LENGTH)
+        : message;
+    jdbcTemplate.update(con -> {
+      PreparedStatement ps = con.prepareStatement(RECORD_FAILURE_SQL);
+      ps.setString(1, jobName);
+      ps.setTimestamp(2, Timestamp.from(first.position()));
+      ps.setLong(3, first.id());
+      ps.setTimestamp(4, Timestamp.from(last.position()));
+      ps.setLong(5, last.id());
+      ps.setArray(6, con.createArrayOf("bigint", idArray));
+      ps.setInt(7, maxAttempts);
+      ps.setString(8, truncated);
+      return ps;
+    });
+  }
+}
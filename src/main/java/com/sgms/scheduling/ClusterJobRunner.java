@@ -0,0 +1,93 @@
+package com.sgms.scheduling;
+
+import com.sgms.scheduling.dto.JobStatusResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs scheduled jobs once cluster-wide
+ * 
+ * Every instance fires the same crons; each run first takes the job's
+ * lease in scheduler_locks ({@link SchedulerLockStore}) and the instances
+ * that lose simply skip that run. The lease expires after lockAtMostFor,
+ * so a crashed instance never blocks a job for longer than that, and is
+ * held for at least app.scheduler.lock-at-least-for-seconds after the start
+ * to absorb clock skew between instances. Start, duration, outcome and the
+ * instance of every run are recorded on the lease row.
+ * 
+ * Jobs that maintain in-memory state of their own instance (spatial,
+ * availability and analytics indexes) do not go through the runner.
+ */
+@Component
+public class ClusterJobRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(ClusterJobRunner.class);
+
+  private static final int MAX_ERROR_LENGTH = 2000;
+
+  private final SchedulerLockStore lockStore;
+  private final String instanceId;
+  private final Duration lockAtLeastFor;
+
+  public ClusterJobRunner(
+      SchedulerLockStore lockStore,
+      @Value("${app.scheduler.instance-id:}") String instanceId,
+      @Value("${app.scheduler.lock-at-least-for-seconds:30}") long lockAtLeastForSeconds) {
+    this.lockStore = lockStore;
+    this.instanceId = instanceId != null && !instanceId.isBlank()
+        ? instanceId.trim()
+        : ManagementFactory.getRuntimeMXBean().getName();
+    this.lockAtLeastFor = Duration.ofSeconds(Math.max(0, lockAtLeastForSeconds));
+  }
+
+  /**
+   * Run the job if this instance gets its lease
+   * 
+   * Exceptions thrown by the job are recorded and rethrown.
+   * 
+   * @return false if another instance holds the lease and the run was skipped
+   */
+  public boolean runExclusive(String jobName, Duration lockAtMostFor, Runnable job) {
+    if (!lockStore.tryAcquire(jobName, instanceId, lockAtMostFor)) {
+      logger.debug("Skipping job {}: lease held by another instance", jobName);
+      return false;
+    }
+
+    long started = System.nanoTime();
+    String status = "FAILED";
+    String error = null;
+    try {
+      job.run();
+      status = "SUCCEEDED";
+      return true;
+    } catch (RuntimeException | Error e) {
+      error = truncate(e.toString());
+      throw e;
+    } finally {
+      long durationMs = (System.nanoTime() - started) / 1_000_000;
+      try {
+        lockStore.release(jobName, instanceId, lockAtLeastFor, durationMs, status, error);
+      } catch (Exception e) {
+        // The lease expires after lockAtMostFor anyway
+        logger.warn("Could not release lease of job {}: {}", jobName, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Lease and last-run state of every job that has run at least once
+   */
+  public List<JobStatusResponse> getJobStatuses() {
+    return lockStore.findAll();
+  }
+
+  private static String truncate(String message) {
+    return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+  }
+}
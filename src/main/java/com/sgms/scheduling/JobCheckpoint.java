@@ -0,0 +1,23 @@
+package com.sgms.scheduling;
+
+import java.time.Instant;
+
+/**
+ * Keyset position of a chunked job: rows are processed in (position, id) order
+ * 
+ * Also used for the keys of a chunk, each checkpoint naming one row.
+ */
+public record JobCheckpoint(Instant position, long id) {
+
+  /**
+   * Checkpoint before every row at the given position
+   */
+  public static JobCheckpoint before(Instant position) {
+    return new JobCheckpoint(position, 0L);
+  }
+
+  public boolean isAfter(JobCheckpoint other) {
+    int byPosition = position.compareTo(other.position);
+    return byPosition != 0 ? byPosition > 0 : id > other.id;
+  }
+}
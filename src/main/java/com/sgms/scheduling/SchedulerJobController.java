@@ -0,0 +1,39 @@
+package com.sgms.scheduling;
+
+import com.sgms.common.ApiResponse;
+import com.sgms.scheduling.dto.JobStatusResponse;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for cluster-wide scheduled job state
+ * 
+ * Authorization: ADMIN role only
+ */
+@RestController
+@RequestMapping("/api/admin/jobs")
+public class SchedulerJobController {
+
+  private final ClusterJobRunner clusterJobRunner;
+
+  public SchedulerJobController(ClusterJobRunner clusterJobRunner) {
+    this.clusterJobRunner = clusterJobRunner;
+  }
+
+  /**
+   * Lease holder, last run, duration and outcome of every scheduled job
+   * 
+   * GET /api/admin/jobs
+   * Requires: ADMIN role
+   */
+  @GetMapping
+  @PreAuthorize("hasRole('ADMIN')")
+  public ApiResponse<List<JobStatusResponse>> getJobs() {
+    List<JobStatusResponse> jobs = clusterJobRunner.getJobStatuses();
+    return ApiResponse.success(jobs);
+  }
+}
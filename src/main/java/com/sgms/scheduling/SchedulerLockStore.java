@@ -0,0 +1,123 @@
+package com.sgms.scheduling;
+
+import com.sgms.scheduling.dto.JobStatusResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Lease rows of cluster-wide scheduled jobs (scheduler_locks)
+ * 
+ * A lease is taken with one upsert that only succeeds while the current
+ * lease has expired, so of several instances firing the same cron at the
+ * same moment exactly one gets the row back. Lease times use the
+ * database clock, never the instances' clocks. Acquire and release run in
+ * their own transactions so the lease is visible to other instances at
+ * once, whatever transaction the job itself runs in.
+ */
+@Component
+public class SchedulerLockStore {
+
+  private static final String ACQUIRE_SQL =
+      "INSERT INTO scheduler_locks (job_name, locked_by, locked_at, locked_until, last_started_at, last_status) " +
+      "VALUES (?, ?, now(), now() + make_interval(secs => ?), now(), 'RUNNING') " +
+      "ON CONFLICT (job_name) DO UPDATE SET " +
+      "locked_by = EXCLUDED.locked_by, locked_at = EXCLUDED.locked_at, locked_until = EXCLUDED.locked_until, " +
+      "last_started_at = EXCLUDED.last_started_at, last_status = EXCLUDED.last_status " +
+      "WHERE scheduler_locks.locked_until <= now() " +
+      "RETURNING job_name";
+
+  /**
+   * Keeps the lease until lockAtLeastFor after the start, so an instance
+   * whose clock fires a little later does not run the same slot again
+   */
+  private static final String RELEASE_SQL =
+      "UPDATE scheduler_locks SET " +
+      "locked_until = GREATEST(now(), locked_at + make_interval(secs => ?)), " +
+      "last_finished_at = now(), last_duration_ms = ?, last_status = ?, last_error = ?, " +
+      "last_run_by = locked_by, run_count = run_count + 1, " +
+      "failure_count = failure_count + CASE WHEN ? = 'FAILED' THEN 1 ELSE 0 END " +
+      "WHERE job_name = ? AND locked_by = ?";
+
+  private static final String STATUS_SQL =
+      "SELECT l.job_name, l.locked_by, l.locked_until, l.last_started_at, l.last_finished_at, " +
+      "l.last_duration_ms, l.last_status, l.last_error, l.last_run_by, l.run_count, l.failure_count, " +
+      "(l.locked_until > now() AND l.last_status = 'RUNNING') AS running, " +
+      "jc.position AS checkpoint_position, jc.processed_count, jc.skipped_chunks " +
+      "FROM scheduler_locks l " +
+      "LEFT JOIN job_checkpoints jc ON jc.job_name = l.job_name " +
+      "ORDER BY l.job_name";
+
+  private static final RowMapper<JobStatusResponse> STATUS_MAPPER = (rs, rowNum) -> {
+    JobStatusResponse job = new JobStatusResponse();
+    job.setJobName(rs.getString("job_name"));
+    job.setLockedBy(rs.getString("locked_by"));
+    job.setLockedUntil(instant(rs, "locked_until"));
+    job.setRunning(rs.getBoolean("running"));
+    job.setLastStartedAt(instant(rs, "last_started_at"));
+    job.setLastFinishedAt(instant(rs, "last_finished_at"));
+    job.setLastDurationMs(rs.getObject("last_duration_ms", Long.class));
+    job.setLastStatus(rs.getString("last_status"));
+    job.setLastError(rs.getString("last_error"));
+    job.setLastRunBy(rs.getString("last_run_by"));
+    job.setRunCount(rs.getLong("run_count"));
+    job.setFailureCount(rs.getLong("failure_count"));
+    job.setCheckpointPosition(instant(rs, "checkpoint_position"));
+    job.setProcessedCount(rs.getObject("processed_count", Long.class));
+    job.setSkippedChunks(rs.getObject("skipped_chunks", Long.class));
+    return job;
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SchedulerLockStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Take the job's lease for at most lockAtMostFor
+   * 
+   * @return false if another instance holds an unexpired lease
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public boolean tryAcquire(String jobName, String owner, Duration lockAtMostFor) {
+    return !jdbcTemplate.queryForList(ACQUIRE_SQL, String.class, jobName, owner, seconds(lockAtMostFor)).isEmpty();
+  }
+
+  /**
+   * Record the outcome of a run and give up the lease (no earlier than lockAtLeastFor after the start)
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void release(
+      String jobName,
+      String owner,
+      Duration lockAtLeastFor,
+      long durationMs,
+      String status,
+      String error) {
+    jdbcTemplate.update(RELEASE_SQL, seconds(lockAtLeastFor), durationMs, status, error, status, jobName, owner);
+  }
+
+  @Transactional(readOnly = true)
+  public List<JobStatusResponse> findAll() {
+    return jdbcTemplate.query(STATUS_SQL, STATUS_MAPPER);
+  }
+
+  private static double seconds(Duration duration) {
+    return duration.toMillis() / 1000.0;
+  }
+
+  private static Instant instant(ResultSet rs, String column) throws SQLException {
+    OffsetDateTime value = rs.getObject(column, OffsetDateTime.class);
+    return value != null ? value.toInstant() : null;
+  }
+}
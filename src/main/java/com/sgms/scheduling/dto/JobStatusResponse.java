@@ -0,0 +1,160 @@
+package com.sgms.scheduling.dto;
+
+import java.time.Instant;
+
+/**
+ * Lease and last-run state of one cluster-wide scheduled job
+ */
+public class JobStatusResponse {
+
+  private String jobName;
+
+  /**
+   * Instance holding (or last holding) the lease
+   */
+  private String lockedBy;
+  private Instant lockedUntil;
+
+  /**
+   * True while a run holds the lease (started and not yet finished)
+   */
+  private boolean running;
+
+  private Instant lastStartedAt;
+  private Instant lastFinishedAt;
+  private Long lastDurationMs;
+  private String lastStatus;
+  private String lastError;
+  private String lastRunBy;
+  private long runCount;
+  private long failureCount;
+
+  /**
+   * Progress of chunked jobs (null for other jobs)
+   */
+  private Instant checkpointPosition;
+  private Long processedCount;
+  private Long skippedChunks;
+
+  // Getters and Setters
+
+  public String getJobName() {
+    return jobName;
+  }
+
+  public void setJobName(String jobName) {
+    this.jobName = jobName;
+  }
+
+  public String getLockedBy() {
+    return lockedBy;
+  }
+
+  public void setLockedBy(String lockedBy) {
+    this.lockedBy = lockedBy;
+  }
+
+  public Instant getLockedUntil() {
+    return lockedUntil;
+  }
+
+  public void setLockedUntil(Instant lockedUntil) {
+    this.lockedUntil = lockedUntil;
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  public void setRunning(boolean running) {
+    this.running = running;
+  }
+
+  public Instant getLastStartedAt() {
+    return lastStartedAt;
+  }
+
+  public void setLastStartedAt(Instant lastStartedAt) {
+    this.lastStartedAt = lastStartedAt;
+  }
+
+  public Instant getLastFinishedAt() {
+    return lastFinishedAt;
+  }
+
+  public void setLastFinishedAt(Instant lastFinishedAt) {
+    this.lastFinishedAt = lastFinishedAt;
+  }
+
+  public Long getLastDurationMs() {
+    return lastDurationMs;
+  }
+
+  public void setLastDurationMs(Long lastDurationMs) {
+    this.lastDurationMs = lastDurationMs;
+  }
+
+  public String getLastStatus() {
+    return lastStatus;
+  }
+
+  public void setLastStatus(String lastStatus) {
+    this.lastStatus = lastStatus;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public String getLastRunBy() {
+    return lastRunBy;
+  }
+
+  public void setLastRunBy(String lastRunBy) {
+    this.lastRunBy = lastRunBy;
+  }
+
+  public long getRunCount() {
+    return runCount;
+  }
+
+  public void setRunCount(long runCount) {
+    this.runCount = runCount;
+  }
+
+  public long getFailureCount() {
+    return failureCount;
+  }
+
+  public void setFailureCount(long failureCount) {
+    this.failureCount = failureCount;
+  }
+
+  public Instant getCheckpointPosition() {
+    return checkpointPosition;
+  }
+
+  public void setCheckpointPosition(Instant checkpointPosition) {
+    this.checkpointPosition = checkpointPosition;
+  }
+
+  public Long getProcessedCount() {
+    return processedCount;
+  }
+
+  public void setProcessedCount(Long processedCount) {
+    this.processedCount = processedCount;
+  }
+
+  public Long getSkippedChunks() {
+    return skippedChunks;
+  }
+
+  public void setSkippedChunks(Long skippedChunks) {
+    this.skippedChunks = skippedChunks;
+  }
+}
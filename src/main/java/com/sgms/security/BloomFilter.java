@@ -0,0 +1,70 @@
+package com.sgms.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, add-only Bloom filter over strings
+ * 
+ * mightContain never returns false for an added key; it returns true for a
+ * key that was not added with roughly the false-positive rate it was sized
+ * for. Safe for concurrent adds and reads.
+ */
+final class BloomFilter {
+  private final AtomicLongArray words;
+  private final int bitCount;
+  private final int hashCount;
+
+  BloomFilter(int expectedEntries, double falsePositiveRate) {
+    int n = Math.max(1, expectedEntries);
+    double ln2 = Math.log(2);
+    long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+    this.bitCount = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 64L);
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * ln2));
+    this.words = new AtomicLongArray((bitCount + 63) / 64);
+  }
+
+  void add(String key) {
+    long hash = hash64(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      int bit = index(h1 + i * h2);
+      long mask = 1L << bit;
+      words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+    }
+  }
+
+  boolean mightContain(String key) {
+    long hash = hash64(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      int bit = index(h1 + i * h2);
+      if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int index(int combined) {
+    return (combined & Integer.MAX_VALUE) % bitCount;
+  }
+
+  /**
+   * FNV-1a over the chars followed by the MurmurHash3 finalizer
+   */
+  private static long hash64(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
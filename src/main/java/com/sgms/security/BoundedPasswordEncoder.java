@@ -0,0 +1,71 @@
+package com.sgms.security;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Caps how many password hashes run at once
+ * 
+ * A hash is deliberately expensive, so a burst of logins (e.g. at shift
+ * change) would otherwise occupy every core and starve the rest of the API.
+ * Callers beyond the limit wait for a permit on their own request thread for
+ * up to maxWait and then get 503, so login latency grows while other
+ * endpoints keep responding.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+  private final PasswordEncoder delegate;
+  private final Semaphore permits;
+  private final long maxWaitMillis;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrentHashes, Duration maxWait) {
+    if (maxConcurrentHashes < 1) {
+      throw new IllegalArgumentException("maxConcurrentHashes must be at least 1");
+    }
+    this.delegate = delegate;
+    this.permits = new Semaphore(maxConcurrentHashes, true);
+    this.maxWaitMillis = Math.max(0, maxWait.toMillis());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    acquire();
+    try {
+      return delegate.encode(rawPassword);
+    } finally {
+      permits.release();
+    }
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    acquire();
+    try {
+      return delegate.matches(rawPassword, encodedPassword);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Only inspects the stored hash's prefix and cost, so needs no permit
+   */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private void acquire() {
+    try {
+      if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Sign-in is busy, please try again");
+  }
+}
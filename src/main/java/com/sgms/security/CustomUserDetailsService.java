@@ -3,13 +3,14 @@ package com.sgms.security;
 import com.sgms.user.UserEntity;
 import com.sgms.user.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
   private final UserRepository userRepository;
 
   public CustomUserDetailsService(UserRepository userRepository) {
@@ -23,4 +24,17 @@ public class CustomUserDetailsService implements UserDetailsService {
         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     return new UserPrincipal(user);
   }
+
+  /**
+   * Called by the authentication provider after a successful login whose
+   * stored hash uses an outdated algorithm or cost; newPassword is already encoded
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    UserEntity entity = userRepository.findByEmailIgnoreCaseAndDeletedAtIsNull(user.getUsername())
+        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    entity.setPasswordHash(newPassword);
+    return new UserPrincipal(userRepository.save(entity));
+  }
 }
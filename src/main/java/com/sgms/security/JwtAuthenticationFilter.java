@@ -10,6 +10,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.Clock;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
@@ -23,12 +26,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
   private final JwtService jwtService;
   private final CustomUserDetailsService userDetailsService;
+  private final TokenRevocationList tokenRevocationList;
   private final ObjectMapper objectMapper;
   private final Clock clock;
 
-  public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsService userDetailsService, ObjectMapper objectMapper, Clock clock) {
+  public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsService userDetailsService, TokenRevocationList tokenRevocationList, ObjectMapper objectMapper, Clock clock) {
     this.jwtService = jwtService;
     this.userDetailsService = userDetailsService;
+    this.tokenRevocationList = tokenRevocationList;
     this.objectMapper = objectMapper;
     this.clock = clock;
   }
@@ -53,13 +58,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     String token = header.substring("Bearer ".length()).trim();
     try {
       Jws<Claims> parsed = jwtService.parseAndValidate(token);
-      String email = parsed.getPayload().get("email", String.class);
+      Claims claims = parsed.getPayload();
+      String email = claims.get("email", String.class);
       if (email == null || email.isBlank()) {
         unauthorized(response, "Invalid token");
         return;
       }
 
-      UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+      UserDetails userDetails;
+      String sessionId = claims.getId();
+      if (sessionId != null) {
+        // Short-lived session token: trusted from its claims unless its session was revoked
+        if (tokenRevocationList.isRevoked(sessionId)) {
+          unauthorized(response, "Token revoked");
+          return;
+        }
+        userDetails = UserPrincipal.fromToken(Long.valueOf(claims.getSubject()), email, roleNames(claims));
+      } else {
+        // Token issued before refresh tokens existed: check the account on every request until it expires
+        userDetails = userDetailsService.loadUserByUsername(email);
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+          unauthorized(response, "Unauthorized");
+          return;
+        }
+      }
       UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
           userDetails, null, userDetails.getAuthorities());
       SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -70,6 +92,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
   }
 
+  private Set<String> roleNames(Claims claims) {
+    List<?> roles = claims.get("roles", List.class);
+    if (roles == null) {
+      return Set.of();
+    }
+    return roles.stream().map(String::valueOf).collect(Collectors.toSet());
+  }
+
   private void unauthorized(HttpServletResponse response, String message) throws IOException {
     ErrorResponse errorResponse = new ErrorResponse(message, "/api", clock);
     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -81,10 +111,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
     String path = request.getRequestURI();
     
-    // Skip JWT filter only for public authentication endpoints (login and register)
+    // Skip JWT filter only for public authentication endpoints (login, register, refresh, logout)
     // /api/auth/me requires authentication, so don't skip it
     return path.equals("/api/auth/login") ||
            path.equals("/api/auth/register") ||
+           path.equals("/api/auth/refresh") ||
+           path.equals("/api/auth/logout") ||
            path.startsWith("/actuator/health");
   }
 }
@@ -10,6 +10,7 @@ public class JwtProperties {
   private String secret;
   private String issuer;
   private long accessTokenTtlSeconds;
+  private long refreshTokenTtlSeconds = 2592000;
   private Environment environment;
 
   @Autowired
@@ -66,4 +67,12 @@ public class JwtProperties {
   public void setAccessTokenTtlSeconds(long accessTokenTtlSeconds) {
     this.accessTokenTtlSeconds = accessTokenTtlSeconds;
   }
+
+  public long getRefreshTokenTtlSeconds() {
+    return refreshTokenTtlSeconds;
+  }
+
+  public void setRefreshTokenTtlSeconds(long refreshTokenTtlSeconds) {
+    this.refreshTokenTtlSeconds = refreshTokenTtlSeconds;
+  }
 }
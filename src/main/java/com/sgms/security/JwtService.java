@@ -33,10 +33,15 @@ public class JwtService {
     this.signingKey = Keys.hmacShaKeyFor(secretBytes);
   }
 
-  public String generateAccessToken(String subject, String email, Set<String> roleNames) {
+  /**
+   * The jti is the id of the login session, so revoking the session revokes
+   * every access token issued for it
+   */
+  public String generateAccessToken(String subject, String email, Set<String> roleNames, String sessionId) {
     Instant now = clock.instant();
     Instant expiresAt = now.plusSeconds(properties.getAccessTokenTtlSeconds());
     return Jwts.builder()
+        .id(sessionId)
         .subject(subject)
         .issuer(properties.getIssuer())
         .issuedAt(Date.from(now))
@@ -0,0 +1,70 @@
+package com.sgms.security;
+
+import com.sgms.exception.RetryLaterException;
+import java.time.Clock;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token-bucket limit on login attempts, per client IP and per email
+ * 
+ * Checked before the credentials are authenticated, so an attempt over
+ * the limit is rejected with 429 without spending a password hash. The IP
+ * budget is the larger one, since a site's guards often share one address.
+ * An attempt rejected by its email budget gives its IP token back, so
+ * attempts against a locked-out account do not drain the budget of the
+ * other users behind the same address.
+ */
+@Component
+public class LoginRateLimiter {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+  private final StripedTokenBuckets byIp;
+  private final StripedTokenBuckets byEmail;
+  private final Clock clock;
+  private final boolean enabled;
+
+  public LoginRateLimiter(
+      Clock clock,
+      @Value("${app.security.login-rate-limit.enabled:true}") boolean enabled,
+      @Value("${app.security.login-rate-limit.stripes:16384}") int stripes,
+      @Value("${app.security.login-rate-limit.ip-capacity:60}") int ipCapacity,
+      @Value("${app.security.login-rate-limit.ip-refill-per-minute:30}") int ipRefillPerMinute,
+      @Value("${app.security.login-rate-limit.email-capacity:5}") int emailCapacity,
+      @Value("${app.security.login-rate-limit.email-refill-per-minute:1}") int emailRefillPerMinute) {
+    this.clock = clock;
+    this.enabled = enabled;
+    long origin = clock.millis();
+    this.byIp = new StripedTokenBuckets(stripes, ipCapacity, ipRefillPerMinute, origin);
+    this.byEmail = new StripedTokenBuckets(stripes, emailCapacity, emailRefillPerMinute, origin);
+  }
+
+  /**
+   * Take one attempt from the budgets of the client IP and the (normalized) email
+   * 
+   * @throws RetryLaterException 429 with Retry-After when either budget is spent
+   */
+  public void checkLoginAttempt(String clientIp, String email) {
+    if (!enabled) {
+      return;
+    }
+    long now = clock.millis();
+    long waitMillis = clientIp == null ? 0 : byIp.tryAcquire(clientIp, now);
+    if (waitMillis == 0 && email != null) {
+      waitMillis = byEmail.tryAcquire(email, now);
+      if (waitMillis > 0 && clientIp != null) {
+        byIp.refund(clientIp, now);
+      }
+    }
+    if (waitMillis > 0) {
+      logger.debug("Login attempt rate limited for {} / {}", clientIp, email);
+      throw new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+          "Too many login attempts, please try again later", Duration.ofMillis(waitMillis));
+    }
+  }
+}
@@ -1,7 +1,11 @@
 package com.sgms.security;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -13,7 +17,9 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -27,9 +33,37 @@ public class SecurityConfig {
   @Value("${app.cors.allowed-origins:}")
   private String allowedOrigins;
 
+  /**
+   * New hashes use app.security.password.algorithm ({bcrypt} or {pbkdf2}) at the
+   * configured cost. Stored hashes of any supported algorithm still match, and
+   * on a successful login a hash with another algorithm or a lower cost is
+   * rehashed (CustomUserDetailsService.updatePassword). Concurrent hashes are
+   * capped at app.security.password.max-concurrent-hashes (0 = core count).
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${app.security.password.algorithm:bcrypt}") String algorithm,
+      @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+      @Value("${app.security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+      @Value("${app.security.password.max-concurrent-hashes:0}") int maxConcurrentHashes,
+      @Value("${app.security.password.max-wait-ms:5000}") long maxWaitMs) {
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    encoders.put("bcrypt", bcrypt);
+    encoders.put("pbkdf2", new Pbkdf2PasswordEncoder(
+        "", 16, pbkdf2Iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+    String idForEncode = algorithm.trim().toLowerCase(Locale.ROOT);
+    if (!encoders.containsKey(idForEncode)) {
+      throw new IllegalStateException("Unsupported app.security.password.algorithm: " + algorithm
+          + " (expected one of " + encoders.keySet() + ")");
+    }
+    DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders);
+    // Hashes stored before the {id} prefix was introduced are plain BCrypt
+    delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+    int permits = maxConcurrentHashes > 0 ? maxConcurrentHashes : Runtime.getRuntime().availableProcessors();
+    return new BoundedPasswordEncoder(delegating, permits, Duration.ofMillis(maxWaitMs));
   }
 
   @Bean
@@ -58,7 +92,7 @@ public class SecurityConfig {
         
         // Authorization rules
         .authorizeHttpRequests(auth -> auth
-            .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register").permitAll()
+            .requestMatchers(HttpMethod.POST, "/api/auth/login", "/api/auth/register", "/api/auth/refresh", "/api/auth/logout").permitAll()
             .requestMatchers("/actuator/health/**", "/actuator/health").permitAll()
             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
             .anyRequest().authenticated()
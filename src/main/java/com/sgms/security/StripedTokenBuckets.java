@@ -0,0 +1,101 @@
+package com.sgms.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for an unbounded key space in constant memory
+ * 
+ * Keys are hashed onto a fixed array of stripes, one bucket per stripe, so
+ * memory does not grow with the number of IPs or emails seen; distinct keys
+ * that share a stripe share its budget. Each stripe is a single long holding
+ * the time of its last update and its tokens (in thousandths), changed with
+ * compare-and-set, so acquiring never blocks. Buckets refill from the
+ * elapsed time when next touched, which makes an idle stripe full again
+ * without any sweep or per-key expiry.
+ */
+final class StripedTokenBuckets {
+  private static final int TOKEN_BITS = 24;
+  private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+  private static final long MILLI = 1000;
+
+  private final AtomicLongArray stripes;
+  private final int mask;
+  private final long capacityMilli;
+  private final long refillMilliPerMinute;
+  private final long originMillis;
+
+  /**
+   * @param stripes rounded up to a power of two
+   * @param capacity burst size, at most 16000
+   * @param refillPerMinute tokens added per minute
+   */
+  StripedTokenBuckets(int stripes, int capacity, int refillPerMinute, long originMillis) {
+    int requested = Math.max(16, Math.min(stripes, 1 << 24));
+    int size = Integer.highestOneBit(requested - 1) << 1;
+    this.stripes = new AtomicLongArray(size);
+    this.mask = size - 1;
+    this.capacityMilli = Math.max(1, Math.min(capacity, 16000)) * MILLI;
+    this.refillMilliPerMinute = Math.max(1, refillPerMinute) * MILLI;
+    // Stripe state 0 means "never used"; times start at 1 so no used state is 0
+    this.originMillis = originMillis - 1;
+  }
+
+  /**
+   * Take one token for the key
+   * 
+   * @return 0 if a token was taken, otherwise milliseconds until one is available
+   */
+  long tryAcquire(String key, long nowMillis) {
+    int index = spread(key.hashCode()) & mask;
+    long now = Math.max(1, nowMillis - originMillis);
+    while (true) {
+      long state = stripes.get(index);
+      long tokens = state == 0 ? capacityMilli : refill(state, now);
+      if (tokens < MILLI) {
+        return ((MILLI - tokens) * 60_000 + refillMilliPerMinute - 1) / refillMilliPerMinute;
+      }
+      long next = (now << TOKEN_BITS) | (tokens - MILLI);
+      if (stripes.compareAndSet(index, state, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Give back a token taken by {@link #tryAcquire} for an attempt that was
+   * rejected by another limit, never above capacity
+   */
+  void refund(String key, long nowMillis) {
+    int index = spread(key.hashCode()) & mask;
+    long now = Math.max(1, nowMillis - originMillis);
+    while (true) {
+      long state = stripes.get(index);
+      if (state == 0) {
+        return;
+      }
+      long tokens = Math.min(capacityMilli, refill(state, now) + MILLI);
+      if (stripes.compareAndSet(index, state, (now << TOKEN_BITS) | tokens)) {
+        return;
+      }
+    }
+  }
+
+  private long refill(long state, long now) {
+    long last = state >>> TOKEN_BITS;
+    long tokens = state & TOKEN_MASK;
+    long elapsed = Math.max(0, now - last);
+    if (elapsed >= 60_000L * capacityMilli / refillMilliPerMinute + 1) {
+      return capacityMilli;
+    }
+    return Math.min(capacityMilli, tokens + elapsed * refillMilliPerMinute / 60_000);
+  }
+
+  private static int spread(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+}
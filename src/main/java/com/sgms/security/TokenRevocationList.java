@@ -0,0 +1,178 @@
+package com.sgms.security;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory copy of the unexpired rows of revoked_tokens
+ * 
+ * The JWT filter asks it about every request, so the check never touches the
+ * database: a Bloom filter answers "not revoked" for almost every token, and
+ * only its rare hits are confirmed against the exact jti -> expiry map.
+ * 
+ * Revocations made on this instance apply as soon as they commit. Revocations
+ * from other instances arrive with the next sync (app.security.revocation.
+ * sync-interval-ms), which pulls rows by revoked_at. Because a Bloom filter
+ * cannot forget, the whole list is rebuilt every rebuild-interval-minutes,
+ * dropping expired entries and resizing the filter.
+ */
+@Component
+public class TokenRevocationList {
+
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+  /**
+   * Re-read rows revoked slightly before the last one seen, so a revocation
+   * committed late (or stamped by a skewed clock) is not missed
+   */
+  private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+  private static final String SELECT_ACTIVE_SQL =
+      "SELECT jti, revoked_at, expires_at FROM revoked_tokens WHERE expires_at > ?";
+
+  private static final String SELECT_SINCE_SQL =
+      "SELECT jti, revoked_at, expires_at FROM revoked_tokens WHERE revoked_at > ? AND expires_at > ?";
+
+  private static final String PURGE_SQL =
+      "DELETE FROM revoked_tokens WHERE expires_at <= ?";
+
+  private record Revocation(String jti, Instant revokedAt, Instant expiresAt) {
+  }
+
+  private record Snapshot(BloomFilter filter, Map<String, Instant> expiresAtByJti) {
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Clock clock;
+  private final int expectedEntries;
+  private final double falsePositiveRate;
+  private final Duration rebuildInterval;
+
+  private volatile Snapshot snapshot;
+  private volatile boolean loaded;
+  private Instant syncedThrough = Instant.EPOCH;
+  private Instant nextRebuildAt = Instant.EPOCH;
+
+  public TokenRevocationList(
+      JdbcTemplate jdbcTemplate,
+      Clock clock,
+      @Value("${app.security.revocation.expected-entries:10000}") int expectedEntries,
+      @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+      @Value("${app.security.revocation.rebuild-interval-minutes:15}") long rebuildIntervalMinutes) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clock = clock;
+    this.expectedEntries = Math.max(16, expectedEntries);
+    this.falsePositiveRate = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+    this.rebuildInterval = Duration.ofMinutes(Math.max(1, rebuildIntervalMinutes));
+    this.snapshot = emptySnapshot(this.expectedEntries);
+  }
+
+  @PostConstruct
+  public void init() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      // Retried by the next sync; until then only local revocations are known
+      logger.warn("Could not load token revocations: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * True while the access tokens with this jti must be rejected
+   */
+  public boolean isRevoked(String jti) {
+    Snapshot current = snapshot;
+    if (!current.filter().mightContain(jti)) {
+      return false;
+    }
+    Instant expiresAt = current.expiresAtByJti().get(jti);
+    return expiresAt != null && expiresAt.isAfter(clock.instant());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onTokensRevoked(TokensRevokedEvent event) {
+    event.expiresAtByJti().forEach(this::add);
+  }
+
+  @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval-ms:5000}")
+  public void sync() {
+    try {
+      if (!loaded || !clock.instant().isBefore(nextRebuildAt)) {
+        rebuild();
+      } else {
+        pullNew();
+      }
+    } catch (Exception e) {
+      logger.warn("Could not sync token revocations: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Replace the filter and map with the unexpired rows, sized for their count
+   */
+  public synchronized void rebuild() {
+    Instant now = clock.instant();
+    jdbcTemplate.update(PURGE_SQL, Timestamp.from(now.minus(SYNC_OVERLAP)));
+    List<Revocation> active = jdbcTemplate.query(SELECT_ACTIVE_SQL, this::mapRevocation, Timestamp.from(now));
+
+    Snapshot rebuilt = emptySnapshot(Math.max(expectedEntries, active.size() * 2));
+    Instant latest = Instant.EPOCH;
+    for (Revocation revocation : active) {
+      rebuilt.filter().add(revocation.jti());
+      rebuilt.expiresAtByJti().put(revocation.jti(), revocation.expiresAt());
+      if (revocation.revokedAt().isAfter(latest)) {
+        latest = revocation.revokedAt();
+      }
+    }
+    snapshot = rebuilt;
+    syncedThrough = latest;
+    nextRebuildAt = now.plus(rebuildInterval);
+    loaded = true;
+    logger.debug("Loaded {} token revocations", active.size());
+  }
+
+  private synchronized void pullNew() {
+    Instant now = clock.instant();
+    List<Revocation> revocations = jdbcTemplate.query(SELECT_SINCE_SQL, this::mapRevocation,
+        Timestamp.from(syncedThrough.minus(SYNC_OVERLAP)), Timestamp.from(now));
+    for (Revocation revocation : revocations) {
+      add(revocation.jti(), revocation.expiresAt());
+      if (revocation.revokedAt().isAfter(syncedThrough)) {
+        syncedThrough = revocation.revokedAt();
+      }
+    }
+  }
+
+  private synchronized void add(String jti, Instant expiresAt) {
+    Snapshot current = snapshot;
+    current.expiresAtByJti().merge(jti, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+    current.filter().add(jti);
+  }
+
+  private Revocation mapRevocation(ResultSet rs, int rowNum) throws SQLException {
+    return new Revocation(
+        rs.getString("jti"),
+        rs.getTimestamp("revoked_at").toInstant(),
+        rs.getTimestamp("expires_at").toInstant());
+  }
+
+  private Snapshot emptySnapshot(int capacity) {
+    return new Snapshot(new BloomFilter(capacity, falsePositiveRate), new ConcurrentHashMap<>());
+  }
+}
@@ -0,0 +1,14 @@
+package com.sgms.security;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Published when login sessions are revoked: access-token jti -> time after
+ * which no access token of that session is valid anyway
+ * 
+ * The local revocation list applies it once the revocation has committed;
+ * other instances pick it up from revoked_tokens on their next sync.
+ */
+public record TokensRevokedEvent(Map<String, Instant> expiresAtByJti) {
+}
@@ -11,28 +11,51 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 public class UserPrincipal implements UserDetails {
+  private final Long userId;
+  private final String email;
+  private final Set<String> roleNames;
   private final UserEntity user;
 
   public UserPrincipal(UserEntity user) {
+    this.userId = user.getId();
+    this.email = user.getEmail();
+    this.roleNames = user.getRoles().stream().map(RoleEntity::getName).collect(Collectors.toSet());
     this.user = user;
   }
 
+  private UserPrincipal(Long userId, String email, Set<String> roleNames) {
+    this.userId = userId;
+    this.email = email;
+    this.roleNames = Set.copyOf(roleNames);
+    this.user = null;
+  }
+
+  /**
+   * Principal of a request authenticated by an access token: built from its
+   * claims without loading the user (the token is short-lived and revocable)
+   */
+  public static UserPrincipal fromToken(Long userId, String email, Set<String> roleNames) {
+    return new UserPrincipal(userId, email, roleNames);
+  }
+
+  /**
+   * The loaded user, or null for a principal built from access-token claims
+   */
   public UserEntity getUser() {
     return user;
   }
 
   public Long getUserId() {
-    return user.getId();
+    return userId;
   }
 
   public Set<String> getRoleNames() {
-    return user.getRoles().stream().map(RoleEntity::getName).collect(Collectors.toSet());
+    return roleNames;
   }
 
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
-        .map(RoleEntity::getName)
+    List<SimpleGrantedAuthority> authorities = roleNames.stream()
         .map(roleName -> new SimpleGrantedAuthority("ROLE_" + roleName))
         .toList();
     return authorities;
@@ -40,12 +63,12 @@ public class UserPrincipal implements UserDetails {
 
   @Override
   public String getPassword() {
-    return user.getPasswordHash();
+    return user == null ? null : user.getPasswordHash();
   }
 
   @Override
   public String getUsername() {
-    return user.getEmail();
+    return email;
   }
 
   @Override
@@ -55,7 +78,7 @@ public class UserPrincipal implements UserDetails {
 
   @Override
   public boolean isAccountNonLocked() {
-    return !"LOCKED".equalsIgnoreCase(user.getStatus());
+    return user == null || !"LOCKED".equalsIgnoreCase(user.getStatus());
   }
 
   @Override
@@ -65,6 +88,6 @@ public class UserPrincipal implements UserDetails {
 
   @Override
   public boolean isEnabled() {
-    return "ACTIVE".equalsIgnoreCase(user.getStatus()) && user.getDeletedAt() == null;
+    return user == null || ("ACTIVE".equalsIgnoreCase(user.getStatus()) && user.getDeletedAt() == null);
   }
 }
@@ -0,0 +1,68 @@
+package com.sgms.shift;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * One concrete occurrence of a shift: the half-open interval [start, end)
+ * of a shift type's wall-clock times on one shift date in a site's zone.
+ * 
+ * shiftDate is the local date the shift starts on, and the date its
+ * attendance record is kept under. Shifts whose end time is not after the
+ * start time (NIGHT 22:00-06:00) end on the following local day. Across a
+ * DST change the interval is the real elapsed time, so it may be an hour
+ * shorter or longer than the nominal shift.
+ */
+public record ShiftInstance(LocalDate shiftDate, ZoneId zone, Instant start, Instant end) {
+
+  /**
+   * Check-in opens this long before the shift starts
+   */
+  public static final Duration CHECK_IN_OPENS_BEFORE = Duration.ofHours(2);
+
+  /**
+   * Check-in closes this long after the shift starts
+   */
+  public static final Duration CHECK_IN_CLOSES_AFTER = Duration.ofHours(2);
+
+  /**
+   * A check-in without check-out is MISSED_CHECKOUT this long after the shift ends
+   */
+  public static final Duration CHECKOUT_GRACE = Duration.ofHours(2);
+
+  public Instant checkInOpensAt() {
+    return start.minus(CHECK_IN_OPENS_BEFORE);
+  }
+
+  public Instant checkInClosesAt() {
+    return start.plus(CHECK_IN_CLOSES_AFTER);
+  }
+
+  public Instant checkOutDeadline() {
+    return end.plus(CHECKOUT_GRACE);
+  }
+
+  /**
+   * Whether a check-in at this instant falls in the (inclusive) check-in window
+   */
+  public boolean acceptsCheckInAt(Instant instant) {
+    return !instant.isBefore(checkInOpensAt()) && !instant.isAfter(checkInClosesAt());
+  }
+
+  /**
+   * Whole minutes between shift start and a later instant, 0 if not after the start
+   */
+  public int minutesAfterStart(Instant instant) {
+    return instant.isAfter(start) ? (int) Duration.between(start, instant).toMinutes() : 0;
+  }
+
+  /**
+   * Wall-clock time of an instant in this shift's zone (for messages)
+   */
+  public LocalTime localTime(Instant instant) {
+    return LocalTime.ofInstant(instant, zone);
+  }
+}
@@ -0,0 +1,53 @@
+package com.sgms.shift;
+
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Shift-instance engine
+ * 
+ * Shift types hold zone-less wall-clock times; sites hold the IANA zone
+ * those times are read in. The engine materializes concrete [start, end)
+ * instants per assignment-day; {@link ShiftInstanceGenerator} stores them
+ * in shift_instances so check-in windows, lateness, early leave and the
+ * scheduler sweeps compare instants instead of local times in the
+ * server's zone.
+ * 
+ * Local times that do not exist (DST gap) move forward by the gap length;
+ * ambiguous ones (DST overlap) take the earlier offset, as
+ * {@link ZonedDateTime#of} does.
+ */
+@Component
+public class ShiftInstanceEngine {
+
+  /**
+   * Instance of a shift type on a shift date in a zone
+   */
+  public ShiftInstance instanceOf(LocalTime startTime, LocalTime endTime, ZoneId zone, LocalDate shiftDate) {
+    Instant start = ZonedDateTime.of(shiftDate, startTime, zone).toInstant();
+    LocalDate endDate = endTime.isAfter(startTime) ? shiftDate : shiftDate.plusDays(1);
+    Instant end = ZonedDateTime.of(endDate, endTime, zone).toInstant();
+    return new ShiftInstance(shiftDate, zone, start, end);
+  }
+
+  /**
+   * Parse a stored zone id; unknown ids fall back to UTC rather than failing a run
+   */
+  public ZoneId zoneOf(String timeZone) {
+    if (timeZone == null) {
+      return ZoneOffset.UTC;
+    }
+    try {
+      return ZoneId.of(timeZone);
+    } catch (DateTimeException e) {
+      return ZoneOffset.UTC;
+    }
+  }
+}
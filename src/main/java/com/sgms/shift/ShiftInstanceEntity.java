@@ -0,0 +1,191 @@
+package com.sgms.shift;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * ShiftInstance Entity
+ * 
+ * One materialized shift of an assignment on one shift date, with the
+ * concrete instants computed by {@link ShiftInstanceEngine} in the site's
+ * time zone. Guard, post, site and client ids are copied from the
+ * assignment so lookups never join back through it.
+ * 
+ * Table: shift_instances
+ * 
+ * Rows are written only by {@link ShiftInstanceGenerator}; the application
+ * reads them.
+ */
+@Entity
+@Table(name = "shift_instances")
+public class ShiftInstanceEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "assignment_id", nullable = false)
+  private Long assignmentId;
+
+  @Column(name = "guard_id")
+  private Long guardId;
+
+  @Column(name = "site_post_id", nullable = false)
+  private Long sitePostId;
+
+  @Column(name = "site_id", nullable = false)
+  private Long siteId;
+
+  @Column(name = "client_account_id", nullable = false)
+  private Long clientAccountId;
+
+  @Column(name = "shift_type_id", nullable = false)
+  private Long shiftTypeId;
+
+  @Column(name = "shift_date", nullable = false)
+  private LocalDate shiftDate;
+
+  @Column(name = "time_zone", nullable = false, length = 64)
+  private String timeZone;
+
+  @Column(name = "starts_at", nullable = false)
+  private Instant startsAt;
+
+  @Column(name = "ends_at", nullable = false)
+  private Instant endsAt;
+
+  @Column(name = "check_in_opens_at", nullable = false)
+  private Instant checkInOpensAt;
+
+  @Column(name = "check_in_closes_at", nullable = false)
+  private Instant checkInClosesAt;
+
+  @Column(name = "generated_at", nullable = false)
+  private Instant generatedAt;
+
+  /**
+   * The engine value of this row
+   */
+  public ShiftInstance toInstance() {
+    return new ShiftInstance(shiftDate, ZoneId.of(timeZone), startsAt, endsAt);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getAssignmentId() {
+    return assignmentId;
+  }
+
+  public void setAssignmentId(Long assignmentId) {
+    this.assignmentId = assignmentId;
+  }
+
+  public Long getGuardId() {
+    return guardId;
+  }
+
+  public void setGuardId(Long guardId) {
+    this.guardId = guardId;
+  }
+
+  public Long getSitePostId() {
+    return sitePostId;
+  }
+
+  public void setSitePostId(Long sitePostId) {
+    this.sitePostId = sitePostId;
+  }
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public Long getClientAccountId() {
+    return clientAccountId;
+  }
+
+  public void setClientAccountId(Long clientAccountId) {
+    this.clientAccountId = clientAccountId;
+  }
+
+  public Long getShiftTypeId() {
+    return shiftTypeId;
+  }
+
+  public void setShiftTypeId(Long shiftTypeId) {
+    this.shiftTypeId = shiftTypeId;
+  }
+
+  public LocalDate getShiftDate() {
+    return shiftDate;
+  }
+
+  public void setShiftDate(LocalDate shiftDate) {
+    this.shiftDate = shiftDate;
+  }
+
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  public void setTimeZone(String timeZone) {
+    this.timeZone = timeZone;
+  }
+
+  public Instant getStartsAt() {
+    return startsAt;
+  }
+
+  public void setStartsAt(Instant startsAt) {
+    this.startsAt = startsAt;
+  }
+
+  public Instant getEndsAt() {
+    return endsAt;
+  }
+
+  public void setEndsAt(Instant endsAt) {
+    this.endsAt = endsAt;
+  }
+
+  public Instant getCheckInOpensAt() {
+    return checkInOpensAt;
+  }
+
+  public void setCheckInOpensAt(Instant checkInOpensAt) {
+    this.checkInOpensAt = checkInOpensAt;
+  }
+
+  public Instant getCheckInClosesAt() {
+    return checkInClosesAt;
+  }
+
+  public void setCheckInClosesAt(Instant checkInClosesAt) {
+    this.checkInClosesAt = checkInClosesAt;
+  }
+
+  public Instant getGeneratedAt() {
+    return generatedAt;
+  }
+
+  public void setGeneratedAt(Instant generatedAt) {
+    this.generatedAt = generatedAt;
+  }
+}
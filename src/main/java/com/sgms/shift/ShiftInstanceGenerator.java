@@ -0,0 +1,296 @@
+package com.sgms.shift;
+
+import com.sgms.assignment.AssignmentChangedEvent;
+import com.sgms.scheduling.ClusterJobRunner;
+import com.sgms.site.SiteChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maintains the shift_instances table
+ * 
+ * Every active assignment is expanded into one row per shift date from
+ * yesterday to horizon-days ahead, with instants from the
+ * {@link ShiftInstanceEngine} in the site's time zone. A refresh upserts
+ * the expansion and deletes rows of the refreshed scope whose assignment
+ * is no longer active on that date (unless attendance was already
+ * recorded against them, so check-out and the missed-checkout sweep still
+ * find their shift end), so it is idempotent. Guards are
+ * refreshed once the transaction that changed their assignments commits,
+ * sites once their time zone changed; a nightly run rolls the horizon
+ * forward, prunes rows older than retention-days and heals anything a
+ * failed refresh left stale. A refresh that wrote rows publishes
+ * {@link ShiftInstancesChangedEvent}.
+ */
+@Component
+public class ShiftInstanceGenerator {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShiftInstanceGenerator.class);
+
+  static final String JOB_NAME = "shift.instances-generate";
+
+  private static final int BATCH_SIZE = 1000;
+
+  private static final String SOURCES_SQL =
+      "SELECT ga.id AS assignment_id, ga.guard_id, ga.site_post_id, sp.site_id, s.client_account_id, " +
+      "ga.shift_type_id, ga.effective_from, ga.effective_to, st.start_time, st.end_time, s.time_zone " +
+      "FROM guard_assignments ga " +
+      "JOIN site_posts sp ON sp.id = ga.site_post_id " +
+      "JOIN sites s ON s.id = sp.site_id " +
+      "JOIN shift_types st ON st.id = ga.shift_type_id " +
+      "WHERE ga.status = 'ACTIVE' " +
+      "AND ga.effective_from <= ? " +
+      "AND (ga.effective_to IS NULL OR ga.effective_to >= ?) ";
+
+  private static final String UPSERT_SQL =
+      "INSERT INTO shift_instances (assignment_id, guard_id, site_post_id, site_id, client_account_id, " +
+      "shift_type_id, shift_date, time_zone, starts_at, ends_at, check_in_opens_at, check_in_closes_at, " +
+      "generated_at) " +
+      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now()) " +
+      "ON CONFLICT (assignment_id, shift_date) DO UPDATE SET " +
+      "guard_id = EXCLUDED.guard_id, site_post_id = EXCLUDED.site_post_id, site_id = EXCLUDED.site_id, " +
+      "client_account_id = EXCLUDED.client_account_id, shift_type_id = EXCLUDED.shift_type_id, " +
+      "time_zone = EXCLUDED.time_zone, starts_at = EXCLUDED.starts_at, ends_at = EXCLUDED.ends_at, " +
+      "check_in_opens_at = EXCLUDED.check_in_opens_at, check_in_closes_at = EXCLUDED.check_in_closes_at, " +
+      "generated_at = EXCLUDED.generated_at " +
+      "WHERE (shift_instances.guard_id, shift_instances.site_post_id, shift_instances.time_zone, " +
+      "shift_instances.starts_at, shift_instances.ends_at) IS DISTINCT FROM " +
+      "(EXCLUDED.guard_id, EXCLUDED.site_post_id, EXCLUDED.time_zone, EXCLUDED.starts_at, EXCLUDED.ends_at)";
+
+  private static final String DELETE_STALE_SQL =
+      "DELETE FROM shift_instances si " +
+      "WHERE si.shift_date BETWEEN ? AND ? " +
+      "AND NOT EXISTS (SELECT 1 FROM guard_assignments ga " +
+      "  WHERE ga.id = si.assignment_id AND ga.status = 'ACTIVE' " +
+      "  AND ga.effective_from <= si.shift_date " +
+      "  AND (ga.effective_to IS NULL OR ga.effective_to >= si.shift_date)) " +
+      "AND NOT EXISTS (SELECT 1 FROM attendance_logs al " +
+      "  WHERE al.guard_id = si.guard_id AND al.attendance_date = si.shift_date " +
+      "  AND al.assignment_id = si.assignment_id) ";
+
+  private static final RowMapper<AssignmentShift> SOURCE_MAPPER = (rs, rowNum) -> new AssignmentShift(
+      rs.getLong("assignment_id"),
+      rs.getObject("guard_id", Long.class),
+      rs.getLong("site_post_id"),
+      rs.getLong("site_id"),
+      rs.getLong("client_account_id"),
+      rs.getLong("shift_type_id"),
+      rs.getObject("effective_from", LocalDate.class),
+      rs.getObject("effective_to", LocalDate.class),
+      rs.getObject("start_time", LocalTime.class),
+      rs.getObject("end_time", LocalTime.class),
+      rs.getString("time_zone"));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ClusterJobRunner clusterJobRunner;
+  private final ShiftInstanceEngine shiftInstanceEngine;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Clock clock;
+  private final int horizonDays;
+  private final int retentionDays;
+
+  public ShiftInstanceGenerator(
+      JdbcTemplate jdbcTemplate,
+      ClusterJobRunner clusterJobRunner,
+      ShiftInstanceEngine shiftInstanceEngine,
+      ApplicationEventPublisher eventPublisher,
+      Clock clock,
+      @Value("${app.shift.instances.horizon-days:14}") int horizonDays,
+      @Value("${app.shift.instances.retention-days:7}") int retentionDays) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.clusterJobRunner = clusterJobRunner;
+    this.shiftInstanceEngine = shiftInstanceEngine;
+    this.eventPublisher = eventPublisher;
+    this.clock = clock;
+    this.horizonDays = Math.max(1, horizonDays);
+    this.retentionDays = Math.max(2, retentionDays);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onAssignmentChanged(AssignmentChangedEvent event) {
+    try {
+      Long[] guardIds = event.guardIds().stream().distinct().toArray(Long[]::new);
+      refresh("AND ga.guard_id = ANY(?)", "AND si.guard_id = ANY(?)", guardIds);
+    } catch (Exception e) {
+      // Next nightly run catches up
+      logger.warn("Could not refresh shift instances for guards {}: {}", event.guardIds(), e.getMessage());
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void onSiteChanged(SiteChangedEvent event) {
+    try {
+      Long[] siteIds = {event.siteId()};
+      refresh("AND sp.site_id = ANY(?)", "AND si.site_id = ANY(?)", siteIds);
+    } catch (Exception e) {
+      logger.warn("Could not refresh shift instances for site {}: {}", event.siteId(), e.getMessage());
+    }
+  }
+
+  /**
+   * Generate the table once the application is up (e.g. after the migration is applied)
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      regenerate();
+    } catch (Exception e) {
+      logger.warn("Could not generate shift instances at startup: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Nightly run: roll the horizon forward and prune old rows
+   * 
+   * Cron: app.shift.instances.cron (default every day at 00:20:00)
+   */
+  @Scheduled(cron = "${app.shift.instances.cron:0 20 0 * * *}")
+  @Transactional
+  public void scheduledRegenerate() {
+    try {
+      clusterJobRunner.runExclusive(JOB_NAME, Duration.ofMinutes(30), () -> {
+        logger.info("Starting scheduled job: Generate shift instances");
+        regenerate();
+      });
+    } catch (Exception e) {
+      logger.error("Error in scheduledRegenerate scheduled job", e);
+    }
+  }
+
+  /**
+   * Expand every active assignment over the window and prune expired rows
+   */
+  public void regenerate() {
+    LocalDate today = LocalDate.now(clock);
+    int pruned = jdbcTemplate.update(
+        "DELETE FROM shift_instances WHERE shift_date < ?", today.minusDays(retentionDays));
+    int upserted = refresh("", "", null);
+    logger.info("Shift instances generated: {} rows written, {} pruned", upserted, pruned);
+  }
+
+  /**
+   * Refresh one scope of the window
+   * 
+   * The scope clauses take the ids as their only parameter; with null ids
+   * (and empty clauses) the whole window is refreshed.
+   * 
+   * @return rows inserted or changed
+   */
+  private int refresh(String sourceScope, String staleScope, Long[] ids) {
+    LocalDate today = LocalDate.now(clock);
+    LocalDate from = today.minusDays(1);
+    LocalDate to = today.plusDays(horizonDays);
+
+    List<AssignmentShift> sources = jdbcTemplate.query(
+        statement(SOURCES_SQL + sourceScope, scoped(ids, to, from)), SOURCE_MAPPER);
+    List<Object[]> rows = new ArrayList<>();
+    for (AssignmentShift source : sources) {
+      rows.addAll(expand(source, from, to));
+    }
+
+    int written = 0;
+    for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+      for (int count : jdbcTemplate.batchUpdate(UPSERT_SQL, rows.subList(i, Math.min(i + BATCH_SIZE, rows.size())))) {
+        written += Math.max(count, 0);
+      }
+    }
+    jdbcTemplate.update(statement(DELETE_STALE_SQL + staleScope, scoped(ids, from, to)));
+    if (written > 0) {
+      eventPublisher.publishEvent(new ShiftInstancesChangedEvent(written));
+    }
+    return written;
+  }
+
+  private static Object[] scoped(Long[] ids, Object... params) {
+    if (ids == null) {
+      return params;
+    }
+    Object[] all = Arrays.copyOf(params, params.length + 1);
+    all[params.length] = ids;
+    return all;
+  }
+
+  /**
+   * Upsert parameters of an assignment's instances on the shift dates in [from, to]
+   */
+  private List<Object[]> expand(AssignmentShift source, LocalDate from, LocalDate to) {
+    LocalDate first = source.effectiveFrom().isAfter(from) ? source.effectiveFrom() : from;
+    LocalDate last = source.effectiveTo() != null && source.effectiveTo().isBefore(to) ? source.effectiveTo() : to;
+    ZoneId zone = shiftInstanceEngine.zoneOf(source.timeZone());
+
+    List<Object[]> rows = new ArrayList<>();
+    for (LocalDate shiftDate = first; !shiftDate.isAfter(last); shiftDate = shiftDate.plusDays(1)) {
+      ShiftInstance instance = shiftInstanceEngine.instanceOf(
+          source.startTime(), source.endTime(), zone, shiftDate);
+      rows.add(new Object[] {
+          source.assignmentId(),
+          source.guardId(),
+          source.sitePostId(),
+          source.siteId(),
+          source.clientAccountId(),
+          source.shiftTypeId(),
+          shiftDate,
+          zone.getId(),
+          instance.start().atOffset(ZoneOffset.UTC),
+          instance.end().atOffset(ZoneOffset.UTC),
+          instance.checkInOpensAt().atOffset(ZoneOffset.UTC),
+          instance.checkInClosesAt().atOffset(ZoneOffset.UTC)
+      });
+    }
+    return rows;
+  }
+
+  /**
+   * Statement binding the given parameters in order, Long[] as a bigint array
+   */
+  private static PreparedStatementCreator statement(String sql, Object... params) {
+    return con -> {
+      PreparedStatement ps = con.prepareStatement(sql);
+      int index = 1;
+      for (Object param : params) {
+        ps.setObject(index++, param instanceof Long[] ids ? con.createArrayOf("bigint", ids) : param);
+      }
+      return ps;
+    };
+  }
+
+  private record AssignmentShift(
+      Long assignmentId,
+      Long guardId,
+      Long sitePostId,
+      Long siteId,
+      Long clientAccountId,
+      Long shiftTypeId,
+      LocalDate effectiveFrom,
+      LocalDate effectiveTo,
+      LocalTime startTime,
+      LocalTime endTime,
+      String timeZone) {
+  }
+}
@@ -0,0 +1,26 @@
+package com.sgms.shift;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for ShiftInstance entity (read side of shift_instances)
+ */
+@Repository
+public interface ShiftInstanceRepository extends JpaRepository<ShiftInstanceEntity, Long> {
+
+  /**
+   * A guard's shifts starting in an interval, earliest first
+   * Used by check-in to find the shift whose check-in window is open
+   */
+  @Query("SELECT si FROM ShiftInstanceEntity si " +
+         "WHERE si.guardId = :guardId " +
+         "AND si.startsAt >= :from " +
+         "AND si.startsAt < :to " +
+         "ORDER BY si.startsAt")
+  List<ShiftInstanceEntity> findByGuardIdStartingBetween(Long guardId, Instant from, Instant to);
+}
@@ -0,0 +1,10 @@
+package com.sgms.shift;
+
+/**
+ * Published when a refresh of shift_instances inserted or changed rows
+ * 
+ * Timers planned from the table (e.g. no-show checks) reload once the
+ * refresh has committed.
+ */
+public record ShiftInstancesChangedEvent(int rowsWritten) {
+}
@@ -1,5 +1,6 @@
 package com.sgms.site;
 
+import com.sgms.site.dto.ClientSiteAccessResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,6 +14,10 @@ import java.util.Optional;
 @Repository
 public interface ClientSiteAccessRepository extends JpaRepository<ClientSiteAccessEntity, Long> {
 
+  String RESPONSE_SELECT = "SELECT new com.sgms.site.dto.ClientSiteAccessResponse(" +
+      "csa.id, u.id, u.fullName, u.email, s.id, s.name, csa.grantedAt, csa.revokedAt) " +
+      "FROM ClientSiteAccessEntity csa JOIN csa.clientUser u JOIN csa.site s ";
+
   /**
    * Find all active client site access grants
    */
@@ -42,4 +47,16 @@ public interface ClientSiteAccessRepository extends JpaRepository<ClientSiteAcce
    */
   @Query("SELECT COUNT(csa) > 0 FROM ClientSiteAccessEntity csa WHERE csa.clientUser.id = :clientUserId AND csa.site.id = :siteId AND csa.revokedAt IS NULL")
   boolean existsActiveAccess(Long clientUserId, Long siteId);
+
+  /**
+   * Read projection of active site access grants for a client user
+   */
+  @Query(RESPONSE_SELECT + "WHERE u.id = :clientUserId AND csa.revokedAt IS NULL ORDER BY csa.grantedAt DESC")
+  List<ClientSiteAccessResponse> findActiveResponsesByClientUserId(Long clientUserId);
+
+  /**
+   * Read projection of active client access grants for a site
+   */
+  @Query(RESPONSE_SELECT + "WHERE s.id = :siteId AND csa.revokedAt IS NULL ORDER BY csa.grantedAt DESC")
+  List<ClientSiteAccessResponse> findActiveResponsesBySiteId(Long siteId);
 }
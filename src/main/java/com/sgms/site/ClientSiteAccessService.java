@@ -11,7 +11,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Clock;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing client site access
@@ -77,16 +76,14 @@ public class ClientSiteAccessService {
   @Transactional(readOnly = true)
   public List<ClientSiteAccessResponse> getSitesForClient(Long clientUserId) {
     // Verify client exists
-    userRepository.findById(clientUserId)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Client user not found with id: " + clientUserId
-        ));
+    if (!userRepository.existsById(clientUserId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Client user not found with id: " + clientUserId
+      );
+    }
 
-    return clientSiteAccessRepository.findAllByClientUserId(clientUserId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return clientSiteAccessRepository.findActiveResponsesByClientUserId(clientUserId);
   }
 
   /**
@@ -95,16 +92,14 @@ public class ClientSiteAccessService {
   @Transactional(readOnly = true)
   public List<ClientSiteAccessResponse> getClientsForSite(Long siteId) {
     // Verify site exists
-    siteRepository.findActiveById(siteId)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Site not found with id: " + siteId
-        ));
+    if (!siteRepository.existsActiveById(siteId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Site not found with id: " + siteId
+      );
+    }
 
-    return clientSiteAccessRepository.findAllBySiteId(siteId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return clientSiteAccessRepository.findActiveResponsesBySiteId(siteId);
   }
 
   /**
@@ -0,0 +1,10 @@
+package com.sgms.site;
+
+/**
+ * Published when a site is created, updated or deleted
+ * 
+ * In-memory site views (e.g. the spatial index) rebuild once the
+ * publishing transaction commits.
+ */
+public record SiteChangedEvent(Long siteId) {
+}
@@ -1,15 +1,20 @@
 package com.sgms.site;
 
 import com.sgms.common.ApiResponse;
+import com.sgms.common.ListParams;
 import com.sgms.site.dto.CreateSiteRequest;
+import com.sgms.site.dto.NearbySiteResponse;
 import com.sgms.site.dto.SiteResponse;
+import com.sgms.site.dto.UpdateSiteTimeZoneRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -21,16 +26,19 @@ import java.util.List;
 /**
  * Controller for site management
  * 
- * All endpoints require ADMIN role
+ * All endpoints require ADMIN role, except the nearest-site lookup
+ * which dispatch (SUPERVISOR) also uses
  */
 @RestController
 @RequestMapping("/api/sites")
 public class SiteController {
 
   private final SiteService siteService;
+  private final SiteProximityService proximityService;
 
-  public SiteController(SiteService siteService) {
+  public SiteController(SiteService siteService, SiteProximityService proximityService) {
     this.siteService = siteService;
+    this.proximityService = proximityService;
   }
 
   /**
@@ -52,12 +60,19 @@ public class SiteController {
    * 
    * GET /api/sites
    * GET /api/sites?clientId={id}
+   * GET /api/sites?limit=50&sort=name&fields=id,name,address&cursor=...
    * Requires: ADMIN role
+   * 
+   * Returns a cursor page when any of limit, cursor, sort or fields is given
    */
   @GetMapping
   @PreAuthorize("hasRole('ADMIN')")
-  public ApiResponse<List<SiteResponse>> getAllSites(
-      @RequestParam(required = false) Long clientId) {
+  public ApiResponse<?> getAllSites(
+      @RequestParam(required = false) Long clientId,
+      @ModelAttribute ListParams page) {
+    if (page.isPaged()) {
+      return ApiResponse.success(siteService.listSites(clientId, page));
+    }
     
     List<SiteResponse> sites;
     if (clientId != null) {
@@ -69,6 +84,25 @@ public class SiteController {
     return ApiResponse.success(sites);
   }
 
+  /**
+   * Find the sites nearest to a location (incident, relief guard position)
+   * 
+   * GET /api/sites/nearest?latitude=28.6139&longitude=77.2090&limit=10&maxDistanceMeters=50000
+   * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Returns active sites with coordinates, nearest first, with their distance in meters
+   */
+  @GetMapping("/nearest")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+  public ApiResponse<List<NearbySiteResponse>> findNearestSites(
+      @RequestParam double latitude,
+      @RequestParam double longitude,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) Double maxDistanceMeters) {
+    List<NearbySiteResponse> sites = proximityService.findNearest(latitude, longitude, limit, maxDistanceMeters);
+    return ApiResponse.success(sites);
+  }
+
   /**
    * Get site by ID
    * 
@@ -82,6 +116,21 @@ public class SiteController {
     return ApiResponse.success(site);
   }
 
+  /**
+   * Change a site's time zone
+   * 
+   * PUT /api/sites/{id}/time-zone
+   * Requires: ADMIN role
+   */
+  @PutMapping("/{id}/time-zone")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ApiResponse<SiteResponse> updateTimeZone(
+      @PathVariable Long id,
+      @Valid @RequestBody UpdateSiteTimeZoneRequest request) {
+    SiteResponse site = siteService.updateTimeZone(id, request.getTimeZone());
+    return ApiResponse.success(site, "Site time zone updated successfully");
+  }
+
   /**
    * Delete a site (soft delete)
    * 
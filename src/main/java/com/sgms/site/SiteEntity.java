@@ -3,6 +3,7 @@ package com.sgms.site;
 import com.sgms.client.ClientAccountEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -19,6 +20,9 @@ import java.time.Instant;
  * 
  * Represents a physical location/site managed by SGMS.
  * Each site belongs to a client account.
+ * 
+ * timeZone is the IANA zone shift times at this site are read in
+ * (see {@link com.sgms.shift.ShiftInstanceEngine}).
  */
 @Entity
 @Table(name = "sites")
@@ -28,7 +32,7 @@ public class SiteEntity {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "client_account_id", nullable = false)
   private ClientAccountEntity clientAccount;
 
@@ -44,6 +48,12 @@ public class SiteEntity {
   @Column(name = "longitude", precision = 11, scale = 8)
   private BigDecimal longitude;
 
+  @Column(name = "geofence_radius_meters")
+  private Integer geofenceRadiusMeters;
+
+  @Column(name = "time_zone", nullable = false, length = 64)
+  private String timeZone;
+
   @Column(name = "status", nullable = false, length = 20)
   private String status;
 
@@ -71,6 +81,9 @@ public class SiteEntity {
     if (status == null) {
       status = "ACTIVE";
     }
+    if (timeZone == null) {
+      timeZone = "UTC";
+    }
     if (active == null) {
       active = true;
     }
@@ -170,4 +183,20 @@ public class SiteEntity {
   public void setActive(Boolean active) {
     this.active = active;
   }
+
+  public Integer getGeofenceRadiusMeters() {
+    return geofenceRadiusMeters;
+  }
+
+  public void setGeofenceRadiusMeters(Integer geofenceRadiusMeters) {
+    this.geofenceRadiusMeters = geofenceRadiusMeters;
+  }
+
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  public void setTimeZone(String timeZone) {
+    this.timeZone = timeZone;
+  }
 }
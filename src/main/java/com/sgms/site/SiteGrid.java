@@ -0,0 +1,170 @@
+package com.sgms.site;
+
+import com.sgms.common.GeoDistance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable uniform lat/lon grid of sites
+ * 
+ * Cells are CELL_DEGREES square; a radius query only visits the cells
+ * overlapping the query's bounding box, so lookups cost a few map probes
+ * regardless of how many sites exist. Longitude cells wrap at the
+ * antimeridian; near the poles the query widens to every longitude.
+ * k-nearest queries grow a radius search outwards from the point.
+ */
+final class SiteGrid {
+
+  static final double CELL_DEGREES = 0.05;
+  private static final double INITIAL_SEARCH_METERS = 2_000.0;
+  private static final double METERS_PER_DEGREE_LATITUDE = Math.PI * GeoDistance.EARTH_RADIUS_METERS / 180.0;
+  private static final int LATITUDE_CELLS = (int) Math.ceil(180.0 / CELL_DEGREES);
+  private static final int LONGITUDE_CELLS = (int) Math.ceil(360.0 / CELL_DEGREES);
+
+  static final SiteGrid EMPTY = new SiteGrid(List.of());
+
+  private final Map<Long, SiteSpatialIndex.IndexedSite> sitesById = new HashMap<>();
+  private final Map<Long, List<SiteSpatialIndex.IndexedSite>> cells = new HashMap<>();
+
+  SiteGrid(Collection<SiteSpatialIndex.IndexedSite> sites) {
+    for (SiteSpatialIndex.IndexedSite site : sites) {
+      sitesById.put(site.id(), site);
+      cells.computeIfAbsent(cellKey(latitudeCell(site.latitude()), longitudeCell(site.longitude())),
+          key -> new ArrayList<>()).add(site);
+    }
+  }
+
+  SiteSpatialIndex.IndexedSite get(Long siteId) {
+    return sitesById.get(siteId);
+  }
+
+  /**
+   * Sites within radiusMeters of the point, nearest first
+   */
+  List<SiteSpatialIndex.SiteHit> within(double latitude, double longitude, double radiusMeters) {
+    double latitudeDegrees = radiusMeters / METERS_PER_DEGREE_LATITUDE;
+    int latitudeSpan = (int) Math.ceil(latitudeDegrees / CELL_DEGREES);
+    int longitudeSpan = longitudeSpan(latitude, latitudeDegrees, radiusMeters);
+
+    int centerLatitude = latitudeCell(latitude);
+    int centerLongitude = longitudeCell(longitude);
+    List<SiteSpatialIndex.SiteHit> hits = new ArrayList<>();
+
+    for (int lat = Math.max(0, centerLatitude - latitudeSpan);
+         lat <= Math.min(LATITUDE_CELLS - 1, centerLatitude + latitudeSpan); lat++) {
+      if (2 * longitudeSpan + 1 >= LONGITUDE_CELLS) {
+        for (int lon = 0; lon < LONGITUDE_CELLS; lon++) {
+          collect(lat, lon, latitude, longitude, radiusMeters, hits);
+        }
+      } else {
+        for (int offset = -longitudeSpan; offset <= longitudeSpan; offset++) {
+          int lon = Math.floorMod(centerLongitude + offset, LONGITUDE_CELLS);
+          collect(lat, lon, latitude, longitude, radiusMeters, hits);
+        }
+      }
+    }
+
+    hits.sort(Comparator.comparingDouble(SiteSpatialIndex.SiteHit::distanceMeters));
+    return hits;
+  }
+
+  /**
+   * The k sites nearest to the point within maxDistanceMeters, nearest first
+   * 
+   * Searches a radius that doubles from INITIAL_SEARCH_METERS until it
+   * holds k sites (everything closer than the radius is then known). Once
+   * the radius would visit more cells than there are sites, a linear scan
+   * is cheaper and replaces the grid walk.
+   */
+  List<SiteSpatialIndex.SiteHit> nearest(double latitude, double longitude, int k, double maxDistanceMeters) {
+    double radius = Math.min(INITIAL_SEARCH_METERS, maxDistanceMeters);
+    while (true) {
+      if (cellsVisited(latitude, radius) > sitesById.size()) {
+        return scan(latitude, longitude, k, maxDistanceMeters);
+      }
+      List<SiteSpatialIndex.SiteHit> hits = within(latitude, longitude, radius);
+      if (hits.size() >= k || radius >= maxDistanceMeters) {
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+      }
+      radius = Math.min(radius * 2, maxDistanceMeters);
+    }
+  }
+
+  private List<SiteSpatialIndex.SiteHit> scan(double latitude, double longitude, int k, double maxDistanceMeters) {
+    // Max-heap on distance keeps the k nearest seen so far
+    PriorityQueue<SiteSpatialIndex.SiteHit> heap = new PriorityQueue<>(
+        Comparator.comparingDouble(SiteSpatialIndex.SiteHit::distanceMeters).reversed());
+    for (SiteSpatialIndex.IndexedSite site : sitesById.values()) {
+      double distance = GeoDistance.haversineMeters(latitude, longitude, site.latitude(), site.longitude());
+      if (distance > maxDistanceMeters) {
+        continue;
+      }
+      if (heap.size() < k) {
+        heap.add(new SiteSpatialIndex.SiteHit(site, distance));
+      } else if (distance < heap.peek().distanceMeters()) {
+        heap.poll();
+        heap.add(new SiteSpatialIndex.SiteHit(site, distance));
+      }
+    }
+    List<SiteSpatialIndex.SiteHit> hits = new ArrayList<>(heap);
+    hits.sort(Comparator.comparingDouble(SiteSpatialIndex.SiteHit::distanceMeters));
+    return hits;
+  }
+
+  private static long cellsVisited(double latitude, double radiusMeters) {
+    double latitudeDegrees = radiusMeters / METERS_PER_DEGREE_LATITUDE;
+    long latitudeCells = Math.min(LATITUDE_CELLS, 2L * (long) Math.ceil(latitudeDegrees / CELL_DEGREES) + 1);
+    long longitudeCells = Math.min(LONGITUDE_CELLS,
+        2L * longitudeSpan(latitude, latitudeDegrees, radiusMeters) + 1);
+    return latitudeCells * longitudeCells;
+  }
+
+  /**
+   * Longitude cells either side of the centre that a radius query must visit
+   */
+  private static int longitudeSpan(double latitude, double latitudeDegrees, double radiusMeters) {
+    // Longitude degrees shrink towards the pole, so size the span at the box's poleward edge
+    double polewardLatitude = Math.min(90.0, Math.abs(latitude) + latitudeDegrees);
+    double metersPerDegreeLongitude = METERS_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(polewardLatitude));
+    return metersPerDegreeLongitude < 1.0
+        ? LONGITUDE_CELLS
+        : (int) Math.min(LONGITUDE_CELLS, Math.ceil(radiusMeters / metersPerDegreeLongitude / CELL_DEGREES));
+  }
+
+  private void collect(
+      int latitudeCell,
+      int longitudeCell,
+      double latitude,
+      double longitude,
+      double radiusMeters,
+      List<SiteSpatialIndex.SiteHit> hits) {
+    List<SiteSpatialIndex.IndexedSite> cell = cells.get(cellKey(latitudeCell, longitudeCell));
+    if (cell == null) {
+      return;
+    }
+    for (SiteSpatialIndex.IndexedSite site : cell) {
+      double distance = GeoDistance.haversineMeters(latitude, longitude, site.latitude(), site.longitude());
+      if (distance <= radiusMeters) {
+        hits.add(new SiteSpatialIndex.SiteHit(site, distance));
+      }
+    }
+  }
+
+  private static int latitudeCell(double latitude) {
+    return Math.min(LATITUDE_CELLS - 1, (int) Math.floor((latitude + 90.0) / CELL_DEGREES));
+  }
+
+  private static int longitudeCell(double longitude) {
+    return Math.floorMod((int) Math.floor((longitude + 180.0) / CELL_DEGREES), LONGITUDE_CELLS);
+  }
+
+  private static long cellKey(int latitudeCell, int longitudeCell) {
+    return ((long) latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+  }
+}
@@ -0,0 +1,10 @@
+package com.sgms.site;
+
+/**
+ * Published when a site post is created, updated or deleted
+ * 
+ * Read models that depend on a site's posts (e.g. the client portal
+ * coverage figures) refresh that site once the publishing transaction commits.
+ */
+public record SitePostChangedEvent(Long siteId) {
+}
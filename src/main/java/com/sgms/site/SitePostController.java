@@ -1,6 +1,7 @@
 package com.sgms.site;
 
 import com.sgms.common.ApiResponse;
+import com.sgms.common.ListParams;
 import com.sgms.site.dto.CreateSitePostRequest;
 import com.sgms.site.dto.SitePostResponse;
 import com.sgms.site.dto.UpdateSitePostRequest;
@@ -9,6 +10,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -54,11 +56,17 @@ public class SitePostController {
    * Get all site posts
    * 
    * GET /api/site-posts
+   * GET /api/site-posts?limit=50&sort=postName&fields=id,postName,siteName&cursor=...
    * Requires: ADMIN or SUPERVISOR role
+   * 
+   * Returns a cursor page when any of limit, cursor, sort or fields is given
    */
   @GetMapping
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
-  public ApiResponse<List<SitePostResponse>> getAllSitePosts() {
+  public ApiResponse<?> getAllSitePosts(@ModelAttribute ListParams page) {
+    if (page.isPaged()) {
+      return ApiResponse.success(sitePostService.listSitePosts(page));
+    }
     List<SitePostResponse> posts = sitePostService.getAllSitePosts();
     return ApiResponse.success(posts);
   }
@@ -84,7 +92,10 @@ public class SitePostController {
    */
   @GetMapping("/site/{siteId}")
   @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
-  public ApiResponse<List<SitePostResponse>> getPostsBySiteId(@PathVariable Long siteId) {
+  public ApiResponse<?> getPostsBySiteId(@PathVariable Long siteId, @ModelAttribute ListParams page) {
+    if (page.isPaged()) {
+      return ApiResponse.success(sitePostService.listPostsBySiteId(siteId, page));
+    }
     List<SitePostResponse> posts = sitePostService.getPostsBySiteId(siteId);
     return ApiResponse.success(posts);
   }
@@ -1,9 +1,11 @@
 package com.sgms.site;
 
+import com.sgms.site.dto.SitePostResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +15,11 @@ import java.util.Optional;
 @Repository
 public interface SitePostRepository extends JpaRepository<SitePostEntity, Long> {
 
+  String RESPONSE_SELECT = "SELECT new com.sgms.site.dto.SitePostResponse(" +
+      "sp.id, s.id, s.name, sp.postName, sp.description, sp.requiredGuards, sp.status, " +
+      "sp.createdAt, sp.updatedAt, sp.deletedAt) " +
+      "FROM SitePostEntity sp JOIN sp.site s ";
+
   /**
    * Find all active (non-deleted) site posts
    */
@@ -25,6 +32,13 @@ public interface SitePostRepository extends JpaRepository<SitePostEntity, Long>
   @Query("SELECT sp FROM SitePostEntity sp WHERE sp.id = :id AND sp.deletedAt IS NULL")
   Optional<SitePostEntity> findActiveById(Long id);
 
+  /**
+   * Site id of a post (deleted posts included)
+   * Used to check a post against the caller's site scope without loading it
+   */
+  @Query("SELECT sp.site.id FROM SitePostEntity sp WHERE sp.id = :id")
+  Optional<Long> findSiteIdById(Long id);
+
   /**
    * Find all active posts for a specific site
    */
@@ -42,4 +56,35 @@ public interface SitePostRepository extends JpaRepository<SitePostEntity, Long>
    */
   @Query("SELECT COUNT(sp) > 0 FROM SitePostEntity sp WHERE sp.site.id = :siteId AND LOWER(sp.postName) = LOWER(:postName) AND sp.id != :excludeId AND sp.deletedAt IS NULL")
   boolean existsBySiteIdAndPostNameIgnoreCaseAndActiveExcludingId(Long siteId, String postName, Long excludeId);
+
+  /**
+   * Site zone of an active post
+   */
+  @Query("SELECT s.timeZone FROM SitePostEntity sp JOIN sp.site s WHERE sp.id = :id AND sp.deletedAt IS NULL")
+  Optional<String> findActiveTimeZoneById(Long id);
+
+  /**
+   * Filter a set of post IDs down to those that exist and are active, with their site zones
+   */
+  @Query("SELECT new com.sgms.site.SitePostTimeZone(sp.id, s.timeZone) " +
+         "FROM SitePostEntity sp JOIN sp.site s WHERE sp.id IN :ids AND sp.deletedAt IS NULL")
+  List<SitePostTimeZone> findActiveTimeZonesByIdIn(Collection<Long> ids);
+
+  /**
+   * Read projection of all active site posts
+   */
+  @Query(RESPONSE_SELECT + "WHERE sp.deletedAt IS NULL ORDER BY sp.createdAt DESC")
+  List<SitePostResponse> findAllActiveResponses();
+
+  /**
+   * Read projection of an active site post
+   */
+  @Query(RESPONSE_SELECT + "WHERE sp.id = :id AND sp.deletedAt IS NULL")
+  Optional<SitePostResponse> findActiveResponseById(Long id);
+
+  /**
+   * Read projection of active posts for a site
+   */
+  @Query(RESPONSE_SELECT + "WHERE s.id = :siteId AND sp.deletedAt IS NULL ORDER BY sp.createdAt DESC")
+  List<SitePostResponse> findActiveResponsesBySiteId(Long siteId);
 }
@@ -1,8 +1,14 @@
 package com.sgms.site;
 
+import com.sgms.common.CursorPage;
+import com.sgms.common.KeysetPager;
+import com.sgms.common.ListParams;
+import com.sgms.common.ListingSpec;
+import com.sgms.common.ListingSpec.ColumnType;
 import com.sgms.site.dto.CreateSitePostRequest;
 import com.sgms.site.dto.SitePostResponse;
 import com.sgms.site.dto.UpdateSitePostRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,7 +16,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Clock;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing site posts
@@ -18,14 +23,39 @@ import java.util.stream.Collectors;
 @Service
 public class SitePostService {
 
+  private static final ListingSpec POST_LISTING = ListingSpec.builder("site_posts sp", "sp.id")
+      .join("s", "LEFT JOIN sites s ON s.id = sp.site_id")
+      .where("sp.deleted_at IS NULL")
+      .sortableField("id", "sp.id", ColumnType.LONG)
+      .field("siteId", "sp.site_id", ColumnType.LONG)
+      .field("siteName", "s.name", ColumnType.TEXT, "s")
+      .sortableField("postName", "sp.post_name", ColumnType.TEXT)
+      .field("description", "sp.description", ColumnType.TEXT)
+      .field("requiredGuards", "sp.required_guards", ColumnType.INTEGER)
+      .field("status", "sp.status", ColumnType.TEXT)
+      .sortableField("createdAt", "sp.created_at", ColumnType.TIMESTAMP)
+      .sortableField("updatedAt", "sp.updated_at", ColumnType.TIMESTAMP)
+      .field("deletedAt", "sp.deleted_at", ColumnType.TIMESTAMP)
+      .defaultSort("-createdAt")
+      .build();
+
   private final SitePostRepository sitePostRepository;
   private final SiteRepository siteRepository;
   private final Clock clock;
-
-  public SitePostService(SitePostRepository sitePostRepository, SiteRepository siteRepository, Clock clock) {
+  private final KeysetPager keysetPager;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public SitePostService(
+      SitePostRepository sitePostRepository,
+      SiteRepository siteRepository,
+      Clock clock,
+      KeysetPager keysetPager,
+      ApplicationEventPublisher eventPublisher) {
     this.sitePostRepository = sitePostRepository;
     this.siteRepository = siteRepository;
     this.clock = clock;
+    this.keysetPager = keysetPager;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -57,6 +87,7 @@ public class SitePostService {
     post.setStatus("ACTIVE");
 
     SitePostEntity saved = sitePostRepository.save(post);
+    eventPublisher.publishEvent(new SitePostChangedEvent(site.getId()));
     return mapToResponse(saved);
   }
 
@@ -65,10 +96,15 @@ public class SitePostService {
    */
   @Transactional(readOnly = true)
   public List<SitePostResponse> getAllSitePosts() {
-    return sitePostRepository.findAllActive()
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return sitePostRepository.findAllActiveResponses();
+  }
+
+  /**
+   * One page of active site posts
+   */
+  @Transactional(readOnly = true)
+  public CursorPage listSitePosts(ListParams params) {
+    return keysetPager.fetch(POST_LISTING, params);
   }
 
   /**
@@ -76,12 +112,11 @@ public class SitePostService {
    */
   @Transactional(readOnly = true)
   public SitePostResponse getSitePostById(Long id) {
-    SitePostEntity post = sitePostRepository.findActiveById(id)
+    return sitePostRepository.findActiveResponseById(id)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.NOT_FOUND,
             "Site post not found with id: " + id
         ));
-    return mapToResponse(post);
   }
 
   /**
@@ -90,16 +125,28 @@ public class SitePostService {
   @Transactional(readOnly = true)
   public List<SitePostResponse> getPostsBySiteId(Long siteId) {
     // Verify site exists
-    siteRepository.findActiveById(siteId)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Site not found with id: " + siteId
-        ));
+    if (!siteRepository.existsActiveById(siteId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Site not found with id: " + siteId
+      );
+    }
+
+    return sitePostRepository.findActiveResponsesBySiteId(siteId);
+  }
 
-    return sitePostRepository.findAllBySiteId(siteId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+  /**
+   * One page of active posts for a specific site
+   */
+  @Transactional(readOnly = true)
+  public CursorPage listPostsBySiteId(Long siteId, ListParams params) {
+    if (!siteRepository.existsActiveById(siteId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Site not found with id: " + siteId
+      );
+    }
+    return keysetPager.fetch(POST_LISTING.where("sp.site_id = ?", siteId), params);
   }
 
   /**
@@ -137,6 +184,7 @@ public class SitePostService {
     }
 
     SitePostEntity updated = sitePostRepository.save(post);
+    eventPublisher.publishEvent(new SitePostChangedEvent(updated.getSite().getId()));
     return mapToResponse(updated);
   }
 
@@ -154,6 +202,7 @@ public class SitePostService {
     post.setDeletedAt(clock.instant());
     post.setStatus("DELETED");
     sitePostRepository.save(post);
+    eventPublisher.publishEvent(new SitePostChangedEvent(post.getSite().getId()));
   }
 
   /**
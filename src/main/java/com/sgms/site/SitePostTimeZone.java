@@ -0,0 +1,10 @@
+package com.sgms.site;
+
+/**
+ * A site post and the IANA zone of its site
+ * 
+ * Loaded via a JPQL constructor expression so roster checks can read
+ * shift times in each post's zone without loading posts and sites.
+ */
+public record SitePostTimeZone(Long sitePostId, String timeZone) {
+}
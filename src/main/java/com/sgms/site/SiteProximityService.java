@@ -0,0 +1,152 @@
+package com.sgms.site;
+
+import com.sgms.common.GeoDistance;
+import com.sgms.site.dto.NearbySiteResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service answering nearest-site lookups for dispatch
+ * 
+ * By default queries the in-memory {@link SiteSpatialIndex}. Deployments
+ * with very large site counts can set app.sites.nearest.use-database to
+ * let PostgreSQL answer instead: a latitude/longitude bounding box served
+ * by idx_sites_active_lat_lon narrows the candidates, then the exact
+ * haversine distance orders them.
+ */
+@Service
+public class SiteProximityService {
+
+  static final int DEFAULT_LIMIT = 10;
+  static final int MAX_LIMIT = 50;
+
+  private static final double METERS_PER_DEGREE_LATITUDE = Math.PI * GeoDistance.EARTH_RADIUS_METERS / 180.0;
+
+  private static final String NEAREST_SQL_PREFIX =
+      "SELECT s.id, s.name, s.client_account_id, s.latitude, s.longitude, s.geofence_radius_meters, d.distance " +
+      "FROM sites s " +
+      "CROSS JOIN LATERAL (SELECT 2 * ? * asin(least(1, sqrt(" +
+      "power(sin(radians(s.latitude - ?) / 2), 2) + " +
+      "cos(radians(?)) * cos(radians(s.latitude)) * power(sin(radians(s.longitude - ?) / 2), 2)" +
+      "))) AS distance) d " +
+      "WHERE s.deleted_at IS NULL " +
+      "AND s.latitude BETWEEN ? AND ? ";
+
+  private static final String NEAREST_SQL_SUFFIX =
+      "AND d.distance <= ? " +
+      "ORDER BY d.distance, s.id " +
+      "LIMIT ?";
+
+  private final SiteSpatialIndex spatialIndex;
+  private final JdbcTemplate jdbcTemplate;
+  private final double defaultMaxDistanceMeters;
+  private final boolean useDatabase;
+
+  public SiteProximityService(
+      SiteSpatialIndex spatialIndex,
+      JdbcTemplate jdbcTemplate,
+      @Value("${app.sites.nearest.max-distance-meters:50000}") double defaultMaxDistanceMeters,
+      @Value("${app.sites.nearest.use-database:false}") boolean useDatabase) {
+    this.spatialIndex = spatialIndex;
+    this.jdbcTemplate = jdbcTemplate;
+    this.defaultMaxDistanceMeters = defaultMaxDistanceMeters;
+    this.useDatabase = useDatabase;
+  }
+
+  /**
+   * Active sites nearest to a point, nearest first
+   * 
+   * @param limit number of sites (default 10, capped at 50)
+   * @param maxDistanceMeters search radius (default app.sites.nearest.max-distance-meters)
+   */
+  public List<NearbySiteResponse> findNearest(
+      double latitude,
+      double longitude,
+      Integer limit,
+      Double maxDistanceMeters) {
+    if (latitude < -90.0 || latitude > 90.0) {
+      throw new IllegalArgumentException("Latitude must be between -90 and 90");
+    }
+    if (longitude < -180.0 || longitude > 180.0) {
+      throw new IllegalArgumentException("Longitude must be between -180 and 180");
+    }
+    if (maxDistanceMeters != null && maxDistanceMeters <= 0) {
+      throw new IllegalArgumentException("Max distance must be positive");
+    }
+    int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+    double radius = maxDistanceMeters != null ? maxDistanceMeters : defaultMaxDistanceMeters;
+
+    if (useDatabase) {
+      return queryNearest(latitude, longitude, size, radius);
+    }
+    return spatialIndex.findNearest(latitude, longitude, size, radius)
+        .stream()
+        .map(hit -> toResponse(hit.site(), hit.distanceMeters()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Database path: bounding-box prefilter on the lat/lon index, exact distance ordering
+   */
+  private List<NearbySiteResponse> queryNearest(double latitude, double longitude, int limit, double radius) {
+    double latitudeDegrees = radius / METERS_PER_DEGREE_LATITUDE;
+    double polewardLatitude = Math.min(90.0, Math.abs(latitude) + latitudeDegrees);
+    double longitudeDegrees = polewardLatitude >= 90.0
+        ? 360.0
+        : latitudeDegrees / Math.cos(Math.toRadians(polewardLatitude));
+
+    StringBuilder sql = new StringBuilder(NEAREST_SQL_PREFIX);
+    List<Object> params = new ArrayList<>(List.of(
+        GeoDistance.EARTH_RADIUS_METERS, latitude, latitude, longitude,
+        latitude - latitudeDegrees, latitude + latitudeDegrees));
+
+    if (longitudeDegrees < 180.0) {
+      double west = longitude - longitudeDegrees;
+      double east = longitude + longitudeDegrees;
+      if (west < -180.0) {
+        // Box crosses the antimeridian: two longitude ranges
+        sql.append("AND (s.longitude >= ? OR s.longitude <= ?) ");
+        params.add(west + 360.0);
+        params.add(east);
+      } else if (east > 180.0) {
+        sql.append("AND (s.longitude >= ? OR s.longitude <= ?) ");
+        params.add(west);
+        params.add(east - 360.0);
+      } else {
+        sql.append("AND s.longitude BETWEEN ? AND ? ");
+        params.add(west);
+        params.add(east);
+      }
+    }
+    sql.append(NEAREST_SQL_SUFFIX);
+    params.add(radius);
+    params.add(limit);
+
+    return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> toResponse(
+        new SiteSpatialIndex.IndexedSite(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getLong("client_account_id"),
+            rs.getBigDecimal("latitude").doubleValue(),
+            rs.getBigDecimal("longitude").doubleValue(),
+            rs.getObject("geofence_radius_meters", Integer.class)),
+        rs.getDouble("distance")), params.toArray());
+  }
+
+  private NearbySiteResponse toResponse(SiteSpatialIndex.IndexedSite site, double distanceMeters) {
+    NearbySiteResponse response = new NearbySiteResponse();
+    response.setSiteId(site.id());
+    response.setSiteName(site.name());
+    response.setClientAccountId(site.clientAccountId());
+    response.setLatitude(site.latitude());
+    response.setLongitude(site.longitude());
+    response.setGeofenceRadiusMeters(site.geofenceRadiusMeters());
+    response.setDistanceMeters(Math.round(distanceMeters));
+    return response;
+  }
+}
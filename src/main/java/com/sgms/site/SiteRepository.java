@@ -1,5 +1,6 @@
 package com.sgms.site;
 
+import com.sgms.site.dto.SiteResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,6 +14,11 @@ import java.util.Optional;
 @Repository
 public interface SiteRepository extends JpaRepository<SiteEntity, Long> {
 
+  String RESPONSE_SELECT = "SELECT new com.sgms.site.dto.SiteResponse(" +
+      "s.id, c.id, c.name, s.name, s.address, s.latitude, s.longitude, s.geofenceRadiusMeters, " +
+      "s.timeZone, s.status, s.createdAt, s.updatedAt, s.deletedAt) " +
+      "FROM SiteEntity s JOIN s.clientAccount c ";
+
   /**
    * Find all active (non-deleted) sites
    */
@@ -36,4 +42,28 @@ public interface SiteRepository extends JpaRepository<SiteEntity, Long> {
    */
   @Query("SELECT COUNT(s) > 0 FROM SiteEntity s WHERE s.clientAccount.id = :clientAccountId AND LOWER(s.name) = LOWER(:name) AND s.deletedAt IS NULL")
   boolean existsByClientAccountIdAndNameIgnoreCaseAndActive(Long clientAccountId, String name);
+
+  /**
+   * Check that an active site exists (no entity loading)
+   */
+  @Query("SELECT COUNT(s) > 0 FROM SiteEntity s WHERE s.id = :id AND s.deletedAt IS NULL")
+  boolean existsActiveById(Long id);
+
+  /**
+   * Read projection of all active sites
+   */
+  @Query(RESPONSE_SELECT + "WHERE s.deletedAt IS NULL ORDER BY s.createdAt DESC")
+  List<SiteResponse> findAllActiveResponses();
+
+  /**
+   * Read projection of an active site
+   */
+  @Query(RESPONSE_SELECT + "WHERE s.id = :id AND s.deletedAt IS NULL")
+  Optional<SiteResponse> findActiveResponseById(Long id);
+
+  /**
+   * Read projection of active sites for a client account
+   */
+  @Query(RESPONSE_SELECT + "WHERE c.id = :clientAccountId AND s.deletedAt IS NULL ORDER BY s.createdAt DESC")
+  List<SiteResponse> findActiveResponsesByClientAccountId(Long clientAccountId);
 }
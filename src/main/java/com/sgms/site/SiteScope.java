@@ -0,0 +1,43 @@
+package com.sgms.site;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Set of sites a caller may see
+ * 
+ * Admins are unrestricted; supervisors see the sites mapped to them in
+ * supervisor_site_mapping. Restricted scopes are pushed into queries as a
+ * site_id IN (...) predicate rather than filtered after loading.
+ */
+public record SiteScope(boolean unrestricted, Set<Long> siteIds) {
+
+  private static final SiteScope ALL = new SiteScope(true, Set.of());
+  private static final SiteScope NONE = new SiteScope(false, Set.of());
+
+  public static SiteScope all() {
+    return ALL;
+  }
+
+  public static SiteScope none() {
+    return NONE;
+  }
+
+  public static SiteScope of(Collection<Long> siteIds) {
+    return siteIds.isEmpty() ? NONE : new SiteScope(false, Set.copyOf(siteIds));
+  }
+
+  /**
+   * Whether records of this site are visible
+   */
+  public boolean includes(Long siteId) {
+    return unrestricted || (siteId != null && siteIds.contains(siteId));
+  }
+
+  /**
+   * Whether no site at all is visible (restricted queries can be skipped)
+   */
+  public boolean isEmpty() {
+    return !unrestricted && siteIds.isEmpty();
+  }
+}
@@ -2,17 +2,24 @@ package com.sgms.site;
 
 import com.sgms.client.ClientAccountEntity;
 import com.sgms.client.ClientAccountRepository;
+import com.sgms.common.CursorPage;
+import com.sgms.common.KeysetPager;
+import com.sgms.common.ListParams;
+import com.sgms.common.ListingSpec;
+import com.sgms.common.ListingSpec.ColumnType;
 import com.sgms.site.dto.CreateSiteRequest;
 import com.sgms.site.dto.SiteResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Clock;
-import java.time.Instant;
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing sites
@@ -20,14 +27,45 @@ import java.util.stream.Collectors;
 @Service
 public class SiteService {
 
+  private static final ListingSpec SITE_LISTING = ListingSpec.builder("sites s", "s.id")
+      .join("c", "LEFT JOIN client_accounts c ON c.id = s.client_account_id")
+      .where("s.deleted_at IS NULL")
+      .sortableField("id", "s.id", ColumnType.LONG)
+      .field("clientAccountId", "s.client_account_id", ColumnType.LONG)
+      .field("clientAccountName", "c.name", ColumnType.TEXT, "c")
+      .sortableField("name", "s.name", ColumnType.TEXT)
+      .field("address", "s.address", ColumnType.TEXT)
+      .field("latitude", "s.latitude", ColumnType.DECIMAL)
+      .field("longitude", "s.longitude", ColumnType.DECIMAL)
+      .field("geofenceRadiusMeters", "s.geofence_radius_meters", ColumnType.INTEGER)
+      .field("timeZone", "s.time_zone", ColumnType.TEXT)
+      .field("status", "s.status", ColumnType.TEXT)
+      .sortableField("createdAt", "s.created_at", ColumnType.TIMESTAMP)
+      .sortableField("updatedAt", "s.updated_at", ColumnType.TIMESTAMP)
+      .field("deletedAt", "s.deleted_at", ColumnType.TIMESTAMP)
+      .defaultSort("-createdAt")
+      .build();
+
   private final SiteRepository siteRepository;
   private final ClientAccountRepository clientAccountRepository;
   private final Clock clock;
-
-  public SiteService(SiteRepository siteRepository, ClientAccountRepository clientAccountRepository, Clock clock) {
+  private final ApplicationEventPublisher eventPublisher;
+  private final KeysetPager keysetPager;
+  private final String defaultTimeZone;
+
+  public SiteService(
+      SiteRepository siteRepository,
+      ClientAccountRepository clientAccountRepository,
+      Clock clock,
+      ApplicationEventPublisher eventPublisher,
+      KeysetPager keysetPager,
+      @Value("${app.shift.default-time-zone:UTC}") String defaultTimeZone) {
     this.siteRepository = siteRepository;
     this.clientAccountRepository = clientAccountRepository;
     this.clock = clock;
+    this.eventPublisher = eventPublisher;
+    this.keysetPager = keysetPager;
+    this.defaultTimeZone = normalizeTimeZone(defaultTimeZone);
   }
 
   /**
@@ -57,9 +95,12 @@ public class SiteService {
     site.setAddress(request.getAddress());
     site.setLatitude(request.getLatitude());
     site.setLongitude(request.getLongitude());
+    site.setGeofenceRadiusMeters(request.getGeofenceRadiusMeters());
+    site.setTimeZone(request.getTimeZone() != null ? normalizeTimeZone(request.getTimeZone()) : defaultTimeZone);
     site.setStatus("ACTIVE");
 
     SiteEntity saved = siteRepository.save(site);
+    eventPublisher.publishEvent(new SiteChangedEvent(saved.getId()));
     return mapToResponse(saved);
   }
 
@@ -68,10 +109,24 @@ public class SiteService {
    */
   @Transactional(readOnly = true)
   public List<SiteResponse> getAllSites() {
-    return siteRepository.findAllActive()
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return siteRepository.findAllActiveResponses();
+  }
+
+  /**
+   * One page of active sites, optionally for one client account
+   */
+  @Transactional(readOnly = true)
+  public CursorPage listSites(Long clientAccountId, ListParams params) {
+    if (clientAccountId == null) {
+      return keysetPager.fetch(SITE_LISTING, params);
+    }
+    if (!clientAccountRepository.existsActiveById(clientAccountId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Client account not found with id: " + clientAccountId
+      );
+    }
+    return keysetPager.fetch(SITE_LISTING.where("s.client_account_id = ?", clientAccountId), params);
   }
 
   /**
@@ -79,12 +134,11 @@ public class SiteService {
    */
   @Transactional(readOnly = true)
   public SiteResponse getSiteById(Long id) {
-    SiteEntity site = siteRepository.findActiveById(id)
+    return siteRepository.findActiveResponseById(id)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.NOT_FOUND,
             "Site not found with id: " + id
         ));
-    return mapToResponse(site);
   }
 
   /**
@@ -93,16 +147,34 @@ public class SiteService {
   @Transactional(readOnly = true)
   public List<SiteResponse> getSitesByClientId(Long clientAccountId) {
     // Verify client exists
-    clientAccountRepository.findActiveById(clientAccountId)
+    if (!clientAccountRepository.existsActiveById(clientAccountId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Client account not found with id: " + clientAccountId
+      );
+    }
+
+    return siteRepository.findActiveResponsesByClientAccountId(clientAccountId);
+  }
+
+  /**
+   * Change the time zone shift times at a site are read in
+   * 
+   * Applies to check-ins and scheduler sweeps from now on; existing
+   * attendance records keep the shift date they were recorded for.
+   */
+  @Transactional
+  public SiteResponse updateTimeZone(Long id, String timeZone) {
+    SiteEntity site = siteRepository.findActiveById(id)
         .orElseThrow(() -> new ResponseStatusException(
             HttpStatus.NOT_FOUND,
-            "Client account not found with id: " + clientAccountId
+            "Site not found with id: " + id
         ));
 
-    return siteRepository.findAllByClientAccountId(clientAccountId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    site.setTimeZone(normalizeTimeZone(timeZone));
+    SiteEntity saved = siteRepository.save(site);
+    eventPublisher.publishEvent(new SiteChangedEvent(saved.getId()));
+    return mapToResponse(saved);
   }
 
   /**
@@ -120,6 +192,7 @@ public class SiteService {
     site.setDeletedAt(clock.instant());
     site.setStatus("DELETED");
     siteRepository.save(site);
+    eventPublisher.publishEvent(new SiteChangedEvent(site.getId()));
   }
 
   /**
@@ -134,10 +207,23 @@ public class SiteService {
     response.setAddress(entity.getAddress());
     response.setLatitude(entity.getLatitude());
     response.setLongitude(entity.getLongitude());
+    response.setGeofenceRadiusMeters(entity.getGeofenceRadiusMeters());
+    response.setTimeZone(entity.getTimeZone());
     response.setStatus(entity.getStatus());
     response.setCreatedAt(entity.getCreatedAt());
     response.setUpdatedAt(entity.getUpdatedAt());
     response.setDeletedAt(entity.getDeletedAt());
     return response;
   }
+
+  /**
+   * Validate an IANA zone id and return its canonical form
+   */
+  private static String normalizeTimeZone(String timeZone) {
+    try {
+      return ZoneId.of(timeZone.trim()).getId();
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid time zone: " + timeZone);
+    }
+  }
 }
@@ -0,0 +1,122 @@
+package com.sgms.site;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory spatial index of active sites with coordinates
+ * 
+ * Serves geofence validation and proximity lookups without database
+ * round-trips. The whole index is an immutable {@link SiteGrid} swapped
+ * atomically, rebuilt at startup, after every committed site change on
+ * this instance and periodically (for changes made by other instances).
+ */
+@Component
+public class SiteSpatialIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(SiteSpatialIndex.class);
+
+  private static final String SITES_SQL =
+      "SELECT id, name, client_account_id, latitude, longitude, geofence_radius_meters " +
+      "FROM sites " +
+      "WHERE deleted_at IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL";
+
+  /**
+   * Indexed site; geofenceRadiusMeters is null when the site uses the default radius
+   */
+  public record IndexedSite(
+      Long id,
+      String name,
+      Long clientAccountId,
+      double latitude,
+      double longitude,
+      Integer geofenceRadiusMeters) {
+  }
+
+  public record SiteHit(IndexedSite site, double distanceMeters) {
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile SiteGrid grid = SiteGrid.EMPTY;
+
+  public SiteSpatialIndex(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      logger.warn("Could not build site spatial index at startup: {}", e.getMessage());
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onSiteChanged(SiteChangedEvent event) {
+    try {
+      refresh();
+    } catch (Exception e) {
+      logger.warn("Could not refresh site spatial index after change to site {}: {}",
+          event.siteId(), e.getMessage());
+    }
+  }
+
+  /**
+   * Cron: app.sites.spatial-index-refresh-cron (default every 5 minutes)
+   */
+  @Scheduled(cron = "${app.sites.spatial-index-refresh-cron:0 */5 * * * *}")
+  public void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (Exception e) {
+      logger.error("Error refreshing site spatial index", e);
+    }
+  }
+
+  /**
+   * Reload all active sites and swap in a new grid
+   */
+  public void refresh() {
+    List<IndexedSite> sites = jdbcTemplate.query(SITES_SQL, (rs, rowNum) -> new IndexedSite(
+        rs.getLong("id"),
+        rs.getString("name"),
+        rs.getLong("client_account_id"),
+        rs.getBigDecimal("latitude").doubleValue(),
+        rs.getBigDecimal("longitude").doubleValue(),
+        rs.getObject("geofence_radius_meters", Integer.class)));
+    grid = new SiteGrid(sites);
+    logger.debug("Site spatial index refreshed with {} sites", sites.size());
+  }
+
+  /**
+   * Active site with coordinates, if indexed
+   */
+  public Optional<IndexedSite> findById(Long siteId) {
+    return Optional.ofNullable(grid.get(siteId));
+  }
+
+  /**
+   * Active sites within radiusMeters of a point, nearest first
+   */
+  public List<SiteHit> findWithin(double latitude, double longitude, double radiusMeters) {
+    return grid.within(latitude, longitude, radiusMeters);
+  }
+
+  /**
+   * The limit active sites nearest to a point within maxDistanceMeters, nearest first
+   */
+  public List<SiteHit> findNearest(double latitude, double longitude, int limit, double maxDistanceMeters) {
+    return grid.nearest(latitude, longitude, limit, maxDistanceMeters);
+  }
+}
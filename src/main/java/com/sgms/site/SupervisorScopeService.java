@@ -0,0 +1,83 @@
+package com.sgms.site;
+
+import com.sgms.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link SiteScope} of the calling user
+ * 
+ * A supervisor's active site ids are loaded once from supervisor_site_mapping
+ * and cached per supervisor. Entries are evicted after any committed change
+ * to that supervisor's mappings, cleared after any site change, and expire
+ * after app.supervisor-scope.ttl-seconds as a bound on staleness for
+ * changes made by other instances.
+ */
+@Service
+public class SupervisorScopeService {
+
+  private record CachedScope(SiteScope scope, Instant expiresAt) {
+  }
+
+  private final SupervisorSiteMappingRepository supervisorSiteMappingRepository;
+  private final Clock clock;
+  private final Duration ttl;
+  private final Map<Long, CachedScope> cache = new ConcurrentHashMap<>();
+
+  public SupervisorScopeService(
+      SupervisorSiteMappingRepository supervisorSiteMappingRepository,
+      Clock clock,
+      @Value("${app.supervisor-scope.ttl-seconds:300}") long ttlSeconds) {
+    this.supervisorSiteMappingRepository = supervisorSiteMappingRepository;
+    this.clock = clock;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+  }
+
+  /**
+   * Scope of the caller: ADMIN sees all sites, SUPERVISOR their mapped sites, anyone else none
+   */
+  public SiteScope scopeOf(UserPrincipal principal) {
+    boolean isAdmin = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    boolean isSupervisor = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_SUPERVISOR"));
+
+    if (isAdmin) {
+      return SiteScope.all();
+    } else if (isSupervisor) {
+      return supervisorScope(principal.getUserId());
+    } else {
+      return SiteScope.none();
+    }
+  }
+
+  /**
+   * Active site ids mapped to a supervisor (cached)
+   */
+  public SiteScope supervisorScope(Long supervisorUserId) {
+    Instant now = clock.instant();
+    CachedScope cached = cache.get(supervisorUserId);
+    if (cached != null && now.isBefore(cached.expiresAt())) {
+      return cached.scope();
+    }
+    SiteScope scope = SiteScope.of(supervisorSiteMappingRepository.findActiveSiteIdsBySupervisorId(supervisorUserId));
+    cache.put(supervisorUserId, new CachedScope(scope, now.plus(ttl)));
+    return scope;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onSupervisorSitesChanged(SupervisorSitesChangedEvent event) {
+    cache.remove(event.supervisorUserId());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+  public void onSiteChanged(SiteChangedEvent event) {
+    cache.clear();
+  }
+}
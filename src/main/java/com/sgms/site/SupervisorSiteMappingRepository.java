@@ -1,5 +1,6 @@
 package com.sgms.site;
 
+import com.sgms.site.dto.SupervisorSiteResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -13,6 +14,10 @@ import java.util.Optional;
 @Repository
 public interface SupervisorSiteMappingRepository extends JpaRepository<SupervisorSiteMappingEntity, Long> {
 
+  String RESPONSE_SELECT = "SELECT new com.sgms.site.dto.SupervisorSiteResponse(" +
+      "ssm.id, u.id, u.fullName, u.email, s.id, s.name, ssm.assignedAt, ssm.removedAt) " +
+      "FROM SupervisorSiteMappingEntity ssm JOIN ssm.supervisor u JOIN ssm.site s ";
+
   /**
    * Find all active supervisor site assignments
    */
@@ -42,4 +47,24 @@ public interface SupervisorSiteMappingRepository extends JpaRepository<Superviso
    */
   @Query("SELECT COUNT(ssm) > 0 FROM SupervisorSiteMappingEntity ssm WHERE ssm.supervisor.id = :supervisorUserId AND ssm.site.id = :siteId AND ssm.removedAt IS NULL")
   boolean existsActiveAssignment(Long supervisorUserId, Long siteId);
+
+  /**
+   * Ids of the active (not deleted) sites a supervisor is currently assigned to
+   * Used to resolve the supervisor's data access scope
+   */
+  @Query("SELECT ssm.site.id FROM SupervisorSiteMappingEntity ssm " +
+         "WHERE ssm.supervisor.id = :supervisorUserId AND ssm.removedAt IS NULL AND ssm.site.deletedAt IS NULL")
+  List<Long> findActiveSiteIdsBySupervisorId(Long supervisorUserId);
+
+  /**
+   * Read projection of active site assignments for a supervisor
+   */
+  @Query(RESPONSE_SELECT + "WHERE u.id = :supervisorUserId AND ssm.removedAt IS NULL ORDER BY ssm.assignedAt DESC")
+  List<SupervisorSiteResponse> findActiveResponsesBySupervisorId(Long supervisorUserId);
+
+  /**
+   * Read projection of active supervisor assignments for a site
+   */
+  @Query(RESPONSE_SELECT + "WHERE s.id = :siteId AND ssm.removedAt IS NULL ORDER BY ssm.assignedAt DESC")
+  List<SupervisorSiteResponse> findActiveResponsesBySiteId(Long siteId);
 }
@@ -4,6 +4,7 @@ import com.sgms.site.dto.AssignSupervisorRequest;
 import com.sgms.site.dto.SupervisorSiteResponse;
 import com.sgms.user.UserEntity;
 import com.sgms.user.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,7 +12,6 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Clock;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing supervisor site assignments
@@ -23,16 +23,19 @@ public class SupervisorSiteService {
   private final UserRepository userRepository;
   private final SiteRepository siteRepository;
   private final Clock clock;
+  private final ApplicationEventPublisher eventPublisher;
 
   public SupervisorSiteService(
       SupervisorSiteMappingRepository supervisorSiteMappingRepository,
       UserRepository userRepository,
       SiteRepository siteRepository,
-      Clock clock) {
+      Clock clock,
+      ApplicationEventPublisher eventPublisher) {
     this.supervisorSiteMappingRepository = supervisorSiteMappingRepository;
     this.userRepository = userRepository;
     this.siteRepository = siteRepository;
     this.clock = clock;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
@@ -68,6 +71,7 @@ public class SupervisorSiteService {
     mapping.setSite(site);
 
     SupervisorSiteMappingEntity saved = supervisorSiteMappingRepository.save(mapping);
+    eventPublisher.publishEvent(new SupervisorSitesChangedEvent(supervisor.getId()));
     return mapToResponse(saved);
   }
 
@@ -77,16 +81,14 @@ public class SupervisorSiteService {
   @Transactional(readOnly = true)
   public List<SupervisorSiteResponse> getSitesForSupervisor(Long supervisorUserId) {
     // Verify supervisor exists
-    userRepository.findById(supervisorUserId)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Supervisor user not found with id: " + supervisorUserId
-        ));
+    if (!userRepository.existsById(supervisorUserId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Supervisor user not found with id: " + supervisorUserId
+      );
+    }
 
-    return supervisorSiteMappingRepository.findAllBySupervisorId(supervisorUserId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return supervisorSiteMappingRepository.findActiveResponsesBySupervisorId(supervisorUserId);
   }
 
   /**
@@ -95,16 +97,14 @@ public class SupervisorSiteService {
   @Transactional(readOnly = true)
   public List<SupervisorSiteResponse> getSupervisorsForSite(Long siteId) {
     // Verify site exists
-    siteRepository.findActiveById(siteId)
-        .orElseThrow(() -> new ResponseStatusException(
-            HttpStatus.NOT_FOUND,
-            "Site not found with id: " + siteId
-        ));
+    if (!siteRepository.existsActiveById(siteId)) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Site not found with id: " + siteId
+      );
+    }
 
-    return supervisorSiteMappingRepository.findAllBySiteId(siteId)
-        .stream()
-        .map(this::mapToResponse)
-        .collect(Collectors.toList());
+    return supervisorSiteMappingRepository.findActiveResponsesBySiteId(siteId);
   }
 
   /**
@@ -122,6 +122,7 @@ public class SupervisorSiteService {
 
     mapping.setRemovedAt(clock.instant());
     supervisorSiteMappingRepository.save(mapping);
+    eventPublisher.publishEvent(new SupervisorSitesChangedEvent(supervisorUserId));
   }
 
   /**
@@ -0,0 +1,10 @@
+package com.sgms.site;
+
+/**
+ * Published when a supervisor is assigned to or removed from a site
+ * 
+ * The supervisor's cached site scope is evicted once the publishing
+ * transaction commits.
+ */
+public record SupervisorSitesChangedEvent(Long supervisorUserId) {
+}
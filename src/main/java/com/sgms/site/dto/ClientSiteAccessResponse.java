@@ -16,6 +16,31 @@ public class ClientSiteAccessResponse {
   private Instant grantedAt;
   private Instant revokedAt;
 
+  public ClientSiteAccessResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public ClientSiteAccessResponse(
+      Long id,
+      Long clientUserId,
+      String clientName,
+      String clientEmail,
+      Long siteId,
+      String siteName,
+      Instant grantedAt,
+      Instant revokedAt) {
+    this.id = id;
+    this.clientUserId = clientUserId;
+    this.clientName = clientName;
+    this.clientEmail = clientEmail;
+    this.siteId = siteId;
+    this.siteName = siteName;
+    this.grantedAt = grantedAt;
+    this.revokedAt = revokedAt;
+  }
+
   public Long getId() {
     return id;
   }
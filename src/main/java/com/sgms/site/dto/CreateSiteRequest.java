@@ -2,6 +2,8 @@ package com.sgms.site.dto;
 
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -30,6 +32,19 @@ public class CreateSiteRequest {
   @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
   private BigDecimal longitude;
 
+  /**
+   * Optional check-in geofence radius; defaults to app.attendance.geofence.default-radius-meters
+   */
+  @Min(value = 10, message = "Geofence radius must be at least 10 meters")
+  @Max(value = 10000, message = "Geofence radius must not exceed 10000 meters")
+  private Integer geofenceRadiusMeters;
+
+  /**
+   * Optional IANA time zone (e.g. Asia/Kolkata); defaults to app.shift.default-time-zone
+   */
+  @Size(max = 64, message = "Time zone must not exceed 64 characters")
+  private String timeZone;
+
   public Long getClientAccountId() {
     return clientAccountId;
   }
@@ -69,4 +84,20 @@ public class CreateSiteRequest {
   public void setLongitude(BigDecimal longitude) {
     this.longitude = longitude;
   }
+
+  public Integer getGeofenceRadiusMeters() {
+    return geofenceRadiusMeters;
+  }
+
+  public void setGeofenceRadiusMeters(Integer geofenceRadiusMeters) {
+    this.geofenceRadiusMeters = geofenceRadiusMeters;
+  }
+
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  public void setTimeZone(String timeZone) {
+    this.timeZone = timeZone;
+  }
 }
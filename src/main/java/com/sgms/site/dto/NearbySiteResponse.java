@@ -0,0 +1,75 @@
+package com.sgms.site.dto;
+
+/**
+ * Response DTO for a site returned by a nearest-sites lookup
+ * 
+ * distanceMeters is the great-circle distance from the query point
+ */
+public class NearbySiteResponse {
+
+  private Long siteId;
+  private String siteName;
+  private Long clientAccountId;
+  private double latitude;
+  private double longitude;
+  private Integer geofenceRadiusMeters;
+  private long distanceMeters;
+
+  // Getters and Setters
+
+  public Long getSiteId() {
+    return siteId;
+  }
+
+  public void setSiteId(Long siteId) {
+    this.siteId = siteId;
+  }
+
+  public String getSiteName() {
+    return siteName;
+  }
+
+  public void setSiteName(String siteName) {
+    this.siteName = siteName;
+  }
+
+  public Long getClientAccountId() {
+    return clientAccountId;
+  }
+
+  public void setClientAccountId(Long clientAccountId) {
+    this.clientAccountId = clientAccountId;
+  }
+
+  public double getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(double latitude) {
+    this.latitude = latitude;
+  }
+
+  public double getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(double longitude) {
+    this.longitude = longitude;
+  }
+
+  public Integer getGeofenceRadiusMeters() {
+    return geofenceRadiusMeters;
+  }
+
+  public void setGeofenceRadiusMeters(Integer geofenceRadiusMeters) {
+    this.geofenceRadiusMeters = geofenceRadiusMeters;
+  }
+
+  public long getDistanceMeters() {
+    return distanceMeters;
+  }
+
+  public void setDistanceMeters(long distanceMeters) {
+    this.distanceMeters = distanceMeters;
+  }
+}
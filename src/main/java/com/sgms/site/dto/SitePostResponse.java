@@ -18,6 +18,35 @@ public class SitePostResponse {
   private Instant updatedAt;
   private Instant deletedAt;
 
+  public SitePostResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public SitePostResponse(
+      Long id,
+      Long siteId,
+      String siteName,
+      String postName,
+      String description,
+      Integer requiredGuards,
+      String status,
+      Instant createdAt,
+      Instant updatedAt,
+      Instant deletedAt) {
+    this.id = id;
+    this.siteId = siteId;
+    this.siteName = siteName;
+    this.postName = postName;
+    this.description = description;
+    this.requiredGuards = requiredGuards;
+    this.status = status;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+    this.deletedAt = deletedAt;
+  }
+
   public Long getId() {
     return id;
   }
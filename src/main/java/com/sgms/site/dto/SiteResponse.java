@@ -15,11 +15,48 @@ public class SiteResponse {
   private String address;
   private BigDecimal latitude;
   private BigDecimal longitude;
+  private Integer geofenceRadiusMeters;
+  private String timeZone;
   private String status;
   private Instant createdAt;
   private Instant updatedAt;
   private Instant deletedAt;
 
+  public SiteResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public SiteResponse(
+      Long id,
+      Long clientAccountId,
+      String clientAccountName,
+      String name,
+      String address,
+      BigDecimal latitude,
+      BigDecimal longitude,
+      Integer geofenceRadiusMeters,
+      String timeZone,
+      String status,
+      Instant createdAt,
+      Instant updatedAt,
+      Instant deletedAt) {
+    this.id = id;
+    this.clientAccountId = clientAccountId;
+    this.clientAccountName = clientAccountName;
+    this.name = name;
+    this.address = address;
+    this.latitude = latitude;
+    this.longitude = longitude;
+    this.geofenceRadiusMeters = geofenceRadiusMeters;
+    this.timeZone = timeZone;
+    this.status = status;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+    this.deletedAt = deletedAt;
+  }
+
   public Long getId() {
     return id;
   }
@@ -107,4 +144,20 @@ public class SiteResponse {
   public void setDeletedAt(Instant deletedAt) {
     this.deletedAt = deletedAt;
   }
+
+  public Integer getGeofenceRadiusMeters() {
+    return geofenceRadiusMeters;
+  }
+
+  public void setGeofenceRadiusMeters(Integer geofenceRadiusMeters) {
+    this.geofenceRadiusMeters = geofenceRadiusMeters;
+  }
+
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  public void setTimeZone(String timeZone) {
+    this.timeZone = timeZone;
+  }
 }
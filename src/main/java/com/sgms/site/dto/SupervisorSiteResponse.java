@@ -16,6 +16,31 @@ public class SupervisorSiteResponse {
   private Instant assignedAt;
   private Instant removedAt;
 
+  public SupervisorSiteResponse() {
+  }
+
+  /**
+   * Projection constructor used by JPQL constructor expressions (no entity loading)
+   */
+  public SupervisorSiteResponse(
+      Long id,
+      Long supervisorUserId,
+      String supervisorName,
+      String supervisorEmail,
+      Long siteId,
+      String siteName,
+      Instant assignedAt,
+      Instant removedAt) {
+    this.id = id;
+    this.supervisorUserId = supervisorUserId;
+    this.supervisorName = supervisorName;
+    this.supervisorEmail = supervisorEmail;
+    this.siteId = siteId;
+    this.siteName = siteName;
+    this.assignedAt = assignedAt;
+    this.removedAt = removedAt;
+  }
+
   public Long getId() {
     return id;
   }
@@ -0,0 +1,25 @@
+package com.sgms.site.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for changing a site's time zone
+ */
+public class UpdateSiteTimeZoneRequest {
+
+  /**
+   * IANA time zone (e.g. Asia/Kolkata)
+   */
+  @NotBlank(message = "Time zone is required")
+  @Size(max = 64, message = "Time zone must not exceed 64 characters")
+  private String timeZone;
+
+  public String getTimeZone() {
+    return timeZone;
+  }
+
+  public void setTimeZone(String timeZone) {
+    this.timeZone = timeZone;
+  }
+}
@@ -2,13 +2,14 @@ package com.sgms.user;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -16,9 +17,15 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Roles are loaded lazily; authentication uses the "User.auth" graph to fetch them up front
+ */
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = UserEntity.AUTH_GRAPH, attributeNodes = @NamedAttributeNode("roles"))
 public class UserEntity {
+  public static final String AUTH_GRAPH = "User.auth";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -50,7 +57,7 @@ public class UserEntity {
   @Column(name = "active", nullable = false)
   private Boolean active = true;
 
-  @ManyToMany(fetch = FetchType.EAGER)
+  @ManyToMany
   @JoinTable(
       name = "user_roles",
       joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"),
@@ -1,10 +1,14 @@
 package com.sgms.user;
 
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+  @EntityGraph(UserEntity.AUTH_GRAPH)
   Optional<UserEntity> findByEmailIgnoreCaseAndDeletedAtIsNull(String email);
+  @EntityGraph(UserEntity.AUTH_GRAPH)
+  Optional<UserEntity> findByIdAndDeletedAtIsNull(Long id);
   Optional<UserEntity> findByEmail(String email);
   boolean existsByEmailIgnoreCaseAndDeletedAtIsNull(String email);
 }
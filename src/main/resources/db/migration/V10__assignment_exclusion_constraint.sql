@@ -0,0 +1,22 @@
+SET search_path TO public;
+
+-- Database-level guard against double-booking a guard.
+--
+-- Two active assignments of the same guard with the same shift type always
+-- clash on every shared date, so their date ranges must not overlap.
+-- Clashes between different shift windows (e.g. a NIGHT shift running into a
+-- custom early-morning shift) are detected by the application conflict engine.
+--
+-- effective_to is inclusive and NULL means open-ended, which daterange(..., '[]')
+-- represents as an unbounded upper end.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE guard_assignments
+    ADD CONSTRAINT excl_assignment_guard_shift_overlap
+    EXCLUDE USING gist (
+        guard_id WITH =,
+        shift_type_id WITH =,
+        daterange(effective_from, effective_to, '[]') WITH &&
+    )
+    WHERE (status = 'ACTIVE' AND guard_id IS NOT NULL);
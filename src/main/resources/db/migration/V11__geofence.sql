@@ -0,0 +1,21 @@
+SET search_path TO public;
+
+-- Per-site check-in geofence radius (NULL = application default)
+ALTER TABLE sites ADD COLUMN geofence_radius_meters INTEGER;
+
+ALTER TABLE sites ADD CONSTRAINT chk_sites_geofence_radius
+    CHECK (geofence_radius_meters IS NULL OR geofence_radius_meters > 0);
+
+-- Device location captured at check-in/out and distance to the assigned site
+ALTER TABLE attendance_logs ADD COLUMN check_in_latitude NUMERIC(10,8);
+ALTER TABLE attendance_logs ADD COLUMN check_in_longitude NUMERIC(11,8);
+ALTER TABLE attendance_logs ADD COLUMN check_in_distance_meters INTEGER;
+ALTER TABLE attendance_logs ADD COLUMN check_out_latitude NUMERIC(10,8);
+ALTER TABLE attendance_logs ADD COLUMN check_out_longitude NUMERIC(11,8);
+ALTER TABLE attendance_logs ADD COLUMN check_out_distance_meters INTEGER;
+ALTER TABLE attendance_logs ADD COLUMN geofence_flagged BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Supervisor review queue of out-of-fence records
+CREATE INDEX idx_attendance_geofence_flagged
+ON attendance_logs(attendance_date)
+WHERE geofence_flagged;
@@ -0,0 +1,7 @@
+SET search_path TO public;
+
+-- Bounding-box prefilter for nearest-site lookups served by PostgreSQL
+-- (app.sites.nearest.use-database)
+CREATE INDEX idx_sites_active_lat_lon
+ON sites(latitude, longitude)
+WHERE deleted_at IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL;
@@ -0,0 +1,33 @@
+SET search_path TO public;
+
+-- Keyset pagination indexes for the default list sorts (sort column, id)
+-- Each page of GET /api/guards, /sites, /clients, /site-posts and /assignments
+-- becomes an index range scan instead of a full sort of the table
+
+CREATE INDEX idx_guards_active_created
+ON guards(created_at, id)
+WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_client_accounts_active_created
+ON client_accounts(created_at, id)
+WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_sites_active_created
+ON sites(created_at, id)
+WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_sites_client_active_created
+ON sites(client_account_id, created_at, id)
+WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_site_posts_active_created
+ON site_posts(created_at, id)
+WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_site_posts_site_active_created
+ON site_posts(site_id, created_at, id)
+WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_assignment_active_effective_from
+ON guard_assignments(effective_from, id)
+WHERE status = 'ACTIVE';
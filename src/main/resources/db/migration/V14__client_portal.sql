@@ -0,0 +1,55 @@
+SET search_path TO public;
+
+-- Client portal read model: one row per site per day, maintained by the
+-- application after attendance, assignment and site post writes commit.
+-- Client dashboards read only these tables (plus their client_site_access rows).
+CREATE TABLE portal_site_daily_stats (
+    site_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    client_account_id BIGINT NOT NULL,
+    site_name VARCHAR(255) NOT NULL,
+    posts INT NOT NULL DEFAULT 0,
+    required_guard_shifts INT NOT NULL DEFAULT 0,
+    assigned_guard_shifts INT NOT NULL DEFAULT 0,
+    uncovered_guard_shifts INT NOT NULL DEFAULT 0,
+    checked_in INT NOT NULL DEFAULT 0,
+    on_time INT NOT NULL DEFAULT 0,
+    late INT NOT NULL DEFAULT 0,
+    absent INT NOT NULL DEFAULT 0,
+    early_leave INT NOT NULL DEFAULT 0,
+    missed_checkout INT NOT NULL DEFAULT 0,
+    total_late_minutes INT NOT NULL DEFAULT 0,
+    refreshed_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (site_id, stat_date),
+
+    CONSTRAINT fk_portal_stats_site
+        FOREIGN KEY (site_id) REFERENCES sites(id) ON DELETE CASCADE
+);
+
+-- Denormalized attendance feed per site (guard, post and shift copied in)
+CREATE TABLE portal_attendance (
+    attendance_id BIGINT PRIMARY KEY,
+    site_id BIGINT NOT NULL,
+    attendance_date DATE NOT NULL,
+    guard_name VARCHAR(255) NOT NULL,
+    post_name VARCHAR(255) NOT NULL,
+    shift_name VARCHAR(50) NOT NULL,
+    shift_start TIME NOT NULL,
+    shift_end TIME NOT NULL,
+    check_in_time TIMESTAMPTZ,
+    check_out_time TIMESTAMPTZ,
+    status VARCHAR(20) NOT NULL,
+    late_minutes INT NOT NULL DEFAULT 0,
+    early_leave_minutes INT NOT NULL DEFAULT 0,
+    refreshed_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_portal_attendance_site
+        FOREIGN KEY (site_id) REFERENCES sites(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_portal_attendance_site_date
+ON portal_attendance(site_id, attendance_date, check_in_time);
+
+CREATE INDEX idx_portal_attendance_date
+ON portal_attendance(attendance_date);
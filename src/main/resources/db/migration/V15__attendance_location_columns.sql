@@ -0,0 +1,33 @@
+SET search_path TO public;
+
+-- Denormalized location of each attendance record, copied from its
+-- assignment (post -> site -> client) when the record is created.
+-- Site, post and client reports filter these columns directly instead of
+-- joining guard_assignments -> site_posts -> sites.
+-- Nullable columns with no default: adding them does not rewrite the table.
+-- Existing rows are filled in batches by the application
+-- (AttendanceLocationBackfill) after this migration is applied.
+ALTER TABLE attendance_logs
+    ADD COLUMN site_post_id BIGINT,
+    ADD COLUMN site_id BIGINT,
+    ADD COLUMN client_account_id BIGINT;
+
+-- Site report: WHERE site_id = ? AND attendance_date = ? ORDER BY check_in_time
+CREATE INDEX idx_attendance_site_date
+ON attendance_logs(site_id, attendance_date, check_in_time)
+INCLUDE (status, late_minutes, early_leave_minutes);
+
+-- Post report: WHERE site_post_id = ? AND attendance_date = ? ORDER BY check_in_time
+CREATE INDEX idx_attendance_post_date
+ON attendance_logs(site_post_id, attendance_date, check_in_time)
+INCLUDE (status);
+
+-- Client report: WHERE client_account_id = ? AND attendance_date = ?
+CREATE INDEX idx_attendance_client_date
+ON attendance_logs(client_account_id, attendance_date)
+INCLUDE (site_id, status, late_minutes);
+
+-- Rows still waiting for the backfill (empty once it has completed)
+CREATE INDEX idx_attendance_location_pending
+ON attendance_logs(id)
+WHERE site_id IS NULL AND assignment_id IS NOT NULL;
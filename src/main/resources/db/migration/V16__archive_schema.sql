@@ -0,0 +1,88 @@
+SET search_path TO public;
+
+-- Archive tier for attendance and assignments older than app.archive.horizon-days.
+-- Rows are moved here (insert + delete in one statement) by ArchiveScheduler,
+-- keeping the hot tables and their indexes small.
+--
+-- Archive rows are immutable and self-contained: guard, post, site and shift
+-- names are copied in at archive time, so historical reads never join the
+-- hot tables. Tables are packed (fillfactor 100) and dates use BRIN indexes,
+-- which stay a few pages in size because rows arrive in date order.
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE TABLE archive.attendance_logs (
+    id BIGINT PRIMARY KEY,
+    guard_id BIGINT,
+    assignment_id BIGINT,
+    site_post_id BIGINT,
+    site_id BIGINT,
+    client_account_id BIGINT,
+    attendance_date DATE NOT NULL,
+    check_in_time TIMESTAMPTZ,
+    check_out_time TIMESTAMPTZ,
+    status VARCHAR(20) NOT NULL,
+    late_minutes INT,
+    early_leave_minutes INT,
+    notes TEXT,
+    check_in_latitude NUMERIC(10,8),
+    check_in_longitude NUMERIC(11,8),
+    check_in_distance_meters INTEGER,
+    check_out_latitude NUMERIC(10,8),
+    check_out_longitude NUMERIC(11,8),
+    check_out_distance_meters INTEGER,
+    geofence_flagged BOOLEAN NOT NULL DEFAULT FALSE,
+    guard_name VARCHAR(255),
+    post_name VARCHAR(255),
+    site_name VARCHAR(255),
+    shift_name VARCHAR(50),
+    shift_start TIME,
+    shift_end TIME,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_archive_attendance_guard_date
+ON archive.attendance_logs(guard_id, attendance_date);
+
+CREATE INDEX idx_archive_attendance_site_date
+ON archive.attendance_logs(site_id, attendance_date);
+
+CREATE INDEX idx_archive_attendance_date
+ON archive.attendance_logs USING brin(attendance_date);
+
+CREATE TABLE archive.guard_assignments (
+    id BIGINT PRIMARY KEY,
+    guard_id BIGINT,
+    site_post_id BIGINT NOT NULL,
+    shift_type_id BIGINT NOT NULL,
+    effective_from DATE NOT NULL,
+    effective_to DATE,
+    status VARCHAR(20) NOT NULL,
+    notes TEXT,
+    created_by_user_id BIGINT,
+    guard_name VARCHAR(255),
+    site_id BIGINT,
+    site_name VARCHAR(255),
+    post_name VARCHAR(255),
+    shift_name VARCHAR(50),
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_archive_assignment_guard
+ON archive.guard_assignments(guard_id, effective_from);
+
+CREATE INDEX idx_archive_assignment_site
+ON archive.guard_assignments(site_id, effective_from);
+
+-- Hot-table indexes for the archive scan (oldest attendance first,
+-- assignments that ended or were cancelled before the horizon)
+CREATE INDEX idx_assignment_effective_to
+ON guard_assignments(effective_to)
+WHERE effective_to IS NOT NULL;
+
+CREATE INDEX idx_assignment_inactive_updated
+ON guard_assignments(updated_at)
+WHERE status <> 'ACTIVE';
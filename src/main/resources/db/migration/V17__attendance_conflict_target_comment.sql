@@ -0,0 +1,12 @@
+SET search_path TO public;
+
+-- Check-in and the ABSENT job insert with
+-- ON CONFLICT (assignment_id, attendance_date) DO NOTHING, so two concurrent
+-- check-ins for the same shift resolve in the insert itself: one row wins,
+-- the other request gets 409 without an exception or a retry.
+--
+-- The conflict target is uq_attendance from V5: one record per assignment
+-- per date, i.e. per shift, so a guard rostered for two shifts on the same
+-- day (DAY then EVENING) gets a record for each.
+COMMENT ON CONSTRAINT uq_attendance ON attendance_logs IS
+    'One attendance record per shift; conflict target of check-in and the ABSENT sweep';
@@ -0,0 +1,7 @@
+SET search_path TO public;
+
+-- Optimistic locking for attendance records: JPA checks and bumps the version
+-- on entity updates, and the single-statement check-out and missed-checkout
+-- updates bump it too, so concurrent writers cannot overwrite each other.
+ALTER TABLE attendance_logs
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
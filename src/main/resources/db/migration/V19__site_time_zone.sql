@@ -0,0 +1,7 @@
+SET search_path TO public;
+
+-- IANA time zone of each site. Shift times in shift_types are wall-clock
+-- times at the site; the shift-instance engine turns them into concrete
+-- instants per site zone. Existing sites keep the previous (UTC) behaviour.
+ALTER TABLE sites
+ADD COLUMN time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC';
@@ -0,0 +1,56 @@
+SET search_path TO public;
+
+-- Rolling materialization of assignment shifts: one row per assignment per
+-- shift date with concrete instants in the site's time zone, generated
+-- app.shift.instances.horizon-days ahead and refreshed when assignments or
+-- sites change. Check-in, check-out and the absent / missed-checkout sweeps
+-- read these rows instead of re-deriving shifts from guard_assignments and
+-- shift_types with date-range predicates.
+CREATE TABLE shift_instances (
+    id BIGSERIAL PRIMARY KEY,
+    assignment_id BIGINT NOT NULL,
+    guard_id BIGINT,
+    site_post_id BIGINT NOT NULL,
+    site_id BIGINT NOT NULL,
+    client_account_id BIGINT NOT NULL,
+    shift_type_id BIGINT NOT NULL,
+    shift_date DATE NOT NULL,
+    time_zone VARCHAR(64) NOT NULL,
+    starts_at TIMESTAMPTZ NOT NULL,
+    ends_at TIMESTAMPTZ NOT NULL,
+    check_in_opens_at TIMESTAMPTZ NOT NULL,
+    check_in_closes_at TIMESTAMPTZ NOT NULL,
+    generated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_shift_instance_assignment_date
+        UNIQUE (assignment_id, shift_date),
+
+    CONSTRAINT fk_shift_instance_assignment
+        FOREIGN KEY (assignment_id) REFERENCES guard_assignments(id) ON DELETE CASCADE,
+
+    CONSTRAINT chk_shift_instance_interval
+        CHECK (ends_at > starts_at)
+);
+
+-- Check-in: a guard's shifts starting around now
+CREATE INDEX idx_shift_instances_guard_start
+ON shift_instances(guard_id, starts_at)
+WHERE guard_id IS NOT NULL;
+
+-- Absent sweep walks shifts whose check-in window closed since the last
+-- sweep in (check_in_closes_at, id) order
+CREATE INDEX idx_shift_instances_check_in_closes_id
+ON shift_instances(check_in_closes_at, id)
+WHERE guard_id IS NOT NULL;
+
+-- Refresh by site and pruning by date
+CREATE INDEX idx_shift_instances_site_date
+ON shift_instances(site_id, shift_date);
+
+CREATE INDEX idx_shift_instances_date
+ON shift_instances(shift_date);
+
+-- Missed-checkout sweep: checked-in records still open
+CREATE INDEX idx_attendance_open_checkout
+ON attendance_logs(attendance_date)
+WHERE check_in_time IS NOT NULL AND check_out_time IS NULL AND status <> 'MISSED_CHECKOUT';
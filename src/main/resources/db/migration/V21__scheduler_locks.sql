@@ -0,0 +1,19 @@
+SET search_path TO public;
+
+-- Cluster-wide leases for scheduled jobs: a job runs on the one instance
+-- whose upsert takes the row while locked_until has passed. The row also
+-- keeps the outcome of the last run for GET /api/admin/jobs.
+CREATE TABLE scheduler_locks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(255),
+    locked_at TIMESTAMPTZ,
+    locked_until TIMESTAMPTZ NOT NULL,
+    last_started_at TIMESTAMPTZ,
+    last_finished_at TIMESTAMPTZ,
+    last_duration_ms BIGINT,
+    last_status VARCHAR(20),
+    last_error TEXT,
+    last_run_by VARCHAR(255),
+    run_count BIGINT NOT NULL DEFAULT 0,
+    failure_count BIGINT NOT NULL DEFAULT 0
+);
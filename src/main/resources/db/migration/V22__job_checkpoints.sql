@@ -0,0 +1,30 @@
+SET search_path TO public;
+
+-- Progress of chunked scheduled jobs: the (position, id) key of the last
+-- row handled, written in the same transaction as each chunk, so a run
+-- resumes after the last committed chunk.
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    position TIMESTAMPTZ NOT NULL,
+    last_id BIGINT NOT NULL,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    skipped_chunks BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Chunks that still failed after their retries and were skipped
+CREATE TABLE job_chunk_failures (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    first_position TIMESTAMPTZ NOT NULL,
+    first_id BIGINT NOT NULL,
+    last_position TIMESTAMPTZ NOT NULL,
+    last_id BIGINT NOT NULL,
+    ids BIGINT[] NOT NULL,
+    attempts INT NOT NULL,
+    error TEXT,
+    failed_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_job_chunk_failures_job
+ON job_chunk_failures(job_name, failed_at DESC);
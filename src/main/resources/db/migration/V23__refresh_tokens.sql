@@ -0,0 +1,28 @@
+SET search_path TO public;
+
+-- One row per login session. The refresh token is "<id>.<secret>"; only the
+-- SHA-256 of the secret is stored and it is replaced on every refresh, so a
+-- replayed (already rotated) token is detected and ends the session.
+CREATE TABLE refresh_tokens (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    token_hash VARCHAR(64) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_used_at TIMESTAMPTZ,
+    expires_at TIMESTAMPTZ NOT NULL,
+    revoked_at TIMESTAMPTZ,
+    revoked_reason VARCHAR(50)
+);
+
+CREATE INDEX idx_refresh_tokens_user_active ON refresh_tokens(user_id) WHERE revoked_at IS NULL;
+
+-- Sessions whose access tokens must stop working before they expire. Access
+-- tokens carry their session id as jti; every instance keeps the unexpired
+-- rows in memory and syncs by revoked_at.
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    revoked_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
@@ -0,0 +1,17 @@
+SET search_path TO public;
+
+-- Completes the V15 location backfill inside the migration.
+-- Reports filter on attendance_logs.site_id / site_post_id / client_account_id
+-- only, so a row the application backfill (AttendanceLocationBackfill) has
+-- not reached yet would be missing from site, post and client reports.
+-- Filling every remaining row here means no report ever runs against a
+-- partially backfilled table. Where the application backfill has already
+-- finished this is a scan of the empty idx_attendance_location_pending.
+-- The application job stays in place for rows written by instances still on
+-- a pre-V15 version during a rolling deploy.
+UPDATE attendance_logs al
+SET site_post_id = sp.id, site_id = sp.site_id, client_account_id = s.client_account_id
+FROM guard_assignments ga
+JOIN site_posts sp ON sp.id = ga.site_post_id
+JOIN sites s ON s.id = sp.site_id
+WHERE ga.id = al.assignment_id AND al.site_id IS NULL;
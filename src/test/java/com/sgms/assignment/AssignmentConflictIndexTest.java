@@ -0,0 +1,110 @@
+package com.sgms.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shift-window conflicts of one guard's assignments, within and across site zones
+ */
+class AssignmentConflictIndexTest {
+
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private static final long DAY = 1;
+  private static final long EVENING = 2;
+  private static final long NIGHT = 3;
+  private static final long CUSTOM = 9;
+
+  private static final LocalDate FROM = LocalDate.of(2026, 1, 5);
+
+  @Test
+  void dayEveningAndNightAtSitesInOneZoneDoNotConflict() {
+    AssignmentConflictIndex index = new AssignmentConflictIndex(List.of(
+        slot(1L, DAY, LONDON, FROM, null, 6, 0, 14, 0),
+        slot(2L, EVENING, LONDON, FROM, null, 14, 0, 22, 0)));
+
+    assertThat(index.findConflicts(slot(null, NIGHT, LONDON, FROM, null, 22, 0, 6, 0))).isEmpty();
+  }
+
+  @Test
+  void nightInNewYorkConflictsWithDayInLondon() {
+    // 22:00-06:00 in New York is 03:00-11:00 in London
+    AssignmentConflictIndex index = new AssignmentConflictIndex(List.of(
+        slot(1L, DAY, LONDON, FROM, null, 6, 0, 14, 0)));
+
+    assertThat(index.findConflicts(slot(null, NIGHT, NEW_YORK, FROM, null, 22, 0, 6, 0)))
+        .singleElement()
+        .satisfies(conflict -> {
+          assertThat(conflict.existing().assignmentId()).isEqualTo(1L);
+          assertThat(conflict.firstConflictDate()).isEqualTo(FROM);
+        });
+  }
+
+  @Test
+  void sameWallClockHoursInTokyoAndLondonDoNotConflict() {
+    // 06:00-14:00 in Tokyo ends at 05:00 UTC, before 10:00 in London on any date
+    AssignmentConflictIndex index = new AssignmentConflictIndex(List.of(
+        slot(1L, CUSTOM, LONDON, FROM, null, 10, 0, 18, 0)));
+
+    assertThat(index.findConflicts(slot(null, DAY, TOKYO, FROM, null, 6, 0, 14, 0))).isEmpty();
+  }
+
+  @Test
+  void conflictThatOnlyExistsOutsideSummerTimeStartsWhenTheClocksGoBack() {
+    // 06:00-14:00 in London ends at 13:00 UTC in summer and 14:00 UTC in winter
+    LocalDate june = LocalDate.of(2026, 6, 1);
+    AssignmentConflictIndex index = new AssignmentConflictIndex(List.of(
+        slot(1L, CUSTOM, UTC, june, null, 13, 30, 21, 30)));
+
+    assertThat(index.findConflicts(slot(null, DAY, LONDON, june, null, 6, 0, 14, 0)))
+        .singleElement()
+        .extracting(AssignmentConflictIndex.Conflict::firstConflictDate)
+        .isEqualTo(LocalDate.of(2026, 10, 25));
+  }
+
+  @Test
+  void assignmentEndingTheDayBeforeStillConflictsAcrossZones() {
+    // 06:00 on March 10 in Tokyo is 17:00 on March 9 in New York
+    AssignmentConflictIndex index = new AssignmentConflictIndex(List.of(
+        slot(1L, CUSTOM, NEW_YORK, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 9), 16, 0, 23, 0)));
+
+    assertThat(index.findConflicts(slot(null, DAY, TOKYO, LocalDate.of(2026, 3, 10), null, 6, 0, 14, 0)))
+        .singleElement()
+        .extracting(AssignmentConflictIndex.Conflict::firstConflictDate)
+        .isEqualTo(LocalDate.of(2026, 3, 10));
+  }
+
+  @Test
+  void sameShiftTypeConflictsFromTheFirstSharedDateWhateverTheZones() {
+    AssignmentConflictIndex index = new AssignmentConflictIndex(List.of(
+        slot(1L, DAY, TOKYO, FROM, null, 6, 0, 14, 0)));
+
+    assertThat(index.findConflicts(slot(null, DAY, LONDON, FROM.plusMonths(1), null, 6, 0, 14, 0)))
+        .singleElement()
+        .extracting(AssignmentConflictIndex.Conflict::firstConflictDate)
+        .isEqualTo(FROM.plusMonths(1));
+  }
+
+  private static AssignmentSlot slot(
+      Long assignmentId,
+      long shiftTypeId,
+      ZoneId zone,
+      LocalDate effectiveFrom,
+      LocalDate effectiveTo,
+      int startHour,
+      int startMinute,
+      int endHour,
+      int endMinute) {
+    return new AssignmentSlot(assignmentId, 7L, shiftTypeId, effectiveFrom, effectiveTo,
+        LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute), zone);
+  }
+}
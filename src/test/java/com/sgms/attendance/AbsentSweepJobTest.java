@@ -0,0 +1,91 @@
+package com.sgms.attendance;
+
+import com.sgms.scheduling.ChunkedJobRunner;
+import com.sgms.support.PostgresIntegrationTest;
+import com.sgms.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Absent sweep over shift instances that appear behind its checkpoint
+ * 
+ * The checkpoint is moved to now before each run, as if a sweep had just
+ * passed; instances inserted afterwards with an already closed check-in
+ * window stand for a backdated assignment.
+ */
+class AbsentSweepJobTest extends PostgresIntegrationTest {
+
+  @Autowired
+  private AbsentSweepJob absentSweepJob;
+
+  @Autowired
+  private ChunkedJobRunner chunkedJobRunner;
+
+  private TestData data;
+  private long postId;
+  private Instant checkpoint;
+
+  @BeforeEach
+  void sweepJustPassed() {
+    data = testData();
+    postId = data.post(data.site(data.client()));
+    checkpoint = Instant.now();
+    jdbcTemplate.update(
+        "INSERT INTO job_checkpoints (job_name, position, last_id) VALUES (?, ?, ?) " +
+        "ON CONFLICT (job_name) DO UPDATE SET position = EXCLUDED.position, last_id = EXCLUDED.last_id",
+        AbsentSweepJob.JOB_NAME, Timestamp.from(checkpoint), Long.MAX_VALUE);
+  }
+
+  @Test
+  void shiftInsertedBehindTheCheckpointIsMarkedByTheResweep() {
+    // check-in window closed two hours ago
+    long assignmentId = data.assignment(data.guard(), postId, "DAY");
+    data.shiftInstance(assignmentId, Instant.now().minus(Duration.ofHours(4)));
+
+    chunkedJobRunner.run(absentSweepJob);
+
+    assertThat(statuses(assignmentId)).containsExactly("ABSENT");
+    assertThat(savedCheckpoint()).isAfterOrEqualTo(checkpoint);
+  }
+
+  @Test
+  void resweepIsIdempotent() {
+    long assignmentId = data.assignment(data.guard(), postId, "DAY");
+    data.shiftInstance(assignmentId, Instant.now().minus(Duration.ofHours(4)));
+
+    chunkedJobRunner.run(absentSweepJob);
+    chunkedJobRunner.run(absentSweepJob);
+
+    assertThat(statuses(assignmentId)).containsExactly("ABSENT");
+  }
+
+  @Test
+  void shiftBeyondTheResweepWindowIsNotRevisited() {
+    // check-in window closed ten hours ago, outside the default six-hour re-sweep
+    long assignmentId = data.assignment(data.guard(), postId, "DAY");
+    data.shiftInstance(assignmentId, Instant.now().minus(Duration.ofHours(12)));
+
+    chunkedJobRunner.run(absentSweepJob);
+
+    assertThat(statuses(assignmentId)).isEmpty();
+  }
+
+  private List<String> statuses(long assignmentId) {
+    return jdbcTemplate.queryForList(
+        "SELECT status FROM attendance_logs WHERE assignment_id = ?", String.class, assignmentId);
+  }
+
+  private Instant savedCheckpoint() {
+    return jdbcTemplate.queryForObject(
+        "SELECT position FROM job_checkpoints WHERE job_name = ?", Timestamp.class, AbsentSweepJob.JOB_NAME)
+        .toInstant();
+  }
+}
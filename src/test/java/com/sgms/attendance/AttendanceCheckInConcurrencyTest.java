@@ -0,0 +1,147 @@
+package com.sgms.attendance;
+
+import com.sgms.attendance.dto.AttendanceResponse;
+import com.sgms.attendance.dto.CheckInRequest;
+import com.sgms.support.PostgresIntegrationTest;
+import com.sgms.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Check-in under concurrent taps, and per-shift uniqueness
+ * 
+ * Concurrent check-ins for one shift must produce exactly one record and a
+ * 409 for every other request, with no other error. A guard with two shifts
+ * on the same date gets a record for each, whether the first one was checked
+ * in or marked ABSENT.
+ */
+class AttendanceCheckInConcurrencyTest extends PostgresIntegrationTest {
+
+  private static final int CONCURRENT_REQUESTS = 16;
+
+  @Autowired
+  private AttendanceService attendanceService;
+
+  @Autowired
+  private AttendanceWriter attendanceWriter;
+
+  private TestData data;
+  private long postId;
+  private long guardId;
+
+  @BeforeEach
+  void createGuard() {
+    data = testData();
+    postId = data.post(data.site(data.client()));
+    guardId = data.guard();
+  }
+
+  @Test
+  void concurrentCheckInsForOneShiftRecordOnceAndConflictOtherwise() throws Exception {
+    long assignmentId = data.assignment(guardId, postId, "DAY");
+    data.shiftInstance(assignmentId, Instant.now());
+
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    List<Future<HttpStatusCode>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          try {
+            attendanceService.checkIn(checkInRequest());
+            return HttpStatus.OK;
+          } catch (ResponseStatusException e) {
+            return e.getStatusCode();
+          }
+        }));
+      }
+      start.countDown();
+
+      List<HttpStatusCode> statuses = new ArrayList<>();
+      for (Future<HttpStatusCode> result : results) {
+        statuses.add(result.get(30, TimeUnit.SECONDS));
+      }
+
+      assertThat(statuses).filteredOn(HttpStatus.OK::equals).hasSize(1);
+      assertThat(statuses).filteredOn(HttpStatus.CONFLICT::equals).hasSize(CONCURRENT_REQUESTS - 1);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(recordCount(assignmentId)).isEqualTo(1);
+  }
+
+  @Test
+  void secondCheckInForTheSameShiftIsConflict() {
+    data.shiftInstance(data.assignment(guardId, postId, "DAY"), Instant.now());
+    attendanceService.checkIn(checkInRequest());
+
+    assertThatThrownBy(() -> attendanceService.checkIn(checkInRequest()))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+  }
+
+  @Test
+  void absentFirstShiftDoesNotBlockSecondShiftOnTheSameDate() {
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    Instant now = Instant.now();
+    long firstAssignmentId = data.assignment(guardId, postId, "DAY");
+    long secondAssignmentId = data.assignment(guardId, postId, "EVENING");
+    long firstShift = data.shiftInstance(firstAssignmentId, today, now.minus(Duration.ofHours(8)));
+    data.shiftInstance(secondAssignmentId, today, now);
+
+    assertThat(attendanceWriter.insertAbsent(List.of(firstShift))).hasSize(1);
+    AttendanceResponse checkedIn = attendanceService.checkIn(checkInRequest());
+
+    assertThat(checkedIn.getAssignmentId()).isEqualTo(secondAssignmentId);
+    assertThat(recordCount(firstAssignmentId)).isEqualTo(1);
+    assertThat(recordCount(secondAssignmentId)).isEqualTo(1);
+  }
+
+  @Test
+  void absentSweepMarksSecondShiftAfterCheckInToFirst() {
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    Instant now = Instant.now();
+    long firstAssignmentId = data.assignment(guardId, postId, "DAY");
+    long secondAssignmentId = data.assignment(guardId, postId, "EVENING");
+    data.shiftInstance(firstAssignmentId, today, now);
+    long secondShift = data.shiftInstance(secondAssignmentId, today, now.plus(Duration.ofHours(8)));
+
+    attendanceService.checkIn(checkInRequest());
+
+    assertThat(attendanceWriter.insertAbsent(List.of(secondShift))).hasSize(1);
+    assertThat(attendanceWriter.insertAbsent(List.of(secondShift))).isEmpty();
+    assertThat(recordCount(secondAssignmentId)).isEqualTo(1);
+  }
+
+  private CheckInRequest checkInRequest() {
+    CheckInRequest request = new CheckInRequest();
+    request.setGuardId(guardId);
+    return request;
+  }
+
+  private int recordCount(long assignmentId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM attendance_logs WHERE assignment_id = ?", Integer.class, assignmentId);
+  }
+}
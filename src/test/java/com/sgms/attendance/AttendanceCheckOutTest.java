@@ -0,0 +1,92 @@
+package com.sgms.attendance;
+
+import com.sgms.attendance.dto.AttendanceResponse;
+import com.sgms.attendance.dto.CheckOutRequest;
+import com.sgms.support.PostgresIntegrationTest;
+import com.sgms.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Check-out of an open record, including one whose assignment was deleted
+ * 
+ * Deleting an assignment sets attendance_logs.assignment_id to NULL and
+ * cascades to its shift instances; the guard must still be able to close
+ * the record, without early leave since the shift end is gone.
+ */
+class AttendanceCheckOutTest extends PostgresIntegrationTest {
+
+  @Autowired
+  private AttendanceService attendanceService;
+
+  private TestData data;
+  private long siteId;
+  private long postId;
+  private long guardId;
+
+  @BeforeEach
+  void createGuard() {
+    data = testData();
+    siteId = data.site(data.client());
+    postId = data.post(siteId);
+    guardId = data.guard();
+  }
+
+  @Test
+  void earlyCheckOutIsMeasuredFromTheShiftEnd() {
+    // shift ends in seven hours
+    long assignmentId = data.assignment(guardId, postId, "DAY");
+    data.attendance(data.shiftInstance(assignmentId, Instant.now().minus(Duration.ofHours(1))));
+
+    AttendanceResponse response = attendanceService.checkOut(checkOutRequest());
+
+    assertThat(response.getStatus()).isEqualTo(AttendanceStatus.EARLY_LEAVE);
+    assertThat(response.getEarlyLeaveMinutes()).isBetween(418, 420);
+    assertThat(response.getAssignmentId()).isEqualTo(assignmentId);
+    assertThat(response.getShiftName()).isEqualTo("DAY");
+  }
+
+  @Test
+  void recordWhoseAssignmentWasDeletedCanStillBeCheckedOut() {
+    long assignmentId = data.assignment(guardId, postId, "DAY");
+    long attendanceId = data.attendance(data.shiftInstance(assignmentId, Instant.now().minus(Duration.ofHours(1))));
+    jdbcTemplate.update("DELETE FROM guard_assignments WHERE id = ?", assignmentId);
+
+    AttendanceResponse response = attendanceService.checkOut(checkOutRequest());
+
+    assertThat(response.getAttendanceId()).isEqualTo(attendanceId);
+    assertThat(response.getCheckOutTime()).isNotNull();
+    assertThat(response.getStatus()).isEqualTo(AttendanceStatus.PRESENT);
+    assertThat(response.getEarlyLeaveMinutes()).isZero();
+    assertThat(response.getAssignmentId()).isNull();
+    assertThat(response.getShiftName()).isNull();
+    assertThat(response.getSiteId()).isEqualTo(siteId);
+    assertThat(response.getSitePostId()).isEqualTo(postId);
+    assertThat(response.getGuardId()).isEqualTo(guardId);
+  }
+
+  @Test
+  void secondCheckOutIsConflict() {
+    data.attendance(data.shiftInstance(data.assignment(guardId, postId, "DAY"), Instant.now()));
+    attendanceService.checkOut(checkOutRequest());
+
+    assertThatThrownBy(() -> attendanceService.checkOut(checkOutRequest()))
+        .isInstanceOfSatisfying(ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+  }
+
+  private CheckOutRequest checkOutRequest() {
+    CheckOutRequest request = new CheckOutRequest();
+    request.setGuardId(guardId);
+    return request;
+  }
+}
@@ -0,0 +1,93 @@
+package com.sgms.attendance;
+
+import com.sgms.attendance.dto.CheckInRequest;
+import com.sgms.security.UserPrincipal;
+import com.sgms.support.PostgresIntegrationTest;
+import com.sgms.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements per attendance use case
+ * 
+ * Check-in reads the guard and its shift instances, inserts and reads the
+ * record back; reports are one projection query whatever the number of rows.
+ * A failure here usually means an association is loaded lazily one row at a
+ * time, or a fetch plan stopped being applied.
+ */
+class AttendanceServiceStatementCountTest extends PostgresIntegrationTest {
+
+  private static final UserPrincipal ADMIN = UserPrincipal.fromToken(1L, "admin@sgms.com", Set.of("ADMIN"));
+
+  @Autowired
+  private AttendanceService attendanceService;
+
+  private TestData data;
+  private long siteId;
+  private long postId;
+
+  @BeforeEach
+  void createSite() {
+    data = testData();
+    siteId = data.site(data.client());
+    postId = data.post(siteId);
+  }
+
+  @Test
+  void checkInRunsFourStatements() {
+    long guardId = data.guard();
+    data.shiftInstance(data.assignment(guardId, postId, "DAY"), Instant.now());
+    CheckInRequest request = new CheckInRequest();
+    request.setGuardId(guardId);
+
+    // guard, shift instances, insert, read back
+    assertThat(countStatements(() -> attendanceService.checkIn(request))).isEqualTo(4);
+  }
+
+  @Test
+  void siteReportIsOneStatementWhateverTheRowCount() {
+    LocalDate today = LocalDate.now(ZoneOffset.UTC);
+    recordAttendance(1);
+    int forOne = countStatements(() -> assertThat(attendanceService.getSiteAttendance(siteId, today, ADMIN)).hasSize(1));
+
+    recordAttendance(4);
+    int forFive = countStatements(() -> assertThat(attendanceService.getSiteAttendance(siteId, today, ADMIN)).hasSize(5));
+
+    assertThat(forOne).isEqualTo(1);
+    assertThat(forFive).isEqualTo(forOne);
+  }
+
+  @Test
+  void guardHistoryIsTwoStatementsWhateverTheRowCount() {
+    long guardId = data.guard();
+    long assignmentId = data.assignment(guardId, postId, "DAY");
+    Instant start = Instant.now();
+    data.attendance(data.shiftInstance(assignmentId, start));
+    int forOne = countStatements(() -> assertThat(attendanceService.getGuardAttendance(guardId, ADMIN)).hasSize(1));
+
+    for (int day = 1; day <= 4; day++) {
+      data.attendance(data.shiftInstance(assignmentId, start.minus(Duration.ofDays(day))));
+    }
+    int forFive = countStatements(() -> assertThat(attendanceService.getGuardAttendance(guardId, ADMIN)).hasSize(5));
+
+    // guard existence check, projection
+    assertThat(forOne).isEqualTo(2);
+    assertThat(forFive).isEqualTo(forOne);
+  }
+
+  private void recordAttendance(int guards) {
+    for (int i = 0; i < guards; i++) {
+      Instant noon = LocalDate.now(ZoneOffset.UTC).atTime(12, 0).toInstant(ZoneOffset.UTC);
+      data.attendance(data.shiftInstance(data.assignment(data.guard(), postId, "DAY"), noon));
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package com.sgms.bulkhead;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void stopThreads() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void rejectsNonPositiveConcurrency() {
+    assertThatThrownBy(() -> new Bulkhead("test", 0, 0, Duration.ZERO, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void admitsUpToMaxConcurrentAndReleasesSlots() {
+    Bulkhead bulkhead = new Bulkhead("test", 2, 0, Duration.ZERO, 0);
+
+    assertThat(bulkhead.tryAcquire("a")).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+    assertThat(bulkhead.tryAcquire("b")).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+    assertThat(bulkhead.getActive()).isEqualTo(2);
+    assertThat(bulkhead.getSaturation()).isEqualTo(1.0);
+
+    bulkhead.release("a");
+    bulkhead.release("b");
+
+    assertThat(bulkhead.getActive()).isZero();
+    assertThat(bulkhead.getRejected()).isZero();
+  }
+
+  @Test
+  void fullBulkheadWithoutQueueRejectsImmediately() {
+    Bulkhead bulkhead = new Bulkhead("test", 1, 0, Duration.ofSeconds(5), 0);
+    bulkhead.tryAcquire("a");
+
+    assertThat(bulkhead.tryAcquire("b")).isEqualTo(Bulkhead.Outcome.QUEUE_FULL);
+    assertThat(bulkhead.getRejected()).isEqualTo(1);
+  }
+
+  @Test
+  void queuedRequestTimesOutAfterMaxWait() {
+    Bulkhead bulkhead = new Bulkhead("test", 1, 5, Duration.ofMillis(50), 0);
+    bulkhead.tryAcquire("a");
+
+    assertThat(bulkhead.tryAcquire("b")).isEqualTo(Bulkhead.Outcome.TIMED_OUT);
+    assertThat(bulkhead.getWaiting()).isZero();
+    assertThat(bulkhead.getRejected()).isEqualTo(1);
+  }
+
+  @Test
+  void queuedRequestGetsTheSlotWhenReleased() throws Exception {
+    Bulkhead bulkhead = new Bulkhead("test", 1, 5, Duration.ofSeconds(5), 0);
+    bulkhead.tryAcquire("a");
+
+    Future<Bulkhead.Outcome> queued = executor.submit(() -> bulkhead.tryAcquire("b"));
+    awaitWaiting(bulkhead, 1);
+    bulkhead.release("a");
+
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+  }
+
+  @Test
+  void tenantOverItsShareWaitsForItsOwnRequestInsteadOfBeingRejected() throws Exception {
+    Bulkhead bulkhead = new Bulkhead("test", 3, 5, Duration.ofSeconds(5), 1);
+    assertThat(bulkhead.tryAcquire("client:1")).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+
+    Future<Bulkhead.Outcome> second = executor.submit(() -> bulkhead.tryAcquire("client:1"));
+    awaitWaiting(bulkhead, 1);
+    assertThat(second.isDone()).isFalse();
+    assertThat(bulkhead.tryAcquire("client:2")).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+
+    bulkhead.release("client:1");
+
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+    assertThat(bulkhead.getRejected()).isZero();
+  }
+
+  @Test
+  void tenantStillOverItsShareAfterMaxWaitIsRejected() {
+    Bulkhead bulkhead = new Bulkhead("test", 3, 5, Duration.ofMillis(50), 1);
+    bulkhead.tryAcquire("client:1");
+
+    assertThat(bulkhead.tryAcquire("client:1")).isEqualTo(Bulkhead.Outcome.TENANT_LIMIT);
+    assertThat(bulkhead.getActive()).isEqualTo(1);
+    assertThat(bulkhead.getWaiting()).isZero();
+  }
+
+  @Test
+  void tenantWaitersCountAgainstTheQueue() {
+    Bulkhead bulkhead = new Bulkhead("test", 3, 0, Duration.ofSeconds(5), 1);
+    bulkhead.tryAcquire("client:1");
+
+    assertThat(bulkhead.tryAcquire("client:1")).isEqualTo(Bulkhead.Outcome.QUEUE_FULL);
+  }
+
+  @Test
+  void rejectedRequestDoesNotKeepItsTenantShare() {
+    Bulkhead bulkhead = new Bulkhead("test", 1, 0, Duration.ZERO, 1);
+    bulkhead.tryAcquire("client:1");
+
+    assertThat(bulkhead.tryAcquire("client:2")).isEqualTo(Bulkhead.Outcome.QUEUE_FULL);
+    bulkhead.release("client:1");
+
+    assertThat(bulkhead.tryAcquire("client:2")).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+  }
+
+  @Test
+  void concurrentRequestsNeverExceedEitherLimit() throws Exception {
+    int maxConcurrent = 4;
+    int perTenant = 2;
+    Bulkhead bulkhead = new Bulkhead("test", maxConcurrent, 100, Duration.ofSeconds(10), perTenant);
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    ConcurrentHashMap<String, AtomicInteger> byTenant = new ConcurrentHashMap<>();
+    AtomicInteger tenantPeak = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    List<Future<Bulkhead.Outcome>> results = new ArrayList<>();
+    for (int i = 0; i < 24; i++) {
+      String tenant = "client:" + (i % 3);
+      results.add(executor.submit(() -> {
+        start.await();
+        Bulkhead.Outcome outcome = bulkhead.tryAcquire(tenant);
+        if (outcome == Bulkhead.Outcome.ACQUIRED) {
+          try {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            int forTenant = byTenant.computeIfAbsent(tenant, k -> new AtomicInteger()).incrementAndGet();
+            tenantPeak.accumulateAndGet(forTenant, Math::max);
+            Thread.sleep(5);
+          } finally {
+            byTenant.get(tenant).decrementAndGet();
+            active.decrementAndGet();
+            bulkhead.release(tenant);
+          }
+        }
+        return outcome;
+      }));
+    }
+    start.countDown();
+
+    for (Future<Bulkhead.Outcome> result : results) {
+      assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(Bulkhead.Outcome.ACQUIRED);
+    }
+    assertThat(peak.get()).isLessThanOrEqualTo(maxConcurrent);
+    assertThat(tenantPeak.get()).isLessThanOrEqualTo(perTenant);
+    assertThat(bulkhead.getActive()).isZero();
+  }
+
+  private static void awaitWaiting(Bulkhead bulkhead, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (bulkhead.getWaiting() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(bulkhead.getWaiting()).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,134 @@
+package com.sgms.scheduling;
+
+import com.sgms.scheduling.dto.JobStatusResponse;
+import com.sgms.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leases in scheduler_locks: one holder at a time, released no earlier
+ * than lockAtLeastFor after the start, and the outcome of each run kept
+ */
+class SchedulerLockStoreTest extends PostgresIntegrationTest {
+
+  private static final Duration LEASE = Duration.ofMinutes(10);
+
+  @Autowired
+  private SchedulerLockStore lockStore;
+
+  private String jobName;
+
+  @BeforeEach
+  void uniqueJobName() {
+    jobName = "test." + UUID.randomUUID();
+  }
+
+  @Test
+  void unexpiredLeaseIsNotTakenByAnotherInstance() {
+    assertThat(lockStore.tryAcquire(jobName, "instance-a", LEASE)).isTrue();
+
+    assertThat(lockStore.tryAcquire(jobName, "instance-b", LEASE)).isFalse();
+    assertThat(lockStore.tryAcquire(jobName, "instance-a", LEASE)).isFalse();
+  }
+
+  @Test
+  void expiredLeaseIsTakenOver() {
+    assertThat(lockStore.tryAcquire(jobName, "instance-a", Duration.ZERO)).isTrue();
+
+    assertThat(lockStore.tryAcquire(jobName, "instance-b", LEASE)).isTrue();
+    assertThat(status().getLockedBy()).isEqualTo("instance-b");
+  }
+
+  @Test
+  void concurrentAcquireHasExactlyOneWinner() throws Exception {
+    int instances = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(instances);
+    List<Future<Boolean>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < instances; i++) {
+        String owner = "instance-" + i;
+        results.add(executor.submit(() -> {
+          start.await();
+          return lockStore.tryAcquire(jobName, owner, LEASE);
+        }));
+      }
+      start.countDown();
+
+      int winners = 0;
+      for (Future<Boolean> result : results) {
+        winners += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+      }
+      assertThat(winners).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void releaseFreesTheLeaseOnceLockAtLeastForHasPassed() {
+    lockStore.tryAcquire(jobName, "instance-a", LEASE);
+
+    lockStore.release(jobName, "instance-a", Duration.ZERO, 42, "SUCCEEDED", null);
+
+    assertThat(lockStore.tryAcquire(jobName, "instance-b", LEASE)).isTrue();
+  }
+
+  @Test
+  void releaseKeepsTheLeaseUntilLockAtLeastFor() {
+    lockStore.tryAcquire(jobName, "instance-a", LEASE);
+
+    lockStore.release(jobName, "instance-a", Duration.ofMinutes(5), 42, "SUCCEEDED", null);
+
+    assertThat(lockStore.tryAcquire(jobName, "instance-b", LEASE)).isFalse();
+    assertThat(status().isRunning()).isFalse();
+  }
+
+  @Test
+  void releaseByAnotherOwnerIsIgnored() {
+    lockStore.tryAcquire(jobName, "instance-a", LEASE);
+
+    lockStore.release(jobName, "instance-b", Duration.ZERO, 42, "SUCCEEDED", null);
+
+    assertThat(lockStore.tryAcquire(jobName, "instance-b", LEASE)).isFalse();
+    assertThat(status().isRunning()).isTrue();
+    assertThat(status().getRunCount()).isZero();
+  }
+
+  @Test
+  void statusKeepsTheOutcomeOfEachRun() {
+    lockStore.tryAcquire(jobName, "instance-a", LEASE);
+    lockStore.release(jobName, "instance-a", Duration.ZERO, 120, "SUCCEEDED", null);
+    lockStore.tryAcquire(jobName, "instance-b", LEASE);
+    lockStore.release(jobName, "instance-b", Duration.ZERO, 80, "FAILED", "boom");
+
+    JobStatusResponse status = status();
+    assertThat(status.getRunCount()).isEqualTo(2);
+    assertThat(status.getFailureCount()).isEqualTo(1);
+    assertThat(status.getLastStatus()).isEqualTo("FAILED");
+    assertThat(status.getLastError()).isEqualTo("boom");
+    assertThat(status.getLastRunBy()).isEqualTo("instance-b");
+    assertThat(status.getLastDurationMs()).isEqualTo(80L);
+    assertThat(status.isRunning()).isFalse();
+  }
+
+  private JobStatusResponse status() {
+    return lockStore.findAll().stream()
+        .filter(job -> job.getJobName().equals(jobName))
+        .findFirst()
+        .orElseThrow();
+  }
+}
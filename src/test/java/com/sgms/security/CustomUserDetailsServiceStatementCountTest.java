@@ -0,0 +1,27 @@
+package com.sgms.security;
+
+import com.sgms.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the auth fetch plan: the user and its roles in one statement
+ */
+class CustomUserDetailsServiceStatementCountTest extends PostgresIntegrationTest {
+
+  @Autowired
+  private CustomUserDetailsService userDetailsService;
+
+  @Test
+  void loadUserByUsernameFetchesUserAndRolesInOneStatement() {
+    int statements = countStatements(() -> {
+      UserDetails user = userDetailsService.loadUserByUsername("admin@sgms.com");
+      assertThat(user.getAuthorities()).extracting("authority").contains("ROLE_ADMIN");
+    });
+
+    assertThat(statements).isEqualTo(1);
+  }
+}
@@ -0,0 +1,60 @@
+package com.sgms.security;
+
+import com.sgms.exception.RetryLaterException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+  private static final String IP = "10.0.0.1";
+
+  private final Clock clock = Clock.fixed(Instant.parse("2026-01-01T12:00:00Z"), ZoneOffset.UTC);
+
+  @Test
+  void emailBudgetLimitsAttemptsOnOneAccount() {
+    LoginRateLimiter limiter = limiter(60, 2);
+
+    limiter.checkLoginAttempt(IP, "a@sgms.com");
+    limiter.checkLoginAttempt(IP, "a@sgms.com");
+
+    assertThatThrownBy(() -> limiter.checkLoginAttempt(IP, "a@sgms.com"))
+        .isInstanceOf(RetryLaterException.class);
+  }
+
+  @Test
+  void ipBudgetLimitsAttemptsAcrossAccounts() {
+    LoginRateLimiter limiter = limiter(2, 5);
+
+    limiter.checkLoginAttempt(IP, "a@sgms.com");
+    limiter.checkLoginAttempt(IP, "b@sgms.com");
+
+    assertThatThrownBy(() -> limiter.checkLoginAttempt(IP, "c@sgms.com"))
+        .isInstanceOf(RetryLaterException.class);
+  }
+
+  @Test
+  void attemptRejectedByEmailBudgetDoesNotSpendTheIpBudget() {
+    LoginRateLimiter limiter = limiter(3, 1);
+    limiter.checkLoginAttempt(IP, "a@sgms.com");
+
+    for (int i = 0; i < 10; i++) {
+      assertThatThrownBy(() -> limiter.checkLoginAttempt(IP, "a@sgms.com"))
+          .isInstanceOf(RetryLaterException.class);
+    }
+
+    assertThatCode(() -> limiter.checkLoginAttempt(IP, "b@sgms.com")).doesNotThrowAnyException();
+    assertThatCode(() -> limiter.checkLoginAttempt(IP, "c@sgms.com")).doesNotThrowAnyException();
+    assertThatThrownBy(() -> limiter.checkLoginAttempt(IP, "d@sgms.com"))
+        .isInstanceOf(RetryLaterException.class);
+  }
+
+  private LoginRateLimiter limiter(int ipCapacity, int emailCapacity) {
+    return new LoginRateLimiter(clock, true, 16384, ipCapacity, 1, emailCapacity, 1);
+  }
+}
@@ -0,0 +1,121 @@
+package com.sgms.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+
+  private static final long ORIGIN = 1_700_000_000_000L;
+
+  @Test
+  void newKeyAllowsABurstOfCapacityThenReportsTheWait() {
+    StripedTokenBuckets buckets = new StripedTokenBuckets(1024, 5, 1, ORIGIN);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(buckets.tryAcquire("a@sgms.com", ORIGIN)).isZero();
+    }
+
+    assertThat(buckets.tryAcquire("a@sgms.com", ORIGIN)).isEqualTo(60_000);
+  }
+
+  @Test
+  void tokensRefillWithElapsedTime() {
+    StripedTokenBuckets buckets = new StripedTokenBuckets(1024, 2, 30, ORIGIN);
+    buckets.tryAcquire("10.0.0.1", ORIGIN);
+    buckets.tryAcquire("10.0.0.1", ORIGIN);
+
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN + 1_000)).isEqualTo(1_000);
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN + 2_000)).isZero();
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN + 2_000)).isPositive();
+  }
+
+  @Test
+  void idleBucketRefillsToCapacityAndNoFurther() {
+    StripedTokenBuckets buckets = new StripedTokenBuckets(1024, 3, 60, ORIGIN);
+    for (int i = 0; i < 3; i++) {
+      buckets.tryAcquire("10.0.0.1", ORIGIN);
+    }
+
+    long later = ORIGIN + 3_600_000;
+    for (int i = 0; i < 3; i++) {
+      assertThat(buckets.tryAcquire("10.0.0.1", later)).isZero();
+    }
+    assertThat(buckets.tryAcquire("10.0.0.1", later)).isPositive();
+  }
+
+  @Test
+  void keysOnDifferentStripesHaveSeparateBudgets() {
+    StripedTokenBuckets buckets = new StripedTokenBuckets(1024, 1, 1, ORIGIN);
+
+    assertThat(buckets.tryAcquire("a@sgms.com", ORIGIN)).isZero();
+    assertThat(buckets.tryAcquire("a@sgms.com", ORIGIN)).isPositive();
+    assertThat(buckets.tryAcquire("b@sgms.com", ORIGIN)).isZero();
+  }
+
+  @Test
+  void refundGivesATokenBackUpToCapacity() {
+    StripedTokenBuckets buckets = new StripedTokenBuckets(1024, 2, 1, ORIGIN);
+    buckets.tryAcquire("10.0.0.1", ORIGIN);
+    buckets.tryAcquire("10.0.0.1", ORIGIN);
+
+    buckets.refund("10.0.0.1", ORIGIN);
+    buckets.refund("10.0.0.1", ORIGIN);
+    buckets.refund("10.0.0.1", ORIGIN);
+
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN)).isZero();
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN)).isZero();
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN)).isPositive();
+  }
+
+  @Test
+  void refundOfAnUnusedBucketKeepsItFull() {
+    StripedTokenBuckets buckets = new StripedTokenBuckets(1024, 1, 1, ORIGIN);
+
+    buckets.refund("10.0.0.1", ORIGIN);
+
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN)).isZero();
+    assertThat(buckets.tryAcquire("10.0.0.1", ORIGIN)).isPositive();
+  }
+
+  @Test
+  void concurrentAcquiresNeverExceedCapacity() throws Exception {
+    int capacity = 50;
+    int threads = 8;
+    StripedTokenBuckets buckets = new StripedTokenBuckets(1024, capacity, 1, ORIGIN);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<Integer>> results = new ArrayList<>();
+    try {
+      for (int t = 0; t < threads; t++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          int acquired = 0;
+          for (int i = 0; i < 100; i++) {
+            if (buckets.tryAcquire("10.0.0.1", ORIGIN) == 0) {
+              acquired++;
+            }
+          }
+          return acquired;
+        }));
+      }
+      start.countDown();
+
+      int total = 0;
+      for (Future<Integer> result : results) {
+        total += result.get(10, TimeUnit.SECONDS);
+      }
+      assertThat(total).isEqualTo(capacity);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
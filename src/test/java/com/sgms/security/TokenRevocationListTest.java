@@ -0,0 +1,196 @@
+package com.sgms.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTest {
+
+  private static final Instant START = Instant.parse("2026-01-01T12:00:00Z");
+
+  private final List<Row> revokedTokens = new ArrayList<>();
+  private final MutableClock clock = new MutableClock(START);
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void revokedTokensTable() throws SQLException {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+      String sql = invocation.getArgument(0);
+      RowMapper<?> mapper = invocation.getArgument(1);
+      List<Object> result = new ArrayList<>();
+      for (Row row : revokedTokens) {
+        boolean matches = sql.contains("revoked_at >")
+            ? row.revokedAt.isAfter(instantArg(invocation.getArgument(2)))
+                && row.expiresAt.isAfter(instantArg(invocation.getArgument(3)))
+            : row.expiresAt.isAfter(instantArg(invocation.getArgument(2)));
+        if (matches) {
+          result.add(mapper.mapRow(row.resultSet(), result.size()));
+        }
+      }
+      return result;
+    });
+  }
+
+  @Test
+  void unknownTokenIsNotRevoked() {
+    TokenRevocationList list = loadedList();
+
+    assertThat(list.isRevoked("unknown")).isFalse();
+  }
+
+  @Test
+  void localRevocationAppliesOnCommitUntilTheTokenExpires() {
+    TokenRevocationList list = loadedList();
+
+    list.onTokensRevoked(new TokensRevokedEvent(Map.of("session-1", START.plus(Duration.ofMinutes(15)))));
+
+    assertThat(list.isRevoked("session-1")).isTrue();
+    clock.advance(Duration.ofMinutes(15));
+    assertThat(list.isRevoked("session-1")).isFalse();
+  }
+
+  @Test
+  void startupLoadsOnlyUnexpiredRevocations() {
+    revokedTokens.add(new Row("active", START.minusSeconds(60), START.plus(Duration.ofMinutes(10))));
+    revokedTokens.add(new Row("expired", START.minus(Duration.ofMinutes(20)), START.minusSeconds(1)));
+
+    TokenRevocationList list = loadedList();
+
+    assertThat(list.isRevoked("active")).isTrue();
+    assertThat(list.isRevoked("expired")).isFalse();
+  }
+
+  @Test
+  void syncPullsRevocationsMadeOnOtherInstances() {
+    TokenRevocationList list = loadedList();
+    clock.advance(Duration.ofSeconds(5));
+    revokedTokens.add(new Row("remote", clock.instant(), clock.instant().plus(Duration.ofMinutes(15))));
+
+    assertThat(list.isRevoked("remote")).isFalse();
+    list.sync();
+
+    assertThat(list.isRevoked("remote")).isTrue();
+  }
+
+  @Test
+  void syncReReadsRevocationsCommittedLateWithinTheOverlap() {
+    revokedTokens.add(new Row("first", START, START.plus(Duration.ofMinutes(15))));
+    TokenRevocationList list = loadedList();
+    clock.advance(Duration.ofSeconds(5));
+    // stamped before the last row seen, committed after the last sync
+    revokedTokens.add(new Row("late", START.minusSeconds(30), START.plus(Duration.ofMinutes(15))));
+
+    list.sync();
+
+    assertThat(list.isRevoked("late")).isTrue();
+  }
+
+  @Test
+  void periodicRebuildDropsExpiredEntries() {
+    TokenRevocationList list = loadedList();
+    list.onTokensRevoked(new TokensRevokedEvent(Map.of("short", START.plus(Duration.ofMinutes(5)))));
+    revokedTokens.add(new Row("long", START, START.plus(Duration.ofHours(1))));
+
+    clock.advance(Duration.ofMinutes(16));
+    list.sync();
+
+    assertThat(list.isRevoked("short")).isFalse();
+    assertThat(list.isRevoked("long")).isTrue();
+  }
+
+  @Test
+  void bloomFilterHitsAreConfirmedAgainstTheExactSet() {
+    TokenRevocationList list = new TokenRevocationList(jdbcTemplate, clock, 16, 0.5, 15);
+    list.init();
+    for (int i = 0; i < 1000; i++) {
+      list.onTokensRevoked(new TokensRevokedEvent(Map.of("revoked-" + i, START.plus(Duration.ofHours(1)))));
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(list.isRevoked("revoked-" + i)).isTrue();
+      assertThat(list.isRevoked("other-" + i)).isFalse();
+    }
+  }
+
+  @Test
+  void unavailableDatabaseAtStartupStillAppliesLocalRevocations() {
+    doThrow(new DataAccessResourceFailureException("database down"))
+        .when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+    TokenRevocationList list = loadedList();
+
+    list.onTokensRevoked(new TokensRevokedEvent(Map.of("local", START.plus(Duration.ofMinutes(15)))));
+
+    assertThat(list.isRevoked("local")).isTrue();
+  }
+
+  private TokenRevocationList loadedList() {
+    TokenRevocationList list = new TokenRevocationList(jdbcTemplate, clock, 1000, 0.01, 15);
+    list.init();
+    return list;
+  }
+
+  private static Instant instantArg(Object value) {
+    return ((Timestamp) value).toInstant();
+  }
+
+  private record Row(String jti, Instant revokedAt, Instant expiresAt) {
+
+    ResultSet resultSet() throws SQLException {
+      ResultSet rs = mock(ResultSet.class);
+      when(rs.getString("jti")).thenReturn(jti);
+      when(rs.getTimestamp("revoked_at")).thenReturn(Timestamp.from(revokedAt));
+      when(rs.getTimestamp("expires_at")).thenReturn(Timestamp.from(expiresAt));
+      return rs;
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.sgms.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class of tests running the application against a real PostgreSQL
+ * 
+ * One container is started for the whole test run and shared by all
+ * subclasses (and their cached application context); the schema comes from
+ * the Flyway migrations. Tests create their own rows through {@link TestData}
+ * with unique names, so they do not depend on each other's data. Skipped
+ * when Docker is not available.
+ */
+@SpringBootTest(properties = {
+    "app.shift.no-show.enabled=false",
+    "app.bulkhead.enabled=false",
+    "app.security.login-rate-limit.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@Import(SqlStatementCounter.Config.class)
+public abstract class PostgresIntegrationTest {
+
+  @ServiceConnection
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  static {
+    POSTGRES.start();
+  }
+
+  @Autowired
+  protected JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  protected TestData testData() {
+    return new TestData(jdbcTemplate);
+  }
+
+  /**
+   * Statements prepared by the action, run in a transaction that is rolled
+   * back so after-commit listeners do not add to the count
+   */
+  protected int countStatements(Runnable action) {
+    return new TransactionTemplate(transactionManager).execute(status -> {
+      SqlStatementCounter.reset();
+      action.run();
+      int count = SqlStatementCounter.count();
+      status.setRollbackOnly();
+      return count;
+    });
+  }
+}
@@ -0,0 +1,88 @@
+package com.sgms.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Counts the JDBC statements prepared on the current thread
+ * 
+ * The application DataSource is wrapped so that every statement created on
+ * one of its connections is counted, whether it comes from Hibernate or from
+ * JdbcTemplate. Counts are per thread, so scheduled jobs running in the
+ * background do not disturb a test.
+ */
+public final class SqlStatementCounter {
+
+  private static final Set<String> STATEMENT_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+  private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+  private SqlStatementCounter() {
+  }
+
+  public static void reset() {
+    COUNT.get()[0] = 0;
+  }
+
+  public static int count() {
+    return COUNT.get()[0];
+  }
+
+  static DataSource counting(DataSource target) {
+    return new DelegatingDataSource(target) {
+      @Override
+      public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+      }
+
+      @Override
+      public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+      }
+    };
+  }
+
+  private static Connection counting(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(
+        SqlStatementCounter.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          if (STATEMENT_METHODS.contains(method.getName())) {
+            COUNT.get()[0]++;
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+
+  /**
+   * Wraps the application DataSource in a counting one
+   */
+  @TestConfiguration(proxyBeanMethods = false)
+  public static class Config {
+
+    @Bean
+    static BeanPostProcessor sqlStatementCountingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+              ? counting(dataSource)
+              : bean;
+        }
+      };
+    }
+  }
+}
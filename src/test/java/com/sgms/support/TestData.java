@@ -0,0 +1,108 @@
+package com.sgms.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inserts fixture rows with plain SQL, bypassing services and their events
+ * 
+ * Names, emails and employee codes carry a run-wide sequence number, so
+ * fixtures of different tests never collide in the shared database.
+ */
+public class TestData {
+
+  private static final AtomicLong SEQUENCE = new AtomicLong(System.currentTimeMillis());
+
+  private final JdbcTemplate jdbcTemplate;
+
+  TestData(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public long user(String role) {
+    long n = SEQUENCE.incrementAndGet();
+    Long userId = jdbcTemplate.queryForObject(
+        "INSERT INTO users (email, password_hash, full_name, status) VALUES (?, ?, ?, 'ACTIVE') RETURNING id",
+        Long.class, "user" + n + "@test.sgms", "{noop}unused", "Test User " + n);
+    jdbcTemplate.update(
+        "INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = ?", userId, role);
+    return userId;
+  }
+
+  public long guard() {
+    long n = SEQUENCE.incrementAndGet();
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO guards (user_id, employee_code, first_name, last_name) VALUES (?, ?, ?, ?) RETURNING id",
+        Long.class, user("GUARD"), "EMP" + n, "Guard", String.valueOf(n));
+  }
+
+  public long client() {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO client_accounts (name) VALUES (?) RETURNING id",
+        Long.class, "Client " + SEQUENCE.incrementAndGet());
+  }
+
+  public long site(long clientAccountId) {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO sites (client_account_id, name, time_zone) VALUES (?, ?, 'UTC') RETURNING id",
+        Long.class, clientAccountId, "Site " + SEQUENCE.incrementAndGet());
+  }
+
+  public long post(long siteId) {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO site_posts (site_id, post_name) VALUES (?, ?) RETURNING id",
+        Long.class, siteId, "Post " + SEQUENCE.incrementAndGet());
+  }
+
+  /**
+   * Active assignment of a guard to a post for a seeded shift type (DAY, EVENING or NIGHT)
+   */
+  public long assignment(long guardId, long sitePostId, String shiftType) {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO guard_assignments (guard_id, site_post_id, shift_type_id, effective_from, status) " +
+        "SELECT ?, ?, id, ?, 'ACTIVE' FROM shift_types WHERE name = ? RETURNING id",
+        Long.class, guardId, sitePostId, LocalDate.now(ZoneOffset.UTC).minusDays(7), shiftType);
+  }
+
+  /**
+   * Shift instance of an assignment starting at the given instant, with the
+   * usual check-in window of two hours either side of the start
+   */
+  public long shiftInstance(long assignmentId, Instant startsAt) {
+    return shiftInstance(assignmentId, LocalDate.ofInstant(startsAt, ZoneOffset.UTC), startsAt);
+  }
+
+  public long shiftInstance(long assignmentId, LocalDate shiftDate, Instant startsAt) {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO shift_instances (assignment_id, guard_id, site_post_id, site_id, client_account_id, " +
+        "shift_type_id, shift_date, time_zone, starts_at, ends_at, check_in_opens_at, check_in_closes_at) " +
+        "SELECT ga.id, ga.guard_id, sp.id, s.id, s.client_account_id, ga.shift_type_id, ?, s.time_zone, ?, ?, ?, ? " +
+        "FROM guard_assignments ga JOIN site_posts sp ON sp.id = ga.site_post_id JOIN sites s ON s.id = sp.site_id " +
+        "WHERE ga.id = ? RETURNING id",
+        Long.class,
+        shiftDate,
+        Timestamp.from(startsAt),
+        Timestamp.from(startsAt.plus(Duration.ofHours(8))),
+        Timestamp.from(startsAt.minus(Duration.ofHours(2))),
+        Timestamp.from(startsAt.plus(Duration.ofHours(2))),
+        assignmentId);
+  }
+
+  /**
+   * PRESENT record of a shift instance, with the location columns filled in as check-in does
+   */
+  public long attendance(long shiftInstanceId) {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO attendance_logs (guard_id, assignment_id, site_post_id, site_id, client_account_id, " +
+        "attendance_date, check_in_time, status) " +
+        "SELECT guard_id, assignment_id, site_post_id, site_id, client_account_id, shift_date, starts_at, 'PRESENT' " +
+        "FROM shift_instances WHERE id = ? RETURNING id",
+        Long.class, shiftInstanceId);
+  }
+}